@@ -0,0 +1,53 @@
+package org.synyx.urlaubsverwaltung;
+
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe caching decorator for {@link Supplier} that invokes the delegate at most once.
+ *
+ * <p>In contrast to {@link CachedSupplier} the result is cached even if it is {@code null}, whether the value has been
+ * computed is tracked separately. The value is published with double-checked locking, so concurrent callers, e.g.
+ * parallel streams or virtual threads, never evaluate the delegate twice and only the first access pays for the
+ * synchronization.</p>
+ *
+ * <p>If the delegate throws, nothing is cached and the next call invokes the delegate again.</p>
+ *
+ * @param <T> the type of the value supplied
+ */
+public final class ConcurrentCachedSupplier<T> implements Supplier<T> {
+
+    private final Object lock = new Object();
+
+    private volatile boolean computed;
+    private T cachedValue;
+    private Supplier<T> supplier;
+
+    /**
+     * Creates a thread-safe cached supplier wrapping the given delegate.
+     *
+     * @param supplier the underlying supplier whose result will be cached after the first invocation
+     */
+    public ConcurrentCachedSupplier(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the cached value, computing it from the underlying supplier on the first call.
+     *
+     * @return the value supplied by the delegate, cached after the first invocation, may be {@code null}
+     */
+    @Override
+    public T get() {
+        if (!computed) {
+            synchronized (lock) {
+                if (!computed) {
+                    cachedValue = supplier.get();
+                    // the delegate is not needed anymore, release everything it captured
+                    supplier = null;
+                    computed = true;
+                }
+            }
+        }
+        return cachedValue;
+    }
+}
@@ -0,0 +1,43 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Months of the {@link AbsenceOverviewDto} that are assembled on access and not retained.
+ *
+ * <p>The absence overview of a whole year for a large department consists of months x persons x days dtos.
+ * Thymeleaf iterates the months one after another and writes the rendered month to the response before
+ * the next one is assembled. So only one month has to be held in memory, no matter how many months and persons are
+ * selected.</p>
+ *
+ * <p>Every access creates a new {@link AbsenceOverviewMonthDto}, callers that need a month multiple times have to
+ * keep the reference themselves.</p>
+ */
+final class AbsenceOverviewMonths extends AbstractList<AbsenceOverviewMonthDto> {
+
+    private final List<DateRange> monthDateRanges;
+    private final Function<DateRange, AbsenceOverviewMonthDto> monthAssembler;
+
+    /**
+     * @param monthDateRanges date range of every month to display, ordered
+     * @param monthAssembler  creates the month dto for the given date range
+     */
+    AbsenceOverviewMonths(List<DateRange> monthDateRanges, Function<DateRange, AbsenceOverviewMonthDto> monthAssembler) {
+        this.monthDateRanges = List.copyOf(monthDateRanges);
+        this.monthAssembler = monthAssembler;
+    }
+
+    @Override
+    public AbsenceOverviewMonthDto get(int index) {
+        return monthAssembler.apply(monthDateRanges.get(index));
+    }
+
+    @Override
+    public int size() {
+        return monthDateRanges.size();
+    }
+}
@@ -26,6 +26,7 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.search.HasPersonSearch;
 import org.synyx.urlaubsverwaltung.search.PersonSearchUiFragmentSupplier;
 import org.synyx.urlaubsverwaltung.search.PersonSuggestionUrlStrategy;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
 
@@ -36,16 +37,21 @@ import java.time.format.TextStyle;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.lang.Integer.parseInt;
+import static java.util.Collections.emptyNavigableMap;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toCollection;
@@ -165,8 +171,9 @@ public class AbsenceOverviewViewController implements HasLaunchpad, HasPersonSea
         List<VacationTypeColorDto> vacationTypeColorDtos = prepareVacationTypeColorsForLegend(isSignedInUserAllowedToSeeAbsencesOfOthers, isSignedInUserInOverview, vacationTypes, locale);
         model.addAttribute("vacationTypeColors", vacationTypeColorDtos);
 
+        final Set<Person> membersOfSignedInUserLookup = new HashSet<>(membersOfSignedInUser);
         final Function<AbsencePeriod.RecordInfo, Boolean> shouldAnonymizeAbsenceType = recordInfo -> !recordInfo.getPerson().equals(signedInUser)
-            && !membersOfSignedInUser.contains(recordInfo.getPerson()) && !recordInfo.isVisibleToEveryone();
+            && !membersOfSignedInUserLookup.contains(recordInfo.getPerson()) && !recordInfo.isVisibleToEveryone();
 
         final Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor = recordInfo -> recordInfoToColor(recordInfo, vacationTypesById::get);
 
@@ -212,90 +219,147 @@ public class AbsenceOverviewViewController implements HasLaunchpad, HasPersonSea
                                                                         Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor) {
 
         final LocalDate today = LocalDate.now(clock);
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPersons(personList);
         final List<AbsencePeriod> openAbsences = absenceService.getOpenAbsences(personList, dateRange.startDate(), dateRange.endDate());
 
-        final HashMap<Integer, AbsenceOverviewMonthDto> monthsByNr = new HashMap<>();
+        final long firstEpochDay = dateRange.startDate().toEpochDay();
+        final int numberOfDays = (int) (dateRange.endDate().toEpochDay() - firstEpochDay + 1);
 
-        final Map<Person, List<AbsencePeriod.Record>> absencePeriodRecordsByPerson = openAbsences.stream()
-            .map(AbsencePeriod::absenceRecords)
-            .flatMap(List::stream)
-            .collect(groupingBy(AbsencePeriod.Record::getPerson));
+        final Map<Person, Integer> personIndex = new HashMap<>();
+        for (int index = 0; index < personList.size(); index++) {
+            personIndex.put(personList.get(index), index);
+        }
 
-        final Map<Person, Map<LocalDate, PublicHoliday>> publicHolidaysOfAllPersons = new HashMap<>();
+        // absence records of every person indexed by the day of the date range
+        final List<List<AbsencePeriod.Record>[]> absenceRecordsByPersonAndDay = new ArrayList<>(personList.size());
+        for (int index = 0; index < personList.size(); index++) {
+            absenceRecordsByPersonAndDay.add(null);
+        }
+        for (AbsencePeriod absencePeriod : openAbsences) {
+            for (AbsencePeriod.Record absenceRecord : absencePeriod.absenceRecords()) {
+                final Integer index = personIndex.get(absenceRecord.getPerson());
+                final long day = absenceRecord.getDate().toEpochDay() - firstEpochDay;
+                if (index == null || day < 0 || day >= numberOfDays) {
+                    continue;
+                }
+                List<AbsencePeriod.Record>[] recordsByDay = absenceRecordsByPersonAndDay.get(index);
+                if (recordsByDay == null) {
+                    recordsByDay = newRecordsByDay(numberOfDays);
+                    absenceRecordsByPersonAndDay.set(index, recordsByDay);
+                }
+                if (recordsByDay[(int) day] == null) {
+                    recordsByDay[(int) day] = new ArrayList<>(2);
+                }
+                recordsByDay[(int) day].add(absenceRecord);
+            }
+        }
+
+        // working times of every person ordered by validFrom, latest first
+        final Map<Person, List<WorkingTime>> workingTimesByPerson = workingTimeService.getByPersons(personList).stream()
+            .sorted(comparing(WorkingTime::getValidFrom).reversed())
+            .collect(groupingBy(WorkingTime::getPerson));
+
+        final Map<Person, Map<DateRange, FederalState>> federalStatesByPerson = workingTimeService.getFederalStatesByPersonsAndDateRange(workingTimesByPerson, dateRange);
+
+        final List<List<WorkingTime>> sortedWorkingTimes = new ArrayList<>(personList.size());
+        final List<Map<DateRange, FederalState>> federalStates = new ArrayList<>(personList.size());
+        final Map<FederalState, Set<DateRange>> dateRangesByFederalState = new EnumMap<>(FederalState.class);
         for (Person person : personList) {
-            publicHolidaysOfAllPersons.put(person, getPublicHolidaysOfPerson(dateRange, person));
+            sortedWorkingTimes.add(workingTimesByPerson.getOrDefault(person, List.of()));
+
+            final Map<DateRange, FederalState> federalStatesOfPerson = federalStatesByPerson.getOrDefault(person, Map.of());
+            federalStates.add(federalStatesOfPerson);
+            federalStatesOfPerson.forEach((federalStateDateRange, federalState) ->
+                dateRangesByFederalState.computeIfAbsent(federalState, key -> new HashSet<>()).add(federalStateDateRange));
         }
 
-        for (LocalDate date : dateRange) {
-            final AbsenceOverviewMonthDto monthView = monthsByNr.computeIfAbsent(date.getMonthValue(),
-                _ -> initializeAbsenceOverviewMonthDto(date, personList, locale));
+        // public holidays are computed once per federal state and joined to the persons afterwards
+        final Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> publicHolidaysByFederalState = dateRangesByFederalState.isEmpty()
+            ? Map.of()
+            : publicHolidaysService.getPublicHolidays(dateRangesByFederalState);
+        final List<Map<LocalDate, PublicHoliday>> publicHolidays = federalStates.stream()
+            .map(federalStatesOfPerson -> getPublicHolidaysOfPerson(federalStatesOfPerson, publicHolidaysByFederalState))
+            .toList();
 
-            final AbsenceOverviewMonthDayDto tableHeadDay = tableHeadDay(date, today, locale);
-            monthView.getDays().add(tableHeadDay);
+        final List<DateRange> monthDateRanges = new ArrayList<>();
+        final Map<DateRange, String> monthTexts = new HashMap<>();
+        LocalDate monthStart = dateRange.startDate();
+        while (!monthStart.isAfter(dateRange.endDate())) {
+            final LocalDate lastOfMonth = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+            final LocalDate monthEnd = lastOfMonth.isAfter(dateRange.endDate()) ? dateRange.endDate() : lastOfMonth;
+            final DateRange monthDateRange = new DateRange(monthStart, monthEnd);
+            monthDateRanges.add(monthDateRange);
+            monthTexts.put(monthDateRange, getMonthText(monthStart, locale));
+            monthStart = monthEnd.plusDays(1);
+        }
 
-            final Map<AbsenceOverviewMonthPersonDto, Person> personByView = personList.stream()
-                .collect(
-                    toMap(person -> monthView.getPersons().stream()
-                        .filter(view -> view.getId().equals(person.getId()))
-                        .findFirst()
-                        .orElse(null), Function.identity())
-                );
+        // months are assembled while the view is rendered, one after another
+        return new AbsenceOverviewMonths(monthDateRanges, monthDateRange -> {
 
-            // create an absence day dto for every person of the department
-            for (AbsenceOverviewMonthPersonDto personView : monthView.getPersons()) {
+            final AbsenceOverviewMonthDto monthView = initializeAbsenceOverviewMonthDto(monthTexts.get(monthDateRange), personList);
+            final List<AbsenceOverviewMonthPersonDto> personViews = monthView.getPersons();
 
-                final Person person = personByView.get(personView);
+            for (LocalDate date : monthDateRange) {
 
-                final List<WorkingTime> personWorkingTimeList = workingTimeList
-                    .stream()
-                    .filter(workingTime -> workingTime.getPerson().equals(person))
-                    .sorted(comparing(WorkingTime::getValidFrom).reversed())
-                    .toList();
+                monthView.getDays().add(tableHeadDay(date, today, locale));
 
-                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = Optional.ofNullable(absencePeriodRecordsByPerson.get(person))
-                    .stream()
-                    .flatMap(List::stream)
-                    .filter(absenceRecord -> absenceRecord.getDate().isEqual(date))
-                    .toList();
+                final int day = (int) (date.toEpochDay() - firstEpochDay);
 
-                final AbsenceOverviewDayType personViewDayType = Optional.ofNullable(publicHolidaysOfAllPersons.get(person).get(date))
-                    .map(publicHoliday -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, publicHoliday, recordInfoToColor))
-                    .orElseGet(() -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, recordInfoToColor))
-                    .build();
+                // create an absence day dto for every person of the department
+                for (int index = 0; index < personList.size(); index++) {
 
-                personView.getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWorkday(date, personWorkingTimeList)));
+                    final List<AbsencePeriod.Record>[] recordsByDay = absenceRecordsByPersonAndDay.get(index);
+                    final List<AbsencePeriod.Record> personAbsenceRecordsForDate = recordsByDay == null || recordsByDay[day] == null
+                        ? List.of()
+                        : recordsByDay[day];
+
+                    final PublicHoliday publicHoliday = publicHolidays.get(index).get(date);
+                    final AbsenceOverviewDayType personViewDayType = (publicHoliday == null
+                        ? getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, recordInfoToColor)
+                        : getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, publicHoliday, recordInfoToColor))
+                        .build();
+
+                    personViews.get(index).getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWorkday(date, sortedWorkingTimes.get(index))));
+                }
             }
-        }
 
-        return new ArrayList<>(monthsByNr.values());
+            return monthView;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AbsencePeriod.Record>[] newRecordsByDay(int numberOfDays) {
+        return (List<AbsencePeriod.Record>[]) new List[numberOfDays];
     }
 
     private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
-            .orElse(false);
+        // workingTimes are ordered by validFrom last to first
+        for (WorkingTime workingTime : workingTimeList) {
+            if (!workingTime.getValidFrom().isAfter(date)) {
+                return workingTime.isWorkingDay(date.getDayOfWeek());
+            }
+        }
+        return false;
     }
 
-    private Map<LocalDate, PublicHoliday> getPublicHolidaysOfPerson(DateRange dateRange, Person person) {
-        return workingTimeService.getFederalStatesByPersonAndDateRange(person, dateRange)
-            .entrySet().stream()
-            .map(entry -> publicHolidaysService.getPublicHolidays(entry.getKey().startDate(), entry.getKey().endDate(), entry.getValue()))
-            .flatMap(List::stream)
-            .collect(toMap(PublicHoliday::date, Function.identity(), (publicHoliday, publicHoliday2) -> new PublicHoliday(publicHoliday.date(), publicHoliday.dayLength(), publicHoliday.description().concat("/").concat(publicHoliday2.description()))));
+    private static Map<LocalDate, PublicHoliday> getPublicHolidaysOfPerson(Map<DateRange, FederalState> federalStatesOfPerson,
+                                                                        Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> publicHolidaysByFederalState) {
+
+        final Map<LocalDate, PublicHoliday> publicHolidaysOfPerson = new HashMap<>();
+        federalStatesOfPerson.forEach((federalStateDateRange, federalState) -> {
+            final NavigableMap<LocalDate, PublicHoliday> publicHolidaysOfFederalState = publicHolidaysByFederalState.getOrDefault(federalState, emptyNavigableMap());
+            publicHolidaysOfPerson.putAll(publicHolidaysOfFederalState.subMap(federalStateDateRange.startDate(), true, federalStateDateRange.endDate(), true));
+        });
 
+        return publicHolidaysOfPerson;
     }
 
-    private AbsenceOverviewMonthDto initializeAbsenceOverviewMonthDto(LocalDate date, List<Person> personList, Locale locale) {
+    private AbsenceOverviewMonthDto initializeAbsenceOverviewMonthDto(String monthText, List<Person> personList) {
 
         final List<AbsenceOverviewMonthPersonDto> monthViewPersons = personList.stream()
             .map(AbsenceOverviewViewController::initializeAbsenceOverviewMonthPersonDto)
             .toList();
 
-        return new AbsenceOverviewMonthDto(getMonthText(date, locale), new ArrayList<>(), monthViewPersons);
+        return new AbsenceOverviewMonthDto(monthText, new ArrayList<>(), monthViewPersons);
     }
 
     private static AbsenceOverviewMonthPersonDto initializeAbsenceOverviewMonthPersonDto(Person person) {
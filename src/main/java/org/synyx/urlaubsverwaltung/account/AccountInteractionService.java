@@ -5,6 +5,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Provides interactions with {@link Account}s like creating or editing.
@@ -72,6 +73,15 @@ public interface AccountInteractionService {
      */
     Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount);
 
+    /**
+     * Same as {@link #autoCreateOrUpdateNextYearsHolidaysAccount(Account)} for several reference accounts of the same
+     * year. The next year's accounts and the left vacation days are loaded at once and all accounts are saved together.
+     *
+     * @param referenceAccounts of the same year to get the information about annual vacation days, left vacation days etc.
+     * @return the created/updated holidays accounts in the order of the reference accounts
+     */
+    List<Account> autoCreateOrUpdateNextYearsHolidaysAccounts(List<Account> referenceAccounts);
+
     /**
      * Updates the remaining vacation days of all {@link Account}s that follow the {@link Account} of the given year. Updating is stopped when there is no next year's
      * {@link Account}.
@@ -12,6 +12,9 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
@@ -21,6 +24,8 @@ import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.Objects.requireNonNullElseGet;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -183,24 +188,71 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
             return nextYearAccount;
         }
 
+        final BigDecimal remainingVacationDays = vacationDaysService.getTotalLeftVacationDays(referenceAccount);
+        final Account savedAccount = accountService.save(createNextYearsHolidaysAccount(referenceAccount, remainingVacationDays));
+
+        LOG.info("Created holidays account: {}", savedAccount);
+
+        return savedAccount;
+    }
+
+    @Override
+    public List<Account> autoCreateOrUpdateNextYearsHolidaysAccounts(List<Account> referenceAccounts) {
+
+        if (referenceAccounts.isEmpty()) {
+            return List.of();
+        }
+
+        final int year = referenceAccounts.getFirst().getYear();
+        final int nextYear = year + 1;
+        final LocalDate today = LocalDate.now(clock);
+
+        final List<Person> persons = referenceAccounts.stream().map(Account::getPerson).toList();
+        final Map<Person, Account> nextYearAccountsByPerson = accountService.getHolidaysAccount(nextYear, persons).stream()
+            .collect(toMap(Account::getPerson, identity()));
+        final Map<Account, HolidayAccountVacationDays> vacationDaysLeft = vacationDaysService.getVacationDaysLeft(referenceAccounts, Year.of(year));
+
+        final List<Account> nextYearAccounts = new ArrayList<>(referenceAccounts.size());
+        for (Account referenceAccount : referenceAccounts) {
+            final BigDecimal leftVacationDays = vacationDaysLeft.get(referenceAccount).vacationDaysYear()
+                .getLeftVacationDays(today, referenceAccount.doRemainingVacationDaysExpire(), referenceAccount.getExpiryDate());
+
+            final Account nextYearAccount = nextYearAccountsByPerson.get(referenceAccount.getPerson());
+            if (nextYearAccount == null) {
+                nextYearAccounts.add(createNextYearsHolidaysAccount(referenceAccount, leftVacationDays));
+            } else {
+                setRemainingVacationDays(nextYearAccount, leftVacationDays);
+                nextYearAccounts.add(nextYearAccount);
+            }
+        }
+
+        final List<Account> savedAccounts = accountService.saveAll(nextYearAccounts);
+
+        LOG.info("Created or updated {} holidays accounts for {}", savedAccounts.size(), nextYear);
+
+        return savedAccounts;
+    }
+
+    /**
+     * Creates the next year's account of the person of the given account, taking over its annual vacation days,
+     * expiry settings and comment. Used for one and for several reference accounts alike.
+     *
+     * @param referenceAccount      account of the year before
+     * @param remainingVacationDays left vacation days of the reference account
+     * @return the new, not yet saved account of the next year
+     */
+    private static Account createNextYearsHolidaysAccount(Account referenceAccount, BigDecimal remainingVacationDays) {
+
+        final int nextYear = referenceAccount.getYear() + 1;
         final LocalDate validFrom = Year.of(nextYear).atDay(1);
         final LocalDate validTo = validFrom.with(lastDayOfYear());
-        final Boolean doRemainingVacationDaysExpireLocally = referenceAccount.isDoRemainingVacationDaysExpireLocally();
         final LocalDate expiryDateLocally = referenceAccount.getExpiryDateLocally() == null ? null : referenceAccount.getExpiryDateLocally().withYear(nextYear);
-        final BigDecimal remainingVacationDays = vacationDaysService.getTotalLeftVacationDays(referenceAccount);
 
-        return updateOrCreateHolidaysAccount(
-            referenceAccount.getPerson(),
-            validFrom,
-            validTo,
-            doRemainingVacationDaysExpireLocally,
-            expiryDateLocally,
-            referenceAccount.getAnnualVacationDays(),
-            referenceAccount.getAnnualVacationDays(),
-            remainingVacationDays,
-            ZERO,
-            referenceAccount.getComment()
-        );
+        final Account account = new Account(referenceAccount.getPerson(), validFrom, validTo,
+            referenceAccount.isDoRemainingVacationDaysExpireLocally(), expiryDateLocally, referenceAccount.getAnnualVacationDays(),
+            remainingVacationDays, ZERO, referenceAccount.getComment());
+        account.setActualVacationDays(referenceAccount.getAnnualVacationDays());
+        return account;
     }
 
     /**
@@ -220,14 +272,17 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
      */
     private void updateRemainingVacationDays(Account newAccount, Account lastAccount) {
 
-        final BigDecimal leftVacationDays = vacationDaysService.getTotalLeftVacationDays(lastAccount);
+        setRemainingVacationDays(newAccount, vacationDaysService.getTotalLeftVacationDays(lastAccount));
+        accountService.save(newAccount);
+    }
+
+    private static void setRemainingVacationDays(Account newAccount, BigDecimal leftVacationDays) {
+
         newAccount.setRemainingVacationDays(leftVacationDays);
 
         // number of not expiring remaining vacation days is greater than remaining vacation days
         if (newAccount.getRemainingVacationDaysNotExpiring().compareTo(leftVacationDays) > 0) {
             newAccount.setRemainingVacationDaysNotExpiring(leftVacationDays);
         }
-
-        accountService.save(newAccount);
     }
 }
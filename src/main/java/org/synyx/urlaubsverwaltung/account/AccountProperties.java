@@ -1,11 +1,15 @@
 package org.synyx.urlaubsverwaltung.account;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 import org.synyx.urlaubsverwaltung.validation.CronExpression;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties("uv.account")
 @Validated
@@ -17,6 +21,9 @@ public class AccountProperties {
     @Valid
     private AccountProperties.VacationDaysReminder vacationDaysReminder = new VacationDaysReminder();
 
+    @Valid
+    private Ledger ledger = new Ledger();
+
     public Update getUpdate() {
         return update;
     }
@@ -33,6 +40,14 @@ public class AccountProperties {
         this.vacationDaysReminder = vacationDaysReminder;
     }
 
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public void setLedger(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
     public static class Update {
 
         /**
@@ -41,6 +56,32 @@ public class AccountProperties {
         @CronExpression
         private String cron = "0 0 5 1 1 *";
 
+        /**
+         * Resumes an update of the current year that has been interrupted or stopped before all accounts were
+         * updated, checked by default every 15 minutes
+         */
+        @CronExpression
+        private String resumeCron = "0 */15 * * * *";
+
+        /**
+         * Number of persons whose accounts are loaded, calculated and saved together
+         */
+        @Min(1)
+        private int chunkSize = 100;
+
+        /**
+         * Number of chunks that are processed in parallel
+         */
+        @Min(1)
+        private int workers = 4;
+
+        /**
+         * Maximum duration of one run of the job. A run stops after half of it and the rest is resumed by the next
+         * run of {@code resume-cron}.
+         */
+        @NotNull
+        private Duration lockAtMostFor = Duration.ofMinutes(15);
+
         public String getCron() {
             return cron;
         }
@@ -48,6 +89,38 @@ public class AccountProperties {
         public void setCron(String cron) {
             this.cron = cron;
         }
+
+        public String getResumeCron() {
+            return resumeCron;
+        }
+
+        public void setResumeCron(String resumeCron) {
+            this.resumeCron = resumeCron;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
     }
 
     public static class VacationDaysReminder {
@@ -80,4 +153,22 @@ public class AccountProperties {
             this.expiredRemainingVacationDaysCron = expiredRemainingVacationDaysCron;
         }
     }
+
+    public static class Ledger {
+
+        /**
+         * Checks the vacation balance ledger against the applications and corrects inconsistent entries
+         * by default every day at 03:00 am
+         */
+        @CronExpression
+        private String rebuildCron = "0 0 3 * * *";
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
 }
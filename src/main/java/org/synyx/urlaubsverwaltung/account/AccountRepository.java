@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +22,14 @@ public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
     @Query("select a from account a where YEAR(a.validFrom) = :year and a.person in :persons")
     List<AccountEntity> findAccountByYearAndPersons(@Param("year") int year, @Param("persons") List<Person> persons);
 
+    @Query("select a from account a where YEAR(a.validFrom) in :years and a.person in :persons")
+    List<AccountEntity> findAccountByYearsAndPersons(@Param("years") Collection<Integer> years, @Param("persons") List<Person> persons);
+
     @Modifying
     void deleteByPerson(Person person);
 
     List<AccountEntity> findAllByPersonId(Long personId);
+
+    @Query("select a from account a where a.person in :persons")
+    List<AccountEntity> findAllByPersons(@Param("persons") List<Person> persons);
 }
@@ -0,0 +1,11 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AccountSavedEvent(UUID id, Instant createdAt, Account account) {
+
+    public static AccountSavedEvent of(Account account) {
+        return new AccountSavedEvent(UUID.randomUUID(), Instant.now(), account);
+    }
+}
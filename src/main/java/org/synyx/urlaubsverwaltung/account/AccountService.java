@@ -2,6 +2,7 @@ package org.synyx.urlaubsverwaltung.account;
 
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +41,15 @@ public interface AccountService {
      */
     List<Account> getHolidaysAccount(int year, List<Person> persons);
 
+    /**
+     * Get existing {@link Account}s of all given years for the given persons with one query instead of one per year.
+     *
+     * @param years   to get the holidays accounts for
+     * @param persons to get the holidays accounts for
+     * @return {@link Account}s that matches the given parameters.
+     */
+    List<Account> getHolidaysAccount(Collection<Integer> years, List<Person> persons);
+
     /**
      * Saves the given {@link Account}.
      *
@@ -48,6 +58,14 @@ public interface AccountService {
      */
     Account save(Account account);
 
+    /**
+     * Saves the given {@link Account}s in one batch.
+     *
+     * @param accounts to be saved
+     * @return saved {@link Account}s
+     */
+    List<Account> saveAll(List<Account> accounts);
+
     /**
      * Deletes all {@link Account}s in the database of person id.
      *
@@ -62,4 +80,12 @@ public interface AccountService {
      * @return {@link Account}s that matches the given parameters.
      */
     List<Account> getHolidaysAccountsByPerson(Person person);
+
+    /**
+     * Get all {@link Account}s of the given persons with one query instead of one per person.
+     *
+     * @param persons to get the holidays accounts for
+     * @return {@link Account}s that matches the given parameters.
+     */
+    List<Account> getHolidaysAccountsByPersons(List<Person> persons);
 }
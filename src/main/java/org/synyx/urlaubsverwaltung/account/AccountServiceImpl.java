@@ -1,14 +1,20 @@
 package org.synyx.urlaubsverwaltung.account;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.CachedSupplier;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -19,11 +25,13 @@ class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
-    AccountServiceImpl(AccountRepository accountRepository, SettingsService settingsService) {
+    AccountServiceImpl(AccountRepository accountRepository, SettingsService settingsService, ApplicationEventPublisher applicationEventPublisher) {
         this.accountRepository = accountRepository;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -65,13 +73,59 @@ class AccountServiceImpl implements AccountService {
             .toList();
     }
 
+    @Override
+    public List<Account> getHolidaysAccount(Collection<Integer> years, List<Person> persons) {
+        final CachedSupplier<Boolean> expireGlobally = new CachedSupplier<>(this::remainingVacationDaysExpireGlobally);
+        final Map<Integer, LocalDate> expiryDateGloballyByYear = new HashMap<>();
+
+        return accountRepository.findAccountByYearsAndPersons(years, persons)
+            .stream()
+            .map(accountEntity -> this.mapToAccount(accountEntity, expireGlobally.get(),
+                expiryDateGloballyByYear.computeIfAbsent(accountEntity.getYear(), year -> globallyExpiryDate(Year.of(year)))))
+            .toList();
+    }
+
     @Override
     public Account save(Account account) {
         final AccountEntity accountEntity = mapToAccountEntity(account);
         final AccountEntity savedAccountEntity = accountRepository.save(accountEntity);
 
         final LocalDate expiryDateGlobally = globallyExpiryDate(Year.of(savedAccountEntity.getYear()));
-        return mapToAccount(savedAccountEntity, remainingVacationDaysExpireGlobally(), expiryDateGlobally);
+        final Account savedAccount = mapToAccount(savedAccountEntity, remainingVacationDaysExpireGlobally(), expiryDateGlobally);
+
+        applicationEventPublisher.publishEvent(AccountSavedEvent.of(savedAccount));
+
+        return savedAccount;
+    }
+
+    /**
+     * Loads the persisted accounts with one query first, so that merging them does not select each one on its own
+     * and the updates are sent to the database in batches. Publishes one {@link AccountsSavedEvent} for all saved
+     * accounts instead of one {@link AccountSavedEvent} per account.
+     */
+    @Override
+    @Transactional
+    public List<Account> saveAll(List<Account> accounts) {
+
+        final List<Long> ids = accounts.stream().map(Account::getId).filter(Objects::nonNull).toList();
+        if (!ids.isEmpty()) {
+            accountRepository.findAllById(ids);
+        }
+
+        final List<AccountEntity> savedAccountEntities = accountRepository.saveAll(accounts.stream().map(this::mapToAccountEntity).toList());
+
+        final boolean expireGlobally = remainingVacationDaysExpireGlobally();
+        final Map<Integer, LocalDate> expiryDateGloballyByYear = new HashMap<>();
+        final List<Account> savedAccounts = savedAccountEntities.stream()
+            .map(accountEntity -> mapToAccount(accountEntity, expireGlobally,
+                expiryDateGloballyByYear.computeIfAbsent(accountEntity.getYear(), year -> globallyExpiryDate(Year.of(year)))))
+            .toList();
+
+        if (!savedAccounts.isEmpty()) {
+            applicationEventPublisher.publishEvent(AccountsSavedEvent.of(savedAccounts));
+        }
+
+        return savedAccounts;
     }
 
     private Account mapToAccount(AccountEntity accountEntity, boolean doRemainingVacationDaysExpireGlobally, LocalDate expiryDateGlobally) {
@@ -127,6 +181,18 @@ class AccountServiceImpl implements AccountService {
             .map(accountEntity -> this.mapToAccount(accountEntity, expireGlobally.get(), globallyExpiryDate(Year.of(accountEntity.getYear())))).toList();
     }
 
+    @Override
+    public List<Account> getHolidaysAccountsByPersons(List<Person> persons) {
+        final CachedSupplier<Boolean> expireGlobally = new CachedSupplier<>(this::remainingVacationDaysExpireGlobally);
+        final Map<Integer, LocalDate> expiryDateGloballyByYear = new HashMap<>();
+
+        return accountRepository.findAllByPersons(persons)
+            .stream()
+            .map(accountEntity -> this.mapToAccount(accountEntity, expireGlobally.get(),
+                expiryDateGloballyByYear.computeIfAbsent(accountEntity.getYear(), year -> globallyExpiryDate(Year.of(year)))))
+            .toList();
+    }
+
     private boolean remainingVacationDaysExpireGlobally() {
         return settingsService.getSettings().getAccountSettings().isDoRemainingVacationDaysExpireGlobally();
     }
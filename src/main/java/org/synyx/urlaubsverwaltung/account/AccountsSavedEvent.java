@@ -0,0 +1,12 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record AccountsSavedEvent(UUID id, Instant createdAt, List<Account> accounts) {
+
+    public static AccountsSavedEvent of(List<Account> accounts) {
+        return new AccountsSavedEvent(UUID.randomUUID(), Instant.now(), List.copyOf(accounts));
+    }
+}
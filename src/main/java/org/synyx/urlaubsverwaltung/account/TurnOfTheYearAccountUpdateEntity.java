@@ -0,0 +1,93 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotNull;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.AbstractTenantAwareEntity;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Progress of the update of the holidays accounts at the turn of the year, see {@link TurnOfTheYearAccountUpdaterService}.
+ *
+ * <p>The persons are processed in the order of their id, so every person up to the last person id has been updated.
+ * The update of the year is done as soon as it is completed.</p>
+ */
+@Entity(name = "turn_of_the_year_account_update")
+public class TurnOfTheYearAccountUpdateEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "turn_of_the_year_account_update_generator")
+    @SequenceGenerator(name = "turn_of_the_year_account_update_generator", sequenceName = "turn_of_the_year_account_update_id_seq")
+    private Long id;
+
+    @NotNull
+    private Integer accountYear;
+
+    private Long lastPersonId;
+
+    private Instant completedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getAccountYear() {
+        return accountYear;
+    }
+
+    public void setAccountYear(Integer accountYear) {
+        this.accountYear = accountYear;
+    }
+
+    public Long getLastPersonId() {
+        return lastPersonId;
+    }
+
+    public void setLastPersonId(Long lastPersonId) {
+        this.lastPersonId = lastPersonId;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TurnOfTheYearAccountUpdateEntity that = (TurnOfTheYearAccountUpdateEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TurnOfTheYearAccountUpdateEntity{" +
+            "id=" + id +
+            ", accountYear=" + accountYear +
+            ", lastPersonId=" + lastPersonId +
+            ", completedAt=" + completedAt +
+            "} " + super.toString();
+    }
+}
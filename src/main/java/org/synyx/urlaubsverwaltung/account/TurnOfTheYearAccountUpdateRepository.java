@@ -0,0 +1,12 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+interface TurnOfTheYearAccountUpdateRepository extends JpaRepository<TurnOfTheYearAccountUpdateEntity, Long> {
+
+    Optional<TurnOfTheYearAccountUpdateEntity> findByAccountYear(Integer accountYear);
+}
@@ -9,10 +9,14 @@ import org.synyx.urlaubsverwaltung.companyvacation.CompanyVacationService;
 import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
 import org.synyx.urlaubsverwaltung.tenancy.configuration.single.ConditionalOnSingleTenantMode;
 
+import java.time.Duration;
+
 @Configuration
 @ConditionalOnSingleTenantMode
 class TurnOfTheYearAccountUpdaterConfiguration implements SchedulingConfigurer {
 
+    private static final String LOCK_NAME = "UpdateAccountsForNextPeriod";
+
     private final AccountProperties accountProperties;
     private final TurnOfTheYearAccountUpdaterService turnOfTheYearAccountUpdaterService;
     private final ScheduleLocking scheduleLocking;
@@ -33,13 +37,18 @@ class TurnOfTheYearAccountUpdaterConfiguration implements SchedulingConfigurer {
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        final AccountProperties.Update update = accountProperties.getUpdate();
         taskRegistrar.setTaskScheduler(taskScheduler);
         taskRegistrar.addCronTask(
-            scheduleLocking.withLock("UpdateAccountsForNextPeriod", () -> {
+            scheduleLocking.withLock(LOCK_NAME, () -> {
                 turnOfTheYearAccountUpdaterService.updateAccountsForNextPeriod();
                 companyVacationService.publishCompanyEvents();
-            }),
-            accountProperties.getUpdate().getCron()
+            }, update.getLockAtMostFor(), Duration.ofMinutes(2)),
+            update.getCron()
+        );
+        taskRegistrar.addCronTask(
+            scheduleLocking.withLock(LOCK_NAME, turnOfTheYearAccountUpdaterService::resumeUpdateAccountsForNextPeriod, update.getLockAtMostFor(), Duration.ZERO),
+            update.getResumeCron()
         );
     }
 }
@@ -10,19 +10,34 @@ import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 
 /**
  * Is to be scheduled every turn of the year: calculates the remaining vacation days for the new year.
+ *
+ * <p>The accounts of last year are loaded at once and processed in chunks of {@code uv.account.update.chunk-size}
+ * persons in the order of their id, {@code uv.account.update.workers} chunks in parallel. After every round the id of
+ * the last person is stored in a {@link TurnOfTheYearAccountUpdateEntity}, so an update that has been interrupted or
+ * stopped after half of {@code uv.account.update.lock-at-most-for} is resumed after this person instead of starting
+ * over. Chunks of a failed round are calculated again, which leads to the same accounts.</p>
+ *
+ * <p>The office is notified and the reminders are sent once all accounts of the year have been updated and the update
+ * has been stored as completed. If sending them fails, they are not sent again by a later run.</p>
  */
 @Service
 public class TurnOfTheYearAccountUpdaterService {
@@ -34,6 +49,8 @@ public class TurnOfTheYearAccountUpdaterService {
     private final AccountInteractionService accountInteractionService;
     private final VacationDaysReminderService vacationDaysReminderService;
     private final MailService mailService;
+    private final TurnOfTheYearAccountUpdateRepository turnOfTheYearAccountUpdateRepository;
+    private final AccountProperties accountProperties;
     private final Clock clock;
 
     @Autowired
@@ -41,35 +58,94 @@ public class TurnOfTheYearAccountUpdaterService {
         PersonService personService, AccountService accountService,
         AccountInteractionService accountInteractionService,
         VacationDaysReminderService vacationDaysReminderService,
-        MailService mailService, Clock clock
+        MailService mailService, TurnOfTheYearAccountUpdateRepository turnOfTheYearAccountUpdateRepository,
+        AccountProperties accountProperties, Clock clock
     ) {
         this.personService = personService;
         this.accountService = accountService;
         this.accountInteractionService = accountInteractionService;
         this.vacationDaysReminderService = vacationDaysReminderService;
         this.mailService = mailService;
+        this.turnOfTheYearAccountUpdateRepository = turnOfTheYearAccountUpdateRepository;
+        this.accountProperties = accountProperties;
         this.clock = clock;
     }
 
+    /**
+     * Updates the accounts of the current year, or resumes the update if it has been started already. Does nothing
+     * if the update of the current year has been completed.
+     */
     public void updateAccountsForNextPeriod() {
 
-        LOG.info("Starting update of holidays accounts to calculate the remaining vacation days.");
+        final int year = Year.now(clock).getValue();
+        final TurnOfTheYearAccountUpdateEntity checkpoint = turnOfTheYearAccountUpdateRepository.findByAccountYear(year)
+            .orElseGet(() -> newCheckpoint(year));
+
+        if (checkpoint.getCompletedAt() != null) {
+            LOG.info("Holidays accounts for year {} have already been updated at {}.", year, checkpoint.getCompletedAt());
+            return;
+        }
+
+        updateAccounts(year, checkpoint);
+    }
+
+    /**
+     * Resumes the update of the accounts of the current year, if it has been started but not completed.
+     */
+    public void resumeUpdateAccountsForNextPeriod() {
 
         final int year = Year.now(clock).getValue();
+        turnOfTheYearAccountUpdateRepository.findByAccountYear(year)
+            .filter(checkpoint -> checkpoint.getCompletedAt() == null)
+            .ifPresent(checkpoint -> updateAccounts(year, checkpoint));
+    }
+
+    private void updateAccounts(int year, TurnOfTheYearAccountUpdateEntity checkpoint) {
+
+        final AccountProperties.Update update = accountProperties.getUpdate();
+        final long endOfRun = System.nanoTime() + update.getLockAtMostFor().toNanos() / 2;
+        final Long lastPersonId = checkpoint.getLastPersonId();
+
+        if (lastPersonId == null) {
+            LOG.info("Starting update of holidays accounts to calculate the remaining vacation days.");
+        } else {
+            LOG.info("Resuming update of holidays accounts for year {} after person with id {}.", year, lastPersonId);
+        }
+
         final List<Person> activePersons = personService.getActivePersons();
 
-        // get all their accounts and calculate the remaining vacation days for the new year
+        // get all their accounts of last year to calculate the remaining vacation days for the new year
+        final List<Account> accountsLastYear = accountService.getHolidaysAccount(year - 1, activePersons).stream()
+            .filter(account -> account.getAnnualVacationDays() != null)
+            .sorted(comparing(account -> account.getPerson().getId()))
+            .toList();
+
+        final List<Account> processedAccountsLastYear = accountsLastYear.stream()
+            .filter(account -> lastPersonId != null && account.getPerson().getId() <= lastPersonId)
+            .toList();
+        final List<Account> pendingAccountsLastYear = accountsLastYear.subList(processedAccountsLastYear.size(), accountsLastYear.size());
+
+        final int chunkSize = update.getChunkSize();
+        final int accountsPerRound = update.getWorkers() * chunkSize;
+
         final List<Account> updatedAccounts = new ArrayList<>();
-        for (Person person : activePersons) {
-            final Optional<Account> accountLastYear = accountService.getHolidaysAccount(year - 1, person);
-            if (accountLastYear.isPresent() && accountLastYear.get().getAnnualVacationDays() != null) {
-                LOG.info("Updating account of person with id {}", person.getId());
-                final Account holidaysAccount = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(accountLastYear.get());
-                LOG.info("Setting remaining vacation days of person with id {} to {} for {}", person.getId(), holidaysAccount.getRemainingVacationDays(), year);
-                updatedAccounts.add(holidaysAccount);
-            } else {
-                LOG.info("No holiday account updated for person with id {}. Reason: No account for last year or annual vacation days not defined.", person.getId());
+        for (int fromIndex = 0; fromIndex < pendingAccountsLastYear.size(); fromIndex += accountsPerRound) {
+            if (fromIndex > 0 && System.nanoTime() >= endOfRun) {
+                LOG.info("Stopping update of holidays accounts for year {} after {} of {} accounts, resuming with the next run.",
+                    year, processedAccountsLastYear.size() + fromIndex, accountsLastYear.size());
+                return;
             }
+
+            final List<Account> round = pendingAccountsLastYear.subList(fromIndex, Math.min(fromIndex + accountsPerRound, pendingAccountsLastYear.size()));
+            updatedAccounts.addAll(updateRound(round, chunkSize));
+
+            checkpoint.setLastPersonId(round.getLast().getPerson().getId());
+            turnOfTheYearAccountUpdateRepository.save(checkpoint);
+        }
+
+        if (!processedAccountsLastYear.isEmpty()) {
+            final List<Person> processedPersons = processedAccountsLastYear.stream().map(Account::getPerson).toList();
+            updatedAccounts.addAll(accountService.getHolidaysAccount(year, processedPersons));
         }
 
         LOG.info("Updated holidays accounts for year {}: {} / {} ({} persons have no account)",
@@ -77,10 +153,69 @@ public class TurnOfTheYearAccountUpdaterService {
             updatedAccounts.size(),
             activePersons.size(),
             activePersons.size() - updatedAccounts.size());
-        sendSuccessfullyUpdatedAccountsNotification(updatedAccounts);
+
+        // complete the update before notifying, so that a crash while sending never sends the mails twice
+        checkpoint.setCompletedAt(Instant.now(clock));
+        turnOfTheYearAccountUpdateRepository.save(checkpoint);
+
+        sendSuccessfullyUpdatedAccountsNotification(inOrderOf(activePersons, updatedAccounts));
         vacationDaysReminderService.remindForRemainingVacationDays();
     }
 
+    /**
+     * Splits the accounts into chunks and creates or updates the next year's accounts of all chunks in parallel.
+     *
+     * @return the created or updated accounts of the next year
+     * @throws IllegalStateException if the accounts of any chunk could not be updated
+     */
+    private List<Account> updateRound(List<Account> accountsLastYear, int chunkSize) {
+
+        final List<List<Account>> chunks = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < accountsLastYear.size(); fromIndex += chunkSize) {
+            chunks.add(accountsLastYear.subList(fromIndex, Math.min(fromIndex + chunkSize, accountsLastYear.size())));
+        }
+
+        final List<Account> updatedAccounts = new ArrayList<>(accountsLastYear.size());
+        try (ExecutorService executor = newVirtualThreadPerTaskExecutor()) {
+            final List<Future<List<Account>>> futures = chunks.stream()
+                .map(chunk -> executor.submit(() -> accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(chunk)))
+                .toList();
+
+            for (Future<List<Account>> future : futures) {
+                updatedAccounts.addAll(getUpdatedAccounts(future));
+            }
+        }
+
+        return updatedAccounts;
+    }
+
+    private static List<Account> getUpdatedAccounts(Future<List<Account>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while updating holidays accounts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not update holidays accounts", e.getCause());
+        }
+    }
+
+    private static List<Account> inOrderOf(List<Person> persons, List<Account> accounts) {
+        final Map<Person, Integer> positions = new HashMap<>();
+        for (int index = 0; index < persons.size(); index++) {
+            positions.put(persons.get(index), index);
+        }
+        return accounts.stream()
+            .sorted(comparing(account -> positions.getOrDefault(account.getPerson(), persons.size())))
+            .toList();
+    }
+
+    private static TurnOfTheYearAccountUpdateEntity newCheckpoint(int year) {
+        final TurnOfTheYearAccountUpdateEntity checkpoint = new TurnOfTheYearAccountUpdateEntity();
+        checkpoint.setAccountYear(year);
+        return checkpoint;
+    }
+
     /**
      * Sends mail to the tool's manager if holidays accounts were updated successfully on 1st January of a year.
      * (setting remaining vacation days)
@@ -0,0 +1,45 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Used vacation days of a person in the year of an {@link Account}, split at the expiry date of the remaining
+ * vacation days.
+ *
+ * @param expiryDate                       expiry date of the account the used vacation days are split at
+ * @param usedVacationDaysBeforeExpiryDate used vacation days before the expiry date
+ * @param usedVacationDaysAfterExpiryDate  used vacation days at or after the expiry date
+ * @param fingerprint                      of the settings the used vacation days have been calculated with,
+ *                                         see {@link VacationBalanceFingerprint}
+ */
+record VacationBalance(
+    LocalDate expiryDate,
+    BigDecimal usedVacationDaysBeforeExpiryDate,
+    BigDecimal usedVacationDaysAfterExpiryDate,
+    String fingerprint
+) {
+
+    /**
+     * @param account     to check
+     * @param fingerprint of the current settings
+     * @return whether this balance has been calculated for the expiry date of the given account and with the given
+     * fingerprint
+     */
+    boolean isValidFor(Account account, String fingerprint) {
+        return expiryDate.equals(account.getExpiryDate()) && this.fingerprint.equals(fingerprint);
+    }
+
+    /**
+     * Compares the used vacation days by value, ignoring their scale.
+     *
+     * @param other balance to compare to
+     * @return whether both balances have the same expiry date, used vacation days and fingerprint
+     */
+    boolean isSameAs(VacationBalance other) {
+        return expiryDate.equals(other.expiryDate)
+            && fingerprint.equals(other.fingerprint)
+            && usedVacationDaysBeforeExpiryDate.compareTo(other.usedVacationDaysBeforeExpiryDate) == 0
+            && usedVacationDaysAfterExpiryDate.compareTo(other.usedVacationDaysAfterExpiryDate) == 0;
+    }
+}
@@ -0,0 +1,133 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotNull;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.AbstractTenantAwareEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Ledger entry with the used vacation days of a person in the year of an {@link Account}.
+ *
+ * <p>The used vacation days are split at the expiry date of the remaining vacation days. The entry is only valid
+ * as long as the expiry date of the account and the {@link VacationBalanceFingerprint} of the settings are the ones
+ * the entry was calculated with.</p>
+ */
+@Entity(name = "vacation_balance")
+public class VacationBalanceEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "vacation_balance_generator")
+    @SequenceGenerator(name = "vacation_balance_generator", sequenceName = "vacation_balance_id_seq")
+    private Long id;
+
+    @NotNull
+    private Long personId;
+
+    @NotNull
+    private Integer accountYear;
+
+    @NotNull
+    private LocalDate expiryDate;
+
+    @NotNull
+    private BigDecimal usedVacationDaysBeforeExpiryDate;
+
+    @NotNull
+    private BigDecimal usedVacationDaysAfterExpiryDate;
+
+    @NotNull
+    private String fingerprint;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public void setPersonId(Long personId) {
+        this.personId = personId;
+    }
+
+    public Integer getAccountYear() {
+        return accountYear;
+    }
+
+    public void setAccountYear(Integer accountYear) {
+        this.accountYear = accountYear;
+    }
+
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public BigDecimal getUsedVacationDaysBeforeExpiryDate() {
+        return usedVacationDaysBeforeExpiryDate;
+    }
+
+    public void setUsedVacationDaysBeforeExpiryDate(BigDecimal usedVacationDaysBeforeExpiryDate) {
+        this.usedVacationDaysBeforeExpiryDate = usedVacationDaysBeforeExpiryDate;
+    }
+
+    public BigDecimal getUsedVacationDaysAfterExpiryDate() {
+        return usedVacationDaysAfterExpiryDate;
+    }
+
+    public void setUsedVacationDaysAfterExpiryDate(BigDecimal usedVacationDaysAfterExpiryDate) {
+        this.usedVacationDaysAfterExpiryDate = usedVacationDaysAfterExpiryDate;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        VacationBalanceEntity that = (VacationBalanceEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "VacationBalanceEntity{" +
+            "id=" + id +
+            ", personId=" + personId +
+            ", accountYear=" + accountYear +
+            ", expiryDate=" + expiryDate +
+            ", usedVacationDaysBeforeExpiryDate=" + usedVacationDaysBeforeExpiryDate +
+            ", usedVacationDaysAfterExpiryDate=" + usedVacationDaysAfterExpiryDate +
+            ", fingerprint=" + fingerprint +
+            "} " + super.toString();
+    }
+}
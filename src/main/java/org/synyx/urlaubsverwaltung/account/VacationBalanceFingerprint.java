@@ -0,0 +1,50 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysSettings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import static java.util.stream.Collectors.joining;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
+
+/**
+ * Fingerprint of the settings every {@link VacationBalance} of a tenant is calculated with.
+ *
+ * <p>Besides the applications, working times and accounts of a person the used vacation days depend on the vacation
+ * types counting as holiday and on the public holiday settings. A ledger entry is only valid as long as it has been
+ * calculated with the current fingerprint, so changing one of these settings invalidates all entries at once.</p>
+ */
+@Component
+class VacationBalanceFingerprint {
+
+    private final VacationTypeService vacationTypeService;
+    private final SettingsService settingsService;
+
+    VacationBalanceFingerprint(VacationTypeService vacationTypeService, SettingsService settingsService) {
+        this.vacationTypeService = vacationTypeService;
+        this.settingsService = settingsService;
+    }
+
+    /**
+     * @return the fingerprint of the current settings, e.g.
+     * {@code holiday=1,5;federalState=GERMANY_BADEN_WUERTTEMBERG;christmasEve=MORNING;newYearsEve=MORNING}
+     */
+    String current() {
+
+        final String holidayVacationTypeIds = vacationTypeService.getAllVacationTypes().stream()
+            .filter(vacationType -> HOLIDAY.equals(vacationType.getCategory()))
+            .map(VacationType::getId)
+            .sorted()
+            .map(String::valueOf)
+            .collect(joining(","));
+
+        final PublicHolidaysSettings publicHolidaysSettings = settingsService.getSettings().getPublicHolidaysSettings();
+
+        return "holiday=" + holidayVacationTypeIds
+            + ";federalState=" + publicHolidaysSettings.getFederalState()
+            + ";christmasEve=" + publicHolidaysSettings.getWorkingDurationForChristmasEve()
+            + ";newYearsEve=" + publicHolidaysSettings.getWorkingDurationForNewYearsEve();
+    }
+}
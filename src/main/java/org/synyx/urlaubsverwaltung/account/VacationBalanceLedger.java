@@ -0,0 +1,95 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Persisted {@link VacationBalance} per person and account year.
+ *
+ * <p>Reading the balances of many persons is a single query, so views showing the left vacation days do not have
+ * to calculate them from all applications of the year. The ledger is maintained by
+ * {@link VacationBalanceLedgerEventListener} and can be checked and rebuilt with
+ * {@link VacationBalanceLedgerService}.</p>
+ */
+@Component
+class VacationBalanceLedger {
+
+    private final VacationBalanceRepository vacationBalanceRepository;
+    private final TenantContextHolder tenantContextHolder;
+
+    VacationBalanceLedger(VacationBalanceRepository vacationBalanceRepository, TenantContextHolder tenantContextHolder) {
+        this.vacationBalanceRepository = vacationBalanceRepository;
+        this.tenantContextHolder = tenantContextHolder;
+    }
+
+    /**
+     * @param persons to get the balances for
+     * @param year    of the accounts
+     * @return the balance of every given person that has a ledger entry for the given year
+     */
+    Map<Person, VacationBalance> getBalances(List<Person> persons, int year) {
+
+        if (persons.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<Long, Person> personById = persons.stream().collect(toMap(Person::getId, identity(), (first, second) -> first));
+
+        return vacationBalanceRepository.findAllByPersonIdIsInAndAccountYear(personById.keySet(), year).stream()
+            .collect(toMap(entity -> personById.get(entity.getPersonId()), VacationBalanceLedger::toBalance));
+    }
+
+    /**
+     * @return the balances of all persons by person id and account year
+     */
+    Map<Long, Map<Integer, VacationBalance>> getAllBalances() {
+        return vacationBalanceRepository.findAll().stream()
+            .collect(groupingBy(VacationBalanceEntity::getPersonId,
+                toMap(VacationBalanceEntity::getAccountYear, VacationBalanceLedger::toBalance)));
+    }
+
+    /**
+     * @param personId of the person
+     * @return the balances of the person by account year
+     */
+    Map<Integer, VacationBalance> getBalances(Long personId) {
+        return vacationBalanceRepository.findAllByPersonId(personId).stream()
+            .collect(toMap(VacationBalanceEntity::getAccountYear, VacationBalanceLedger::toBalance));
+    }
+
+    /**
+     * Creates or replaces the balance of the given person and year with one upsert, so concurrent puts for the same
+     * person and year do not fail on the unique constraint. The last put wins.
+     */
+    void put(Long personId, int year, VacationBalance balance) {
+        final String tenantId = tenantContextHolder.getCurrentTenantId()
+            .map(TenantId::tenantId)
+            .orElseThrow(() -> new IllegalStateException("No tenant found to put vacation balance of person=" + personId));
+
+        vacationBalanceRepository.upsert(tenantId, personId, year, balance.expiryDate(),
+            balance.usedVacationDaysBeforeExpiryDate(), balance.usedVacationDaysAfterExpiryDate(), balance.fingerprint());
+    }
+
+    /**
+     * Removes the balance of the given person and year, if there is one.
+     */
+    void remove(Long personId, int year) {
+        final Optional<VacationBalanceEntity> entity = vacationBalanceRepository.findByPersonIdAndAccountYear(personId, year);
+        entity.ifPresent(vacationBalanceRepository::delete);
+    }
+
+    private static VacationBalance toBalance(VacationBalanceEntity entity) {
+        return new VacationBalance(entity.getExpiryDate(), entity.getUsedVacationDaysBeforeExpiryDate(),
+            entity.getUsedVacationDaysAfterExpiryDate(), entity.getFingerprint());
+    }
+}
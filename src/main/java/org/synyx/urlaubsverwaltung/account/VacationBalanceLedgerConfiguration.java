@@ -0,0 +1,37 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+import org.synyx.urlaubsverwaltung.tenancy.configuration.single.ConditionalOnSingleTenantMode;
+
+@Configuration
+@ConditionalOnSingleTenantMode
+class VacationBalanceLedgerConfiguration implements SchedulingConfigurer {
+
+    private final AccountProperties accountProperties;
+    private final VacationBalanceLedgerService vacationBalanceLedgerService;
+    private final ScheduleLocking scheduleLocking;
+    private final TaskScheduler taskScheduler;
+
+    VacationBalanceLedgerConfiguration(
+        AccountProperties accountProperties, VacationBalanceLedgerService vacationBalanceLedgerService,
+        ScheduleLocking scheduleLocking, TaskScheduler taskScheduler
+    ) {
+        this.accountProperties = accountProperties;
+        this.vacationBalanceLedgerService = vacationBalanceLedgerService;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addCronTask(
+            scheduleLocking.withLock("RebuildVacationBalanceLedger", vacationBalanceLedgerService::rebuild),
+            accountProperties.getLedger().getRebuildCron()
+        );
+    }
+}
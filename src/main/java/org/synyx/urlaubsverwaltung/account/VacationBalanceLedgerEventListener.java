@@ -0,0 +1,140 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancellationRequestedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCreatedFromSickNoteEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeclinedCancellationRequestEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeConfiguredEvent;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Updates the {@link VacationBalanceLedger} entries affected by changed applications, working times and accounts.
+ *
+ * <p>The ledger is updated after the transaction publishing the event has been committed, in a transaction of its own.
+ * A failed update is only logged and does not fail the action of the user, entries that are missing or outdated
+ * because of it are ignored when reading and corrected by the next rebuild of the ledger.</p>
+ */
+@Component
+class VacationBalanceLedgerEventListener {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final VacationBalanceLedgerService vacationBalanceLedgerService;
+    private final PersonService personService;
+
+    VacationBalanceLedgerEventListener(VacationBalanceLedgerService vacationBalanceLedgerService, PersonService personService) {
+        this.vacationBalanceLedgerService = vacationBalanceLedgerService;
+        this.personService = personService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationAppliedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationAllowedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationAllowedTemporarilyEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationRejectedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationCancelledEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationRevokedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationCancellationRequestedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationDeclinedCancellationRequestEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationCreatedFromSickNoteEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationDeletedEvent event) {
+        updateYearsOf(event.application());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(ApplicationUpdatedEvent event) {
+        // the event does not tell the dates before the update, so every year of the person may have changed
+        final Person person = event.application().getPerson();
+        updateLedger(person, () -> vacationBalanceLedgerService.updateAll(person));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(WorkingTimeConfiguredEvent event) {
+        personService.getPersonByUsername(event.username())
+            .ifPresent(person -> updateLedger(person, () -> vacationBalanceLedgerService.updateFrom(person, event.validFrom().getYear())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(AccountSavedEvent event) {
+        final Account account = event.account();
+        updateLedger(account.getPerson(), () -> vacationBalanceLedgerService.update(account.getPerson(), List.of(account.getYear())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void on(AccountsSavedEvent event) {
+        try {
+            vacationBalanceLedgerService.update(event.accounts());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not update vacation balance ledger of {} saved accounts, it is corrected by the next rebuild", event.accounts().size(), e);
+        }
+    }
+
+    private void updateYearsOf(Application application) {
+        final int startYear = application.getStartDate().getYear();
+        final int endYear = application.getEndDate().getYear();
+        final Person person = application.getPerson();
+        updateLedger(person, () -> vacationBalanceLedgerService.update(person, IntStream.rangeClosed(startYear, endYear).boxed().toList()));
+    }
+
+    private static void updateLedger(Person person, Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not update vacation balance ledger of person={}, it is corrected by the next rebuild", person.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Keeps the {@link VacationBalanceLedger} in sync with the applications, working times and accounts.
+ *
+ * <p>The updates run in a new transaction, because they are called after the transaction of the change has been
+ * committed.</p>
+ */
+@Service
+class VacationBalanceLedgerService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final VacationBalanceLedger vacationBalanceLedger;
+    private final VacationDaysService vacationDaysService;
+    private final AccountService accountService;
+    private final PersonService personService;
+
+    VacationBalanceLedgerService(
+        VacationBalanceLedger vacationBalanceLedger,
+        VacationDaysService vacationDaysService,
+        AccountService accountService,
+        PersonService personService
+    ) {
+        this.vacationBalanceLedger = vacationBalanceLedger;
+        this.vacationDaysService = vacationDaysService;
+        this.accountService = accountService;
+        this.personService = personService;
+    }
+
+    /**
+     * Recalculates the ledger entries of the given person for the given years. Years without an account of the
+     * person are removed from the ledger.
+     *
+     * @param person to update the ledger for
+     * @param years  to update
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    void update(Person person, Collection<Integer> years) {
+        final Set<Integer> yearsToUpdate = Set.copyOf(years);
+        update(person, yearsToUpdate::contains);
+    }
+
+    /**
+     * Recalculates all ledger entries of the given person beginning with the given year.
+     *
+     * @param person to update the ledger for
+     * @param year   first year to update
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    void updateFrom(Person person, int year) {
+        update(person, accountYear -> accountYear >= year);
+    }
+
+    /**
+     * Recalculates all ledger entries of the given person.
+     *
+     * @param person to update the ledger for
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    void updateAll(Person person) {
+        update(person, accountYear -> true);
+    }
+
+    /**
+     * Recalculates the ledger entries of the given accounts, e.g. of the accounts saved at the turn of the year. The
+     * balances of all accounts are calculated at once instead of person by person.
+     *
+     * @param accounts to update the ledger for
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    void update(List<Account> accounts) {
+        vacationDaysService.calculateVacationBalances(accounts)
+            .forEach((account, balance) -> vacationBalanceLedger.put(account.getPerson().getId(), account.getYear(), balance));
+    }
+
+    private void update(Person person, IntPredicate isYearToUpdate) {
+
+        final List<Account> accounts = accountService.getHolidaysAccountsByPerson(person).stream()
+            .filter(account -> isYearToUpdate.test(account.getYear()))
+            .toList();
+
+        final Map<Account, VacationBalance> balances = vacationDaysService.calculateVacationBalances(accounts);
+        balances.forEach((account, balance) -> vacationBalanceLedger.put(person.getId(), account.getYear(), balance));
+
+        final Set<Integer> yearsWithAccount = new HashSet<>();
+        accounts.forEach(account -> yearsWithAccount.add(account.getYear()));
+        vacationBalanceLedger.getBalances(person.getId()).keySet().stream()
+            .filter(isYearToUpdate::test)
+            .filter(year -> !yearsWithAccount.contains(year))
+            .forEach(year -> vacationBalanceLedger.remove(person.getId(), year));
+    }
+
+    /**
+     * Compares every ledger entry with the used vacation days calculated from the applications.
+     *
+     * @return every ledger entry that is missing, outdated or belongs to no account anymore
+     */
+    @Transactional
+    public List<VacationBalanceMismatch> checkConsistency() {
+
+        final List<Account> accounts = accountService.getHolidaysAccountsByPersons(personService.getAllPersons());
+
+        final Map<Account, VacationBalance> expectedBalances = vacationDaysService.calculateVacationBalances(accounts);
+        final Map<Long, Map<Integer, VacationBalance>> actualBalances = vacationBalanceLedger.getAllBalances();
+
+        final List<VacationBalanceMismatch> mismatches = new ArrayList<>();
+        expectedBalances.forEach((account, expected) -> {
+            final Long personId = account.getPerson().getId();
+            final Map<Integer, VacationBalance> actualBalancesOfPerson = actualBalances.getOrDefault(personId, Map.of());
+            final VacationBalance actual = actualBalancesOfPerson.get(account.getYear());
+            if (actual == null || !actual.isSameAs(expected)) {
+                mismatches.add(new VacationBalanceMismatch(personId, account.getYear(), expected, actual));
+            }
+        });
+
+        final Map<Long, Set<Integer>> accountYearsByPersonId = new HashMap<>();
+        expectedBalances.keySet().forEach(account ->
+            accountYearsByPersonId.computeIfAbsent(account.getPerson().getId(), personId -> new HashSet<>()).add(account.getYear()));
+        actualBalances.forEach((personId, balancesOfPerson) -> balancesOfPerson.forEach((year, actual) -> {
+            if (!accountYearsByPersonId.getOrDefault(personId, Set.of()).contains(year)) {
+                mismatches.add(new VacationBalanceMismatch(personId, year, null, actual));
+            }
+        }));
+
+        return mismatches;
+    }
+
+    /**
+     * Checks the consistency of the ledger and corrects every mismatch.
+     *
+     * @return the corrected mismatches
+     */
+    @Transactional
+    public List<VacationBalanceMismatch> rebuild() {
+
+        final List<VacationBalanceMismatch> mismatches = checkConsistency();
+        for (VacationBalanceMismatch mismatch : mismatches) {
+            if (mismatch.expected() == null) {
+                vacationBalanceLedger.remove(mismatch.personId(), mismatch.year());
+            } else {
+                vacationBalanceLedger.put(mismatch.personId(), mismatch.year(), mismatch.expected());
+            }
+        }
+
+        if (mismatches.isEmpty()) {
+            LOG.info("Vacation balance ledger is consistent");
+        } else {
+            LOG.warn("Corrected {} inconsistent vacation balance ledger entries: {}", mismatches.size(), mismatches);
+        }
+
+        return mismatches;
+    }
+
+    /**
+     * Ledger entry that differs from the calculated used vacation days.
+     *
+     * @param personId of the person
+     * @param year     of the account
+     * @param expected calculated balance, {@code null} if the person has no account for the year
+     * @param actual   balance in the ledger, {@code null} if there is no entry
+     */
+    record VacationBalanceMismatch(Long personId, int year, @Nullable VacationBalance expected, @Nullable VacationBalance actual) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+interface VacationBalanceRepository extends JpaRepository<VacationBalanceEntity, Long> {
+
+    List<VacationBalanceEntity> findAllByPersonIdIsInAndAccountYear(Collection<Long> personIds, Integer accountYear);
+
+    Optional<VacationBalanceEntity> findByPersonIdAndAccountYear(Long personId, Integer accountYear);
+
+    List<VacationBalanceEntity> findAllByPersonId(Long personId);
+
+    // NOTE: a single statement, so concurrent updates of the same person and year do not violate the unique constraint
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO vacation_balance (tenant_id, id, person_id, account_year, expiry_date,
+                                      used_vacation_days_before_expiry_date, used_vacation_days_after_expiry_date, fingerprint)
+        VALUES (:tenantId, nextval('vacation_balance_id_seq'), :personId, :accountYear, :expiryDate,
+                :usedVacationDaysBeforeExpiryDate, :usedVacationDaysAfterExpiryDate, :fingerprint)
+        ON CONFLICT (person_id, account_year) DO UPDATE SET
+            expiry_date = excluded.expiry_date,
+            used_vacation_days_before_expiry_date = excluded.used_vacation_days_before_expiry_date,
+            used_vacation_days_after_expiry_date = excluded.used_vacation_days_after_expiry_date,
+            fingerprint = excluded.fingerprint
+        """, nativeQuery = true)
+    void upsert(
+        @Param("tenantId") String tenantId,
+        @Param("personId") Long personId,
+        @Param("accountYear") int accountYear,
+        @Param("expiryDate") LocalDate expiryDate,
+        @Param("usedVacationDaysBeforeExpiryDate") BigDecimal usedVacationDaysBeforeExpiryDate,
+        @Param("usedVacationDaysAfterExpiryDate") BigDecimal usedVacationDaysAfterExpiryDate,
+        @Param("fingerprint") String fingerprint
+    );
+}
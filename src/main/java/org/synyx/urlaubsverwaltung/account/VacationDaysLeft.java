@@ -50,6 +50,15 @@ public final class VacationDaysLeft {
         return vacationDays.add(getRemainingVacationDaysLeft(today, doRemainingVacationDaysExpire, expiryDate));
     }
 
+    /**
+     * Same as {@link #getLeftVacationDays(LocalDate, boolean, LocalDate)}, but the vacation days of this year that
+     * have already been used next year are not subtracted. They are only subtracted from the annual vacation days, so
+     * adding them back is the same as calculating the left vacation days without considering the next year.
+     */
+    public BigDecimal getLeftVacationDaysIgnoringUsedNextYear(LocalDate today, boolean doRemainingVacationDaysExpire, LocalDate expiryDate) {
+        return getLeftVacationDays(today, doRemainingVacationDaysExpire, expiryDate).add(vacationDaysUsedNextYear);
+    }
+
     public BigDecimal getRemainingVacationDaysLeft(LocalDate today, boolean doRemainingVacationDaysExpire, LocalDate expiryDate) {
         if (!doRemainingVacationDaysExpire || today.isBefore(expiryDate)) {
             return remainingVacationDays;
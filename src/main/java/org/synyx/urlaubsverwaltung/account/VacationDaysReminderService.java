@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,36 +14,55 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.math.BigDecimal.ZERO;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Reminds persons of their left vacation days and notifies them about expired remaining vacation days.
+ *
+ * <p>Each job handles all active persons in one pass: the accounts of this and next year are loaded with one query
+ * and the left vacation days of all accounts are calculated at once, so the working time calendars are built and
+ * the applications are fetched once per run instead of once per person.</p>
+ */
 @Service
 public class VacationDaysReminderService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final String METRIC_REMINDER = "uv.account.reminder";
+
     private final PersonService personService;
     private final AccountService accountService;
     private final VacationDaysService vacationDaysService;
     private final MailService mailService;
     private final Clock clock;
 
+    private final Timer currentlyLeftVacationDaysTimer;
+    private final Timer remainingVacationDaysTimer;
+    private final Timer expiredRemainingVacationDaysTimer;
+
     @Autowired
     VacationDaysReminderService(
         PersonService personService, AccountService accountService, VacationDaysService vacationDaysService,
-        MailService mailService, Clock clock
+        MailService mailService, Clock clock, MeterRegistry meterRegistry
     ) {
         this.personService = personService;
         this.accountService = accountService;
         this.vacationDaysService = vacationDaysService;
         this.mailService = mailService;
         this.clock = clock;
+
+        this.currentlyLeftVacationDaysTimer = reminderTimer("currently-left-vacation-days", meterRegistry);
+        this.remainingVacationDaysTimer = reminderTimer("remaining-vacation-days", meterRegistry);
+        this.expiredRemainingVacationDaysTimer = reminderTimer("expired-remaining-vacation-days", meterRegistry);
     }
 
     /**
@@ -49,24 +70,33 @@ public class VacationDaysReminderService {
      * This mail will be sent by default in october
      */
     public void remindForCurrentlyLeftVacationDays() {
+        currentlyLeftVacationDaysTimer.record(this::doRemindForCurrentlyLeftVacationDays);
+    }
+
+    private void doRemindForCurrentlyLeftVacationDays() {
         final Year year = Year.now(clock);
         final Year nextYear = year.plusYears(1);
-        final List<Person> persons = personService.getActivePersons();
-
-        accountService.getHolidaysAccount(year.getValue(), persons)
-            .forEach(holidayAccountThisYear -> {
-                final BigDecimal vacationDaysLeft = vacationDaysService.getTotalLeftVacationDays(holidayAccountThisYear);
-                if (vacationDaysLeft.compareTo(ZERO) > 0) {
-
-                    final Optional<Account> holidaysAccountsNextYear = accountService.getHolidaysAccount(nextYear.getValue(), holidayAccountThisYear.getPerson());
-                    final Account holidayAccountNextWithFallbackThisYear = holidaysAccountsNextYear.orElse(holidayAccountThisYear);
-                    if (holidayAccountNextWithFallbackThisYear.doRemainingVacationDaysExpire()) {
-                        final LocalDate expiryDate = holidayAccountNextWithFallbackThisYear.getExpiryDate().withYear(nextYear.getValue());
-                        sendReminderForCurrentlyLeftVacationDays(holidayAccountNextWithFallbackThisYear.getPerson(), vacationDaysLeft, expiryDate);
-                        LOG.info("Reminded person with id {} for {} currently left vacation days", holidayAccountNextWithFallbackThisYear.getPerson().getId(), vacationDaysLeft);
-                    }
+        final LocalDate today = LocalDate.now(clock);
+
+        final VacationDaysOfYear vacationDaysOfYear = getVacationDaysOfYear(year);
+
+        final List<Mail> mails = new ArrayList<>();
+        vacationDaysOfYear.holidaysAccounts().forEach(holidayAccountThisYear -> {
+            // the left vacation days of this year, even if some of them have already been used next year
+            final BigDecimal vacationDaysLeft = vacationDaysOfYear.vacationDaysLeftOf(holidayAccountThisYear).vacationDaysYear()
+                .getLeftVacationDaysIgnoringUsedNextYear(today, holidayAccountThisYear.doRemainingVacationDaysExpire(), holidayAccountThisYear.getExpiryDate());
+            if (vacationDaysLeft.compareTo(ZERO) > 0) {
+
+                final Account holidayAccountNextWithFallbackThisYear = vacationDaysOfYear.holidaysAccountNextYearOrElse(holidayAccountThisYear);
+                if (holidayAccountNextWithFallbackThisYear.doRemainingVacationDaysExpire()) {
+                    final LocalDate expiryDate = holidayAccountNextWithFallbackThisYear.getExpiryDate().withYear(nextYear.getValue());
+                    mails.add(reminderForCurrentlyLeftVacationDays(holidayAccountNextWithFallbackThisYear.getPerson(), vacationDaysLeft, expiryDate));
+                    LOG.info("Reminded person with id {} for {} currently left vacation days", holidayAccountNextWithFallbackThisYear.getPerson().getId(), vacationDaysLeft);
                 }
-            });
+            }
+        });
+
+        sendMails(mails);
     }
 
     /**
@@ -74,113 +104,169 @@ public class VacationDaysReminderService {
      * Should be called after turn of the year logic which calculates the new account for the new year
      */
     public void remindForRemainingVacationDays() {
+        remainingVacationDaysTimer.record(this::doRemindForRemainingVacationDays);
+    }
 
-        final Year year = Year.now(clock);
-        final List<Person> persons = personService.getActivePersons();
-
-        final List<Account> holidaysAccounts = accountService.getHolidaysAccount(year.getValue(), persons);
+    private void doRemindForRemainingVacationDays() {
 
-        if (!holidaysAccounts.isEmpty()) {
+        final Year year = Year.now(clock);
+        final VacationDaysOfYear vacationDaysOfYear = getVacationDaysOfYear(year);
 
-            final List<Account> holidaysAccountsNextYear = accountService.getHolidaysAccount(year.plusYears(1).getValue(), persons);
-            final Map<Account, HolidayAccountVacationDays> accountHolidayAccountVacationDaysMap = vacationDaysService.getVacationDaysLeft(holidaysAccounts, year, holidaysAccountsNextYear);
+        final List<Mail> mails = new ArrayList<>();
+        vacationDaysOfYear.holidaysAccounts().stream()
+            .filter(Account::doRemainingVacationDaysExpire)
+            .forEach(account -> {
 
-            accountHolidayAccountVacationDaysMap.keySet().stream()
-                .filter(Account::doRemainingVacationDaysExpire)
-                .forEach(account -> {
+                final VacationDaysLeft vacationDaysLeft = vacationDaysOfYear.vacationDaysLeftOf(account).vacationDaysDateRange();
 
-                    final HolidayAccountVacationDays holidayAccountVacationDays = accountHolidayAccountVacationDaysMap.get(account);
-                    final VacationDaysLeft vacationDaysLeft = holidayAccountVacationDays.vacationDaysDateRange();
+                final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
+                    .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
 
-                    final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
-                        .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
+                if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
+                    mails.add(reminderForRemainingVacationDaysNotification(account.getPerson(), remainingVacationDaysLeft, account.getExpiryDate().minusDays(1), account.getExpiryDate()));
+                    LOG.info("Reminded person with id {} for {} remaining vacation days in year {}.", account.getPerson().getId(), remainingVacationDaysLeft, year);
+                }
+            });
 
-                    if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
-                        sendReminderForRemainingVacationDaysNotification(account.getPerson(), remainingVacationDaysLeft, account.getExpiryDate().minusDays(1), account.getExpiryDate());
-                        LOG.info("Reminded person with id {} for {} remaining vacation days in year {}.", account.getPerson().getId(), remainingVacationDaysLeft, year);
-                    }
-                });
-        }
+        sendMails(mails);
     }
 
     /**
      * Notify about expired remaining vacation days
      */
     public void notifyForExpiredRemainingVacationDays() {
+        expiredRemainingVacationDaysTimer.record(this::doNotifyForExpiredRemainingVacationDays);
+    }
+
+    private void doNotifyForExpiredRemainingVacationDays() {
         final Year currentYear = Year.now(clock);
         final LocalDate currentDate = LocalDate.now(clock);
 
-        final List<Person> persons = personService.getActivePersons();
-        final List<Account> holidaysAccounts = accountService.getHolidaysAccount(currentYear.getValue(), persons);
+        final VacationDaysOfYear vacationDaysOfYear = getVacationDaysOfYear(currentYear);
 
-        if (!holidaysAccounts.isEmpty()) {
+        final List<Mail> mails = new ArrayList<>();
+        final List<Account> notifiedAccounts = new ArrayList<>();
+        vacationDaysOfYear.holidaysAccounts().stream()
+            .filter(Account::doRemainingVacationDaysExpire)
+            .forEach(account -> {
 
-            final List<Account> holidaysAccountsNextYear = accountService.getHolidaysAccount(currentYear.plusYears(1).getValue(), persons);
-            final Map<Account, HolidayAccountVacationDays> accountHolidayAccountVacationDaysMap = vacationDaysService.getVacationDaysLeft(holidaysAccounts, currentYear, holidaysAccountsNextYear);
+                final LocalDate expiryDate = account.getExpiryDate();
+                if (account.getExpiryNotificationSentDate() == null && (currentDate.isEqual(expiryDate) || currentDate.isAfter(expiryDate))) {
 
-            accountHolidayAccountVacationDaysMap.keySet().stream()
-                .filter(Account::doRemainingVacationDaysExpire)
-                .forEach(account -> {
+                    final VacationDaysLeft vacationDaysLeft = vacationDaysOfYear.vacationDaysLeftOf(account).vacationDaysDateRange();
+                    final BigDecimal expiredRemainingVacationDays = vacationDaysLeft.getRemainingVacationDays()
+                        .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
+                    if (expiredRemainingVacationDays.compareTo(ZERO) > 0) {
+                        final BigDecimal totalLeftVacationDays = vacationDaysOfYear.vacationDaysLeftOf(account).vacationDaysYear()
+                            .getLeftVacationDaysIgnoringUsedNextYear(currentDate, account.doRemainingVacationDaysExpire(), expiryDate);
 
-                    final HolidayAccountVacationDays holidayAccountVacationDays = accountHolidayAccountVacationDaysMap.get(account);
-                    final VacationDaysLeft vacationDaysLeft = holidayAccountVacationDays.vacationDaysDateRange();
+                        mails.add(notificationForExpiredRemainingVacationDays(account.getPerson(), expiredRemainingVacationDays, totalLeftVacationDays, vacationDaysLeft.getRemainingVacationDaysNotExpiring(), expiryDate));
+                        LOG.info("Notified person with id {} for {} expired remaining vacation days in year {}.", account.getPerson().getId(), expiredRemainingVacationDays, currentYear);
 
-                    final LocalDate expiryDate = account.getExpiryDate();
-                    if (account.getExpiryNotificationSentDate() == null && (currentDate.isEqual(expiryDate) || currentDate.isAfter(expiryDate))) {
+                        account.setExpiryNotificationSentDate(currentDate);
+                        notifiedAccounts.add(account);
+                    }
+                }
+            });
 
-                        final BigDecimal expiredRemainingVacationDays = vacationDaysLeft.getRemainingVacationDays()
-                            .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
-                        if (expiredRemainingVacationDays.compareTo(ZERO) > 0) {
-                            final BigDecimal totalLeftVacationDays = vacationDaysService.getTotalLeftVacationDays(account);
+        if (!notifiedAccounts.isEmpty()) {
+            accountService.saveAll(notifiedAccounts);
+        }
+        sendMails(mails);
+    }
 
-                            sendNotificationForExpiredRemainingVacationDays(account.getPerson(), expiredRemainingVacationDays, totalLeftVacationDays, vacationDaysLeft.getRemainingVacationDaysNotExpiring(), account.getExpiryDate());
-                            LOG.info("Notified person with id {} for {} expired remaining vacation days in year {}.", account.getPerson().getId(), expiredRemainingVacationDays, currentYear);
+    /**
+     * Loads the accounts of the given and the next year of all active persons with one query and calculates the
+     * left vacation days of all accounts of the given year at once.
+     */
+    private VacationDaysOfYear getVacationDaysOfYear(Year year) {
 
-                            account.setExpiryNotificationSentDate(currentDate);
-                            accountService.save(account);
-                        }
-                    }
-                });
+        final Year nextYear = year.plusYears(1);
+        final List<Person> persons = personService.getActivePersons();
+
+        final List<Account> holidaysAccountsOfBothYears = accountService.getHolidaysAccount(List.of(year.getValue(), nextYear.getValue()), persons);
+        final List<Account> holidaysAccounts = holidaysAccountsOfBothYears.stream().filter(account -> account.getYear() == year.getValue()).toList();
+        if (holidaysAccounts.isEmpty()) {
+            return new VacationDaysOfYear(List.of(), Map.of(), Map.of());
         }
+
+        final List<Account> holidaysAccountsNextYear = holidaysAccountsOfBothYears.stream().filter(account -> account.getYear() == nextYear.getValue()).toList();
+        final Map<Account, HolidayAccountVacationDays> vacationDaysLeft = vacationDaysService.getVacationDaysLeft(holidaysAccounts, year, holidaysAccountsNextYear);
+        final Map<Person, Account> holidaysAccountNextYearByPerson = holidaysAccountsNextYear.stream()
+            .collect(toMap(Account::getPerson, identity(), (first, second) -> first));
+
+        return new VacationDaysOfYear(holidaysAccounts, vacationDaysLeft, holidaysAccountNextYearByPerson);
     }
 
-    private void sendReminderForCurrentlyLeftVacationDays(Person person, BigDecimal vacationDaysLeft, LocalDate expiryDateNextYear) {
+    /**
+     * @param holidaysAccounts                of the year, in the order they have been loaded
+     * @param vacationDaysLeft                of every account of the year
+     * @param holidaysAccountNextYearByPerson account of the next year of every person that has one
+     */
+    private record VacationDaysOfYear(
+        List<Account> holidaysAccounts,
+        Map<Account, HolidayAccountVacationDays> vacationDaysLeft,
+        Map<Person, Account> holidaysAccountNextYearByPerson
+    ) {
+
+        HolidayAccountVacationDays vacationDaysLeftOf(Account account) {
+            return vacationDaysLeft.get(account);
+        }
+
+        Account holidaysAccountNextYearOrElse(Account holidaysAccount) {
+            return holidaysAccountNextYearByPerson.getOrDefault(holidaysAccount.getPerson(), holidaysAccount);
+        }
+    }
+
+    private Mail reminderForCurrentlyLeftVacationDays(Person person, BigDecimal vacationDaysLeft, LocalDate expiryDateNextYear) {
         final Map<String, Object> model = new HashMap<>();
         model.put("vacationDaysLeft", vacationDaysLeft);
         model.put("expiryDateNextYear", expiryDateNextYear);
 
-        sendMail(person, "subject.account.remindForCurrentlyLeftVacationDays", "account_cron_currently_left_vacation_days", model);
+        return mail(person, "subject.account.remindForCurrentlyLeftVacationDays", "account_cron_currently_left_vacation_days", model);
     }
 
-    private void sendReminderForRemainingVacationDaysNotification(Person person, BigDecimal remainingVacationDays, LocalDate dayBeforeExpiryDate, LocalDate expiryDate) {
+    private Mail reminderForRemainingVacationDaysNotification(Person person, BigDecimal remainingVacationDays, LocalDate dayBeforeExpiryDate, LocalDate expiryDate) {
         final Map<String, Object> model = new HashMap<>();
         model.put("remainingVacationDays", remainingVacationDays);
         model.put("dayBeforeExpiryDate", dayBeforeExpiryDate);
         model.put("expiryDate", expiryDate);
 
-        sendMail(person, "subject.account.remindForRemainingVacationDays", "account_cron_remind_remaining_vacation_days", model);
+        return mail(person, "subject.account.remindForRemainingVacationDays", "account_cron_remind_remaining_vacation_days", model);
     }
 
-    private void sendNotificationForExpiredRemainingVacationDays(Person person, BigDecimal expiredRemainingVacationDays, BigDecimal totalLeftVacationDays, BigDecimal remainingVacationDaysNotExpiring, LocalDate expiryDate) {
+    private Mail notificationForExpiredRemainingVacationDays(Person person, BigDecimal expiredRemainingVacationDays, BigDecimal totalLeftVacationDays, BigDecimal remainingVacationDaysNotExpiring, LocalDate expiryDate) {
         final Map<String, Object> model = new HashMap<>();
         model.put("expiredRemainingVacationDays", expiredRemainingVacationDays);
         model.put("totalLeftVacationDays", totalLeftVacationDays);
         model.put("remainingVacationDaysNotExpiring", remainingVacationDaysNotExpiring);
         model.put("expiryDate", expiryDate);
 
-        sendMail(person, "subject.account.notifyForExpiredRemainingVacationDays", "account_cron_expired_remaining_vacation_days", model);
+        return mail(person, "subject.account.notifyForExpiredRemainingVacationDays", "account_cron_expired_remaining_vacation_days", model);
     }
 
-    private void sendMail(Person person, String subjectMessageKey, String templateName, Map<String, Object> model) {
+    private Mail mail(Person person, String subjectMessageKey, String templateName, Map<String, Object> model) {
 
         model.put("recipientNiceName", person.getNiceName());
         model.put("personId", person.getId());
 
-        final Mail mailToPerson = Mail.builder()
+        return Mail.builder()
             .withRecipient(person)
             .withSubject(subjectMessageKey)
             .withTemplate(templateName, _ -> model)
             .build();
-        mailService.send(mailToPerson);
+    }
+
+    private void sendMails(List<Mail> mails) {
+        if (!mails.isEmpty()) {
+            mailService.send(mails);
+        }
+    }
+
+    private static Timer reminderTimer(String job, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_REMINDER)
+            .description("time to run a job that reminds persons of their vacation days")
+            .tag("job", job)
+            .register(meterRegistry);
     }
 }
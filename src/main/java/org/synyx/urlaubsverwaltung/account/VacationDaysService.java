@@ -14,9 +14,14 @@ import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.math.BigDecimal.ZERO;
@@ -28,6 +33,7 @@ import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.reducing;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.activeStatuses;
 import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
 
@@ -40,16 +46,22 @@ public class VacationDaysService {
 
     private final WorkingTimeCalendarService workingTimeCalendarService;
     private final ApplicationService applicationService;
+    private final VacationBalanceLedger vacationBalanceLedger;
+    private final VacationBalanceFingerprint vacationBalanceFingerprint;
     private final Clock clock;
 
     @Autowired
     VacationDaysService(
         WorkingTimeCalendarService workingTimeCalendarService,
         ApplicationService applicationService,
+        VacationBalanceLedger vacationBalanceLedger,
+        VacationBalanceFingerprint vacationBalanceFingerprint,
         Clock clock
     ) {
         this.workingTimeCalendarService = workingTimeCalendarService;
         this.applicationService = applicationService;
+        this.vacationBalanceLedger = vacationBalanceLedger;
+        this.vacationBalanceFingerprint = vacationBalanceFingerprint;
         this.clock = clock;
     }
 
@@ -115,6 +127,8 @@ public class VacationDaysService {
      * so that it can adjust for vacation days carried over from this year to the next and then used there
      * (reducing the amount available in this year accordingly)
      *
+     * <p>If the date range is a whole year the used vacation days are read from the {@link VacationBalanceLedger}.</p>
+     *
      * @param holidayAccounts         {@link Account} to determine configured expiryDate of {@link Application}s
      * @param dateRange               date range to calculate left vacation days for. must be within a year.
      * @param holidayAccountsNextYear to calculate the vacation days that are already used next year
@@ -127,6 +141,12 @@ public class VacationDaysService {
         List<Account> holidayAccountsNextYear
     ) {
         final LocalDate from = dateRange.startDate();
+        if (isWholeYear(dateRange)) {
+            final Year year = Year.of(from.getYear());
+            return getVacationDaysLeftOfYear(holidayAccounts, year, holidayAccountsNextYear,
+                persons -> workingTimeCalendarService.getWorkingTimesByPersons(persons, year));
+        }
+
         final List<Account> holidayAccountsForYear = holidayAccounts.stream().filter(account -> account.getYear() == from.getYear()).toList();
         final List<Person> persons = holidayAccountsForYear.stream().map(Account::getPerson).toList();
         final Map<Person, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(from.getYear()));
@@ -160,56 +180,136 @@ public class VacationDaysService {
             throw new IllegalArgumentException("date range must be in the same year but was from=%s to=%s".formatted(from, to));
         }
 
+        if (isWholeYear(dateRange)) {
+            return getVacationDaysLeftOfYear(holidayAccounts, Year.of(from.getYear()), holidayAccountsNextYear, persons -> workingTimeCalendarsByPerson);
+        }
+
         final List<Account> holidayAccountsForYear = holidayAccounts.stream().filter(account -> account.getYear() == from.getYear()).toList();
+        final Map<Person, BigDecimal> vacationDaysUsedNextYearByPerson = getVacationDaysUsedNextYearByPerson(holidayAccountsForYear, holidayAccountsNextYear, from.getYear() + 1);
+
         return getUsedVacationDays(holidayAccountsForYear, dateRange, workingTimeCalendarsByPerson).entrySet().stream()
-            .map(entry -> {
-                final Account account = entry.getKey();
-
-                final UsedVacationDaysTuple usedVacationDaysTuple = entry.getValue();
-                final UsedVacationDaysYear usedVacationDaysYear = usedVacationDaysTuple.usedVacationDaysYear();
-                final BigDecimal vacationDaysUsedNextYear = holidayAccountsNextYear.stream()
-                    .filter(holidayAccountNextYear -> holidayAccountNextYear.getPerson().equals(account.getPerson()))
-                    .filter(holidayAccountNextYear -> holidayAccountNextYear.getYear() == from.getYear() + 1)
-                    .findFirst()
-                    .map(this::getUsedRemainingVacationDays)
-                    .orElse(ZERO);
-
-                final BigDecimal vacationDays = account.getActualVacationDays();
-                final BigDecimal remainingVacationDays = account.getRemainingVacationDays();
-
-                final BigDecimal remainingVacationDaysNotExpiring;
-                final LocalDate today = LocalDate.now(clock);
-                if (!account.doRemainingVacationDaysExpire() || today.isBefore(account.getExpiryDate())) {
-                    remainingVacationDaysNotExpiring =  remainingVacationDays;
-                } else {
-                    // it's after expiry day - only the left not expiring remaining vacation days must be used
-                    remainingVacationDaysNotExpiring = account.getRemainingVacationDaysNotExpiring();
-                }
-
-                final VacationDaysLeft vacationDaysLeftYear = VacationDaysLeft.builder()
-                    .withAnnualVacation(vacationDays)
-                    .withRemainingVacation(remainingVacationDays)
-                    .notExpiring(remainingVacationDaysNotExpiring)
-                    .forUsedVacationDaysBeforeExpiry(usedVacationDaysYear.usedVacationDaysBeforeExpiryDate())
-                    .forUsedVacationDaysAfterExpiry(usedVacationDaysYear.usedVacationDaysAfterExpiryDate())
-                    .withVacationDaysUsedNextYear(vacationDaysUsedNextYear)
-                    .build();
-
-                final UsedVacationDaysDateRange usedVacationDaysDateRange = usedVacationDaysTuple.usedVacationDaysDateRange();
-                final VacationDaysLeft vacationDaysLeftDateRange = VacationDaysLeft.builder()
-                    .withAnnualVacation(vacationDays)
-                    .withRemainingVacation(remainingVacationDays)
-                    .notExpiring(remainingVacationDaysNotExpiring)
-                    .forUsedVacationDaysBeforeExpiry(usedVacationDaysDateRange.usedVacationDaysBeforeExpiryDate())
-                    .forUsedVacationDaysAfterExpiry(usedVacationDaysDateRange.usedVacationDaysAfterExpiryDate())
-                    .withVacationDaysUsedNextYear(vacationDaysUsedNextYear)
-                    .build();
-
-                return new HolidayAccountVacationDays(account, vacationDaysLeftYear, vacationDaysLeftDateRange);
-            })
+            .map(entry -> toHolidayAccountVacationDays(entry.getKey(), entry.getValue(), vacationDaysUsedNextYearByPerson.getOrDefault(entry.getKey().getPerson(), ZERO)))
+            .collect(toMap(HolidayAccountVacationDays::account, identity()));
+    }
+
+    /**
+     * Calculates the {@link VacationBalance} of the given accounts from their applications, without considering
+     * the {@link VacationBalanceLedger}. The accounts of one year share one {@link WorkingTimeCalendar} build and one
+     * fetch of the applications.
+     *
+     * @param accounts to calculate the used vacation days of the year of the account
+     * @return the calculated {@link VacationBalance} for every passed {@link Account}
+     */
+    Map<Account, VacationBalance> calculateVacationBalances(List<Account> accounts) {
+
+        final Map<Account, VacationBalance> balances = new HashMap<>();
+        if (accounts.isEmpty()) {
+            return balances;
+        }
+
+        final String fingerprint = vacationBalanceFingerprint.current();
+
+        accounts.stream().collect(groupingBy(Account::getYear)).forEach((year, accountsOfYear) -> {
+            final Year accountYear = Year.of(year);
+            final List<Person> persons = accountsOfYear.stream().map(Account::getPerson).toList();
+            final Map<Person, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarService.getWorkingTimesByPersons(persons, accountYear);
+
+            getUsedVacationDays(accountsOfYear, wholeYear(accountYear), workingTimeCalendars).forEach((account, usedVacationDays) -> {
+                final UsedVacationDaysYear usedVacationDaysYear = usedVacationDays.usedVacationDaysYear();
+                balances.put(account, new VacationBalance(account.getExpiryDate(),
+                    usedVacationDaysYear.usedVacationDaysBeforeExpiryDate(), usedVacationDaysYear.usedVacationDaysAfterExpiryDate(), fingerprint));
+            });
+        });
+
+        return balances;
+    }
+
+    private Map<Account, HolidayAccountVacationDays> getVacationDaysLeftOfYear(
+        List<Account> holidayAccounts,
+        Year year,
+        List<Account> holidayAccountsNextYear,
+        Function<List<Person>, Map<Person, WorkingTimeCalendar>> workingTimeCalendarsProvider
+    ) {
+        final List<Account> holidayAccountsForYear = holidayAccounts.stream().filter(account -> account.getYear() == year.getValue()).toList();
+        final Map<Person, BigDecimal> vacationDaysUsedNextYearByPerson = getVacationDaysUsedNextYearByPerson(holidayAccountsForYear, holidayAccountsNextYear, year.getValue() + 1);
+
+        return getUsedVacationDaysOfYear(holidayAccountsForYear, year, workingTimeCalendarsProvider).entrySet().stream()
+            .map(entry -> toHolidayAccountVacationDays(entry.getKey(), entry.getValue(), vacationDaysUsedNextYearByPerson.getOrDefault(entry.getKey().getPerson(), ZERO)))
             .collect(toMap(HolidayAccountVacationDays::account, identity()));
     }
 
+    /**
+     * Reads the used vacation days of the given accounts of one year from the {@link VacationBalanceLedger}.
+     * Accounts without a ledger entry valid for their expiry date and the current {@link VacationBalanceFingerprint}
+     * are calculated from their applications.
+     */
+    private Map<Account, UsedVacationDaysTuple> getUsedVacationDaysOfYear(
+        List<Account> holidayAccounts,
+        Year year,
+        Function<List<Person>, Map<Person, WorkingTimeCalendar>> workingTimeCalendarsProvider
+    ) {
+        final List<Person> persons = holidayAccounts.stream().map(Account::getPerson).toList();
+        final Map<Person, VacationBalance> balances = vacationBalanceLedger.getBalances(persons, year.getValue());
+        final String fingerprint = balances.isEmpty() ? null : vacationBalanceFingerprint.current();
+
+        final Map<Account, UsedVacationDaysTuple> usedVacationDays = new HashMap<>();
+        final List<Account> holidayAccountsNotInLedger = new ArrayList<>();
+        for (Account account : holidayAccounts) {
+            final VacationBalance balance = balances.get(account.getPerson());
+            if (balance != null && balance.isValidFor(account, fingerprint)) {
+                usedVacationDays.put(account, UsedVacationDaysTuple.of(balance));
+            } else {
+                holidayAccountsNotInLedger.add(account);
+            }
+        }
+
+        if (!holidayAccountsNotInLedger.isEmpty()) {
+            final List<Person> personsNotInLedger = holidayAccountsNotInLedger.stream().map(Account::getPerson).toList();
+            final Map<Person, WorkingTimeCalendar> workingTimeCalendars = workingTimeCalendarsProvider.apply(personsNotInLedger);
+            usedVacationDays.putAll(getUsedVacationDays(holidayAccountsNotInLedger, wholeYear(year), workingTimeCalendars));
+        }
+
+        return usedVacationDays;
+    }
+
+    private HolidayAccountVacationDays toHolidayAccountVacationDays(Account account, UsedVacationDaysTuple usedVacationDaysTuple, BigDecimal vacationDaysUsedNextYear) {
+
+        final UsedVacationDaysYear usedVacationDaysYear = usedVacationDaysTuple.usedVacationDaysYear();
+
+        final BigDecimal vacationDays = account.getActualVacationDays();
+        final BigDecimal remainingVacationDays = account.getRemainingVacationDays();
+
+        final BigDecimal remainingVacationDaysNotExpiring;
+        final LocalDate today = LocalDate.now(clock);
+        if (!account.doRemainingVacationDaysExpire() || today.isBefore(account.getExpiryDate())) {
+            remainingVacationDaysNotExpiring =  remainingVacationDays;
+        } else {
+            // it's after expiry day - only the left not expiring remaining vacation days must be used
+            remainingVacationDaysNotExpiring = account.getRemainingVacationDaysNotExpiring();
+        }
+
+        final VacationDaysLeft vacationDaysLeftYear = VacationDaysLeft.builder()
+            .withAnnualVacation(vacationDays)
+            .withRemainingVacation(remainingVacationDays)
+            .notExpiring(remainingVacationDaysNotExpiring)
+            .forUsedVacationDaysBeforeExpiry(usedVacationDaysYear.usedVacationDaysBeforeExpiryDate())
+            .forUsedVacationDaysAfterExpiry(usedVacationDaysYear.usedVacationDaysAfterExpiryDate())
+            .withVacationDaysUsedNextYear(vacationDaysUsedNextYear)
+            .build();
+
+        final UsedVacationDaysDateRange usedVacationDaysDateRange = usedVacationDaysTuple.usedVacationDaysDateRange();
+        final VacationDaysLeft vacationDaysLeftDateRange = VacationDaysLeft.builder()
+            .withAnnualVacation(vacationDays)
+            .withRemainingVacation(remainingVacationDays)
+            .notExpiring(remainingVacationDaysNotExpiring)
+            .forUsedVacationDaysBeforeExpiry(usedVacationDaysDateRange.usedVacationDaysBeforeExpiryDate())
+            .forUsedVacationDaysAfterExpiry(usedVacationDaysDateRange.usedVacationDaysAfterExpiryDate())
+            .withVacationDaysUsedNextYear(vacationDaysUsedNextYear)
+            .build();
+
+        return new HolidayAccountVacationDays(account, vacationDaysLeftYear, vacationDaysLeftDateRange);
+    }
+
     /**
      * Calculates the used remaining vacation days based on the given account information
      *
@@ -217,27 +317,63 @@ public class VacationDaysService {
      * @return the used remaining vacation days
      */
     BigDecimal getUsedRemainingVacationDays(Account account) {
+        return getUsedRemainingVacationDays(List.of(account)).get(account);
+    }
+
+    /**
+     * Calculates the used remaining vacation days of all given accounts. The accounts of one year share one
+     * {@link WorkingTimeCalendar} build and one fetch of the applications instead of one per account.
+     *
+     * @param accounts to calculate used remaining vacation days of the year of the account
+     * @return the used remaining vacation days for every passed {@link Account}
+     */
+    Map<Account, BigDecimal> getUsedRemainingVacationDays(List<Account> accounts) {
 
-        if (account.getRemainingVacationDays().signum() > 0) {
+        final Map<Account, BigDecimal> usedRemainingVacationDays = new HashMap<>();
 
-            final Year year = Year.of(account.getYear());
-            final VacationDaysLeft left = getVacationDaysLeft(List.of(account), year)
-                .get(account)
-                .vacationDaysYear();
+        final Map<Integer, List<Account>> accountsWithRemainingVacationDaysByYear = accounts.stream()
+            .filter(account -> account.getRemainingVacationDays().signum() > 0)
+            .collect(groupingBy(Account::getYear));
 
-            final BigDecimal usedVacationDays = account.getActualVacationDays()
-                .add(account.getRemainingVacationDays())
-                .subtract(left.getVacationDays())
-                .subtract(left.getRemainingVacationDays());
+        accountsWithRemainingVacationDaysByYear.forEach((year, accountsOfYear) -> {
+            final Map<Account, HolidayAccountVacationDays> vacationDaysLeft = getVacationDaysLeft(accountsOfYear, Year.of(year));
+            for (Account account : accountsOfYear) {
+                final VacationDaysLeft left = vacationDaysLeft.get(account).vacationDaysYear();
 
-            final BigDecimal notUsedVacationDays = usedVacationDays.subtract(account.getActualVacationDays());
+                final BigDecimal usedVacationDays = account.getActualVacationDays()
+                    .add(account.getRemainingVacationDays())
+                    .subtract(left.getVacationDays())
+                    .subtract(left.getRemainingVacationDays());
 
-            if (notUsedVacationDays.signum() > 0) {
-                return notUsedVacationDays;
+                final BigDecimal notUsedVacationDays = usedVacationDays.subtract(account.getActualVacationDays());
+                usedRemainingVacationDays.put(account, notUsedVacationDays.signum() > 0 ? notUsedVacationDays : ZERO);
             }
+        });
+
+        for (Account account : accounts) {
+            usedRemainingVacationDays.putIfAbsent(account, ZERO);
+        }
+
+        return usedRemainingVacationDays;
+    }
+
+    private Map<Person, BigDecimal> getVacationDaysUsedNextYearByPerson(List<Account> holidayAccounts, List<Account> holidayAccountsNextYear, int nextYear) {
+
+        final Set<Person> persons = holidayAccounts.stream().map(Account::getPerson).collect(toSet());
+
+        // index the next year accounts by person, the first one wins like a linear search would
+        final Map<Person, Account> holidayAccountNextYearByPerson = holidayAccountsNextYear.stream()
+            .filter(holidayAccountNextYear -> holidayAccountNextYear.getYear() == nextYear)
+            .filter(holidayAccountNextYear -> persons.contains(holidayAccountNextYear.getPerson()))
+            .collect(toMap(Account::getPerson, identity(), (first, second) -> first, LinkedHashMap::new));
+
+        if (holidayAccountNextYearByPerson.isEmpty()) {
+            return Map.of();
         }
 
-        return ZERO;
+        final Map<Account, BigDecimal> usedRemainingVacationDays = getUsedRemainingVacationDays(List.copyOf(holidayAccountNextYearByPerson.values()));
+        return holidayAccountNextYearByPerson.entrySet().stream()
+            .collect(toMap(Entry::getKey, entry -> usedRemainingVacationDays.get(entry.getValue())));
     }
 
     private Map<Account, UsedVacationDaysTuple> getUsedVacationDays(
@@ -355,6 +491,16 @@ public class VacationDaysService {
         return new UsedVacationDaysTuple(dateRangeUsedVacationDays, yearUsedVacationDays);
     }
 
+    private static boolean isWholeYear(DateRange dateRange) {
+        final LocalDate from = dateRange.startDate();
+        return from.equals(from.with(firstDayOfYear())) && dateRange.endDate().equals(from.with(lastDayOfYear()));
+    }
+
+    private static DateRange wholeYear(Year year) {
+        final LocalDate firstDayOfYear = year.atDay(1);
+        return new DateRange(firstDayOfYear, firstDayOfYear.with(lastDayOfYear()));
+    }
+
     private BigDecimal divideBy2(BigDecimal value) {
         return value.divide(BigDecimal.valueOf(2), 2, RoundingMode.CEILING);
     }
@@ -379,6 +525,15 @@ public class VacationDaysService {
         static UsedVacationDaysTuple identity() {
             return new UsedVacationDaysTuple(new UsedVacationDaysDateRange(ZERO, ZERO), new UsedVacationDaysYear(ZERO, ZERO));
         }
+
+        /**
+         * For a whole year the used vacation days of the date range are the ones of the year.
+         */
+        static UsedVacationDaysTuple of(VacationBalance balance) {
+            final BigDecimal before = balance.usedVacationDaysBeforeExpiryDate();
+            final BigDecimal after = balance.usedVacationDaysAfterExpiryDate();
+            return new UsedVacationDaysTuple(new UsedVacationDaysDateRange(before, after), new UsedVacationDaysYear(before, after));
+        }
     }
 
     private record UsedVacationDaysYear(
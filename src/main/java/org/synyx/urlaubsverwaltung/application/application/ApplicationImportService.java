@@ -2,6 +2,9 @@ package org.synyx.urlaubsverwaltung.application.application;
 
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class ApplicationImportService {
 
@@ -15,7 +18,13 @@ public class ApplicationImportService {
         applicationRepository.deleteAll();
     }
 
-    public ApplicationEntity importApplication(ApplicationEntity applicationEntity) {
-        return applicationRepository.save(applicationEntity);
+    /**
+     * @param applicationEntities to import
+     * @return the imported applications in the same order as the given ones
+     */
+    public List<ApplicationEntity> importApplications(List<ApplicationEntity> applicationEntities) {
+        final List<ApplicationEntity> importedApplications = new ArrayList<>(applicationEntities.size());
+        applicationRepository.saveAll(applicationEntities).forEach(importedApplications::add);
+        return importedApplications;
     }
 }
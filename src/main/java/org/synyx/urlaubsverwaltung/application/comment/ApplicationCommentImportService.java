@@ -2,6 +2,8 @@ package org.synyx.urlaubsverwaltung.application.comment;
 
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class ApplicationCommentImportService {
 
@@ -15,7 +17,7 @@ public class ApplicationCommentImportService {
         applicationCommentRepository.deleteAll();
     }
 
-    public void importApplicationComment(ApplicationCommentEntity entity) {
-        applicationCommentRepository.save(entity);
+    public void importApplicationComments(List<ApplicationCommentEntity> entities) {
+        applicationCommentRepository.saveAll(entities);
     }
 }
@@ -17,11 +17,15 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.PagedIterable;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonPageRequest;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
@@ -41,22 +45,26 @@ import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_PRIVILEGED_U
 @RequestMapping("/web/application")
 class ApplicationForLeaveExportViewController implements HasLaunchpad {
 
+    private static final int EXPORT_PAGE_SIZE = 100;
+
     private final PersonService personService;
     private final ApplicationForLeaveExportService applicationForLeaveExportService;
     private final ApplicationForLeaveCsvExportService applicationForLeaveCsvExportService;
     private final DateFormatAware dateFormatAware;
+    private final TenantContextHolder tenantContextHolder;
     private final Clock clock;
 
     @Autowired
     ApplicationForLeaveExportViewController(
         PersonService personService, ApplicationForLeaveExportService applicationForLeaveExportService,
         ApplicationForLeaveCsvExportService applicationForLeaveCsvExportService, DateFormatAware dateFormatAware,
-        Clock clock) {
+        TenantContextHolder tenantContextHolder, Clock clock) {
 
         this.personService = personService;
         this.applicationForLeaveExportService = applicationForLeaveExportService;
         this.applicationForLeaveCsvExportService = applicationForLeaveCsvExportService;
         this.dateFormatAware = dateFormatAware;
+        this.tenantContextHolder = tenantContextHolder;
         this.clock = clock;
     }
 
@@ -65,7 +73,6 @@ class ApplicationForLeaveExportViewController implements HasLaunchpad {
     public ResponseEntity<ByteArrayResource> downloadCsvExport(
         @RequestParam(value = "from", defaultValue = "") String from,
         @RequestParam(value = "to", defaultValue = "") String to,
-        @RequestParam(value = "allElements", defaultValue = "false") boolean allElements,
         @RequestParam(value = "query", required = false, defaultValue = "") String query,
         @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
         Locale locale
@@ -78,20 +85,54 @@ class ApplicationForLeaveExportViewController implements HasLaunchpad {
         }
 
         final Person signedInUser = personService.getSignedInUser();
-
-        final Pageable adaptedPageable = allElements ? PageRequest.of(0, MAX_VALUE, pageable.getSort()) : pageable;
-        final String adaptedQuery = allElements ? "" : query;
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(adaptedPageable, adaptedQuery);
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageable, query);
 
         final Page<ApplicationForLeaveExport> exportPage = applicationForLeaveExportService.getAll(signedInUser, period.startDate(), period.endDate(), pageableSearchQuery);
         final List<ApplicationForLeaveExport> export = exportPage.getContent();
         final CSVFile csvFile = applicationForLeaveCsvExportService.generateCSV(period, locale, export);
 
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.resource());
+    }
+
+    /**
+     * Exports the applications for leave of all persons. The csv is written directly into the response while the
+     * persons are loaded page by page, so the export of a whole company does not have to be held in memory.
+     */
+    @PreAuthorize(IS_PRIVILEGED_USER)
+    @GetMapping(value = "/export", params = "allElements=true")
+    public ResponseEntity<StreamingResponseBody> streamCsvExportOfAllElements(
+        @RequestParam(value = "from", defaultValue = "") String from,
+        @RequestParam(value = "to", defaultValue = "") String to,
+        @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
+        Locale locale
+    ) {
+        final FilterPeriod period = toFilterPeriod(from, to, locale);
+
+        // NOTE: Not supported at the moment
+        if (period.startDate().getYear() != period.endDate().getYear()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Person signedInUser = personService.getSignedInUser();
+
+        // persons can only be loaded page by page when sorted by person, otherwise everything is loaded at once
+        final int pageSize = PersonPageRequest.isSortedByPerson(pageable) ? EXPORT_PAGE_SIZE : MAX_VALUE;
+        final Iterable<ApplicationForLeaveExport> exports = new PagedIterable<>(pageNumber -> {
+            final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(pageNumber, pageSize, pageable.getSort()), "");
+            return applicationForLeaveExportService.getAll(signedInUser, period.startDate(), period.endDate(), pageableSearchQuery);
+        });
+
+        final StreamingCSVFile csvFile = applicationForLeaveCsvExportService.generateStreamingCSV(period, locale, exports)
+            .inTenantContextOf(tenantContextHolder);
+
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.body());
+    }
+
+    private static HttpHeaders csvHeaders(String fileName) {
         final HttpHeaders headers = new HttpHeaders();
         headers.setContentType(new MediaType("text", "csv", UTF_8));
-        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(csvFile.fileName(), UTF_8).build());
-
-        return ResponseEntity.status(OK).headers(headers).body(csvFile.resource());
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(fileName, UTF_8).build());
+        return headers;
     }
 
     private FilterPeriod toFilterPeriod(String startDateString, String endDateString, Locale locale) {
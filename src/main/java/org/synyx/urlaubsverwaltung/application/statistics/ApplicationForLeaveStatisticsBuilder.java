@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.application.statistics;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
@@ -21,6 +22,7 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,10 @@ import static org.synyx.urlaubsverwaltung.application.application.ApplicationSta
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.WAITING;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.activeStatuses;
+import static org.synyx.urlaubsverwaltung.application.statistics.ApplicationForLeaveStatisticsSortProperty.LEFT_VACATION_DAYS_FOR_PERIOD;
+import static org.synyx.urlaubsverwaltung.application.statistics.ApplicationForLeaveStatisticsSortProperty.LEFT_VACATION_DAYS_FOR_YEAR;
+import static org.synyx.urlaubsverwaltung.application.statistics.ApplicationForLeaveStatisticsSortProperty.TOTAL_ALLOWED_VACATION_DAYS;
+import static org.synyx.urlaubsverwaltung.application.statistics.ApplicationForLeaveStatisticsSortProperty.TOTAL_WAITING_VACATION_DAYS;
 
 /**
  * Builds a {@link ApplicationForLeaveStatistics} for the given
@@ -97,6 +103,55 @@ class ApplicationForLeaveStatisticsBuilder {
         return buildStatistics(new DateRange(from, to), persons, holidayAccounts, applications, vacationTypes);
     }
 
+    /**
+     * Same as {@link #build(List, LocalDate, LocalDate, List, List)}, but the statistics only contain the values that
+     * are required to sort them by the given sort. Everything else (left overtime, tallies or left vacation days that
+     * are not sorted by) is left at zero.
+     *
+     * <p>
+     * Used to determine the persons of a page sorted by statistics without building the complete statistics of every
+     * person. Falls back to {@link #build(List, LocalDate, LocalDate, List, List)} for properties that are not an
+     * {@link ApplicationForLeaveStatisticsSortProperty}.
+     */
+    public Map<Person, Optional<ApplicationForLeaveStatistics>> buildSortable(List<Person> persons, LocalDate from, LocalDate to, List<VacationType<?>> vacationTypes, List<Application> applications, Sort sort) {
+        Assert.isTrue(from.getYear() == to.getYear(), "From and to must be in the same year");
+
+        final Set<ApplicationForLeaveStatisticsSortProperty> sortProperties = EnumSet.noneOf(ApplicationForLeaveStatisticsSortProperty.class);
+        for (Sort.Order order : sort) {
+            final Optional<ApplicationForLeaveStatisticsSortProperty> sortProperty = ApplicationForLeaveStatisticsSortProperty.byKey(order.getProperty());
+            if (sortProperty.isEmpty()) {
+                return build(persons, from, to, vacationTypes, applications);
+            }
+            sortProperties.add(sortProperty.get());
+        }
+
+        final boolean vacationDaysLeftRequired = sortProperties.contains(LEFT_VACATION_DAYS_FOR_PERIOD) || sortProperties.contains(LEFT_VACATION_DAYS_FOR_YEAR);
+        final boolean applicationInfosRequired = sortProperties.contains(TOTAL_ALLOWED_VACATION_DAYS) || sortProperties.contains(TOTAL_WAITING_VACATION_DAYS);
+
+        final DateRange dateRange = new DateRange(from, to);
+        final List<Account> holidayAccounts = accountService.getHolidaysAccount(from.getYear(), persons);
+
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendarsByPerson = vacationDaysLeftRequired || applicationInfosRequired
+            ? workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(from.getYear()))
+            : Map.of();
+
+        final Map<Account, HolidayAccountVacationDays> vacationDaysByAccount = vacationDaysLeftRequired
+            ? vacationDaysService.getVacationDaysLeft(holidayAccounts, dateRange, List.of(), workingTimeCalendarsByPerson)
+            : Map.of();
+
+        final Map<Person, Optional<ApplicationForLeaveStatistics>> statisticsByPerson = holidayAccounts.stream()
+            .map(account -> buildStatisticsForAccount(dateRange, account, vacationTypes, vacationDaysByAccount, Map.of()))
+            .collect(toMap(ApplicationForLeaveStatistics::getPerson, Optional::of));
+
+        addMissingPersonsToStatistics(statisticsByPerson, persons);
+
+        if (applicationInfosRequired) {
+            addApplicationInfosToStatistics(dateRange, persons, applications, workingTimeCalendarsByPerson, statisticsByPerson);
+        }
+
+        return statisticsByPerson;
+    }
+
     private Map<Person, Optional<ApplicationForLeaveStatistics>> buildStatistics(DateRange dateRange, List<Person> persons, List<Account> holidayAccounts, List<Application> applications, List<VacationType<?>> vacationTypes) {
 
         // computed once and threaded through both collaborators below, instead of letting each of them recompute the
@@ -22,7 +22,6 @@ import org.synyx.urlaubsverwaltung.search.SortComparator;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.time.LocalDate;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -104,16 +103,27 @@ class ApplicationForLeaveStatisticsService {
         // fetch all allowed persons, there may be persons without applications
         final List<Person> persons = getAllRelevantPersons(person, PersonPageRequest.unpaged(), query).getContent();
 
-        final Collection<ApplicationForLeaveStatistics> allStatistics =
-            getStatistics(period, persons, vacationTypes, allApplications);
+        // only the values to sort by are computed for every person, the complete statistics just for the requested page
+        final Map<Person, Optional<ApplicationForLeaveStatistics>> sortableStatisticsByPerson =
+            applicationForLeaveStatisticsBuilder.buildSortable(persons, period.startDate(), period.endDate(), vacationTypes, allApplications, pageable.getSort());
 
-        final List<ApplicationForLeaveStatistics> paginatedStatistics = allStatistics.stream()
+        final List<ApplicationForLeaveStatistics> sortableStatistics = persons.stream()
+            .map(relevantPerson -> sortableStatisticsByPerson.getOrDefault(relevantPerson, Optional.empty()))
+            .flatMap(Optional::stream)
+            .toList();
+
+        final List<Person> personsOfPage = sortableStatistics.stream()
             .sorted(new SortComparator<>(ApplicationForLeaveStatistics.class, pageable.getSort()))
             .skip((long) pageable.getPageNumber() * pageable.getPageSize())
             .limit(pageable.getPageSize())
+            .map(ApplicationForLeaveStatistics::getPerson)
             .toList();
 
-        return new PageImpl<>(paginatedStatistics, pageable, allStatistics.size());
+        final List<ApplicationForLeaveStatistics> paginatedStatistics = personsOfPage.isEmpty()
+            ? List.of()
+            : getStatistics(period, personsOfPage, vacationTypes, allApplications);
+
+        return new PageImpl<>(paginatedStatistics, pageable, sortableStatistics.size());
     }
 
     private List<ApplicationForLeaveStatistics> getStatistics(
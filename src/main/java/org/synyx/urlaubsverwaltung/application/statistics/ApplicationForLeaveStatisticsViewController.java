@@ -20,8 +20,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.PagedIterable;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonPageRequest;
 import org.synyx.urlaubsverwaltung.person.PersonService;
@@ -29,6 +32,7 @@ import org.synyx.urlaubsverwaltung.person.PersonSortProperty;
 import org.synyx.urlaubsverwaltung.search.HasPersonSearch;
 import org.synyx.urlaubsverwaltung.search.PersonSearchUiFragmentSupplier;
 import org.synyx.urlaubsverwaltung.search.PersonSuggestionUrlStrategy;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.html.HtmlOptgroupDto;
@@ -64,6 +68,7 @@ import static org.synyx.urlaubsverwaltung.web.html.PaginationPageLinkBuilder.bui
 class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPersonSearch {
 
     private static final String SEARCH_PARAM = "query";
+    private static final int EXPORT_PAGE_SIZE = 100;
 
     private final PersonService personService;
     private final ApplicationForLeaveStatisticsService applicationForLeaveStatisticsService;
@@ -73,6 +78,7 @@ class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPe
     private final PersonSearchUiFragmentSupplier personSearchTemplateSupplier;
     private final DataWebProperties dataWebProperties;
     private final MessageSource messageSource;
+    private final TenantContextHolder tenantContextHolder;
     private final Clock clock;
 
     ApplicationForLeaveStatisticsViewController(
@@ -80,7 +86,8 @@ class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPe
         ApplicationForLeaveStatisticsCsvExportService applicationForLeaveStatisticsCsvExportService,
         VacationTypeService vacationTypeService, DateFormatAware dateFormatAware,
         PersonSearchUiFragmentSupplier personSearchTemplateSupplier,
-        DataWebProperties dataWebProperties, MessageSource messageSource, Clock clock
+        DataWebProperties dataWebProperties, MessageSource messageSource,
+        TenantContextHolder tenantContextHolder, Clock clock
     ) {
         this.personService = personService;
         this.applicationForLeaveStatisticsService = applicationForLeaveStatisticsService;
@@ -90,6 +97,7 @@ class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPe
         this.personSearchTemplateSupplier = personSearchTemplateSupplier;
         this.dataWebProperties = dataWebProperties;
         this.messageSource = messageSource;
+        this.tenantContextHolder = tenantContextHolder;
         this.clock = clock;
     }
 
@@ -182,7 +190,6 @@ class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPe
         @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
         @RequestParam(value = "from", defaultValue = "") String from,
         @RequestParam(value = "to", defaultValue = "") String to,
-        @RequestParam(value = "allElements", defaultValue = "false") boolean allElements,
         @RequestParam(value = SEARCH_PARAM, required = false, defaultValue = "") String query,
         Locale locale, HttpServletResponse response
     ) {
@@ -195,25 +202,64 @@ class ApplicationForLeaveStatisticsViewController implements HasLaunchpad, HasPe
 
         final Person signedInUser = personService.getSignedInUser();
 
-        final Page<ApplicationForLeaveStatistics> statisticsPage = getStatisticsForPageable(pageable, query, signedInUser, period, allElements);
+        final Page<ApplicationForLeaveStatistics> statisticsPage = getStatisticsForPageable(pageable, query, signedInUser, period, false);
         final List<ApplicationForLeaveStatistics> statistics = statisticsPage.getContent();
 
         final CSVFile csvFile = applicationForLeaveStatisticsCsvExportService.generateCSV(period, locale, statistics);
 
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.resource());
+    }
+
+    /**
+     * Exports the statistics of all persons. The csv is written directly into the response. When sorted by person,
+     * the statistics are computed page by page while writing, so they do not have to be held in memory at once.
+     */
+    @GetMapping(value = "/download", params = "allElements=true")
+    public ResponseEntity<StreamingResponseBody> streamCSVOfAllElements(
+        @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
+        @RequestParam(value = "from", defaultValue = "") String from,
+        @RequestParam(value = "to", defaultValue = "") String to,
+        Locale locale
+    ) {
+        final FilterPeriod period = toFilterPeriod(from, to, locale);
+
+        // NOTE: Different years are not supported at the moment
+        if (period.startDate().getYear() != period.endDate().getYear() || period.endDate().isBefore(period.startDate())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Person signedInUser = personService.getSignedInUser();
+
+        final Iterable<ApplicationForLeaveStatistics> statistics;
+        if (PersonPageRequest.isSortedByPerson(pageable)) {
+            final PersonPageRequest personPageRequest = PersonPageRequest.ofApiPageable(pageable);
+            statistics = new PagedIterable<>(pageNumber -> applicationForLeaveStatisticsService.getStatisticsSortedByPerson(signedInUser, period,
+                PersonPageRequest.of(pageNumber, EXPORT_PAGE_SIZE, personPageRequest.getSort()), ""));
+        } else {
+            // statistics can only be sorted once all of them are known
+            statistics = getStatisticsForPageable(pageable, "", signedInUser, period, true);
+        }
+
+        final StreamingCSVFile csvFile = applicationForLeaveStatisticsCsvExportService.generateStreamingCSV(period, locale, statistics)
+            .inTenantContextOf(tenantContextHolder);
+
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.body());
+    }
+
+    private static HttpHeaders csvHeaders(String fileName) {
         final HttpHeaders headers = new HttpHeaders();
         headers.setContentType(new MediaType("text", "csv", UTF_8));
-        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(csvFile.fileName(), UTF_8).build());
-
-        return ResponseEntity.status(OK).headers(headers).body(csvFile.resource());
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(fileName, UTF_8).build());
+        return headers;
     }
 
     private Page<ApplicationForLeaveStatistics> getStatisticsForPageable(Pageable pageable, String query, Person signedInUser, FilterPeriod period, boolean allElements) {
 
         final String adaptedQuery = allElements ? "" : query;
-        final PersonPageRequest personPageRequest = PersonPageRequest.ofApiPageable(pageable);
 
         // sorting by persons AND statistics is not supported by the UI. either person OR statistics.
-        if (personPageRequest.getSort().isSorted()) {
+        if (PersonPageRequest.isSortedByPerson(pageable)) {
+            final PersonPageRequest personPageRequest = PersonPageRequest.ofApiPageable(pageable);
             final PersonPageRequest request = allElements ? PersonPageRequest.of(0, MAX_VALUE, personPageRequest.getSort()) : personPageRequest;
             return applicationForLeaveStatisticsService.getStatisticsSortedByPerson(signedInUser, period, request, adaptedQuery);
         }
@@ -1,10 +1,12 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import org.jspecify.annotations.Nullable;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Optional;
 
 import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.DEFAULT;
 import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.HOLIDAY_REPLACEMENT;
@@ -16,15 +18,21 @@ public class CalendarAbsence {
     private final Person person;
     private final boolean isAllDay;
     private final CalendarAbsenceType calendarAbsenceType;
+    private final @Nullable Source source;
 
     public CalendarAbsence(Person person, Period period, CalendarAbsenceConfiguration absenceTimeConfiguration) {
         this(person, period, absenceTimeConfiguration, DEFAULT);
     }
 
     public CalendarAbsence(Person person, Period period, CalendarAbsenceConfiguration absenceTimeConfiguration, CalendarAbsenceType calendarAbsenceType) {
+        this(person, period, absenceTimeConfiguration, calendarAbsenceType, null);
+    }
+
+    CalendarAbsence(Person person, Period period, CalendarAbsenceConfiguration absenceTimeConfiguration, CalendarAbsenceType calendarAbsenceType, @Nullable Source source) {
 
         this.person = person;
         this.calendarAbsenceType = calendarAbsenceType;
+        this.source = source;
 
         final ZonedDateTime periodStartDate = period.startDate().atStartOfDay(ZoneId.of(absenceTimeConfiguration.timeZoneId()));
         final ZonedDateTime periodEndDate = period.endDate().atStartOfDay(ZoneId.of(absenceTimeConfiguration.timeZoneId()));
@@ -73,6 +81,13 @@ public class CalendarAbsence {
         return calendarAbsenceType.getMessageKey();
     }
 
+    /**
+     * @return the application or sick note this absence has been created from, empty if unknown
+     */
+    Optional<Source> getSource() {
+        return Optional.ofNullable(source);
+    }
+
     @Override
     public String toString() {
         return "Absence{" +
@@ -83,4 +98,18 @@ public class CalendarAbsence {
             ", absenceType=" + calendarAbsenceType +
             '}';
     }
+
+    /**
+     * Identifies the application or sick note an absence has been created from.
+     *
+     * @param type of the source
+     * @param id   of the application or sick note
+     */
+    record Source(Type type, Long id) {
+
+        enum Type {
+            APPLICATION,
+            SICK_NOTE
+        }
+    }
 }
@@ -14,6 +14,11 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.APPLICATION;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.SICK_NOTE;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.DEFAULT;
 
 @Service
 class CalendarAbsenceService {
@@ -53,20 +58,54 @@ class CalendarAbsenceService {
         return ListUtils.union(applicationAbsences, sickNoteAbsences);
     }
 
+    /**
+     * Returns the absence of the given application like it is returned by {@link #getOpenAbsencesSince(LocalDate)}.
+     *
+     * @param application to get the absence for
+     * @return the absence of the application, empty if the application is not open
+     */
+    Optional<CalendarAbsence> getOpenAbsence(Application application) {
+        if (!ApplicationStatus.activeStatuses().contains(application.getStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(toAbsence(application, getAbsenceTimeConfiguration()));
+    }
+
+    /**
+     * Returns the absence of the given sick note like it is returned by {@link #getOpenAbsencesSince(LocalDate)}.
+     *
+     * @param sickNote to get the absence for
+     * @return the absence of the sick note, empty if the sick note is not open
+     */
+    Optional<CalendarAbsence> getOpenAbsence(SickNote sickNote) {
+        if (!SickNoteStatus.activeStatuses().contains(sickNote.getStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(toAbsence(sickNote, getAbsenceTimeConfiguration()));
+    }
+
     private List<CalendarAbsence> generateAbsencesFromApplication(List<Application> applications) {
         final CalendarAbsenceConfiguration config = getAbsenceTimeConfiguration();
         return applications.stream()
-                .map(application -> new CalendarAbsence(application.getPerson(), application.getPeriod(), config))
+                .map(application -> toAbsence(application, config))
                 .toList();
     }
 
     private List<CalendarAbsence> generateAbsencesFromSickNotes(List<SickNote> sickNotes) {
         final CalendarAbsenceConfiguration config = getAbsenceTimeConfiguration();
         return sickNotes.stream()
-                .map(sickNote -> new CalendarAbsence(sickNote.getPerson(), sickNote.getPeriod(), config))
+                .map(sickNote -> toAbsence(sickNote, config))
                 .toList();
     }
 
+    private static CalendarAbsence toAbsence(Application application, CalendarAbsenceConfiguration config) {
+        return new CalendarAbsence(application.getPerson(), application.getPeriod(), config, DEFAULT, new CalendarAbsence.Source(APPLICATION, application.getId()));
+    }
+
+    private static CalendarAbsence toAbsence(SickNote sickNote, CalendarAbsenceConfiguration config) {
+        return new CalendarAbsence(sickNote.getPerson(), sickNote.getPeriod(), config, DEFAULT, new CalendarAbsence.Source(SICK_NOTE, sickNote.getId()));
+    }
+
     private CalendarAbsenceConfiguration getAbsenceTimeConfiguration() {
         final TimeSettings timeSettings = settingsService.getSettings().getTimeSettings();
         return new CalendarAbsenceConfiguration(timeSettings);
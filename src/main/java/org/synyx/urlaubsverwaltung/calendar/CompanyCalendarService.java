@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -29,6 +28,7 @@ public class CompanyCalendarService {
     private final ICalService iCalService;
     private final PersonService personService;
     private final MessageSource messageSource;
+    private final ICalCache iCalCache;
     private final Clock clock;
 
     @Autowired
@@ -36,13 +36,14 @@ public class CompanyCalendarService {
         CalendarAbsenceService calendarAbsenceService,
         CompanyCalendarRepository companyCalendarRepository,
         ICalService iCalService, PersonService personService,
-        MessageSource messageSource, Clock clock
+        MessageSource messageSource, ICalCache iCalCache, Clock clock
     ) {
         this.calendarAbsenceService = calendarAbsenceService;
         this.companyCalendarRepository = companyCalendarRepository;
         this.iCalService = iCalService;
         this.personService = personService;
         this.messageSource = messageSource;
+        this.iCalCache = iCalCache;
         this.clock = clock;
     }
 
@@ -66,7 +67,7 @@ public class CompanyCalendarService {
         return companyCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForAll(Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForAll(Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -78,13 +79,14 @@ public class CompanyCalendarService {
             throw new IllegalArgumentException("No calendar found for secret=" + secret);
         }
 
-        final String title = messageSource.getMessage("calendar.company.title", new Object[]{}, locale);
-
         final CompanyCalendar companyCalendar = maybeCompanyCalendar.get();
         final LocalDate sinceDate = LocalDate.now(clock).minus(companyCalendar.getCalendarPeriod());
-        final List<CalendarAbsence> absences = calendarAbsenceService.getOpenAbsencesSince(sinceDate);
 
-        return iCalService.getCalendar(title, absences, person);
+        final ICalCache.Subscriber subscriber = new ICalCache.Subscriber(person.getId(), locale);
+        return iCalCache.get(ICalCache.Scope.company(), sinceDate, subscriber, () -> calendarAbsenceService.getOpenAbsencesSince(sinceDate), (absences, dtStamp, outputStream) -> {
+            final String title = messageSource.getMessage("calendar.company.title", new Object[]{}, locale);
+            iCalService.writeCalendar(title, absences, person, dtStamp, outputStream);
+        });
     }
 
     @Transactional
@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.department.Department;
@@ -30,13 +29,14 @@ public class DepartmentCalendarService {
     private final DepartmentCalendarRepository departmentCalendarRepository;
     private final ICalService iCalService;
     private final MessageSource messageSource;
+    private final ICalCache iCalCache;
     private final Clock clock;
 
     @Autowired
     DepartmentCalendarService(
         CalendarAbsenceService absenceService, DepartmentService departmentService,
         PersonService personService, DepartmentCalendarRepository departmentCalendarRepository,
-        ICalService iCalService, MessageSource messageSource, Clock clock
+        ICalService iCalService, MessageSource messageSource, ICalCache iCalCache, Clock clock
     ) {
         this.absenceService = absenceService;
         this.departmentService = departmentService;
@@ -44,6 +44,7 @@ public class DepartmentCalendarService {
         this.departmentCalendarRepository = departmentCalendarRepository;
         this.iCalService = iCalService;
         this.messageSource = messageSource;
+        this.iCalCache = iCalCache;
         this.clock = clock;
     }
 
@@ -84,7 +85,7 @@ public class DepartmentCalendarService {
         return departmentCalendarRepository.findByPersonId(personId);
     }
 
-    ByteArrayResource getCalendarForDepartment(Long departmentId, Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForDepartment(Long departmentId, Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -102,15 +103,15 @@ public class DepartmentCalendarService {
             throw new IllegalArgumentException("Secret=%s does not match the given departmentId=%s".formatted(secret, departmentId));
         }
 
-        final String title = messageSource.getMessage("calendar.department.title", List.of(department.getName()).toArray(), locale);
-
         final LocalDate chosenCalendarPeriodSinceDate = LocalDate.now(clock).minus(departmentCalendar.getCalendarPeriod());
         final LocalDate departmentExistsSinceDate = department.getCreatedAt();
         final LocalDate sinceDate = departmentExistsSinceDate.isAfter(chosenCalendarPeriodSinceDate) ? departmentExistsSinceDate : chosenCalendarPeriodSinceDate;
 
-        final List<CalendarAbsence> absences = absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate);
-
-        return iCalService.getCalendar(title, absences, person);
+        final ICalCache.Subscriber subscriber = new ICalCache.Subscriber(person.getId(), locale);
+        return iCalCache.get(ICalCache.Scope.department(departmentId, department.getMembers()), sinceDate, subscriber, () -> absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate), (absences, dtStamp, outputStream) -> {
+            final String title = messageSource.getMessage("calendar.department.title", List.of(department.getName()).toArray(), locale);
+            iCalService.writeCalendar(title, absences, person, dtStamp, outputStream);
+        });
     }
 
     @Transactional
@@ -0,0 +1,664 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source;
+import org.synyx.urlaubsverwaltung.department.DepartmentCreatedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentDeletedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentHeadAssignedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentHeadUnassignedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentMemberAssignedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentMemberUnassignedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentUpdatedEvent;
+import org.synyx.urlaubsverwaltung.department.PersonLeftDepartmentEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteAcceptedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCancelledEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCreatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteDeletedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.APPLICATION;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.SICK_NOTE;
+
+/**
+ * Process wide cache of the rendered iCal feeds of calendar subscriptions.
+ *
+ * <p>Calendar clients poll the feeds regularly, but the absences change rarely. The absences of a feed are loaded
+ * once per tenant, {@link Scope} and since date and are shared by all subscribers of feeds showing them, e.g. by all
+ * subscribers of the company calendar. Only the feed itself differs by {@link Subscriber}, as its title, locale and
+ * own absences depend on the recipient. It is rendered from the shared absences once per subscriber to compute its
+ * {@code ETag} and is written again from them for every response, so its content is never held in memory. The cache
+ * is keyed by the tenant of the current {@link TenantContextHolder} context and is bypassed without a tenant
+ * context.</p>
+ *
+ * <p>The cached absences are indexed by their {@link Scope}. A changed application or sick note is applied to the
+ * cached absences showing the absences of its person, i.e. the absences of the person, of the departments the person
+ * is a member of and of the company. The feeds of these absences are rendered again on their next request, without
+ * loading the absences again, and the events of the unchanged absences are taken from the {@link ICalEventCache}. A
+ * changed absence is appended to the absences not showing it before, so the order of the events may differ from a
+ * freshly loaded feed. A changed department drops the absences of this department only. A changed, disabled or
+ * deleted person drops the absences showing the person, as the name of the person is part of the feeds. Absences
+ * expire after the time to live since they have been loaded, which bounds changes detected by neither, like changed
+ * time settings.</p>
+ *
+ * <p>Absences are loaded and feeds are rendered outside of the cache, without holding a lock of the cache. So
+ * concurrent requests of missing absences may load them more than once, and absences loaded while absences changed
+ * are not cached.</p>
+ *
+ * <p>Callers must validate the secret of the calendar before asking the cache, a cached feed is never bound to a
+ * secret.</p>
+ *
+ * <p>Hits and misses of the absences are exposed as {@code cache.*} metrics with the tag {@code cache=ical}.</p>
+ */
+@Component
+@EnableConfigurationProperties(ICalCacheProperties.class)
+class ICalCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    static final String CACHE_NAME = "ical";
+
+    private final TenantContextHolder tenantContextHolder;
+    private final CalendarAbsenceService calendarAbsenceService;
+    private final Clock clock;
+    private final Cache<TenantKey, CachedAbsences> cache;
+    private final ConcurrentMap<Dependency, Set<TenantKey>> keysByDependency = new ConcurrentHashMap<>();
+    private final AtomicLong changeCount = new AtomicLong();
+
+    ICalCache(
+        TenantContextHolder tenantContextHolder, CalendarAbsenceService calendarAbsenceService,
+        ICalCacheProperties iCalCacheProperties, MeterRegistry meterRegistry, Clock clock
+    ) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.calendarAbsenceService = calendarAbsenceService;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .expireAfter(new TimeToLiveSinceLoading(iCalCacheProperties.getTimeToLive().toNanos()))
+            .maximumSize(iCalCacheProperties.getMaximumSize())
+            .evictionListener((TenantKey tenantKey, CachedAbsences cachedAbsences, RemovalCause cause) -> {
+                if (tenantKey != null && cachedAbsences != null) {
+                    unindex(tenantKey, cachedAbsences.dependencies());
+                }
+            })
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached feed of the given subscriber showing the absences of the given scope since the given date of
+     * the current tenant. The absences are loaded with the given loader if they are not cached yet. The feed is
+     * rendered with the given renderer if it is not cached yet for the subscriber or its absences changed since it has
+     * been rendered.
+     *
+     * @param scope          of the absences shown by the feed
+     * @param sinceDate      first date of the absences shown by the feed
+     * @param subscriber     the feed is rendered for
+     * @param absencesLoader loads the absences of the feed, must only depend on the scope and the since date
+     * @param renderer       writes the iCal content of the feed of the subscriber from its absences
+     * @return the rendered feed
+     */
+    ICalFeed get(Scope scope, LocalDate sinceDate, Subscriber subscriber, Supplier<List<CalendarAbsence>> absencesLoader, Renderer renderer) {
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return render(renderer, absencesLoader.get());
+        }
+
+        final TenantId tenantId = maybeTenantId.get();
+        final TenantKey tenantKey = new TenantKey(tenantId, scope, sinceDate);
+        final CachedAbsences cachedAbsences = cache.getIfPresent(tenantKey);
+        if (cachedAbsences == null) {
+            return load(tenantKey, scope.dependencies(tenantId), subscriber, absencesLoader, renderer);
+        }
+
+        return cachedAbsences.feed(subscriber, absences -> render(renderer, absences));
+    }
+
+    /**
+     * Applies the current state of the given application to the cached feeds of the current tenant showing absences
+     * of its person.
+     *
+     * <p>Within a transaction the application is applied after the commit, so the feeds never show uncommitted
+     * changes. The feeds are dropped if the transaction is rolled back.</p>
+     *
+     * @param application that changed
+     */
+    void update(Application application) {
+        change(List.of(changeOf(application)));
+    }
+
+    /**
+     * Applies the current state of the given sick note to the cached feeds of the current tenant showing absences of
+     * its person, like {@link #update(Application)}.
+     *
+     * @param sickNote that changed
+     */
+    void update(SickNote sickNote) {
+        change(List.of(changeOf(sickNote)));
+    }
+
+    /**
+     * Removes the cached feeds of the given department of the current tenant.
+     *
+     * <p>Within a transaction the feeds are removed again after completion, so feeds that were rendered before the
+     * commit or from a rolled back transaction are not served afterwards.</p>
+     *
+     * @param departmentId of the changed department
+     */
+    void invalidateDepartment(Long departmentId) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId ->
+            invalidateUntilCompletion(List.of(new Dependency(tenantId, Type.DEPARTMENT, departmentId)))
+        );
+    }
+
+    /**
+     * Removes the cached feeds of the current tenant showing absences of the given person, i.e. the feed of the
+     * person, the feeds of the departments the person is a member of and the company feeds, like
+     * {@link #invalidateDepartment(Long)}.
+     *
+     * @param personId of the changed person
+     */
+    void invalidatePerson(Long personId) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId ->
+            invalidateUntilCompletion(List.of(new Dependency(tenantId, Type.PERSON, personId), new Dependency(tenantId, Type.COMPANY, null)))
+        );
+    }
+
+    @EventListener
+    void on(ApplicationAppliedEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationAllowedTemporarilyEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationAllowedEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationUpdatedEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationRejectedEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationRevokedEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationCancelledEvent event) {
+        update(event.application());
+    }
+
+    @EventListener
+    void on(ApplicationDeletedEvent event) {
+        final Application application = event.application();
+        change(List.of(new AbsenceChange(new Source(APPLICATION, application.getId()), application.getPerson().getId(), application.getEndDate(), null)));
+    }
+
+    @EventListener
+    void on(SickNoteCreatedEvent event) {
+        update(event.sickNote());
+    }
+
+    @EventListener
+    void on(SickNoteAcceptedEvent event) {
+        update(event.sickNote());
+    }
+
+    @EventListener
+    void on(SickNoteUpdatedEvent event) {
+        update(event.sickNote());
+    }
+
+    @EventListener
+    void on(SickNoteCancelledEvent event) {
+        update(event.sickNote());
+    }
+
+    @EventListener
+    void on(SickNoteDeletedEvent event) {
+        final SickNote sickNote = event.sickNote();
+        change(List.of(new AbsenceChange(new Source(SICK_NOTE, sickNote.getId()), sickNote.getPerson().getId(), sickNote.getEndDate(), null)));
+    }
+
+    @EventListener
+    void on(SickNoteToApplicationConvertedEvent event) {
+        change(List.of(changeOf(event.sickNote()), changeOf(event.application())));
+    }
+
+    @EventListener
+    void on(DepartmentCreatedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentUpdatedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentDeletedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentMemberAssignedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentMemberUnassignedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentHeadAssignedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(DepartmentHeadUnassignedEvent event) {
+        invalidateDepartment(event.departmentId());
+    }
+
+    @EventListener
+    void on(PersonLeftDepartmentEvent event) {
+        invalidateDepartment(event.getDepartmentId());
+    }
+
+    @EventListener
+    void on(PersonUpdatedEvent event) {
+        invalidatePerson(event.getPersonId());
+    }
+
+    @EventListener
+    void on(PersonDisabledEvent event) {
+        invalidatePerson(event.getPersonId());
+    }
+
+    @EventListener
+    void on(PersonDeletedEvent event) {
+        invalidatePerson(event.person().getId());
+    }
+
+    /**
+     * Loads the absences and renders the feed of the subscriber outside of the cache, so a slow query does not block
+     * other feeds or changes. The loaded absences are only cached if no absences changed and no absences were
+     * invalidated while loading, otherwise they may miss a change and the feed is only returned to the caller.
+     */
+    private ICalFeed load(TenantKey tenantKey, Set<Dependency> dependencies, Subscriber subscriber,
+                          Supplier<List<CalendarAbsence>> absencesLoader, Renderer renderer) {
+        // indexed before loading, so a change applied after the loaded absences are cached finds them
+        index(tenantKey, dependencies);
+        final long version = changeCount.get();
+
+        final CachedAbsences loadedAbsences;
+        final ICalFeed feed;
+        try {
+            loadedAbsences = CachedAbsences.of(absencesLoader.get(), dependencies);
+            feed = loadedAbsences.feed(subscriber, absences -> render(renderer, absences));
+        } catch (RuntimeException e) {
+            unindexIfAbsent(tenantKey, dependencies);
+            throw e;
+        }
+
+        cache.asMap().compute(tenantKey, (key, cachedAbsences) -> {
+            if (cachedAbsences != null) {
+                // loaded concurrently by another request
+                return cachedAbsences;
+            }
+            if (changeCount.get() != version) {
+                unindex(key, dependencies);
+                return null;
+            }
+            return loadedAbsences;
+        });
+
+        return feed;
+    }
+
+    /**
+     * Replaces the cached absences of the given key with the result of the given function. The function is called
+     * outside of the cache with the currently cached absences and called again if they have been replaced in the
+     * meantime.
+     */
+    private void replace(TenantKey tenantKey, UnaryOperator<CachedAbsences> function) {
+        while (true) {
+            final CachedAbsences currentAbsences = cache.asMap().get(tenantKey);
+            if (currentAbsences == null) {
+                return;
+            }
+
+            final CachedAbsences replacingAbsences = function.apply(currentAbsences);
+            final CachedAbsences cachedAbsences = cache.asMap().computeIfPresent(tenantKey,
+                (key, absences) -> absences == currentAbsences ? replacingAbsences : absences);
+            if (cachedAbsences == null || cachedAbsences == replacingAbsences) {
+                return;
+            }
+        }
+    }
+
+    private AbsenceChange changeOf(Application application) {
+        return new AbsenceChange(new Source(APPLICATION, application.getId()), application.getPerson().getId(),
+            application.getEndDate(), calendarAbsenceService.getOpenAbsence(application).orElse(null));
+    }
+
+    private AbsenceChange changeOf(SickNote sickNote) {
+        return new AbsenceChange(new Source(SICK_NOTE, sickNote.getId()), sickNote.getPerson().getId(),
+            sickNote.getEndDate(), calendarAbsenceService.getOpenAbsence(sickNote).orElse(null));
+    }
+
+    private void change(List<AbsenceChange> changes) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            if (isSynchronizationActive()) {
+                registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            apply(tenantId, changes);
+                        } else {
+                            changes.forEach(change -> invalidate(change.dependencies(tenantId)));
+                        }
+                    }
+                });
+            } else {
+                apply(tenantId, changes);
+            }
+        });
+    }
+
+    private void apply(TenantId tenantId, List<AbsenceChange> changes) {
+        changeCount.incrementAndGet();
+        for (AbsenceChange change : changes) {
+            for (TenantKey tenantKey : tenantKeysOf(change.dependencies(tenantId))) {
+                replace(tenantKey, cachedAbsences -> cachedAbsences.changed(change, tenantKey.sinceDate()));
+            }
+            LOG.debug("Applied changed absence {} to cached iCal absences", change.source());
+        }
+    }
+
+    private void invalidateUntilCompletion(List<Dependency> dependencies) {
+        invalidate(dependencies);
+        LOG.debug("Invalidated cached iCal feeds of {}", dependencies);
+
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(dependencies);
+                }
+            });
+        }
+    }
+
+    private void invalidate(List<Dependency> dependencies) {
+        changeCount.incrementAndGet();
+        for (TenantKey tenantKey : tenantKeysOf(dependencies)) {
+            // removes the absences and their index entries atomically with respect to a concurrent replacement
+            cache.asMap().computeIfPresent(tenantKey, (key, cachedAbsences) -> {
+                unindex(key, cachedAbsences.dependencies());
+                return null;
+            });
+        }
+    }
+
+    private Set<TenantKey> tenantKeysOf(List<Dependency> dependencies) {
+        final Set<TenantKey> tenantKeys = new HashSet<>();
+        for (Dependency dependency : dependencies) {
+            final Set<TenantKey> tenantKeysOfDependency = keysByDependency.get(dependency);
+            if (tenantKeysOfDependency != null) {
+                tenantKeys.addAll(tenantKeysOfDependency);
+            }
+        }
+        return tenantKeys;
+    }
+
+    private void index(TenantKey tenantKey, Set<Dependency> dependencies) {
+        for (Dependency dependency : dependencies) {
+            keysByDependency.computeIfAbsent(dependency, key -> ConcurrentHashMap.newKeySet()).add(tenantKey);
+        }
+    }
+
+    private void unindexIfAbsent(TenantKey tenantKey, Set<Dependency> dependencies) {
+        cache.asMap().computeIfAbsent(tenantKey, key -> {
+            unindex(key, dependencies);
+            return null;
+        });
+    }
+
+    private void unindex(TenantKey tenantKey, Set<Dependency> dependencies) {
+        for (Dependency dependency : dependencies) {
+            keysByDependency.computeIfPresent(dependency, (key, tenantKeys) -> {
+                tenantKeys.remove(tenantKey);
+                return tenantKeys.isEmpty() ? null : tenantKeys;
+            });
+        }
+    }
+
+    private ICalFeed render(Renderer renderer, List<CalendarAbsence> absences) {
+        final Instant renderedAt = clock.instant();
+        return ICalFeed.of(outputStream -> renderer.render(absences, renderedAt, outputStream), renderedAt);
+    }
+
+    /**
+     * Writes the iCal content of a feed. It is called again for every response, so it has to write the same bytes for
+     * the same absences and {@code DTSTAMP}.
+     */
+    @FunctionalInterface
+    interface Renderer {
+
+        /**
+         * @param absences     of the feed
+         * @param dtStamp      of all events, the point in time the feed has been rendered
+         * @param outputStream to write the feed to, is flushed but not closed
+         * @throws CalendarException if the feed could not be written
+         */
+        void render(List<CalendarAbsence> absences, Instant dtStamp, OutputStream outputStream);
+    }
+
+    /**
+     * The recipient a feed is rendered for, the secret of the calendar is not part of it.
+     *
+     * @param personId id of the person subscribing to the calendar
+     * @param locale   used to render the feed
+     */
+    record Subscriber(Long personId, Locale locale) {
+    }
+
+    private enum Type {
+        PERSON,
+        DEPARTMENT,
+        COMPANY
+    }
+
+    /**
+     * The absences shown by a feed. Together with the since date it identifies the cached absences shared by all
+     * subscribers.
+     *
+     * @param personIds    ids of the persons whose absences are shown
+     * @param departmentId id of the department whose members are shown, {@code null} if the feed is no department feed
+     * @param allPersons   whether the absences of all persons are shown
+     */
+    record Scope(Set<Long> personIds, @Nullable Long departmentId, boolean allPersons) {
+
+        static Scope person(Person person) {
+            return new Scope(personIds(List.of(person)), null, false);
+        }
+
+        static Scope department(Long departmentId, List<Person> members) {
+            return new Scope(personIds(members), departmentId, false);
+        }
+
+        static Scope company() {
+            return new Scope(Set.of(), null, true);
+        }
+
+        private static Set<Long> personIds(List<Person> persons) {
+            final Set<Long> personIds = new HashSet<>();
+            persons.forEach(person -> personIds.add(person.getId()));
+            return Set.copyOf(personIds);
+        }
+
+        private Set<Dependency> dependencies(TenantId tenantId) {
+            final Set<Dependency> dependencies = new HashSet<>();
+            personIds.forEach(personId -> dependencies.add(new Dependency(tenantId, Type.PERSON, personId)));
+            if (departmentId != null) {
+                dependencies.add(new Dependency(tenantId, Type.DEPARTMENT, departmentId));
+            }
+            if (allPersons) {
+                dependencies.add(new Dependency(tenantId, Type.COMPANY, null));
+            }
+            return dependencies;
+        }
+    }
+
+    private record TenantKey(TenantId tenantId, Scope scope, LocalDate sinceDate) {
+    }
+
+    /**
+     * The absences of a scope and the feeds of every subscriber rendered from them. The absences never change, changed
+     * absences are cached as new instance without feeds. So a feed can be rendered and added without holding a lock.
+     */
+    private record CachedAbsences(List<CalendarAbsence> absences, ConcurrentMap<Subscriber, ICalFeed> feeds, Set<Dependency> dependencies) {
+
+        static CachedAbsences of(List<CalendarAbsence> absences, Set<Dependency> dependencies) {
+            return new CachedAbsences(List.copyOf(absences), new ConcurrentHashMap<>(), dependencies);
+        }
+
+        ICalFeed feed(Subscriber subscriber, Function<List<CalendarAbsence>, ICalFeed> renderer) {
+            final ICalFeed cachedFeed = feeds.get(subscriber);
+            if (cachedFeed != null) {
+                return cachedFeed;
+            }
+
+            final ICalFeed feed = renderer.apply(absences);
+            final ICalFeed concurrentFeed = feeds.putIfAbsent(subscriber, feed);
+            return concurrentFeed == null ? feed : concurrentFeed;
+        }
+
+        CachedAbsences changed(AbsenceChange change, LocalDate sinceDate) {
+            final boolean isShown = change.isShownSince(sinceDate);
+            final List<CalendarAbsence> changedAbsences = new ArrayList<>(absences.size() + 1);
+            boolean isReplaced = false;
+            for (CalendarAbsence absence : absences) {
+                if (!absence.getSource().map(change.source()::equals).orElse(false)) {
+                    changedAbsences.add(absence);
+                } else if (isShown && !isReplaced) {
+                    changedAbsences.add(change.absence());
+                    isReplaced = true;
+                }
+            }
+            if (isShown && !isReplaced) {
+                changedAbsences.add(change.absence());
+            }
+            return CachedAbsences.of(changedAbsences, dependencies);
+        }
+    }
+
+    /**
+     * The current state of a changed application or sick note.
+     *
+     * @param source   the changed application or sick note
+     * @param personId id of the absent person
+     * @param endDate  last day of the absence
+     * @param absence  the absence shown in calendars, {@code null} if the application or sick note is not open anymore
+     */
+    private record AbsenceChange(Source source, Long personId, LocalDate endDate, @Nullable CalendarAbsence absence) {
+
+        boolean isShownSince(LocalDate sinceDate) {
+            return absence != null && !endDate.isBefore(sinceDate);
+        }
+
+        List<Dependency> dependencies(TenantId tenantId) {
+            return List.of(new Dependency(tenantId, Type.PERSON, personId), new Dependency(tenantId, Type.COMPANY, null));
+        }
+    }
+
+    /**
+     * Absences expire after the time to live since they have been loaded. Applying changed absences does not extend
+     * their lifetime.
+     */
+    private record TimeToLiveSinceLoading(long timeToLiveNanos) implements Expiry<TenantKey, CachedAbsences> {
+
+        @Override
+        public long expireAfterCreate(TenantKey key, CachedAbsences value, long currentTime) {
+            return timeToLiveNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(TenantKey key, CachedAbsences value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TenantKey key, CachedAbsences value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Something a feed of the tenant depends on: the absences of a person, the members of a department or the
+     * absences of all persons.
+     */
+    private record Dependency(TenantId tenantId, Type type, @Nullable Long id) {
+    }
+}
@@ -0,0 +1,61 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties("uv.calendar.cache")
+@Validated
+public class ICalCacheProperties {
+
+    /**
+     * Defines how long a rendered iCal feed or event is cached. Applications, sick notes and departments changed through this
+     * instance invalidate the cache immediately, the time to live only bounds how long other changes (e.g. made by
+     * other instances of the application or to the name of a person) stay invisible to calendar subscriptions.
+     * <p>
+     * Default time to live is fifteen minutes (PT15M).
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(15);
+
+    /**
+     * Maximum number of rendered iCal feeds that are cached at the same time.
+     */
+    @Positive
+    private long maximumSize = 10000;
+
+    /**
+     * Maximum number of applications and sick notes whose rendered iCal events are cached at the same time. An event
+     * is rendered once per application or sick note, locale and whether the recipient of the feed is the absent
+     * person, and then shared by all feeds containing it.
+     */
+    @Positive
+    private long eventMaximumSize = 100000;
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getEventMaximumSize() {
+        return eventMaximumSize;
+    }
+
+    public void setEventMaximumSize(long eventMaximumSize) {
+        this.eventMaximumSize = eventMaximumSize;
+    }
+}
@@ -0,0 +1,221 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteAcceptedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCancelledEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCreatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteDeletedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.APPLICATION;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.SICK_NOTE;
+
+/**
+ * Process wide cache of the rendered iCal events of applications and sick notes.
+ *
+ * <p>Every feed consists of the events of many absences, but a change of an application or sick note only changes
+ * one of them. Events are cached by their {@link Source}, so rendering a feed after a change only renders the events
+ * of the changed absences and concatenates all others. A cached event does not contain its {@code DTSTAMP}, which is
+ * written per feed.</p>
+ *
+ * <p>The application and sick note lifecycle events remove the events of their application or sick note. Every cached
+ * event additionally remembers the data it has been rendered from and is rendered again if the absence differs,
+ * e.g. after the time settings or the name of the person changed. Events expire after the time to live of the feeds,
+ * which bounds changes detected by neither, like changed translations or calendar properties.</p>
+ *
+ * <p>The cache is keyed by the tenant of the current {@link TenantContextHolder} context and the source, each entry
+ * holds the events of all locales and ownerships of one application or sick note. So the events of a changed absence
+ * are removed with a single lookup. The cache is bypassed without a tenant context or for absences without a
+ * source.</p>
+ *
+ * <p>Hits and misses of applications and sick notes are exposed as {@code cache.*} metrics with the tag
+ * {@code cache=ical-events}.</p>
+ */
+@Component
+class ICalEventCache {
+
+    static final String CACHE_NAME = "ical-events";
+
+    private final TenantContextHolder tenantContextHolder;
+    private final Cache<Key, ConcurrentMap<Variant, RenderedEvent>> cache;
+
+    ICalEventCache(TenantContextHolder tenantContextHolder, ICalCacheProperties iCalCacheProperties, MeterRegistry meterRegistry) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(iCalCacheProperties.getTimeToLive())
+            .maximumSize(iCalCacheProperties.getEventMaximumSize())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached event of the given absence. The event is rendered with the given renderer if it is not cached
+     * yet or has been rendered from different data.
+     *
+     * @param absence  to get the event for
+     * @param isOwn    whether the recipient of the feed is the absent person
+     * @param locale   the event is rendered in
+     * @param renderer renders the unfolded properties of the iCal event of the absence without {@code DTSTAMP}
+     * @return the unfolded properties of the iCal event of the absence without {@code DTSTAMP}
+     */
+    String get(CalendarAbsence absence, boolean isOwn, @Nullable Locale locale, Supplier<String> renderer) {
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        final Optional<Source> maybeSource = absence.getSource();
+        if (maybeTenantId.isEmpty() || maybeSource.isEmpty()) {
+            return renderer.get();
+        }
+
+        final ConcurrentMap<Variant, RenderedEvent> events = cache.get(new Key(maybeTenantId.get(), maybeSource.get()), key -> new ConcurrentHashMap<>());
+        final Variant variant = new Variant(isOwn, locale);
+        final Fingerprint fingerprint = Fingerprint.of(absence);
+
+        final RenderedEvent cachedEvent = events.get(variant);
+        if (cachedEvent != null && cachedEvent.fingerprint().equals(fingerprint)) {
+            return cachedEvent.event();
+        }
+
+        final String event = renderer.get();
+        events.put(variant, new RenderedEvent(fingerprint, event));
+        return event;
+    }
+
+    /**
+     * Removes all cached events of the given application or sick note of the current tenant.
+     *
+     * @param source of the events to remove
+     */
+    void invalidate(Source source) {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> cache.invalidate(new Key(tenantId, source)));
+    }
+
+    @EventListener
+    void on(ApplicationAppliedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationAllowedTemporarilyEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationAllowedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationUpdatedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationRejectedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationRevokedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationCancelledEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(ApplicationDeletedEvent event) {
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteCreatedEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteAcceptedEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteUpdatedEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteCancelledEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteDeletedEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+    }
+
+    @EventListener
+    void on(SickNoteToApplicationConvertedEvent event) {
+        invalidate(new Source(SICK_NOTE, event.sickNote().getId()));
+        invalidate(new Source(APPLICATION, event.application().getId()));
+    }
+
+    private record Key(TenantId tenantId, Source source) {
+    }
+
+    /**
+     * The event of an absence differs by the locale of the feed and whether the recipient is the absent person.
+     */
+    private record Variant(boolean isOwn, @Nullable Locale locale) {
+    }
+
+    /**
+     * Data of an absence its event is rendered from. A cached event is only used for an absence with the same data.
+     */
+    private record Fingerprint(
+        ZonedDateTime startDate,
+        ZonedDateTime endDate,
+        boolean isAllDay,
+        boolean isHolidayReplacement,
+        String messageKey,
+        Long personId,
+        String personNiceName,
+        @Nullable String personEmail
+    ) {
+        static Fingerprint of(CalendarAbsence absence) {
+            final Person person = absence.getPerson();
+            return new Fingerprint(absence.getStartDate(), absence.getEndDate(), absence.isAllDay(), absence.isHolidayReplacement(),
+                absence.getCalendarAbsenceTypeMessageKey(), person.getId(), person.getNiceName(), person.getEmail());
+        }
+    }
+
+    private record RenderedEvent(Fingerprint fingerprint, String event) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+import static org.apache.commons.codec.digest.DigestUtils.getSha256Digest;
+
+/**
+ * Rendered iCal feed of a calendar subscription.
+ *
+ * <p>The content is not held in memory, it is written again to every response. It has to write the same bytes every
+ * time, which the {@link #eTag()} and {@link #contentLength()} are computed from.</p>
+ *
+ * @param content       writes the iCal content
+ * @param eTag          quoted hash of the rendered content
+ * @param contentLength number of bytes of the rendered content
+ * @param lastModified  point in time the content has been rendered
+ */
+record ICalFeed(Content content, String eTag, long contentLength, Instant lastModified) {
+
+    /**
+     * Renders the given content once to compute its hash and length without keeping it.
+     *
+     * @param content    to render
+     * @param renderedAt point in time the content is rendered
+     * @return the feed of the given content
+     * @throws CalendarException if the content could not be rendered
+     */
+    static ICalFeed of(Content content, Instant renderedAt) {
+        final DigestOutputStream digestOutputStream = new DigestOutputStream();
+        content.writeTo(digestOutputStream);
+        return new ICalFeed(content, "\"" + encodeHexString(digestOutputStream.digest.digest()) + "\"", digestOutputStream.length, renderedAt);
+    }
+
+    /**
+     * Writes the iCal content to the given output stream.
+     *
+     * @param outputStream to write the content to, is flushed but not closed
+     * @throws CalendarException if the content could not be written
+     */
+    void writeTo(OutputStream outputStream) {
+        content.writeTo(outputStream);
+    }
+
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * @param outputStream to write the content to, is flushed but not closed
+         * @throws CalendarException if the content could not be written
+         */
+        void writeTo(OutputStream outputStream);
+    }
+
+    /**
+     * Computes hash and length of the written bytes and drops them.
+     */
+    private static final class DigestOutputStream extends OutputStream {
+
+        private final MessageDigest digest = getSha256Digest();
+        private long length;
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+            length += len;
+        }
+    }
+}
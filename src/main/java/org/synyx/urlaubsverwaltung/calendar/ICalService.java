@@ -1,11 +1,14 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
 import net.fortuna.ical4j.data.CalendarOutputter;
+import net.fortuna.ical4j.data.FoldingWriter;
 import net.fortuna.ical4j.model.Calendar;
 import net.fortuna.ical4j.model.ParameterList;
+import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VEvent;
 import net.fortuna.ical4j.model.parameter.Cn;
 import net.fortuna.ical4j.model.property.Attendee;
+import net.fortuna.ical4j.model.property.DtStamp;
 import net.fortuna.ical4j.model.property.Organizer;
 import net.fortuna.ical4j.model.property.ProdId;
 import net.fortuna.ical4j.model.property.RefreshInterval;
@@ -13,6 +16,7 @@ import net.fortuna.ical4j.model.property.Sequence;
 import net.fortuna.ical4j.model.property.Uid;
 import net.fortuna.ical4j.model.property.XProperty;
 import net.fortuna.ical4j.validate.ValidationException;
+import net.fortuna.ical4j.validate.ValidationResult;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
@@ -22,14 +26,21 @@ import org.synyx.urlaubsverwaltung.branding.BrandingProperties;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.user.UserSettingsService;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.fortuna.ical4j.data.FoldingWriter.REDUCED_FOLD_LENGTH;
 import static net.fortuna.ical4j.model.parameter.Role.REQ_PARTICIPANT;
 import static net.fortuna.ical4j.model.property.immutable.ImmutableCalScale.GREGORIAN;
 import static net.fortuna.ical4j.model.property.immutable.ImmutableMethod.CANCEL;
@@ -42,27 +53,116 @@ import static org.synyx.urlaubsverwaltung.calendar.ICalType.PUBLISHED;
 @Service
 public class ICalService {
 
+    private static final String BEGIN_VEVENT = "BEGIN:VEVENT";
+    private static final String END_VEVENT = "END:VEVENT";
+    private static final String LINE_BREAK = "\r\n";
+
     private final CalendarProperties calendarProperties;
     private final BrandingProperties brandingProperties;
     private final MessageSource messageSource;
     private final UserSettingsService userSettingsService;
+    private final ICalEventCache iCalEventCache;
 
     @Autowired
     ICalService(
         CalendarProperties calendarProperties,
         BrandingProperties brandingProperties,
         MessageSource messageSource,
-        UserSettingsService userSettingsService
+        UserSettingsService userSettingsService,
+        ICalEventCache iCalEventCache
     ) {
         this.calendarProperties = calendarProperties;
         this.brandingProperties = brandingProperties;
         this.messageSource = messageSource;
         this.userSettingsService = userSettingsService;
+        this.iCalEventCache = iCalEventCache;
     }
 
-    public ByteArrayResource getCalendar(String title, List<CalendarAbsence> absences, Person recipient) {
-        final Calendar calendar = generateCalendar(title, absences, recipient);
-        return writeCalenderIntoRessource(calendar);
+    /**
+     * Writes the calendar with the given absences to the given output stream.
+     *
+     * <p>The result is the same as writing a {@link Calendar} with a {@link CalendarOutputter}, but only one
+     * {@link VEvent} exists at a time. Every event is written as soon as it is created, so neither the whole calendar
+     * object graph nor its string representation has to be held in memory. The properties of events of unchanged
+     * absences are taken from the {@link ICalEventCache} instead of being created again, only the {@code DTSTAMP} is
+     * written anew. Every created event is validated like {@link CalendarOutputter} validates a calendar. The same
+     * absences and {@code DTSTAMP} always result in the same bytes.</p>
+     *
+     * @param title        of the calendar
+     * @param absences     to write as events
+     * @param recipient    of the calendar, absences of other persons are written as free
+     * @param dtStamp      of all events
+     * @param outputStream to write the calendar to, is flushed but not closed
+     * @throws CalendarException if an event is invalid or the calendar could not be written
+     */
+    public void writeCalendar(String title, List<CalendarAbsence> absences, Person recipient, Instant dtStamp, OutputStream outputStream) {
+
+        final Locale locale = userSettingsService.getEffectiveLocale(List.of(recipient)).get(recipient);
+        final String dtStampProperty = new DtStamp(dtStamp).toString();
+        final List<Property> calendarProperties = calendarProperties(title);
+
+        try {
+            final Writer writer = new FoldingWriter(new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8)), REDUCED_FOLD_LENGTH);
+            writer.write("BEGIN:VCALENDAR\r\n");
+            for (Property property : calendarProperties) {
+                writer.write(property.toString());
+            }
+            for (CalendarAbsence absence : absences) {
+                final boolean isOwn = absence.getPerson().equals(recipient);
+                final String eventProperties = iCalEventCache.get(absence, isOwn, locale, () ->
+                    toVEvent(absence, PUBLISHED, isOwn, locale)
+                        .map(event -> validated(event, calendarProperties))
+                        .map(ICalService::propertiesWithoutDtStamp)
+                        .orElse(""));
+                if (!eventProperties.isEmpty()) {
+                    writer.write(BEGIN_VEVENT + LINE_BREAK);
+                    writer.write(dtStampProperty);
+                    writer.write(eventProperties);
+                    writer.write(END_VEVENT + LINE_BREAK);
+                }
+            }
+            writer.write("END:VCALENDAR\r\n");
+            writer.flush();
+        } catch (IOException e) {
+            throw new CalendarException("iCal calendar could not be written to output stream", e);
+        }
+    }
+
+    /**
+     * Validates the given event within a calendar with the given properties, like {@link CalendarOutputter} validates
+     * a calendar containing the event.
+     *
+     * @throws CalendarException if the event is invalid
+     */
+    private static VEvent validated(VEvent event, List<Property> calendarProperties) {
+        final Calendar calendar = new Calendar();
+        for (Property property : calendarProperties) {
+            calendar.add(property);
+        }
+        calendar.add(event);
+
+        try {
+            final ValidationResult validationResult = calendar.validate();
+            if (validationResult.hasErrors()) {
+                throw new ValidationException(validationResult.toString());
+            }
+        } catch (ValidationException e) {
+            throw new CalendarException("iCal event is invalid", e);
+        }
+        return event;
+    }
+
+    /**
+     * @return the unfolded properties of the event without {@code DTSTAMP}, which is written per feed
+     */
+    private static String propertiesWithoutDtStamp(VEvent event) {
+        final StringBuilder properties = new StringBuilder();
+        for (Property property : event.getProperties()) {
+            if (!(property instanceof DtStamp)) {
+                properties.append(property);
+            }
+        }
+        return properties.toString();
     }
 
     public ByteArrayResource getSingleAppointment(CalendarAbsence absence, ICalType method, Person recipient) {
@@ -70,24 +170,35 @@ public class ICalService {
         return writeCalenderIntoRessource(calendar);
     }
 
-    private Calendar generateCalendar(String title, List<CalendarAbsence> absences, Person recipient) {
-        final Calendar calendar = prepareCalendar(absences, PUBLISHED, recipient);
-        calendar.add(new XProperty("X-WR-CALNAME", title));
-        calendar.add(new RefreshInterval(new ParameterList(), calendarProperties.getRefreshInterval()));
-        return calendar;
-    }
-
     private Calendar generateForSingleAppointment(CalendarAbsence absence, ICalType method, Person recipient) {
         return prepareCalendar(List.of(absence), method, recipient);
     }
 
+    /**
+     * @return the properties of a subscribable calendar in the order they are written
+     */
+    private List<Property> calendarProperties(String title) {
+        return List.of(
+            VERSION_2_0,
+            prodId(),
+            GREGORIAN,
+            new XProperty("X-MICROSOFT-CALSCALE", GREGORIAN.getValue()),
+            new XProperty("X-WR-CALNAME", title),
+            new RefreshInterval(new ParameterList(), calendarProperties.getRefreshInterval())
+        );
+    }
+
+    private ProdId prodId() {
+        return new ProdId("-//%s//iCal4j 1.0//DE".formatted(brandingProperties.name()));
+    }
+
     private Calendar prepareCalendar(List<CalendarAbsence> absences, ICalType method, Person recipient) {
 
         final Locale locale = userSettingsService.getEffectiveLocale(List.of(recipient)).get(recipient);
 
         final Calendar calendar = new Calendar();
         calendar.add(VERSION_2_0);
-        calendar.add(new ProdId("-//%s//iCal4j 1.0//DE".formatted(brandingProperties.name())));
+        calendar.add(prodId());
         calendar.add(GREGORIAN);
         calendar.add(new XProperty("X-MICROSOFT-CALSCALE", GREGORIAN.getValue()));
 
@@ -103,7 +214,7 @@ public class ICalService {
         return calendar;
     }
 
-    private Optional<VEvent> toVEvent(CalendarAbsence absence, ICalType method, boolean isOwn, Locale locale) {
+    Optional<VEvent> toVEvent(CalendarAbsence absence, ICalType method, boolean isOwn, Locale locale) {
 
         final ZonedDateTime startDateTime = absence.getStartDate();
         final ZonedDateTime endDateTime = absence.getEndDate();
@@ -3,15 +3,15 @@ package org.synyx.urlaubsverwaltung.calendar;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.Locale;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -38,9 +38,9 @@ public class ICalViewController {
     }
 
     @GetMapping("/persons/{personId}/calendar")
-    public String getCalendarForPerson(Locale locale, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) {
+    public void getCalendarForPerson(Locale locale, WebRequest webRequest, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
+        final ICalFeed iCal;
         try {
             iCal = personCalendarService.getCalendarForPerson(personId, secret, locale);
         } catch (IllegalArgumentException _) {
@@ -49,15 +49,13 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray(), StandardCharsets.UTF_8);
+        respond(iCal, webRequest, response);
     }
 
     @GetMapping("/departments/{departmentId}/persons/{personId}/calendar")
-    public String getCalendarForDepartment(Locale locale, HttpServletResponse response, @PathVariable Long departmentId, @PathVariable Long personId, @RequestParam String secret) {
+    public void getCalendarForDepartment(Locale locale, WebRequest webRequest, HttpServletResponse response, @PathVariable Long departmentId, @PathVariable Long personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
+        final ICalFeed iCal;
         try {
             iCal = departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale);
         } catch (IllegalArgumentException _) {
@@ -66,15 +64,13 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray(), StandardCharsets.UTF_8);
+        respond(iCal, webRequest, response);
     }
 
     @GetMapping("/company/persons/{personId}/calendar")
-    public String getCalendarForCompany(Locale locale, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) {
+    public void getCalendarForCompany(Locale locale, WebRequest webRequest, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) throws IOException {
 
-        final ByteArrayResource iCal;
+        final ICalFeed iCal;
         try {
             iCal = companyCalendarService.getCalendarForAll(personId, secret, locale);
         } catch (IllegalArgumentException _) {
@@ -83,9 +79,23 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
+        respond(iCal, webRequest, response);
+    }
+
+    /**
+     * Answers with {@code 304 Not Modified} and without a body if the client already has the given feed, otherwise
+     * streams the content of the feed to the response.
+     */
+    private void respond(ICalFeed iCal, WebRequest webRequest, HttpServletResponse response) throws IOException {
+
         setContentTypeAndHeaders(response);
 
-        return new String(iCal.getByteArray(), StandardCharsets.UTF_8);
+        if (webRequest.checkNotModified(iCal.eTag(), iCal.lastModified().toEpochMilli())) {
+            return;
+        }
+
+        response.setContentLengthLong(iCal.contentLength());
+        iCal.writeTo(response.getOutputStream());
     }
 
     private void setContentTypeAndHeaders(HttpServletResponse response) {
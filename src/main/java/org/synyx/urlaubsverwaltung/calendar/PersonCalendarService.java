@@ -5,7 +5,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -29,6 +28,7 @@ public class PersonCalendarService {
     private final ICalService iCalService;
     private final MessageSource messageSource;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final ICalCache iCalCache;
     private final Clock clock;
 
     @Autowired
@@ -36,7 +36,7 @@ public class PersonCalendarService {
         CalendarAbsenceService absenceService, PersonService personService,
         PersonCalendarRepository personCalendarRepository, ICalService iCalService,
         MessageSource messageSource, ApplicationEventPublisher applicationEventPublisher,
-        Clock clock
+        ICalCache iCalCache, Clock clock
     ) {
         this.absenceService = absenceService;
         this.personService = personService;
@@ -44,6 +44,7 @@ public class PersonCalendarService {
         this.iCalService = iCalService;
         this.messageSource = messageSource;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.iCalCache = iCalCache;
         this.clock = clock;
     }
 
@@ -71,7 +72,7 @@ public class PersonCalendarService {
         return personCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForPerson(Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForPerson(Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -88,12 +89,13 @@ public class PersonCalendarService {
             throw new IllegalArgumentException("Secret=%s does not match the given personId=%s".formatted(secret, personId));
         }
 
-        final String title = messageSource.getMessage("calendar.person.title", List.of(person.getNiceName()).toArray(), locale);
-
         final LocalDate sinceDate = LocalDate.now(clock).minus(personCalendar.getCalendarPeriod());
-        final List<CalendarAbsence> absences = absenceService.getOpenAbsencesSince(List.of(person), sinceDate);
 
-        return iCalService.getCalendar(title, absences, person);
+        final ICalCache.Subscriber subscriber = new ICalCache.Subscriber(person.getId(), locale);
+        return iCalCache.get(ICalCache.Scope.person(person), sinceDate, subscriber, () -> absenceService.getOpenAbsencesSince(List.of(person), sinceDate), (absences, dtStamp, outputStream) -> {
+            final String title = messageSource.getMessage("calendar.person.title", List.of(person.getNiceName()).toArray(), locale);
+            iCalService.writeCalendar(title, absences, person, dtStamp, outputStream);
+        });
     }
 
     @Transactional
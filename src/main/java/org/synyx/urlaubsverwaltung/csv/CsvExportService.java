@@ -7,8 +7,12 @@ import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
@@ -24,10 +28,10 @@ public interface CsvExportService<T> {
      *
      * @param period    to add period to csv
      * @param locale    for i18n (messages and number formats)
-     * @param data      are the main information for the csv
+     * @param data      are the main information for the csv, may be lazily loaded and can only be iterated once
      * @param csvWriter to write data that will be used to create the ByteArrayResource
      */
-    void write(FilterPeriod period, Locale locale, List<T> data, CSVWriter csvWriter);
+    void write(FilterPeriod period, Locale locale, Iterable<T> data, CSVWriter csvWriter);
 
     /**
      * Contains the algorithm to create a unique filename
@@ -49,6 +53,19 @@ public interface CsvExportService<T> {
         return new CSVFile(fileName(period, locale), resource(period, locale, data));
     }
 
+    /**
+     * Retrieves a {@link StreamingCSVFile} that writes the csv directly into the response instead of keeping the
+     * whole file in memory. The data is iterated while the response is written, so it can be loaded page by page,
+     * see {@link PagedIterable}.
+     *
+     * @param period will be used to create the content of the csv file
+     * @param data   will be used to create the content of the csv file, iterated once while writing the response
+     * @return a {@link StreamingCSVFile} containing the filename and the response body
+     */
+    default StreamingCSVFile generateStreamingCSV(FilterPeriod period, Locale locale, Iterable<T> data) {
+        return new StreamingCSVFile(fileName(period, locale), outputStream -> writeTo(outputStream, period, locale, data));
+    }
+
     /**
      * Method to override the utf8 bom that is used at the start of the csv.
      *
@@ -67,6 +84,15 @@ public interface CsvExportService<T> {
         return ';';
     }
 
+    /**
+     * Method to override after how many data elements the written rows are flushed to the output stream.
+     *
+     * @return number of data elements between two flushes
+     */
+    default int flushInterval() {
+        return 100;
+    }
+
 
     /**
      * Helper method to create a ByteArrayResource from the filter period and the provided data.
@@ -78,16 +104,63 @@ public interface CsvExportService<T> {
     default ByteArrayResource resource(FilterPeriod period, Locale locale, List<T> data) {
 
         try (final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            byteArrayOutputStream.write(bom());
-
-            try (final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream, UTF_8)) {
-                try (final CSVWriter csvWriter = new CSVWriter(outputStreamWriter, separator(), NO_QUOTE_CHARACTER, DEFAULT_QUOTE_CHARACTER, DEFAULT_LINE_END)) {
-                    write(period, locale, data, csvWriter);
-                }
-            }
+            writeTo(byteArrayOutputStream, period, locale, data);
             return new ByteArrayResource(byteArrayOutputStream.toByteArray());
-        } catch (ValidationException | IOException e) {
+        } catch (IOException e) {
             throw new CsvExportException("csv data not be written to ByteArrayResource", e);
         }
     }
+
+    /**
+     * Writes the bom and the csv of the filter period and the provided data into the given output stream. The written
+     * rows are flushed every {@link #flushInterval()} data elements. The output stream is closed afterwards.
+     *
+     * <p>If writing fails, e.g. because the lazily loaded data could not be loaded, the output stream is left open.
+     * Closing it would complete a response that has already been committed like a complete but truncated file,
+     * whereas the propagated exception lets the servlet container abort the response.</p>
+     *
+     * @param outputStream to write the csv into
+     * @param period       to create content
+     * @param data         to create content, iterated once
+     */
+    default void writeTo(OutputStream outputStream, FilterPeriod period, Locale locale, Iterable<T> data) {
+
+        try {
+            outputStream.write(bom());
+
+            final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(outputStream, UTF_8);
+            final CSVWriter csvWriter = new CSVWriter(outputStreamWriter, separator(), NO_QUOTE_CHARACTER, DEFAULT_QUOTE_CHARACTER, DEFAULT_LINE_END);
+            write(period, locale, flushingEvery(flushInterval(), data, csvWriter), csvWriter);
+            csvWriter.close();
+        } catch (ValidationException | IOException | UncheckedIOException e) {
+            throw new CsvExportException("csv data could not be written", e);
+        }
+    }
+
+    private static <T> Iterable<T> flushingEvery(int flushInterval, Iterable<T> data, Flushable flushable) {
+        return () -> new Iterator<>() {
+
+            private final Iterator<T> iterator = data.iterator();
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                // everything written for the previous elements is complete at this point
+                if (count > 0 && count % flushInterval == 0) {
+                    try {
+                        flushable.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                count++;
+                return iterator.next();
+            }
+        };
+    }
 }
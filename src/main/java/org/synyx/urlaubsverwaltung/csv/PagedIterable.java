@@ -0,0 +1,53 @@
+package org.synyx.urlaubsverwaltung.csv;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * {@link Iterable} over all elements of a paged source that loads the next page not until the elements of the
+ * current page have been consumed. Only one page is held in memory at a time.
+ *
+ * <p>Every iteration starts with the first page again.</p>
+ *
+ * @param <T> the type of the elements
+ */
+public final class PagedIterable<T> implements Iterable<T> {
+
+    private final IntFunction<? extends Slice<T>> pageLoader;
+
+    /**
+     * @param pageLoader loads the page with the given zero-based page number
+     */
+    public PagedIterable(IntFunction<? extends Slice<T>> pageLoader) {
+        this.pageLoader = pageLoader;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private Slice<T> page = pageLoader.apply(0);
+            private Iterator<T> pageIterator = page.iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!pageIterator.hasNext() && page.hasNext()) {
+                    page = pageLoader.apply(page.getNumber() + 1);
+                    pageIterator = page.iterator();
+                }
+                return pageIterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pageIterator.next();
+            }
+        };
+    }
+}
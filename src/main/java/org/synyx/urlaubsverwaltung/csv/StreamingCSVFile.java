@@ -0,0 +1,35 @@
+package org.synyx.urlaubsverwaltung.csv;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.Optional;
+
+public record StreamingCSVFile(String fileName, StreamingResponseBody body) {
+
+    /**
+     * The body of a streaming response is written on another thread than the one of the request, which has no tenant
+     * context. Returns a {@link StreamingCSVFile} whose body is written in the tenant context of the calling thread,
+     * so that lazily loaded data is loaded for the tenant of the request. Must be called on the request thread.
+     *
+     * @param tenantContextHolder to get the tenant of the request and to set it while the body is written
+     * @return a {@link StreamingCSVFile} that writes its body in the tenant context of the calling thread
+     */
+    public StreamingCSVFile inTenantContextOf(TenantContextHolder tenantContextHolder) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        if (tenantId.isEmpty()) {
+            return this;
+        }
+
+        return new StreamingCSVFile(fileName, outputStream -> {
+            tenantContextHolder.setTenantId(tenantId.get());
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                tenantContextHolder.clear();
+            }
+        });
+    }
+}
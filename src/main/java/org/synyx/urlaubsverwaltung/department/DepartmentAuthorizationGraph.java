@@ -0,0 +1,106 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the active {@link DepartmentMembership}s of one tenant.
+ *
+ * <p>Person and department ids are mapped to compact indexes by their position in sorted arrays. The departments of a
+ * person are kept in one {@link BitSet} per {@link DepartmentMembershipKind} and in one for all kinds. Whether two
+ * persons share a department is therefore a binary search for each person and an intersection of two bit sets,
+ * without any allocation.</p>
+ */
+final class DepartmentAuthorizationGraph {
+
+    private static final BitSet NO_DEPARTMENTS = new BitSet(0);
+    private static final DepartmentMembershipKind[] KINDS = DepartmentMembershipKind.values();
+
+    private final long[] personIds;
+    private final long[] departmentIds;
+    private final BitSet[][] departmentsByKindAndPerson;
+    private final BitSet[] departmentsByPerson;
+
+    private DepartmentAuthorizationGraph(long[] personIds, long[] departmentIds, BitSet[][] departmentsByKindAndPerson, BitSet[] departmentsByPerson) {
+        this.personIds = personIds;
+        this.departmentIds = departmentIds;
+        this.departmentsByKindAndPerson = departmentsByKindAndPerson;
+        this.departmentsByPerson = departmentsByPerson;
+    }
+
+    /**
+     * @param activeMemberships all active memberships of the tenant
+     * @return the snapshot of the given memberships
+     */
+    static DepartmentAuthorizationGraph of(Collection<DepartmentMembership> activeMemberships) {
+
+        final long[] personIds = activeMemberships.stream().mapToLong(membership -> membership.personId().value()).distinct().sorted().toArray();
+        final long[] departmentIds = activeMemberships.stream().mapToLong(DepartmentMembership::departmentId).distinct().sorted().toArray();
+
+        final BitSet[][] departmentsByKindAndPerson = new BitSet[KINDS.length][personIds.length];
+        final BitSet[] departmentsByPerson = new BitSet[personIds.length];
+        for (int personIndex = 0; personIndex < personIds.length; personIndex++) {
+            for (DepartmentMembershipKind kind : KINDS) {
+                departmentsByKindAndPerson[kind.ordinal()][personIndex] = new BitSet(departmentIds.length);
+            }
+            departmentsByPerson[personIndex] = new BitSet(departmentIds.length);
+        }
+
+        for (DepartmentMembership membership : activeMemberships) {
+            final int personIndex = Arrays.binarySearch(personIds, membership.personId().value());
+            final int departmentIndex = Arrays.binarySearch(departmentIds, membership.departmentId());
+            departmentsByKindAndPerson[membership.membershipKind().ordinal()][personIndex].set(departmentIndex);
+            departmentsByPerson[personIndex].set(departmentIndex);
+        }
+
+        return new DepartmentAuthorizationGraph(personIds, departmentIds, departmentsByKindAndPerson, departmentsByPerson);
+    }
+
+    /**
+     * @return {@code true} if there is a department in which the person has a membership of the given kind and the
+     * other person has a membership of the other kind
+     */
+    boolean sharesDepartment(@Nullable Long personId, DepartmentMembershipKind kind, @Nullable Long otherPersonId, DepartmentMembershipKind otherKind) {
+        return departments(personId, kind).intersects(departments(otherPersonId, otherKind));
+    }
+
+    /**
+     * @return {@code true} if there is a department in which both persons have a membership of any kind
+     */
+    boolean sharesAnyDepartment(@Nullable Long personId, @Nullable Long otherPersonId) {
+        return departments(personId).intersects(departments(otherPersonId));
+    }
+
+    /**
+     * @return ids of the departments in which the person has a membership of one of the given kinds
+     */
+    Set<Long> getDepartmentIds(@Nullable Long personId, Collection<DepartmentMembershipKind> kinds) {
+        final Set<Long> ids = new HashSet<>();
+        for (DepartmentMembershipKind kind : kinds) {
+            final BitSet departments = departments(personId, kind);
+            for (int index = departments.nextSetBit(0); index >= 0; index = departments.nextSetBit(index + 1)) {
+                ids.add(departmentIds[index]);
+            }
+        }
+        return ids;
+    }
+
+    private BitSet departments(@Nullable Long personId, DepartmentMembershipKind kind) {
+        final int personIndex = personIndex(personId);
+        return personIndex < 0 ? NO_DEPARTMENTS : departmentsByKindAndPerson[kind.ordinal()][personIndex];
+    }
+
+    private BitSet departments(@Nullable Long personId) {
+        final int personIndex = personIndex(personId);
+        return personIndex < 0 ? NO_DEPARTMENTS : departmentsByPerson[personIndex];
+    }
+
+    private int personIndex(@Nullable Long personId) {
+        return personId == null ? -1 : Arrays.binarySearch(personIds, personId);
+    }
+}
@@ -0,0 +1,107 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+
+/**
+ * Process wide cache of the {@link DepartmentAuthorizationGraph} of every tenant.
+ *
+ * <p>The department memberships are checked by permission checks on nearly every request but change rarely. The cache
+ * is keyed by the tenant of the current {@link TenantContextHolder} context and is bypassed without a tenant context.
+ * The graph is immutable and shared by all callers. After a change it is dropped and built anew by the next caller,
+ * concurrent callers wait for this one build and never see a partially built graph.</p>
+ *
+ * <p>Hits and misses are exposed as {@code cache.*} metrics with the tag {@code cache=department-authorization-graph}.</p>
+ */
+@Component
+@EnableConfigurationProperties(DepartmentAuthorizationGraphCacheProperties.class)
+class DepartmentAuthorizationGraphCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    static final String CACHE_NAME = "department-authorization-graph";
+
+    private final TenantContextHolder tenantContextHolder;
+    private final Cache<TenantId, DepartmentAuthorizationGraph> cache;
+
+    DepartmentAuthorizationGraphCache(TenantContextHolder tenantContextHolder, DepartmentAuthorizationGraphCacheProperties properties, MeterRegistry meterRegistry) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTimeToLive())
+            .maximumSize(properties.getMaximumSize())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the graph of the current tenant. The graph is built with the given loader if it is not cached yet.
+     *
+     * @param loader builds the graph of the current tenant from the database
+     * @return the graph of the current tenant
+     */
+    DepartmentAuthorizationGraph get(Supplier<DepartmentAuthorizationGraph> loader) {
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return loader.get();
+        }
+
+        return cache.get(maybeTenantId.get(), tenantId -> loader.get());
+    }
+
+    /**
+     * Removes the cached graph of the current tenant.
+     *
+     * <p>Within a transaction the graph is removed again after completion, so a graph that was built before the commit
+     * or from a rolled back transaction is not served afterwards.</p>
+     */
+    void invalidate() {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            cache.invalidate(tenantId);
+            LOG.debug("Invalidated cached department authorization graph of tenant {}", tenantId.tenantId());
+
+            if (isSynchronizationActive()) {
+                registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.invalidate(tenantId);
+                    }
+                });
+            }
+        });
+    }
+
+    @EventListener({
+        DepartmentCreatedEvent.class,
+        DepartmentUpdatedEvent.class,
+        DepartmentDeletedEvent.class,
+        DepartmentMemberAssignedEvent.class,
+        DepartmentMemberUnassignedEvent.class,
+        DepartmentHeadAssignedEvent.class,
+        DepartmentHeadUnassignedEvent.class,
+        PersonLeftDepartmentEvent.class,
+        PersonDeletedEvent.class
+    })
+    void onMembershipsChanged() {
+        invalidate();
+    }
+}
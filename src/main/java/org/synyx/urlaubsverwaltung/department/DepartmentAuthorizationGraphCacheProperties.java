@@ -0,0 +1,45 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties("uv.department.authorization-graph.cache")
+@Validated
+public class DepartmentAuthorizationGraphCacheProperties {
+
+    /**
+     * Defines how long the department memberships of a tenant are used for authorization checks after they have been
+     * loaded from the database. Changes made through this instance invalidate the cache immediately, the time to live
+     * only bounds how long changes made by other instances of the application stay invisible.
+     * <p>
+     * Default time to live is one minute (PT1M).
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of tenants whose department memberships are cached at the same time.
+     */
+    @Positive
+    private long maximumSize = 1000;
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+}
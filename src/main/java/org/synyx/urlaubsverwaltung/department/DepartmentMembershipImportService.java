@@ -12,13 +12,16 @@ public class DepartmentMembershipImportService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final DepartmentMembershipRepository repository;
+    private final DepartmentAuthorizationGraphCache departmentAuthorizationGraphCache;
 
-    DepartmentMembershipImportService(DepartmentMembershipRepository repository) {
+    DepartmentMembershipImportService(DepartmentMembershipRepository repository, DepartmentAuthorizationGraphCache departmentAuthorizationGraphCache) {
         this.repository = repository;
+        this.departmentAuthorizationGraphCache = departmentAuthorizationGraphCache;
     }
 
     public void importDepartmentMembership(DepartmentMembershipEntity entity) {
         repository.save(entity);
+        departmentAuthorizationGraphCache.invalidate();
         LOG.debug("imported department membership: {}", entity);
     }
 }
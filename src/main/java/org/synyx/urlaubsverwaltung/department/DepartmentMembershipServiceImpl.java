@@ -51,6 +51,18 @@ class DepartmentMembershipServiceImpl implements DepartmentMembershipService {
             .toList();
     }
 
+    /**
+     * Returns all active memberships of all persons.
+     * A membership is considered active if it has a validTo of null.
+     *
+     * @return a list of all active {@link DepartmentMembership}s
+     */
+    List<DepartmentMembership> getAllActiveMemberships() {
+        return repository.findAllByValidToIsNull().stream()
+            .map(DepartmentMembershipServiceImpl::toDepartmentMembership)
+            .toList();
+    }
+
     /**
      * Returns all active memberships for a given person.
      * A membership is considered active if it has a validTo of null.
@@ -54,6 +54,7 @@ class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final DepartmentMembershipServiceImpl departmentMembershipService;
+    private final DepartmentAuthorizationGraphCache departmentAuthorizationGraphCache;
     private final PersonService personService;
     private final ApplicationService applicationService;
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -62,6 +63,7 @@ class DepartmentServiceImpl implements DepartmentService {
     DepartmentServiceImpl(
         DepartmentRepository departmentRepository,
         DepartmentMembershipServiceImpl departmentMembershipService,
+        DepartmentAuthorizationGraphCache departmentAuthorizationGraphCache,
         PersonService personService,
         ApplicationService applicationService,
         ApplicationEventPublisher applicationEventPublisher,
@@ -69,6 +71,7 @@ class DepartmentServiceImpl implements DepartmentService {
     ) {
         this.departmentRepository = departmentRepository;
         this.departmentMembershipService = departmentMembershipService;
+        this.departmentAuthorizationGraphCache = departmentAuthorizationGraphCache;
         this.personService = personService;
         this.applicationService = applicationService;
         this.applicationEventPublisher = applicationEventPublisher;
@@ -235,6 +238,7 @@ class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @Transactional
     public void delete(Long departmentId) {
 
         if (this.departmentExists(departmentId)) {
@@ -276,21 +280,24 @@ class DepartmentServiceImpl implements DepartmentService {
             return getAllDepartments();
         }
 
-        final List<Department> departments = new ArrayList<>();
+        final List<DepartmentMembershipKind> membershipKinds = new ArrayList<>();
         if (person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            departments.addAll(getManagedDepartmentsOfSecondStageAuthority(person));
+            membershipKinds.add(DepartmentMembershipKind.SECOND_STAGE_AUTHORITY);
         }
 
         if (person.hasRole(DEPARTMENT_HEAD)) {
-            departments.addAll(getManagedDepartmentsOfDepartmentHead(person));
+            membershipKinds.add(DepartmentMembershipKind.DEPARTMENT_HEAD);
         }
 
-        departments.addAll(getAssignedDepartmentsOfMember(person));
+        membershipKinds.add(DepartmentMembershipKind.MEMBER);
 
-        return departments.stream()
-            .distinct()
-            .sorted(departmentComparator())
-            .toList();
+        final Set<Long> departmentIds = authorizationGraph().getDepartmentIds(person.getId(), membershipKinds);
+        if (departmentIds.isEmpty()) {
+            return List.of();
+        }
+
+        final List<DepartmentEntity> entities = departmentRepository.findAllById(departmentIds);
+        return mapToDepartments(entities, departmentComparator());
     }
 
     @Override
@@ -342,23 +349,10 @@ class DepartmentServiceImpl implements DepartmentService {
             return false;
         }
 
-        final PersonId departmentHeadId = departmentHead.getIdAsPersonId();
-        final PersonId personId = person.getIdAsPersonId();
-
-        final Map<PersonId, List<DepartmentMembership>> memberships =
-            departmentMembershipService.getActiveMembershipsOfPersons(List.of(departmentHeadId, personId));
-
-        final Set<Long> departmentHeadDepartmentIds = memberships.get(departmentHeadId).stream()
-            .filter(m -> m.membershipKind().equals(DepartmentMembershipKind.DEPARTMENT_HEAD))
-            .map(DepartmentMembership::departmentId)
-            .collect(toSet());
-
-        final Set<Long> personMemberDepartmentIds = memberships.get(personId).stream()
-            .filter(m -> m.membershipKind().equals(DepartmentMembershipKind.MEMBER))
-            .map(DepartmentMembership::departmentId)
-            .collect(toSet());
-
-        return departmentHeadDepartmentIds.stream().anyMatch(personMemberDepartmentIds::contains);
+        return authorizationGraph().sharesDepartment(
+            departmentHead.getId(), DepartmentMembershipKind.DEPARTMENT_HEAD,
+            person.getId(), DepartmentMembershipKind.MEMBER
+        );
     }
 
     @Override
@@ -373,7 +367,10 @@ class DepartmentServiceImpl implements DepartmentService {
     @Override
     public boolean isSecondStageAuthorityAllowedToManagePerson(Person secondStageAuthority, Person person) {
         if (secondStageAuthority.hasRole(SECOND_STAGE_AUTHORITY)) {
-            return getManagedMembersForSecondStageAuthority(secondStageAuthority).contains(person);
+            return authorizationGraph().sharesDepartment(
+                secondStageAuthority.getId(), DepartmentMembershipKind.SECOND_STAGE_AUTHORITY,
+                person.getId(), DepartmentMembershipKind.MEMBER
+            );
         }
 
         return false;
@@ -503,17 +500,14 @@ class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     public boolean hasDepartmentMatch(Person person, Person otherPerson) {
+        return authorizationGraph().sharesAnyDepartment(person.getId(), otherPerson.getId());
+    }
 
-        final PersonId personId = person.getIdAsPersonId();
-        final PersonId otherPersonId = otherPerson.getIdAsPersonId();
-
-        final Map<PersonId, List<DepartmentMembership>> membershipsByPersonId =
-            departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherPersonId));
-
-        final List<Long> personDepartmentIds = membershipsByPersonId.get(personId).stream().map(DepartmentMembership::departmentId).toList();
-        final List<Long> otherPersonDepartmentIds = membershipsByPersonId.get(otherPersonId).stream().map(DepartmentMembership::departmentId).toList();
-
-        return personDepartmentIds.stream().anyMatch(otherPersonDepartmentIds::contains);
+    /**
+     * @return the active memberships of the current tenant, built from the database if they are not cached
+     */
+    private DepartmentAuthorizationGraph authorizationGraph() {
+        return departmentAuthorizationGraphCache.get(() -> DepartmentAuthorizationGraph.of(departmentMembershipService.getAllActiveMemberships()));
     }
 
     private List<DepartmentMembership> getManagedMemberMembershipsOfPerson(PersonId personId) {
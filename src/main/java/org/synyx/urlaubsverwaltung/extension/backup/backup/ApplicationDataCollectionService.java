@@ -47,12 +47,17 @@ class ApplicationDataCollectionService {
     }
 
     ApplicationBackupDTO collectApplications(List<Person> allPersons, LocalDate from, LocalDate to) {
+        return new ApplicationBackupDTO(collectVacationTypes(), collectApplicationsOfPersons(allPersons, from, to));
+    }
 
-        final List<VacationTypeDTO> vacationTypes = vacationTypeService.getAllVacationTypes().stream()
+    List<VacationTypeDTO> collectVacationTypes() {
+        return vacationTypeService.getAllVacationTypes().stream()
             .map(this::createVacationTypeDTO)
             .toList();
+    }
 
-        final List<ApplicationDTO> applications = allPersons.stream()
+    List<ApplicationDTO> collectApplicationsOfPersons(List<Person> persons, LocalDate from, LocalDate to) {
+        return persons.stream()
             .map(person ->
                 applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person).stream()
                     .map(application -> {
@@ -71,8 +76,6 @@ class ApplicationDataCollectionService {
             )
             .flatMap(Collection::stream)
             .toList();
-
-        return new ApplicationBackupDTO(vacationTypes, applications);
     }
 
     private VacationTypeDTO createVacationTypeDTO(VacationType<?> vacationType) {
@@ -20,16 +20,26 @@ class ApplicationReadyBackupTrigger {
 
     private final BackupCreateService backupCreateService;
     private final BackupDataCollectionService backupDataCollectionService;
+    private final BackupConfigurationProperties backupConfigurationProperties;
 
-    ApplicationReadyBackupTrigger(BackupCreateService backupCreateService, BackupDataCollectionService backupDataCollectionService) {
+    ApplicationReadyBackupTrigger(BackupCreateService backupCreateService, BackupDataCollectionService backupDataCollectionService,
+                                  BackupConfigurationProperties backupConfigurationProperties) {
         this.backupCreateService = backupCreateService;
         this.backupDataCollectionService = backupDataCollectionService;
+        this.backupConfigurationProperties = backupConfigurationProperties;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     void createBackup() {
         LOG.info("Starting backup by ApplicationReadyEvent...");
-        backupCreateService.backupData(backupDataCollectionService.collectData());
+        if (backupConfigurationProperties.streaming() && backupCreateService instanceof StreamingBackupCreateService streamingBackupCreateService) {
+            streamingBackupCreateService.backupData(backupDataCollectionService::writeData);
+        } else {
+            if (backupConfigurationProperties.streaming()) {
+                LOG.warn("Backup service {} does not support streaming - collecting the backup as a whole", backupCreateService.getClass().getSimpleName());
+            }
+            backupCreateService.backupData(backupDataCollectionService.collectData());
+        }
         LOG.info("Finished backup by ApplicationReadyEvent ...");
     }
 }
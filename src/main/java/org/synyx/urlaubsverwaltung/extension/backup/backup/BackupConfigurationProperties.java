@@ -4,10 +4,23 @@ package org.synyx.urlaubsverwaltung.extension.backup.backup;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+/**
+ * Configuration properties for creating backups.
+ *
+ * @param enabled            whether backups can be created
+ * @param backupOnAppReady   whether a backup is created as soon as the application is ready
+ * @param backupService      the service that stores the backup, e.g. filesystem
+ * @param streaming          whether the backup is written section by section while it is collected instead of
+ *                           collecting it as a whole first. Requires a backup service that supports streaming.
+ * @param parallelCollection whether the sections of a backup that is collected as a whole are collected concurrently
+ *                           on virtual threads. All threads read one consistent snapshot of the database.
+ */
 @ConfigurationProperties("uv.backup.backup-configuration")
 public record BackupConfigurationProperties(
     @DefaultValue("false") boolean enabled,
     @DefaultValue("false") boolean backupOnAppReady,
-    @DefaultValue("filesystem") String backupService
+    @DefaultValue("filesystem") String backupService,
+    @DefaultValue("false") boolean streaming,
+    @DefaultValue("false") boolean parallelCollection
 ) {
 }
@@ -1,8 +1,12 @@
 package org.synyx.urlaubsverwaltung.extension.backup.backup;
 
 import de.focus_shift.urlaubsverwaltung.extension.api.tenancy.TenantSupplier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationBackupDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.model.CalendarBackupDTO;
@@ -18,10 +22,19 @@ import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBacku
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.Month.DECEMBER;
@@ -35,6 +48,8 @@ class BackupDataCollectionService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int PERSONS_PAGE_SIZE = 50;
+
     private final String applicationVersion;
     private final TenantSupplier tenantSupplier;
     private final PersonService personService;
@@ -48,6 +63,10 @@ class BackupDataCollectionService {
     private final OvertimeDataCollectionService overtimeDataCollectionService;
     private final PersonDataCollectionService personDataCollectionService;
     private final PersonActivePeriodDataCollectionService personActivePeriodDataCollectionService;
+    private final BackupConfigurationProperties backupConfigurationProperties;
+    private final BackupSnapshot backupSnapshot;
+    private final TenantContextHolder tenantContextHolder;
+    private final MeterRegistry meterRegistry;
 
     BackupDataCollectionService(@Value("${info.app.version}") String applicationVersion,
                                 TenantSupplier tenantSupplier,
@@ -61,7 +80,11 @@ class BackupDataCollectionService {
                                 SickNoteDataCollectionService sickNoteDataCollectionService,
                                 OvertimeDataCollectionService overtimeDataCollectionService,
                                 PersonDataCollectionService personDataCollectionService,
-                                PersonActivePeriodDataCollectionService personActivePeriodDataCollectionService) {
+                                PersonActivePeriodDataCollectionService personActivePeriodDataCollectionService,
+                                BackupConfigurationProperties backupConfigurationProperties,
+                                BackupSnapshot backupSnapshot,
+                                TenantContextHolder tenantContextHolder,
+                                MeterRegistry meterRegistry) {
         this.applicationVersion = applicationVersion;
         this.tenantSupplier = tenantSupplier;
         this.personService = personService;
@@ -75,6 +98,10 @@ class BackupDataCollectionService {
         this.overtimeDataCollectionService = overtimeDataCollectionService;
         this.personDataCollectionService = personDataCollectionService;
         this.personActivePeriodDataCollectionService = personActivePeriodDataCollectionService;
+        this.backupConfigurationProperties = backupConfigurationProperties;
+        this.backupSnapshot = backupSnapshot;
+        this.tenantContextHolder = tenantContextHolder;
+        this.meterRegistry = meterRegistry;
     }
 
     private static LocalDate getLastDayOfNextYear() {
@@ -82,30 +109,183 @@ class BackupDataCollectionService {
     }
 
     public UrlaubsverwaltungBackupDTO collectData() {
+        return collectData(backupConfigurationProperties.parallelCollection());
+    }
+
+    /**
+     * @param parallel whether the sections are collected concurrently on virtual threads within one database snapshot
+     *                 or one after another
+     * @return the collected backup
+     */
+    UrlaubsverwaltungBackupDTO collectData(boolean parallel) {
         LOG.info("Collection data for backup ...");
 
+        final UrlaubsverwaltungBackupDTO backup;
+        if (parallel) {
+            backup = backupSnapshot.exportSnapshot(snapshotId -> {
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    return collectData(new ParallelSections(executor, snapshotId));
+                }
+            });
+        } else {
+            backup = collectData(new SequentialSections());
+        }
+
+        LOG.info("Collected data for backup");
+
+        return backup;
+    }
+
+    private UrlaubsverwaltungBackupDTO collectData(Sections sections) {
+
         final LocalDate exportFrom = LocalDate.ofEpochDay(0);
         final LocalDate exportTo = getLastDayOfNextYear();
 
         final List<Person> allPersons = personService.getAllPersons();
         final Map<PersonId, Person> personById = allPersons.stream().collect(toMap(Person::getIdAsPersonId, identity()));
 
-        final List<PersonDTO> personDtos = personDataCollectionService.collectPersons(allPersons);
-        final Map<PersonId, PersonDTO> personDTOById = personDtos.stream().collect(toMap(dto -> new PersonId(dto.id()), identity()));
+        final Supplier<List<PersonDTO>> personDtos = sections.collect("persons", () -> personDataCollectionService.collectPersons(allPersons));
+        final Supplier<List<OvertimeDTO>> overtimes = sections.collect("overtimes", () -> overtimeDataCollectionService.collectOvertimes(allPersons, personById::get));
+        final Supplier<SickNoteBackupDTO> sickNotes = sections.collect("sickNotes", () -> sickNoteDataCollectionService.collectSickNotes(allPersons, exportFrom, exportTo));
+        final Supplier<ApplicationBackupDTO> applications = sections.collect("applications", () -> applicationDataCollectionService.collectApplications(allPersons, exportFrom, exportTo));
+        final Supplier<List<DepartmentDTO>> departments = sections.collect("departments", departmentDataCollectionService::collectDepartments);
+        final Supplier<List<DepartmentMembershipDTO>> departmentMemberships = sections.collect("departmentMemberships", () -> departmentMembershipDataCollectionService.collectDepartmentMemberships(personById::get));
+        final Supplier<SettingsDTO> settings = sections.collect("settings", settingsDataCollectionService::collectSettings);
+        final Supplier<CalendarBackupDTO> calendars = sections.collect("calendars", () -> calendarDataCollectionService.collectCalendars(allPersons));
+        final Supplier<CalendarIntegrationBackupDTO> calendarIntegration = sections.collect("calendarIntegration", calendarIntegrationDataCollectionService::collectCalendarIntegration);
+        final Supplier<List<PersonActivePeriodDTO>> personActivePeriods = sections.collect("personActivePeriods", () -> personActivePeriodDataCollectionService.collectPersonActivePeriods(personById::get));
+
+        return new UrlaubsverwaltungBackupDTO(tenantSupplier.get(), applicationVersion, personDtos.get(), overtimes.get(), sickNotes.get(),
+            applications.get(), departments.get(), departmentMemberships.get(), calendars.get(), calendarIntegration.get(), settings.get(), personActivePeriods.get());
+    }
 
-        final List<OvertimeDTO> overtimes = overtimeDataCollectionService.collectOvertimes(personDtos, personById::get);
-        final SickNoteBackupDTO sickNotes = sickNoteDataCollectionService.collectSickNotes(allPersons, exportFrom, exportTo);
-        final ApplicationBackupDTO applications = applicationDataCollectionService.collectApplications(allPersons, exportFrom, exportTo);
-        final List<DepartmentDTO> departments = departmentDataCollectionService.collectDepartments();
-        final List<DepartmentMembershipDTO> departmentMemberships = departmentMembershipDataCollectionService.collectDepartmentMemberships(personDTOById::get);
-        final SettingsDTO settings = settingsDataCollectionService.collectSettings();
-        final CalendarBackupDTO calendars = calendarDataCollectionService.collectCalendars(allPersons);
-        final CalendarIntegrationBackupDTO calendarIntegration = calendarIntegrationDataCollectionService.collectCalendarIntegration();
-        final List<PersonActivePeriodDTO> personActivePeriods = personActivePeriodDataCollectionService.collectPersonActivePeriods(personDTOById::get);
+    private <T> T timed(String section, Supplier<T> collector) {
+        return Timer.builder("uv.backup.collection")
+            .description("Time to collect a section of a backup")
+            .tag("section", section)
+            .register(meterRegistry)
+            .record(collector);
+    }
 
-        LOG.info("Collected data for backup");
+    /**
+     * Writes the same data as {@link #collectData()} section by section into the given writer. Persons, overtimes,
+     * sick notes and applications are collected for a page of persons at a time, so only one page of them is held in
+     * memory, no matter how many persons and years of data exist. All pages are read from one database snapshot, so
+     * the backup is consistent like the collected one.
+     *
+     * @param writer receiving the sections of the backup
+     */
+    public void writeData(BackupWriter writer) {
+        LOG.info("Writing data for backup ...");
+        backupSnapshot.readSnapshot(() -> writeDataOfSnapshot(writer));
+        LOG.info("Wrote data for backup");
+    }
+
+    private void writeDataOfSnapshot(BackupWriter writer) {
+
+        final LocalDate exportFrom = LocalDate.ofEpochDay(0);
+        final LocalDate exportTo = getLastDayOfNextYear();
+
+        final List<Person> allPersons = personService.getAllPersons();
+        final Map<PersonId, Person> personById = allPersons.stream().collect(toMap(Person::getIdAsPersonId, identity()));
+
+        writer.writeValue("tenantId", tenantSupplier.get());
+        writer.writeValue("urlaubsverwaltungVersion", applicationVersion);
+
+        writeArray(writer, "persons", allPersons, personDataCollectionService::collectPersons);
+        writeArray(writer, "overtimes", allPersons, persons -> overtimeDataCollectionService.collectOvertimes(persons, personById::get));
+
+        writer.writeStartObject("sickNotes");
+        writer.writeValue("sickNoteTypes", sickNoteDataCollectionService.collectSickNoteTypes());
+        writeArray(writer, "sickNotes", allPersons, persons -> sickNoteDataCollectionService.collectSickNotesOfPersons(persons, exportFrom, exportTo));
+        writer.writeEndObject();
+
+        writer.writeStartObject("applications");
+        writer.writeValue("vacationTypes", applicationDataCollectionService.collectVacationTypes());
+        writeArray(writer, "applications", allPersons, persons -> applicationDataCollectionService.collectApplicationsOfPersons(persons, exportFrom, exportTo));
+        writer.writeEndObject();
+
+        writer.writeValue("departments", departmentDataCollectionService.collectDepartments());
+        writer.writeValue("departmentMemberships", departmentMembershipDataCollectionService.collectDepartmentMemberships(personById::get));
+        writer.writeValue("calendars", calendarDataCollectionService.collectCalendars(allPersons));
+        writer.writeValue("calendarIntegration", calendarIntegrationDataCollectionService.collectCalendarIntegration());
+        writer.writeValue("settings", settingsDataCollectionService.collectSettings());
+        writer.writeValue("personActivePeriods", personActivePeriodDataCollectionService.collectPersonActivePeriods(personById::get));
+    }
+
+    /**
+     * Collects the sections of a backup, the returned supplier provides the collected section.
+     */
+    private interface Sections {
+        <T> Supplier<T> collect(String section, Supplier<T> collector);
+    }
+
+    private final class SequentialSections implements Sections {
+
+        @Override
+        public <T> Supplier<T> collect(String section, Supplier<T> collector) {
+            final T collected = timed(section, collector);
+            return () -> collected;
+        }
+    }
+
+    /**
+     * Collects every section on its own virtual thread. All threads read the exported snapshot of the calling thread
+     * and run in the tenant and locale of the calling thread.
+     */
+    private final class ParallelSections implements Sections {
+
+        private final ExecutorService executor;
+        private final String snapshotId;
+        private final Optional<TenantId> tenantId;
+        private final LocaleContext localeContext;
+
+        private ParallelSections(ExecutorService executor, String snapshotId) {
+            this.executor = executor;
+            this.snapshotId = snapshotId;
+            this.tenantId = tenantContextHolder.getCurrentTenantId();
+            this.localeContext = LocaleContextHolder.getLocaleContext();
+        }
+
+        @Override
+        public <T> Supplier<T> collect(String section, Supplier<T> collector) {
+            final Supplier<T> collectorInSnapshot = () -> backupSnapshot.inSnapshot(snapshotId, () -> timed(section, collector));
+            final Future<T> future = executor.submit(() -> runInContext(collectorInSnapshot));
+
+            return () -> {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while collecting section=%s of backup".formatted(section), e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new IllegalStateException("could not collect section=%s of backup".formatted(section), e.getCause());
+                }
+            };
+        }
+
+        private <T> T runInContext(Supplier<T> task) {
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                return tenantId
+                    .map(id -> tenantContextHolder.runInTenantIdContext(id, task))
+                    .orElseGet(task);
+            } finally {
+                LocaleContextHolder.resetLocaleContext();
+            }
+        }
+    }
 
-        return new UrlaubsverwaltungBackupDTO(tenantSupplier.get(), applicationVersion, personDtos, overtimes, sickNotes,
-            applications, departments, departmentMemberships, calendars, calendarIntegration, settings, personActivePeriods);
+    private void writeArray(BackupWriter writer, String name, List<Person> allPersons, Function<List<Person>, List<?>> collector) {
+        writer.writeStartArray(name);
+        for (int from = 0; from < allPersons.size(); from += PERSONS_PAGE_SIZE) {
+            final List<Person> persons = allPersons.subList(from, Math.min(from + PERSONS_PAGE_SIZE, allPersons.size()));
+            writer.writeElements(collector.apply(persons));
+            backupSnapshot.detachLoadedEntities();
+        }
+        writer.writeEndArray();
     }
 }
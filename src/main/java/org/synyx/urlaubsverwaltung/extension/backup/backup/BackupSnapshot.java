@@ -0,0 +1,136 @@
+package org.synyx.urlaubsverwaltung.extension.backup.backup;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.TransactionDefinition.ISOLATION_REPEATABLE_READ;
+
+/**
+ * Shares one consistent database snapshot between the transactions of multiple threads or between the queries of a
+ * backup that is read in pages.
+ *
+ * <p>A transaction can only be used by one thread. To read the sections of a backup concurrently and still consistent,
+ * the calling thread exports the snapshot of its repeatable read transaction with {@code pg_export_snapshot()}. Every
+ * worker thread starts its own repeatable read transaction and imports this snapshot with
+ * {@code SET TRANSACTION SNAPSHOT}, so all of them see exactly the same data.</p>
+ *
+ * <p>Every worker transaction holds a connection of the pool. So at most the maximum pool size minus two workers run
+ * at the same time, one connection is held by the exporting transaction and one is left for the rest of the
+ * application. Further workers wait until a connection is released.</p>
+ */
+@Component
+@ConditionalOnBackupCreateEnabled
+class BackupSnapshot {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f-]+");
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+    private static final int RESERVED_CONNECTIONS = 2;
+
+    private final TransactionTemplate repeatableReadTransaction;
+    private final TransactionTemplate readOnlyRepeatableReadTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final Semaphore connections;
+
+    BackupSnapshot(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate, EntityManager entityManager, DataSource dataSource) {
+        this.repeatableReadTransaction = new TransactionTemplate(transactionManager);
+        this.repeatableReadTransaction.setIsolationLevel(ISOLATION_REPEATABLE_READ);
+        this.readOnlyRepeatableReadTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyRepeatableReadTransaction.setIsolationLevel(ISOLATION_REPEATABLE_READ);
+        this.readOnlyRepeatableReadTransaction.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.connections = new Semaphore(Math.max(1, maximumPoolSize(dataSource) - RESERVED_CONNECTIONS), true);
+    }
+
+    /**
+     * Runs the given callback in a repeatable read transaction whose snapshot is exported. The snapshot can be imported
+     * by other threads with {@link #inSnapshot(String, Supplier)} as long as the callback is running.
+     *
+     * @param callback receives the id of the exported snapshot
+     * @return the result of the callback
+     */
+    <T> T exportSnapshot(Function<String, T> callback) {
+        return repeatableReadTransaction.execute(status -> {
+            final String snapshotId = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+            return callback.apply(snapshotId);
+        });
+    }
+
+    /**
+     * Runs the given callback in a repeatable read transaction that reads the exported snapshot with the given id.
+     * Blocks until a connection for the transaction may be taken from the pool.
+     *
+     * @param snapshotId of a snapshot exported by {@link #exportSnapshot(Function)}
+     * @param callback   to run
+     * @return the result of the callback
+     */
+    <T> T inSnapshot(String snapshotId, Supplier<T> callback) {
+        if (!SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("invalid snapshot id " + snapshotId);
+        }
+
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a connection to read snapshot " + snapshotId, e);
+        }
+
+        try {
+            return repeatableReadTransaction.execute(status -> {
+                // must be the first statement of the transaction
+                jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '%s'".formatted(snapshotId));
+                return callback.get();
+            });
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Runs the given callback in one read only repeatable read transaction, so that all of its queries read the same
+     * snapshot of the database. The entities loaded by the callback are kept by the transaction until it ends or
+     * {@link #detachLoadedEntities()} is called.
+     *
+     * @param callback to run
+     */
+    void readSnapshot(Runnable callback) {
+        readOnlyRepeatableReadTransaction.executeWithoutResult(status -> callback.run());
+    }
+
+    /**
+     * Detaches all entities loaded so far by the transaction of {@link #readSnapshot(Runnable)}, so that they do not
+     * have to be held in memory until the transaction ends.
+     */
+    void detachLoadedEntities() {
+        entityManager.clear();
+    }
+
+    private static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariConfigMXBean.class)) {
+                return dataSource.unwrap(HikariConfigMXBean.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not determine maximum pool size of data source, using default of {}", DEFAULT_MAXIMUM_POOL_SIZE, e);
+        }
+        return DEFAULT_MAXIMUM_POOL_SIZE;
+    }
+}
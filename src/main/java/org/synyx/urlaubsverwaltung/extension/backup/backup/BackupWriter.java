@@ -0,0 +1,44 @@
+package org.synyx.urlaubsverwaltung.extension.backup.backup;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+
+import java.util.List;
+
+/**
+ * Receives the data of a backup section by section in the structure of {@link UrlaubsverwaltungBackupDTO}.
+ *
+ * <p>Arrays are written page by page, so an implementation can write every page and forget about it before
+ * the next one is collected.</p>
+ */
+public interface BackupWriter {
+
+    /**
+     * @param name  of the property
+     * @param value of the property, serialized as a whole
+     */
+    void writeValue(String name, @Nullable Object value);
+
+    /**
+     * Starts a nested object, its properties are written until {@link #writeEndObject()}.
+     *
+     * @param name of the property
+     */
+    void writeStartObject(String name);
+
+    void writeEndObject();
+
+    /**
+     * Starts an array, its elements are written with {@link #writeElements(List)} until {@link #writeEndArray()}.
+     *
+     * @param name of the property
+     */
+    void writeStartArray(String name);
+
+    /**
+     * @param elements the next page of elements of the current array
+     */
+    void writeElements(List<?> elements);
+
+    void writeEndArray();
+}
@@ -4,7 +4,7 @@ import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 import org.synyx.urlaubsverwaltung.department.DepartmentMembershipService;
 import org.synyx.urlaubsverwaltung.extension.backup.model.DepartmentMembershipDTO;
-import org.synyx.urlaubsverwaltung.extension.backup.model.PersonDTO;
+import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 
 import java.util.List;
@@ -26,16 +26,16 @@ class DepartmentMembershipDataCollectionService {
         this.departmentMembershipService = departmentMembershipService;
     }
 
-    List<DepartmentMembershipDTO> collectDepartmentMemberships(Function<PersonId, PersonDTO> personDtoById) {
+    List<DepartmentMembershipDTO> collectDepartmentMemberships(Function<PersonId, Person> personById) {
         return departmentMembershipService.getAllDepartmentMemberships().stream()
             .map(membership -> {
-                final PersonDTO person = personDtoById.apply(membership.personId());
+                final Person person = personById.apply(membership.personId());
                 if (person == null) {
                     LOG.warn("Skip collecting departmentMembership because could not find person id={} for {}", membership.personId(), membership);
                     return null;
                 } else {
                     return new DepartmentMembershipDTO(
-                        person.externalId(),
+                        person.getUsername(),
                         membership.departmentId(),
                         membership.membershipKind(),
                         membership.validFrom(),
@@ -3,7 +3,6 @@ package org.synyx.urlaubsverwaltung.extension.backup.backup;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeCommentDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
-import org.synyx.urlaubsverwaltung.extension.backup.model.PersonDTO;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonId;
@@ -22,23 +21,23 @@ class OvertimeDataCollectionService {
         this.overtimeService = overtimeService;
     }
 
-    List<OvertimeDTO> collectOvertimes(List<PersonDTO> persons, Function<PersonId, Person> personById) {
+    List<OvertimeDTO> collectOvertimes(List<Person> persons, Function<PersonId, Person> personById) {
 
         return persons.stream()
-            .map(personDto -> createOvertimeDTOS(personDto, personById))
+            .map(person -> createOvertimeDTOS(person, personById))
             .flatMap(Collection::stream)
             .toList();
     }
 
-    private List<OvertimeDTO> createOvertimeDTOS(PersonDTO person, Function<PersonId, Person> personById) {
-        return overtimeService.getAllOvertimesByPersonId(new PersonId(person.id())).stream()
+    private List<OvertimeDTO> createOvertimeDTOS(Person person, Function<PersonId, Person> personById) {
+        return overtimeService.getAllOvertimesByPersonId(person.getIdAsPersonId()).stream()
             .map(overtime -> {
 
                 final List<OvertimeCommentDTO> overtimeCommentDTOs = overtimeService.getCommentsForOvertime(overtime.id()).stream()
                     .map(comment -> OvertimeCommentDTO.of(comment, personById))
                     .toList();
 
-                return OvertimeDTO.of(overtime, person.externalId(), overtimeCommentDTOs);
+                return OvertimeDTO.of(overtime, person.getUsername(), overtimeCommentDTOs);
             })
             .toList();
     }
@@ -3,7 +3,7 @@ package org.synyx.urlaubsverwaltung.extension.backup.backup;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.extension.backup.model.PersonActivePeriodDTO;
-import org.synyx.urlaubsverwaltung.extension.backup.model.PersonDTO;
+import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonActivePeriodService;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 
@@ -26,15 +26,15 @@ class PersonActivePeriodDataCollectionService {
         this.personActivePeriodService = personActivePeriodService;
     }
 
-    List<PersonActivePeriodDTO> collectPersonActivePeriods(Function<PersonId, PersonDTO> personDtoById) {
+    List<PersonActivePeriodDTO> collectPersonActivePeriods(Function<PersonId, Person> personById) {
         return personActivePeriodService.getAllActivePeriods().stream()
             .map(period -> {
-                final PersonDTO person = personDtoById.apply(period.personId());
+                final Person person = personById.apply(period.personId());
                 if (person == null) {
                     LOG.warn("Skip collecting personActivePeriod because could not find person id={} for {}", period.personId(), period);
                     return null;
                 } else {
-                    return new PersonActivePeriodDTO(person.externalId(), period.validFrom(), period.validTo().orElse(null));
+                    return new PersonActivePeriodDTO(person.getUsername(), period.validFrom(), period.validTo().orElse(null));
                 }
             })
             .filter(Objects::nonNull)
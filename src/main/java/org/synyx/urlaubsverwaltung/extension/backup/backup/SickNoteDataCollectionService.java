@@ -45,11 +45,17 @@ class SickNoteDataCollectionService {
     }
 
     SickNoteBackupDTO collectSickNotes(List<Person> allPersons, LocalDate from, LocalDate to) {
-        final List<SickNoteTypeDTO> sickNoteTypeDTOS = sickNoteTypeService.getSickNoteTypes().stream()
+        return new SickNoteBackupDTO(collectSickNoteTypes(), collectSickNotesOfPersons(allPersons, from, to));
+    }
+
+    List<SickNoteTypeDTO> collectSickNoteTypes() {
+        return sickNoteTypeService.getSickNoteTypes().stream()
             .map(sickNoteType -> new SickNoteTypeDTO(sickNoteType.getId(), SickNoteTypeCategoryDTO.valueOf(sickNoteType.getCategory().name()), sickNoteType.getMessageKey()))
             .toList();
+    }
 
-        final List<SickNoteDTO> sickNoteDTOs = allPersons.stream()
+    List<SickNoteDTO> collectSickNotesOfPersons(List<Person> persons, LocalDate from, LocalDate to) {
+        return persons.stream()
             .map(person ->
                 sickNoteService.getByPersonAndPeriod(person, from, to).stream()
                     .map(sickNote -> {
@@ -84,7 +90,5 @@ class SickNoteDataCollectionService {
             )
             .flatMap(Collection::stream)
             .toList();
-
-        return new SickNoteBackupDTO(sickNoteTypeDTOS, sickNoteDTOs);
     }
 }
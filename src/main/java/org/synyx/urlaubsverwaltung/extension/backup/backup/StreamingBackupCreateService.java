@@ -0,0 +1,16 @@
+package org.synyx.urlaubsverwaltung.extension.backup.backup;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link BackupCreateService} that is able to store a backup while it is collected.
+ * Implement this interface if the backup should not be held in memory as a whole,
+ * e.g. for installations with many persons and years of applications and sick notes.
+ */
+public interface StreamingBackupCreateService extends BackupCreateService {
+
+    /**
+     * @param backup writes the data of the backup section by section into the given {@link BackupWriter}
+     */
+    void backupData(Consumer<BackupWriter> backup);
+}
@@ -1,23 +1,31 @@
 package org.synyx.urlaubsverwaltung.extension.backup.filesystem.backup;
 
 import org.slf4j.Logger;
-import org.synyx.urlaubsverwaltung.extension.backup.backup.BackupCreateService;
+import org.synyx.urlaubsverwaltung.extension.backup.backup.BackupWriter;
+import org.synyx.urlaubsverwaltung.extension.backup.backup.StreamingBackupCreateService;
 import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
-class FilesystemBackupCreateService implements BackupCreateService {
+class FilesystemBackupCreateService implements StreamingBackupCreateService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final JsonMapper jsonMapper;
     private final FilesystemBackupConfigurationProperties filesystemBackupConfigurationProperties;
 
@@ -31,8 +39,38 @@ class FilesystemBackupCreateService implements BackupCreateService {
         writeIntoFileSystem(backup);
     }
 
+    /**
+     * Writes the backup while it is collected into a gzip compressed json file with the same content as the
+     * uncompressed one of {@link #backupData(UrlaubsverwaltungBackupDTO)}. An incomplete file is deleted if
+     * writing or collecting the data fails, a failure while collecting the data is rethrown.
+     *
+     * @param backup writes the data of the backup section by section
+     */
+    @Override
+    public void backupData(Consumer<BackupWriter> backup) {
+        final Path filePath = getPath("json.gz");
+        try {
+            Files.createDirectories(filePath.getParent());
+            LOG.info("Writing compressed export file={}", filePath.toAbsolutePath());
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(filePath), GZIP_BUFFER_SIZE);
+                 JsonGenerator generator = jsonMapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                backup.accept(new JsonBackupWriter(generator));
+                generator.writeEndObject();
+            }
+            LOG.info("Compressed export file written to file={}", filePath.toAbsolutePath());
+        } catch (IOException | JacksonException e) {
+            LOG.warn("Could not write compressed export file={}", filePath.toAbsolutePath(), e);
+            deleteIncompleteFile(filePath);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not collect data of compressed export file={}", filePath.toAbsolutePath(), e);
+            deleteIncompleteFile(filePath);
+            throw e;
+        }
+    }
+
     void writeIntoFileSystem(UrlaubsverwaltungBackupDTO exportModel) {
-        final Path filePath = getPath();
+        final Path filePath = getPath("json");
         try {
             Files.createDirectories(filePath.getParent());
             final File exportFile = filePath.toFile();
@@ -44,9 +82,17 @@ class FilesystemBackupCreateService implements BackupCreateService {
         }
     }
 
-    private Path getPath() {
+    private static void deleteIncompleteFile(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            LOG.warn("Could not delete incomplete export file={}", filePath.toAbsolutePath(), e);
+        }
+    }
+
+    private Path getPath(String extension) {
         final String backupPath = this.filesystemBackupConfigurationProperties.backupPath();
-        final String filename = "urlaubsverwaltung-%s.json".formatted(Instant.now().getEpochSecond());
+        final String filename = "urlaubsverwaltung-%s.%s".formatted(Instant.now().getEpochSecond(), extension);
         return Path.of(backupPath, filename);
     }
 }
@@ -0,0 +1,55 @@
+package org.synyx.urlaubsverwaltung.extension.backup.filesystem.backup;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.extension.backup.backup.BackupWriter;
+import tools.jackson.core.JsonGenerator;
+
+import java.util.List;
+
+/**
+ * Writes the sections of a backup directly into a {@link JsonGenerator}, every element is serialized
+ * as soon as it is received and not retained.
+ */
+class JsonBackupWriter implements BackupWriter {
+
+    private final JsonGenerator generator;
+
+    JsonBackupWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void writeValue(String name, @Nullable Object value) {
+        generator.writeName(name);
+        generator.writePOJO(value);
+    }
+
+    @Override
+    public void writeStartObject(String name) {
+        generator.writeName(name);
+        generator.writeStartObject();
+    }
+
+    @Override
+    public void writeEndObject() {
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void writeStartArray(String name) {
+        generator.writeName(name);
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void writeElements(List<?> elements) {
+        for (Object element : elements) {
+            generator.writePOJO(element);
+        }
+    }
+
+    @Override
+    public void writeEndArray() {
+        generator.writeEndArray();
+    }
+}
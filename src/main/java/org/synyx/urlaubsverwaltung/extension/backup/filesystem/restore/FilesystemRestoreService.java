@@ -2,15 +2,14 @@ package org.synyx.urlaubsverwaltung.extension.backup.filesystem.restore;
 
 
 import org.slf4j.Logger;
-import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.restore.BackupRestoreService;
 import org.synyx.urlaubsverwaltung.extension.backup.restore.RestoreOrchestrationService;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -44,19 +43,11 @@ class FilesystemRestoreService implements BackupRestoreService {
 
     private void restoreBackup(Path backup) {
         LOG.info("Going to restore data from file={}", backup.toAbsolutePath());
-        readJsonFileToPojo(backup)
-            .ifPresentOrElse(dataToRestore -> {
-                restoreOrchestrationService.restoreData(dataToRestore);
-                LOG.info("Finished restoring data from file={}", backup.toAbsolutePath());
-            },() -> LOG.warn("Could not restore data from file={}", backup.toAbsolutePath()));
-    }
-
-    private Optional<UrlaubsverwaltungBackupDTO> readJsonFileToPojo(Path backup) {
         try {
-            return Optional.of(jsonMapper.readValue(backup.toFile(), UrlaubsverwaltungBackupDTO.class));
-        } catch (JacksonException e) {
-            LOG.warn("Could not read file={} to pojo", backup.toAbsolutePath(), e);
-            return Optional.empty();
+            restoreOrchestrationService.restoreData(new JsonBackupReader(jsonMapper, backup));
+            LOG.info("Finished restoring data from file={}", backup.toAbsolutePath());
+        } catch (UncheckedIOException | JacksonException e) {
+            LOG.warn("Could not restore data from file={}", backup.toAbsolutePath(), e);
         }
     }
 }
@@ -0,0 +1,183 @@
+package org.synyx.urlaubsverwaltung.extension.backup.filesystem.restore;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.restore.BackupReader;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.NullNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a backup file with a streaming parser instead of binding it as a whole.
+ *
+ * <p>{@link #readBackup()} skips the overtimes, sick notes and applications, every other read method parses the file
+ * again and binds the elements of its array one by one. So only one element is held in memory at a time. An element
+ * that is not an object, e.g. {@code null}, is rejected instead of ending the array early.</p>
+ *
+ * <p>Files ending with {@code .gz} are decompressed while reading.</p>
+ */
+class JsonBackupReader implements BackupReader {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final String OVERTIMES = "overtimes";
+    private static final String SICK_NOTES = "sickNotes";
+    private static final String APPLICATIONS = "applications";
+
+    private final JsonMapper jsonMapper;
+    private final Path backupFile;
+
+    JsonBackupReader(JsonMapper jsonMapper, Path backupFile) {
+        this.jsonMapper = jsonMapper;
+        this.backupFile = backupFile;
+    }
+
+    @Override
+    public UrlaubsverwaltungBackupDTO readBackup() {
+        return read(parser -> {
+            final ObjectNode backup = jsonMapper.createObjectNode();
+            forEachProperty(parser, name -> {
+                switch (name) {
+                    case OVERTIMES -> {
+                        parser.skipChildren();
+                        backup.putArray(name);
+                    }
+                    // the sections of sick notes and applications contain an array with the same name
+                    case SICK_NOTES, APPLICATIONS -> backup.set(name, readSectionWithoutArray(parser, name));
+                    default -> backup.set(name, jsonMapper.readTree(parser));
+                }
+            });
+            return jsonMapper.treeToValue(backup, UrlaubsverwaltungBackupDTO.class);
+        });
+    }
+
+    @Override
+    public void readOvertimes(Consumer<OvertimeDTO> overtimes) {
+        readElements(OVERTIMES, null, OvertimeDTO.class, overtimes);
+    }
+
+    @Override
+    public void readSickNotes(Consumer<SickNoteDTO> sickNotes) {
+        readElements(SICK_NOTES, SICK_NOTES, SickNoteDTO.class, sickNotes);
+    }
+
+    @Override
+    public void readApplications(Consumer<ApplicationDTO> applications) {
+        readElements(APPLICATIONS, APPLICATIONS, ApplicationDTO.class, applications);
+    }
+
+    private JsonNode readSectionWithoutArray(JsonParser parser, String arrayName) {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return NullNode.getInstance();
+        }
+
+        final ObjectNode section = jsonMapper.createObjectNode();
+        forEachProperty(parser, name -> {
+            if (name.equals(arrayName)) {
+                parser.skipChildren();
+                section.putArray(name);
+            } else {
+                section.set(name, jsonMapper.readTree(parser));
+            }
+        });
+        return section;
+    }
+
+    /**
+     * @param sectionName name of the top level property
+     * @param arrayName   name of the array within the section, {@code null} if the section is the array itself
+     * @param type        of the elements
+     * @param consumer    receives the elements one by one
+     */
+    private <T> void readElements(String sectionName, @Nullable String arrayName, Class<T> type, Consumer<T> consumer) {
+        read(parser -> {
+            forEachProperty(parser, name -> {
+                if (!name.equals(sectionName)) {
+                    parser.skipChildren();
+                } else if (arrayName == null) {
+                    readArray(parser, sectionName, type, consumer);
+                } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                    forEachProperty(parser, sectionPropertyName -> {
+                        if (sectionPropertyName.equals(arrayName)) {
+                            readArray(parser, arrayName, type, consumer);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    });
+                } else {
+                    parser.skipChildren();
+                }
+            });
+            return null;
+        });
+    }
+
+    private <T> void readArray(JsonParser parser, String name, Class<T> type, Consumer<T> consumer) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Backup file=%s contains %s instead of an object in array=%s"
+                    .formatted(backupFile.toAbsolutePath(), token, name));
+            }
+            consumer.accept(jsonMapper.readValue(parser, type));
+        }
+    }
+
+    /**
+     * Calls the given consumer for every property of the object the parser points to. The parser points to the value
+     * of the property when the consumer is called and must point to the last token of this value afterward.
+     */
+    private static void forEachProperty(JsonParser parser, Consumer<String> propertyConsumer) {
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            propertyConsumer.accept(name);
+        }
+    }
+
+    private <T> T read(Function<JsonParser, T> reader) {
+        try (InputStream inputStream = openBackupFile(); JsonParser parser = jsonMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Backup file=%s does not contain a json object".formatted(backupFile.toAbsolutePath()));
+            }
+            return reader.apply(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read backup file=%s".formatted(backupFile.toAbsolutePath()), e);
+        }
+    }
+
+    private InputStream openBackupFile() throws IOException {
+        final InputStream inputStream = Files.newInputStream(backupFile);
+        if (!backupFile.getFileName().toString().endsWith(".gz")) {
+            return inputStream;
+        }
+
+        try {
+            return new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+}
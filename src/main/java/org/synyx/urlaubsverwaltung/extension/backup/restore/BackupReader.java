@@ -0,0 +1,46 @@
+package org.synyx.urlaubsverwaltung.extension.backup.restore;
+
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads a backup that should be restored.
+ *
+ * <p>Overtimes, sick notes and applications make up most of a backup. They are read one by one, so an implementation
+ * does not have to hold them in memory, e.g. by parsing them from a file while they are restored.</p>
+ */
+public interface BackupReader {
+
+    /**
+     * @return the backup, its overtimes, sick notes and applications can be missing and are read with
+     * {@link #readOvertimes(Consumer)}, {@link #readSickNotes(Consumer)} and {@link #readApplications(Consumer)}
+     */
+    UrlaubsverwaltungBackupDTO readBackup();
+
+    /**
+     * @param overtimes receives the overtimes of the backup one by one
+     */
+    void readOvertimes(Consumer<OvertimeDTO> overtimes);
+
+    /**
+     * @param sickNotes receives the sick notes of the backup one by one
+     */
+    void readSickNotes(Consumer<SickNoteDTO> sickNotes);
+
+    /**
+     * @param applications receives the applications of the backup one by one
+     */
+    void readApplications(Consumer<ApplicationDTO> applications);
+
+    /**
+     * @param backup that is already held in memory
+     * @return a reader of the given backup
+     */
+    static BackupReader of(UrlaubsverwaltungBackupDTO backup) {
+        return new InMemoryBackupReader(backup);
+    }
+}
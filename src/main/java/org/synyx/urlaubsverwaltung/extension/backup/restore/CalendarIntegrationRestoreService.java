@@ -8,6 +8,8 @@ import org.synyx.urlaubsverwaltung.extension.backup.model.AbsenceMappingDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.model.CalendarIntegrationBackupDTO;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @ConditionalOnBackupRestoreEnabled
@@ -22,30 +24,32 @@ class CalendarIntegrationRestoreService {
         this.absenceMappingImportService = absenceMappingImportService;
     }
 
-    private static Long resolveIdOfImportedAbsence(List<ImportedIdTuple> tuplesOfCreatedEntities, AbsenceMappingDTO absenceMapping, AbsenceMappingType vacation) {
-        return tuplesOfCreatedEntities.stream()
-            .filter(tuple -> tuple.idOfBackup().equals(absenceMapping.absenceId()))
-            .map(ImportedIdTuple::idOfRestore)
-            .findFirst()
+    private static Long resolveIdOfImportedAbsence(Map<Long, Long> newAbsenceIdByOldId, AbsenceMappingDTO absenceMapping, AbsenceMappingType vacation) {
+        return Optional.ofNullable(newAbsenceIdByOldId.get(absenceMapping.absenceId()))
             .orElseThrow(() -> new IllegalStateException("No absence with type=%s for id=%s found - going to skip importing absenceMapping!".formatted(vacation.name(), absenceMapping.absenceId())));
     }
 
-    void restore(CalendarIntegrationBackupDTO calendarIntegration, List<ImportedIdTuple> createdApplications, List<ImportedIdTuple> createdSicknotes) {
+    /**
+     * @param calendarIntegration     of the backup
+     * @param newApplicationIdByOldId id of every restored application by its id in the backup
+     * @param newSickNoteIdByOldId    id of every restored sick note by its id in the backup
+     */
+    void restore(CalendarIntegrationBackupDTO calendarIntegration, Map<Long, Long> newApplicationIdByOldId, Map<Long, Long> newSickNoteIdByOldId) {
         calendarIntegrationSettingsImportService.importCalendarIntegrationSettings(calendarIntegration.calendarIntegrationSettings().toCalendarSettings());
-        importAbsenceMappings(createdApplications, createdSicknotes, calendarIntegration.absenceMappings());
+        importAbsenceMappings(newApplicationIdByOldId, newSickNoteIdByOldId, calendarIntegration.absenceMappings());
     }
 
-    private void importAbsenceMappings(List<ImportedIdTuple> createdApplications, List<ImportedIdTuple> createdSicknotes, List<AbsenceMappingDTO> absenceMappingDTOs) {
+    private void importAbsenceMappings(Map<Long, Long> newApplicationIdByOldId, Map<Long, Long> newSickNoteIdByOldId, List<AbsenceMappingDTO> absenceMappingDTOs) {
         absenceMappingDTOs.forEach(absenceMapping -> {
             switch (absenceMapping.absenceMappingType()) {
-                case VACATION -> importAbsenceMapping(createdApplications, absenceMapping);
-                case SICKNOTE -> importAbsenceMapping(createdSicknotes, absenceMapping);
+                case VACATION -> importAbsenceMapping(newApplicationIdByOldId, absenceMapping);
+                case SICKNOTE -> importAbsenceMapping(newSickNoteIdByOldId, absenceMapping);
             }
         });
     }
 
-    private void importAbsenceMapping(List<ImportedIdTuple> tuplesOfCreatedEntities, AbsenceMappingDTO absenceMapping) {
-        final Long absenceIdOfCreatedAbsence = resolveIdOfImportedAbsence(tuplesOfCreatedEntities, absenceMapping, absenceMapping.absenceMappingType().toAbsenceMappingType());
+    private void importAbsenceMapping(Map<Long, Long> newAbsenceIdByOldId, AbsenceMappingDTO absenceMapping) {
+        final Long absenceIdOfCreatedAbsence = resolveIdOfImportedAbsence(newAbsenceIdByOldId, absenceMapping, absenceMapping.absenceMappingType().toAbsenceMappingType());
         absenceMappingImportService.importAbsenceMapping(absenceMapping.toAbsenceMapping(absenceIdOfCreatedAbsence));
     }
 }
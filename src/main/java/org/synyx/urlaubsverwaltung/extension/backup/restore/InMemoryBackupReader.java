@@ -0,0 +1,31 @@
+package org.synyx.urlaubsverwaltung.extension.backup.restore;
+
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+
+import java.util.function.Consumer;
+
+record InMemoryBackupReader(UrlaubsverwaltungBackupDTO backup) implements BackupReader {
+
+    @Override
+    public UrlaubsverwaltungBackupDTO readBackup() {
+        return backup;
+    }
+
+    @Override
+    public void readOvertimes(Consumer<OvertimeDTO> overtimes) {
+        backup.overtimes().forEach(overtimes);
+    }
+
+    @Override
+    public void readSickNotes(Consumer<SickNoteDTO> sickNotes) {
+        backup.sickNotes().sickNotes().forEach(sickNotes);
+    }
+
+    @Override
+    public void readApplications(Consumer<ApplicationDTO> applications) {
+        backup.applications().applications().forEach(applications);
+    }
+}
@@ -2,19 +2,19 @@ package org.synyx.urlaubsverwaltung.extension.backup.restore;
 
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeCommentDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeCommentEntity;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeEntity;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeImportService;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.extension.backup.restore.RestoreBatches.forEachBatch;
 
 @Service
 @ConditionalOnBackupRestoreEnabled
@@ -23,34 +23,41 @@ class OvertimeRestoreService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final OvertimeImportService overtimeImportService;
-    private final PersonService personService;
 
-    OvertimeRestoreService(OvertimeImportService overtimeImportService, PersonService personService) {
+    OvertimeRestoreService(OvertimeImportService overtimeImportService) {
         this.overtimeImportService = overtimeImportService;
-        this.personService = personService;
     }
 
-    void restore(List<OvertimeDTO> overtimes) {
-        overtimes.forEach(overtimeDTO -> personService.getPersonByUsername(overtimeDTO.externalIdOfOwner()).ifPresentOrElse(person -> {
-            final OvertimeEntity importedOvertime = overtimeImportService.importOvertime(overtimeDTO.toOverTime(person));
-            importOvertimeComments(importedOvertime, overtimeDTO.overtimeComments());
-        }, () -> LOG.warn("overtime owner with externalId={} not found - skip importing overtime!", overtimeDTO.externalIdOfOwner())));
-
+    void restore(BackupReader backupReader, RestoredPersons restoredPersons) {
+        forEachBatch(backupReader::readOvertimes, overtimes -> importOvertimes(overtimes, restoredPersons));
     }
 
-    private void importOvertimeComments(OvertimeEntity importedOvertime, List<OvertimeCommentDTO> overtimeCommentDTOS) {
-        overtimeCommentDTOS.forEach(commentDTO -> {
-            // it can happen that the comment autor was deleted in the past
-            // and so there will no person be found for the given externalId
-            final Person commentAutor = findOptionalPerson(commentDTO);
-            final OvertimeCommentEntity overtimeComment = commentDTO.toOvertimeComment(importedOvertime, commentAutor);
-            overtimeImportService.importOvertimeComment(overtimeComment);
+    private void importOvertimes(List<OvertimeDTO> overtimeDTOs, RestoredPersons restoredPersons) {
+
+        final List<OvertimeDTO> overtimeDTOsWithOwner = new ArrayList<>();
+        final List<OvertimeEntity> overtimeEntities = new ArrayList<>();
+        overtimeDTOs.forEach(overtimeDTO -> {
+            final Optional<Person> owner = restoredPersons.findPerson(overtimeDTO.externalIdOfOwner());
+            if (owner.isPresent()) {
+                overtimeDTOsWithOwner.add(overtimeDTO);
+                overtimeEntities.add(overtimeDTO.toOverTime(owner.get()));
+            } else {
+                LOG.warn("overtime owner with externalId={} not found - skip importing overtime!", overtimeDTO.externalIdOfOwner());
+            }
         });
-    }
 
-    private Person findOptionalPerson(OvertimeCommentDTO commentDTO) {
-        return Optional.ofNullable(commentDTO.externalIdOfCommentAuthor())
-            .flatMap(personService::getPersonByUsername)
-            .orElse(null);
+        final List<OvertimeEntity> importedOvertimes = overtimeImportService.importOvertimes(overtimeEntities);
+
+        final List<OvertimeCommentEntity> overtimeComments = new ArrayList<>();
+        for (int index = 0; index < overtimeDTOsWithOwner.size(); index++) {
+            final OvertimeEntity importedOvertime = importedOvertimes.get(index);
+            overtimeDTOsWithOwner.get(index).overtimeComments().forEach(commentDTO -> {
+                // it can happen that the comment autor was deleted in the past
+                // and so there will no person be found for the given externalId
+                final Person commentAutor = restoredPersons.findOptionalPerson(commentDTO.externalIdOfCommentAuthor());
+                overtimeComments.add(commentDTO.toOvertimeComment(importedOvertime, commentAutor));
+            });
+        }
+        overtimeImportService.importOvertimeComments(overtimeComments);
     }
 }
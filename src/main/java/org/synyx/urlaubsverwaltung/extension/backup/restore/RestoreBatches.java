@@ -0,0 +1,39 @@
+package org.synyx.urlaubsverwaltung.extension.backup.restore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Splits the elements of a {@link BackupReader} section into batches.
+ *
+ * <p>Every batch is imported with one {@code saveAll} per entity type. Each of them runs in its own transaction, so
+ * Hibernate writes the batch with JDBC batch inserts and the persistence context never holds more than one batch.</p>
+ */
+final class RestoreBatches {
+
+    static final int BATCH_SIZE = 500;
+
+    private RestoreBatches() {
+        // ok
+    }
+
+    /**
+     * @param elements      reads the elements one by one into the given consumer
+     * @param batchConsumer receives the elements in batches of {@value #BATCH_SIZE}, the last one can be smaller
+     * @param <T>           type of the elements
+     */
+    static <T> void forEachBatch(Consumer<Consumer<T>> elements, Consumer<List<T>> batchConsumer) {
+        final List<T> batch = new ArrayList<>(BATCH_SIZE);
+        elements.accept(element -> {
+            batch.add(element);
+            if (batch.size() == BATCH_SIZE) {
+                batchConsumer.accept(List.copyOf(batch));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(List.copyOf(batch));
+        }
+    }
+}
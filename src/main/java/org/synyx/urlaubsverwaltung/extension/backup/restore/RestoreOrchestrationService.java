@@ -32,12 +32,24 @@ public class RestoreOrchestrationService {
     }
 
     public boolean restoreData(UrlaubsverwaltungBackupDTO backupToRestore) {
+        return restoreData(BackupReader.of(backupToRestore));
+    }
+
+    /**
+     * Restores the backup of the given reader. Overtimes, sick notes and applications are read and restored in batches
+     * while the rest of the backup is read as a whole.
+     *
+     * @param backupReader to read the backup from
+     * @return {@code true} if the backup has been restored, {@code false} otherwise
+     */
+    public boolean restoreData(BackupReader backupReader) {
 
         if (!restoreConfiguration.dropData()) {
             LOG.info("Skip restoring data - dropData is disabled, but must be enabled!");
             return false;
         }
 
+        final UrlaubsverwaltungBackupDTO backupToRestore = backupReader.readBackup();
         if (!backupVersionRestoreValidator.isValidBackupVersion(backupToRestore.urlaubsverwaltungVersion())) {
             LOG.error("Could not restore data because the version={} of the backup is not compatible with the version of the application", backupToRestore.urlaubsverwaltungVersion());
             return false;
@@ -45,7 +57,7 @@ public class RestoreOrchestrationService {
 
         resetUrlaubsverwaltungService.resetData();
 
-        restoreService.restoreData(backupToRestore);
+        restoreService.restoreData(backupToRestore, backupReader);
 
         return true;
     }
@@ -4,8 +4,8 @@ package org.synyx.urlaubsverwaltung.extension.backup.restore;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.util.List;
 import java.util.Map;
 
 import static java.lang.invoke.MethodHandles.lookup;
@@ -27,6 +27,7 @@ class RestoreService {
     private final ApplicationRestoreService applicationRestoreService;
     private final CalendarIntegrationRestoreService calendarIntegrationRestoreService;
     private final PersonActivePeriodRestoreService personActivePeriodRestoreService;
+    private final PersonService personService;
 
     RestoreService(
         SettingsRestoreService settingsRestoreService,
@@ -38,7 +39,8 @@ class RestoreService {
         DepartmentMembershipRestoreService departmentMembershipRestoreService,
         ApplicationRestoreService applicationRestoreService,
         CalendarIntegrationRestoreService calendarIntegrationRestoreService,
-        PersonActivePeriodRestoreService personActivePeriodRestoreService
+        PersonActivePeriodRestoreService personActivePeriodRestoreService,
+        PersonService personService
     ) {
         this.settingsRestoreService = settingsRestoreService;
         this.personRestoreService = personRestoreService;
@@ -50,18 +52,25 @@ class RestoreService {
         this.applicationRestoreService = applicationRestoreService;
         this.calendarIntegrationRestoreService = calendarIntegrationRestoreService;
         this.personActivePeriodRestoreService = personActivePeriodRestoreService;
+        this.personService = personService;
     }
 
-    void restoreData(UrlaubsverwaltungBackupDTO backupToRestore) {
+    /**
+     * @param backupToRestore the backup as returned by {@link BackupReader#readBackup()}
+     * @param backupReader    to read overtimes, sick notes and applications of the backup
+     */
+    void restoreData(UrlaubsverwaltungBackupDTO backupToRestore, BackupReader backupReader) {
         LOG.info("Starting to restore data...");
         settingsRestoreService.restore(backupToRestore.settings());
         personRestoreService.restore(backupToRestore.persons());
         personActivePeriodRestoreService.restore(backupToRestore.personActivePeriods());
-        overtimeRestoreService.restore(backupToRestore.overtimes());
 
-        final List<ImportedIdTuple> createdApplications = applicationRestoreService.restore(backupToRestore.applications());
-        final List<ImportedIdTuple> createdSicknotes = sickNoteRestoreService.restore(backupToRestore.sickNotes());
-        calendarIntegrationRestoreService.restore(backupToRestore.calendarIntegration(), createdApplications, createdSicknotes);
+        final RestoredPersons restoredPersons = RestoredPersons.of(personService.getAllPersons());
+        overtimeRestoreService.restore(backupReader, restoredPersons);
+
+        final Map<Long, Long> newApplicationIdByOldId = applicationRestoreService.restore(backupToRestore.applications().vacationTypes(), backupReader, restoredPersons);
+        final Map<Long, Long> newSickNoteIdByOldId = sickNoteRestoreService.restore(backupToRestore.sickNotes().sickNoteTypes(), backupReader, restoredPersons);
+        calendarIntegrationRestoreService.restore(backupToRestore.calendarIntegration(), newApplicationIdByOldId, newSickNoteIdByOldId);
 
         final Map<Long, Long> newDepartmentIdByOldId = departmentRestoreService.restore(backupToRestore.departments());
         departmentMembershipRestoreService.restore(backupToRestore.departmentMemberships(), newDepartmentIdByOldId);
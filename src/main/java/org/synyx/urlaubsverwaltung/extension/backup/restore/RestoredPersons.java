@@ -0,0 +1,54 @@
+package org.synyx.urlaubsverwaltung.extension.backup.restore;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Persons of a restore by their external id aka username.
+ *
+ * <p>Overtimes, sick notes and applications reference up to five persons each, this lookup is built once after
+ * the persons are restored instead of querying every referenced person.</p>
+ */
+final class RestoredPersons {
+
+    private final Map<String, Person> personByExternalId;
+
+    private RestoredPersons(Map<String, Person> personByExternalId) {
+        this.personByExternalId = personByExternalId;
+    }
+
+    static RestoredPersons of(List<Person> persons) {
+        return new RestoredPersons(persons.stream().collect(toMap(Person::getUsername, identity())));
+    }
+
+    /**
+     * @param externalId external id / username
+     * @return the person with the given external id
+     * @throws NoSuchElementException if there is no person with the given external id
+     */
+    Person getPerson(String externalId) {
+        return findPerson(externalId).orElseThrow();
+    }
+
+    /**
+     * @param externalId external id / username, can be {@code null}
+     * @return the person with the given external id, {@code null} if there is none,
+     * e.g. because the person was deleted in the past
+     */
+    @Nullable
+    Person findOptionalPerson(@Nullable String externalId) {
+        return externalId == null ? null : personByExternalId.get(externalId);
+    }
+
+    Optional<Person> findPerson(String externalId) {
+        return Optional.ofNullable(personByExternalId.get(externalId));
+    }
+}
@@ -2,10 +2,10 @@ package org.synyx.urlaubsverwaltung.extension.backup.restore;
 
 
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteBackupDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteTypeDTO;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.sicknote.comment.SickNoteCommentEntity;
 import org.synyx.urlaubsverwaltung.sicknote.comment.SickNoteCommentImportService;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteEntity;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteImportService;
@@ -15,8 +15,14 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknotetype.SickNoteType;
 import org.synyx.urlaubsverwaltung.sicknote.sicknotetype.SickNoteTypeImportService;
 import org.synyx.urlaubsverwaltung.sicknote.sicknotetype.SickNoteTypeService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.synyx.urlaubsverwaltung.extension.backup.restore.RestoreBatches.forEachBatch;
 
 @Service
 @ConditionalOnBackupRestoreEnabled
@@ -27,76 +33,92 @@ class SickNoteRestoreService {
     private final SickNoteCommentImportService sickNoteCommentImportService;
     private final SickNoteExtensionImportService sickNoteExtensionImportService;
     private final SickNoteTypeService sickNoteTypeService;
-    private final PersonService personService;
 
     SickNoteRestoreService(
         SickNoteImportService sickNoteImportService,
         SickNoteTypeImportService sickNoteTypeImportService,
         SickNoteCommentImportService sickNoteCommentImportService,
         SickNoteExtensionImportService sickNoteExtensionImportService,
-        SickNoteTypeService sickNoteTypeService,
-        PersonService personService
+        SickNoteTypeService sickNoteTypeService
     ) {
         this.sickNoteImportService = sickNoteImportService;
         this.sickNoteTypeImportService = sickNoteTypeImportService;
         this.sickNoteCommentImportService = sickNoteCommentImportService;
         this.sickNoteExtensionImportService = sickNoteExtensionImportService;
         this.sickNoteTypeService = sickNoteTypeService;
-        this.personService = personService;
     }
 
-    List<ImportedIdTuple> restore(SickNoteBackupDTO sickNotes) {
-
-        final List<ImportedIdTuple> importedSickNoteTypes = importSickNoteTypes(sickNotes);
+    /**
+     * @param sickNoteTypes   of the backup
+     * @param backupReader    to read the sick notes of the backup
+     * @param restoredPersons to resolve the persons of the sick notes
+     * @return the id of every restored sick note by its id in the backup
+     */
+    Map<Long, Long> restore(List<SickNoteTypeDTO> sickNoteTypes, BackupReader backupReader, RestoredPersons restoredPersons) {
 
-        return sickNotes.sickNotes().stream().map(sickNoteDTO -> {
-            final SickNoteType sickNoteType = findSickNoteType(importedSickNoteTypes, sickNoteDTO.sickNoteTypeId());
-            final SickNoteEntity importedSickNote = importSickNote(sickNoteDTO, sickNoteType);
-            importSickNoteComments(sickNoteDTO, importedSickNote);
-            importSickNoteExtensionHistory(sickNoteDTO, importedSickNote);
-            return new ImportedIdTuple(sickNoteDTO.id(), importedSickNote.getId());
-        }).toList();
-    }
+        final Map<Long, SickNoteType> sickNoteTypeByOriginId = importSickNoteTypes(sickNoteTypes);
 
-    private List<ImportedIdTuple> importSickNoteTypes(SickNoteBackupDTO sickNotes) {
-        return sickNotes.sickNoteTypes().stream().map(sickNoteTypeDTO -> {
-            final SickNoteType importedSickNoteType = sickNoteTypeImportService.importSickNoteType(sickNoteTypeDTO.toSickNoteEntity());
-            return new ImportedIdTuple(sickNoteTypeDTO.id(), importedSickNoteType.getId());
-        }).toList();
-    }
+        final Map<Long, Long> newSickNoteIdByOldId = new HashMap<>();
+        forEachBatch(backupReader::readSickNotes, sickNotes ->
+            newSickNoteIdByOldId.putAll(importSickNotes(sickNotes, sickNoteTypeByOriginId, restoredPersons)));
 
-    public SickNoteEntity importSickNote(SickNoteDTO sickNoteDTO, SickNoteType sickNoteType) {
-        final Person person = findPerson(sickNoteDTO.externalIdOfPerson());
-        // is an optional field, so it can be null
-        final Person applier = findOptionalPerson(sickNoteDTO.externalIdOfApplier());
-        return sickNoteImportService.importSickNote(sickNoteDTO.toSickNoteEntity(sickNoteType, person, applier));
+        return newSickNoteIdByOldId;
     }
 
-    private void importSickNoteComments(SickNoteDTO sickNoteDTO, SickNoteEntity importedSickNote) {
-        sickNoteDTO.sickNoteComments().forEach(sickNoteCommentDTO -> {
-            // it can happen that the comment autor was deleted in the past
-            // and so there will no person be found for the given externalId
-            final Person commentator = findOptionalPerson(sickNoteCommentDTO.externalIdOfSickNoteCommentAuthor());
-            sickNoteCommentImportService.importSickNoteComment(sickNoteCommentDTO.toSickNoteCommentEntity(commentator, importedSickNote.getId()));
+    private Map<Long, SickNoteType> importSickNoteTypes(List<SickNoteTypeDTO> sickNoteTypes) {
+        final Map<Long, Long> newSickNoteTypeIdByOldId = new HashMap<>();
+        sickNoteTypes.forEach(sickNoteTypeDTO -> {
+            final SickNoteType importedSickNoteType = sickNoteTypeImportService.importSickNoteType(sickNoteTypeDTO.toSickNoteEntity());
+            newSickNoteTypeIdByOldId.put(sickNoteTypeDTO.id(), importedSickNoteType.getId());
         });
-    }
 
-    private void importSickNoteExtensionHistory(SickNoteDTO sickNoteDTO, SickNoteEntity importedSickNote) {
-        List<SickNoteExtensionEntity> entities = sickNoteDTO.sickNoteExtensionHistoryItems().stream().map(sickNoteExtensionHistoryDTO -> sickNoteExtensionHistoryDTO.toSickNoteExtensionEntity(importedSickNote.getId())).toList();
-        sickNoteExtensionImportService.importSickNoteExtension(entities);
-    }
+        final Map<Long, SickNoteType> sickNoteTypeById = sickNoteTypeService.getSickNoteTypes().stream()
+            .collect(toMap(SickNoteType::getId, identity()));
 
-    private SickNoteType findSickNoteType(List<ImportedIdTuple> sickNoteTypes, Long sickNoteTypeIdOfBackup) {
-        final Long idOfRestoredSickNoteType = sickNoteTypes.stream().filter(sickNoteType -> sickNoteType.idOfBackup().equals(sickNoteTypeIdOfBackup)).findFirst().orElseThrow().idOfRestore();
-        return sickNoteTypeService.getSickNoteTypes().stream().filter(sickNoteType -> sickNoteType.getId().equals(idOfRestoredSickNoteType)).findFirst().orElseThrow();
+        final Map<Long, SickNoteType> sickNoteTypeByOriginId = new HashMap<>();
+        newSickNoteTypeIdByOldId.forEach((oldId, newId) -> sickNoteTypeByOriginId.put(oldId, sickNoteTypeById.get(newId)));
+        return sickNoteTypeByOriginId;
     }
 
-    private Person findPerson(String externalId) {
-        return personService.getPersonByUsername(externalId).orElseThrow();
+    private Map<Long, Long> importSickNotes(List<SickNoteDTO> sickNoteDTOs, Map<Long, SickNoteType> sickNoteTypeByOriginId,
+                                            RestoredPersons restoredPersons) {
+
+        final List<SickNoteEntity> sickNoteEntities = sickNoteDTOs.stream()
+            .map(sickNoteDTO -> {
+                final SickNoteType sickNoteType = sickNoteTypeByOriginId.get(sickNoteDTO.sickNoteTypeId());
+                if (sickNoteType == null) {
+                    throw new IllegalStateException("Could not find sick note type with id " + sickNoteDTO.sickNoteTypeId());
+                }
+                final Person person = restoredPersons.getPerson(sickNoteDTO.externalIdOfPerson());
+                // is an optional field, so it can be null
+                final Person applier = restoredPersons.findOptionalPerson(sickNoteDTO.externalIdOfApplier());
+                return sickNoteDTO.toSickNoteEntity(sickNoteType, person, applier);
+            })
+            .toList();
+
+        final List<SickNoteEntity> importedSickNotes = sickNoteImportService.importSickNotes(sickNoteEntities);
+
+        final Map<Long, Long> newSickNoteIdByOldId = new HashMap<>();
+        final List<SickNoteCommentEntity> sickNoteComments = new ArrayList<>();
+        final List<SickNoteExtensionEntity> sickNoteExtensions = new ArrayList<>();
+        for (int index = 0; index < sickNoteDTOs.size(); index++) {
+            final SickNoteDTO sickNoteDTO = sickNoteDTOs.get(index);
+            final Long importedSickNoteId = importedSickNotes.get(index).getId();
+            newSickNoteIdByOldId.put(sickNoteDTO.id(), importedSickNoteId);
+
+            sickNoteDTO.sickNoteComments().forEach(sickNoteCommentDTO -> {
+                // it can happen that the comment autor was deleted in the past
+                // and so there will no person be found for the given externalId
+                final Person commentator = restoredPersons.findOptionalPerson(sickNoteCommentDTO.externalIdOfSickNoteCommentAuthor());
+                sickNoteComments.add(sickNoteCommentDTO.toSickNoteCommentEntity(commentator, importedSickNoteId));
+            });
+
+            sickNoteDTO.sickNoteExtensionHistoryItems().forEach(sickNoteExtensionHistoryDTO ->
+                sickNoteExtensions.add(sickNoteExtensionHistoryDTO.toSickNoteExtensionEntity(importedSickNoteId)));
+        }
+        sickNoteCommentImportService.importSickNoteComments(sickNoteComments);
+        sickNoteExtensionImportService.importSickNoteExtension(sickNoteExtensions);
+
+        return newSickNoteIdByOldId;
     }
-
-    private Person findOptionalPerson(String externalId) {
-        return Optional.ofNullable(externalId).flatMap(personService::getPersonByUsername).orElse(null);
-    }
-
 }
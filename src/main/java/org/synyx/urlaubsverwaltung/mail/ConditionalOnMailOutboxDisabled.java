@@ -0,0 +1,21 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that a component is only eligible for registration when the mail outbox is not used.
+ *
+ * @see IsMailOutboxEnabled
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(IsMailOutboxDisabled.class)
+@interface ConditionalOnMailOutboxDisabled {
+}
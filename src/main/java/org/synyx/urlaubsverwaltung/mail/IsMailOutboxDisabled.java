@@ -0,0 +1,15 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+class IsMailOutboxDisabled implements Condition {
+
+    private final IsMailOutboxEnabled isMailOutboxEnabled = new IsMailOutboxEnabled();
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return !isMailOutboxEnabled.matches(context, metadata);
+    }
+}
@@ -0,0 +1,23 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.synyx.urlaubsverwaltung.tenancy.configuration.single.IsSingleTenantMode;
+
+/**
+ * The mail outbox is drained by a scheduled job, which only exists in single tenant mode. So the outbox is only used
+ * in single tenant mode, even if it is enabled.
+ */
+class IsMailOutboxEnabled implements Condition {
+
+    private static final String MAIL_OUTBOX_ENABLED = "uv.mail.outbox.enabled";
+
+    private final IsSingleTenantMode isSingleTenantMode = new IsSingleTenantMode();
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        final boolean enabled = context.getEnvironment().getProperty(MAIL_OUTBOX_ENABLED, Boolean.class, false);
+        return enabled && isSingleTenantMode.matches(context, metadata);
+    }
+}
@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.mail;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,8 +13,12 @@ import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
 import static org.thymeleaf.templatemode.TemplateMode.TEXT;
 
 @Configuration
+@EnableConfigurationProperties(MailProperties.class)
 class MailConfiguration {
 
+    static final String TEMPLATE_PREFIX = "classpath:/mail/";
+    static final String TEMPLATE_SUFFIX = ".txt";
+
     private static final String UTF_8 = "UTF-8";
 
     private final ApplicationContext applicationContext;
@@ -43,8 +48,8 @@ class MailConfiguration {
         final SpringResourceTemplateResolver textEmailTemplateResolver = new SpringResourceTemplateResolver();
         textEmailTemplateResolver.setApplicationContext(applicationContext);
         textEmailTemplateResolver.setOrder(1);
-        textEmailTemplateResolver.setPrefix("classpath:/mail/");
-        textEmailTemplateResolver.setSuffix(".txt");
+        textEmailTemplateResolver.setPrefix(TEMPLATE_PREFIX);
+        textEmailTemplateResolver.setSuffix(TEMPLATE_SUFFIX);
         textEmailTemplateResolver.setTemplateMode(TEXT);
         textEmailTemplateResolver.setCharacterEncoding(UTF_8);
         textEmailTemplateResolver.setCacheable(false);
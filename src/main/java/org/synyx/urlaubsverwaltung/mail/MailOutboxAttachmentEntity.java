@@ -0,0 +1,51 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotNull;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.AbstractTenantAwareEntity;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+@Entity(name = "mail_outbox_attachment")
+public class MailOutboxAttachmentEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "mail_outbox_attachment_generator")
+    @SequenceGenerator(name = "mail_outbox_attachment_generator", sequenceName = "mail_outbox_attachment_id_seq")
+    private Long id;
+
+    @NotNull
+    private String name;
+
+    @NotNull
+    private byte[] content;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,38 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+import org.synyx.urlaubsverwaltung.tenancy.configuration.single.ConditionalOnSingleTenantMode;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnSingleTenantMode
+@ConditionalOnMailOutboxEnabled
+class MailOutboxConfiguration implements SchedulingConfigurer {
+
+    private final MailProperties mailProperties;
+    private final MailOutboxWorker mailOutboxWorker;
+    private final ScheduleLocking scheduleLocking;
+    private final TaskScheduler taskScheduler;
+
+    MailOutboxConfiguration(MailProperties mailProperties, MailOutboxWorker mailOutboxWorker, ScheduleLocking scheduleLocking, TaskScheduler taskScheduler) {
+        this.mailProperties = mailProperties;
+        this.mailOutboxWorker = mailOutboxWorker;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock("MailOutbox", mailOutboxWorker::drain, outbox.getLockAtMostFor(), Duration.ZERO),
+            outbox.getPollInterval()
+        );
+    }
+}
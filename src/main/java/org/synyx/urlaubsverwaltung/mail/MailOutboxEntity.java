@@ -0,0 +1,166 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.AbstractTenantAwareEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.FetchType.EAGER;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * A rendered mail to one recipient that is waiting in the outbox to be sent.
+ */
+@Entity(name = "mail_outbox")
+public class MailOutboxEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "mail_outbox_generator")
+    @SequenceGenerator(name = "mail_outbox_generator", sequenceName = "mail_outbox_id_seq")
+    private Long id;
+
+    @NotNull
+    private String fromAddress;
+
+    @NotNull
+    private String replyToAddress;
+
+    @NotNull
+    private String recipient;
+
+    @NotNull
+    private String subject;
+
+    @NotNull
+    private String body;
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = EAGER)
+    @JoinColumn(name = "mail_outbox_id", nullable = false)
+    @BatchSize(size = 100)
+    private List<MailOutboxAttachmentEntity> attachments = new ArrayList<>();
+
+    @NotNull
+    @Enumerated(STRING)
+    private MailOutboxStatus status;
+
+    @NotNull
+    private Integer attempts;
+
+    @NotNull
+    private Instant createdAt;
+
+    @NotNull
+    private Instant nextAttemptAt;
+
+    private String lastError;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFromAddress() {
+        return fromAddress;
+    }
+
+    public void setFromAddress(String fromAddress) {
+        this.fromAddress = fromAddress;
+    }
+
+    public String getReplyToAddress() {
+        return replyToAddress;
+    }
+
+    public void setReplyToAddress(String replyToAddress) {
+        this.replyToAddress = replyToAddress;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public List<MailOutboxAttachmentEntity> getAttachments() {
+        return attachments;
+    }
+
+    public void setAttachments(List<MailOutboxAttachmentEntity> attachments) {
+        this.attachments = attachments;
+    }
+
+    public MailOutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MailOutboxStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
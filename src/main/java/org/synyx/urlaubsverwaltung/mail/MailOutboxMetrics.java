@@ -0,0 +1,48 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.DEAD;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+@Component
+@ConditionalOnMailOutboxEnabled
+class MailOutboxMetrics {
+
+    private static final String METRIC_OUTBOX_PENDING = "uv.mail.outbox.pending";
+    private static final String METRIC_OUTBOX_DEAD = "uv.mail.outbox.dead";
+    private static final String METRIC_OUTBOX_AGE = "uv.mail.outbox.age";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final Clock clock;
+
+    MailOutboxMetrics(MailOutboxRepository mailOutboxRepository, MeterRegistry meterRegistry, Clock clock) {
+
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.clock = clock;
+
+        Gauge.builder(METRIC_OUTBOX_PENDING, () -> mailOutboxRepository.countByStatus(PENDING))
+            .description("number of mails waiting in the outbox to be sent")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_OUTBOX_DEAD, () -> mailOutboxRepository.countByStatus(DEAD))
+            .description("number of mails in the outbox that failed too often to be sent")
+            .register(meterRegistry);
+        TimeGauge.builder(METRIC_OUTBOX_AGE, this::ageOfOldestPendingMailInSeconds, SECONDS)
+            .description("time the oldest mail is waiting in the outbox to be sent")
+            .register(meterRegistry);
+    }
+
+    long ageOfOldestPendingMailInSeconds() {
+        return mailOutboxRepository.findOldestCreatedAtByStatus(PENDING)
+            .map(createdAt -> Duration.between(createdAt, Instant.now(clock)).toSeconds())
+            .orElse(0L);
+    }
+}
@@ -0,0 +1,21 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+
+    List<MailOutboxEntity> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(MailOutboxStatus status, Instant nextAttemptAt, Limit limit);
+
+    long countByStatus(MailOutboxStatus status);
+
+    @Query("select min(m.createdAt) from mail_outbox m where m.status = :status")
+    Optional<Instant> findOldestCreatedAtByStatus(MailOutboxStatus status);
+}
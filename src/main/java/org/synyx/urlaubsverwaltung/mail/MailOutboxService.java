@@ -0,0 +1,91 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+/**
+ * Renders mails and stores them in the outbox within the transaction of the caller. So a mail is only sent if the
+ * change it is about has been committed, and it is not lost on a restart. The {@link MailOutboxWorker} sends them.
+ *
+ * <p>A mail that is sent from an asynchronous notification is stored in a transaction of its own. A mail that cannot
+ * be rendered is logged and skipped, so it does not roll back the change of the caller.</p>
+ */
+@Service
+@ConditionalOnMailOutboxEnabled
+class MailOutboxService implements MailService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final MailRenderer mailRenderer;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final Clock clock;
+
+    MailOutboxService(MailRenderer mailRenderer, MailOutboxRepository mailOutboxRepository, Clock clock) {
+        this.mailRenderer = mailRenderer;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional
+    public void send(Mail mail) {
+        send(List.of(mail));
+    }
+
+    @Override
+    @Transactional
+    public void send(List<Mail> mails) {
+
+        final Instant now = Instant.now(clock);
+        final List<MailOutboxEntity> outboxMails = mails.stream()
+            .map(this::render)
+            .flatMap(List::stream)
+            .map(renderedMail -> toEntity(renderedMail, now))
+            .toList();
+
+        if (!outboxMails.isEmpty()) {
+            mailOutboxRepository.saveAll(outboxMails);
+            LOG.debug("Added {} emails to the outbox", outboxMails.size());
+        }
+    }
+
+    private List<RenderedMail> render(Mail mail) {
+        try {
+            return mailRenderer.render(mail);
+        } catch (RuntimeException e) {
+            LOG.error("Could not render email with subject={}, it is not added to the outbox", mail.getSubjectMessageKey(), e);
+            return List.of();
+        }
+    }
+
+    private static MailOutboxEntity toEntity(RenderedMail renderedMail, Instant now) {
+        final MailOutboxEntity entity = new MailOutboxEntity();
+        entity.setFromAddress(renderedMail.from());
+        entity.setReplyToAddress(renderedMail.replyTo());
+        entity.setRecipient(renderedMail.recipient());
+        entity.setSubject(renderedMail.subject());
+        entity.setBody(renderedMail.text());
+        entity.setStatus(PENDING);
+        entity.setAttempts(0);
+        entity.setCreatedAt(now);
+        entity.setNextAttemptAt(now);
+
+        for (MailAttachment mailAttachment : renderedMail.attachments()) {
+            final MailOutboxAttachmentEntity attachment = new MailOutboxAttachmentEntity();
+            attachment.setName(mailAttachment.getName());
+            attachment.setContent(mailAttachment.getContent().getByteArray());
+            entity.getAttachments().add(attachment);
+        }
+
+        return entity;
+    }
+}
@@ -0,0 +1,14 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+enum MailOutboxStatus {
+
+    /**
+     * The mail is waiting to be sent, either for the first time or for a retry after a failed attempt
+     */
+    PENDING,
+
+    /**
+     * Sending the mail failed too often, it is kept for analysis but not sent anymore
+     */
+    DEAD
+}
@@ -0,0 +1,229 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.DEAD;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+/**
+ * Sends the mails of the outbox.
+ *
+ * <p>Each round loads at most {@code workers} batches of due mails and sends the batches in parallel, each batch over
+ * one connection to the mail server. So the number of mails in memory and of connections is bounded, no matter how
+ * many mails are waiting. Sent mails are deleted. A failed mail is retried with an exponential backoff and marked as
+ * dead after the configured number of attempts.</p>
+ *
+ * <p>The worker runs under a schedule lock, only one instance sends at a time. A mail that has been sent but could
+ * not be deleted afterward, because of a crash for instance, is sent again.</p>
+ */
+@Component
+@ConditionalOnMailOutboxEnabled
+class MailOutboxWorker {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_OUTBOX_BATCH = "uv.mail.outbox.batch";
+    private static final String METRIC_OUTBOX_MAILS = "uv.mail.outbox.mails";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSenderService mailSenderService;
+    private final MailProperties mailProperties;
+    private final Clock clock;
+
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    MailOutboxWorker(MailOutboxRepository mailOutboxRepository, MailSenderService mailSenderService,
+                     MailProperties mailProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSenderService = mailSenderService;
+        this.mailProperties = mailProperties;
+        this.clock = clock;
+
+        this.batchTimer = Timer.builder(METRIC_OUTBOX_BATCH)
+            .description("time to send one batch of mails of the outbox")
+            .register(meterRegistry);
+        this.sentCounter = mailsCounter("sent", meterRegistry);
+        this.retriedCounter = mailsCounter("retried", meterRegistry);
+        this.deadCounter = mailsCounter("dead", meterRegistry);
+    }
+
+    /**
+     * Sends due mails round by round until no mail is due anymore or half of the lock duration has passed, so that
+     * the run ends well before another instance may take over the lock.
+     */
+    void drain() {
+
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        final int batchSize = mailProperties.getBatch().getSize();
+        final int rateLimit = mailProperties.getBatch().getRateLimit();
+        final int mailsPerRound = outbox.getWorkers() * batchSize;
+        final long nanosPerMail = rateLimit > 0 ? SECONDS.toNanos(1) / rateLimit : 0;
+        final long endOfRun = System.nanoTime() + outbox.getLockAtMostFor().toNanos() / 2;
+
+        while (true) {
+            final List<MailOutboxEntity> dueMails = mailOutboxRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, Instant.now(clock), Limit.of(mailsPerRound));
+            if (dueMails.isEmpty()) {
+                return;
+            }
+
+            final long startOfRound = System.nanoTime();
+            sendRound(dueMails, batchSize);
+
+            if (dueMails.size() < mailsPerRound || System.nanoTime() >= endOfRun) {
+                return;
+            }
+
+            final long nanosToWait = startOfRound + nanosPerMail * dueMails.size() - System.nanoTime();
+            if (nanosToWait > 0) {
+                try {
+                    NANOSECONDS.sleep(nanosToWait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOG.warn("Interrupted while waiting for the rate limit, continuing with the next run");
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendRound(List<MailOutboxEntity> dueMails, int batchSize) {
+
+        final List<MailOutboxEntity> sent = new ArrayList<>();
+        final Map<MailOutboxEntity, Exception> failed = new IdentityHashMap<>();
+
+        final List<List<MailOutboxEntity>> batches = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < dueMails.size(); fromIndex += batchSize) {
+            batches.add(dueMails.subList(fromIndex, Math.min(fromIndex + batchSize, dueMails.size())));
+        }
+
+        try (ExecutorService executor = newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Map<MailOutboxEntity, Exception>>> futures = batches.stream()
+                .map(batch -> executor.submit(() -> sendBatch(batch)))
+                .toList();
+
+            for (int index = 0; index < batches.size(); index++) {
+                final List<MailOutboxEntity> batch = batches.get(index);
+                final Map<MailOutboxEntity, Exception> failedOfBatch = getFailed(futures.get(index), batch);
+                for (MailOutboxEntity mail : batch) {
+                    if (failedOfBatch.containsKey(mail)) {
+                        failed.put(mail, failedOfBatch.get(mail));
+                    } else {
+                        sent.add(mail);
+                    }
+                }
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            mailOutboxRepository.deleteAllByIdInBatch(sent.stream().map(MailOutboxEntity::getId).toList());
+            sentCounter.increment(sent.size());
+        }
+
+        if (!failed.isEmpty()) {
+            failed.forEach(this::scheduleRetryOrBury);
+            mailOutboxRepository.saveAll(failed.keySet());
+        }
+    }
+
+    private Map<MailOutboxEntity, Exception> sendBatch(List<MailOutboxEntity> batch) {
+
+        final Map<RenderedMail, MailOutboxEntity> outboxMailsByRenderedMail = new IdentityHashMap<>();
+        for (MailOutboxEntity outboxMail : batch) {
+            outboxMailsByRenderedMail.put(toRenderedMail(outboxMail), outboxMail);
+        }
+
+        final Map<RenderedMail, Exception> failures = batchTimer.record(
+            () -> mailSenderService.sendBatch(new ArrayList<>(outboxMailsByRenderedMail.keySet()))
+        );
+
+        final Map<MailOutboxEntity, Exception> failed = new IdentityHashMap<>();
+        failures.forEach((renderedMail, failure) -> failed.put(outboxMailsByRenderedMail.get(renderedMail), failure));
+        return failed;
+    }
+
+    private static Map<MailOutboxEntity, Exception> getFailed(Future<Map<MailOutboxEntity, Exception>> future, List<MailOutboxEntity> batch) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return allFailed(batch, e);
+        } catch (ExecutionException e) {
+            return allFailed(batch, e.getCause() instanceof Exception cause ? cause : e);
+        }
+    }
+
+    private static Map<MailOutboxEntity, Exception> allFailed(List<MailOutboxEntity> batch, Exception failure) {
+        final Map<MailOutboxEntity, Exception> failed = new IdentityHashMap<>();
+        batch.forEach(mail -> failed.put(mail, failure));
+        return failed;
+    }
+
+    private void scheduleRetryOrBury(MailOutboxEntity mail, Exception failure) {
+
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        final int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(failure.getMessage() == null ? failure.getClass().getName() : failure.getMessage());
+
+        if (attempts >= outbox.getMaxAttempts()) {
+            mail.setStatus(DEAD);
+            deadCounter.increment();
+            LOG.error("Sending email with id {} to {} failed {} times, giving up", mail.getId(), mail.getRecipient(), attempts, failure);
+        } else {
+            final Duration backoff = backoff(attempts, outbox.getInitialBackoff(), outbox.getMaxBackoff());
+            mail.setNextAttemptAt(Instant.now(clock).plus(backoff));
+            retriedCounter.increment();
+            LOG.warn("Sending email with id {} to {} failed, retrying in {}", mail.getId(), mail.getRecipient(), backoff, failure);
+        }
+    }
+
+    /**
+     * @return the initial backoff doubled for every attempt after the first one, at most the max backoff
+     */
+    static Duration backoff(int attempts, Duration initialBackoff, Duration maxBackoff) {
+        final int doublings = Math.min(attempts - 1, 30);
+        final Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static RenderedMail toRenderedMail(MailOutboxEntity outboxMail) {
+        final List<MailAttachment> attachments = outboxMail.getAttachments().stream()
+            .map(attachment -> new MailAttachment(attachment.getName(), new ByteArrayResource(attachment.getContent())))
+            .toList();
+        return new RenderedMail(outboxMail.getFromAddress(), outboxMail.getReplyToAddress(), outboxMail.getRecipient(),
+            outboxMail.getSubject(), outboxMail.getBody(), attachments);
+    }
+
+    private static Counter mailsCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_OUTBOX_MAILS)
+            .description("number of mails of the outbox by result of the attempt to send them")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
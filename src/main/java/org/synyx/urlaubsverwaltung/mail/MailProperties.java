@@ -1,11 +1,16 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Validated
 @ConfigurationProperties("uv.mail")
 public class MailProperties {
@@ -27,6 +32,15 @@ public class MailProperties {
     @URL
     private String applicationUrl;
 
+    @Valid
+    private Batch batch = new Batch();
+
+    @Valid
+    private Outbox outbox = new Outbox();
+
+    @Valid
+    private Rendering rendering = new Rendering();
+
     public String getFrom() {
         return from;
     }
@@ -66,4 +80,192 @@ public class MailProperties {
     public void setApplicationUrl(String applicationUrl) {
         this.applicationUrl = applicationUrl;
     }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public Rendering getRendering() {
+        return rendering;
+    }
+
+    public void setRendering(Rendering rendering) {
+        this.rendering = rendering;
+    }
+
+    public static class Batch {
+
+        /**
+         * Renders all messages of a send first and transmits them in batches, each batch over one connection
+         * to the mail server instead of one connection per message
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of messages sent over one connection to the mail server
+         */
+        @Min(1)
+        private int size = 50;
+
+        /**
+         * Maximum number of messages sent per second, 0 means unlimited
+         */
+        @Min(0)
+        private int rateLimit = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(int rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Stores the rendered mails in the database within the transaction of the caller and sends them with a
+         * scheduled job instead of sending them asynchronously in memory. Only used in single tenant mode.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between two runs of the job that sends the stored mails
+         */
+        @NotNull
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * Number of batches of {@code uv.mail.batch.size} mails that are sent in parallel
+         */
+        @Min(1)
+        private int workers = 4;
+
+        /**
+         * Number of attempts to send a mail before it is marked as dead and not sent anymore
+         */
+        @Min(1)
+        private int maxAttempts = 5;
+
+        /**
+         * Delay before the second attempt to send a mail, doubled for every further attempt
+         */
+        @NotNull
+        private Duration initialBackoff = Duration.ofMinutes(1);
+
+        /**
+         * Maximum delay between two attempts to send a mail
+         */
+        @NotNull
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * Maximum duration of one run of the job, other instances can start sending afterward at the latest
+         */
+        @NotNull
+        private Duration lockAtMostFor = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
+
+    public static class Rendering {
+
+        /**
+         * Renders the body of a mail once per locale of the recipients instead of once per recipient and only fills
+         * in the name and id of each recipient afterward. Templates that use other properties of the recipient are
+         * still rendered per recipient.
+         */
+        private boolean groupByLocale = false;
+
+        public boolean isGroupByLocale() {
+            return groupByLocale;
+        }
+
+        public void setGroupByLocale(boolean groupByLocale) {
+            this.groupByLocale = groupByLocale;
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+/**
+ * Stands in for the {@code recipient} while the body of a mail is rendered once for all recipients with the same
+ * locale. Its properties are unique tokens that are replaced with the values of each recipient afterward, see
+ * {@link SharedMailBody}.
+ *
+ * <p>Only the properties of this class can be used this way, a template that uses any other property of the
+ * recipient is rendered for each recipient.</p>
+ */
+public final class MailRecipientPlaceholder {
+
+    static final String ID = "@@uv.recipient.id@@";
+    static final String NICE_NAME = "@@uv.recipient.niceName@@";
+
+    private static final MailRecipientPlaceholder INSTANCE = new MailRecipientPlaceholder();
+
+    private MailRecipientPlaceholder() {
+    }
+
+    static MailRecipientPlaceholder getInstance() {
+        return INSTANCE;
+    }
+
+    public String getId() {
+        return ID;
+    }
+
+    public String getNiceName() {
+        return NICE_NAME;
+    }
+}
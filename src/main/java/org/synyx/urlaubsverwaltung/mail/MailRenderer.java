@@ -0,0 +1,251 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import jakarta.mail.internet.InternetAddress;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.user.UserSettingsService;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.mail.MailConfiguration.TEMPLATE_PREFIX;
+import static org.synyx.urlaubsverwaltung.mail.MailConfiguration.TEMPLATE_SUFFIX;
+
+/**
+ * Renders the subject and body of a {@link Mail} for each of its recipients in the effective locale of the recipient.
+ *
+ * <p>If {@code uv.mail.rendering.group-by-locale} is enabled, the subject and body are rendered once per locale and
+ * shared by all recipients with this locale, as long as the template and its fragments use the recipient only as
+ * {@code ${recipient.id}} or {@code ${recipient.niceName}}. These are filled in per recipient afterward, see
+ * {@link SharedMailBody}. Any other template is rendered per recipient.</p>
+ */
+@Component
+class MailRenderer {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final Pattern FRAGMENT_REFERENCE = Pattern.compile("~\\{\\s*([\\w\\-/]+)");
+    private static final Pattern RECIPIENT_PLACEHOLDER = Pattern.compile("\\$\\{recipient\\.(id|niceName)}");
+    private static final Pattern RECIPIENT = Pattern.compile("\\brecipient\\b");
+
+    private final MessageSource emailMessageSource;
+    private final ITemplateEngine emailTemplateEngine;
+    private final MailProperties mailProperties;
+    private final UserSettingsService userSettingsService;
+    private final ResourceLoader resourceLoader;
+
+    MailRenderer(
+        MessageSource emailMessageSource,
+        ITemplateEngine emailTemplateEngine,
+        MailProperties mailProperties,
+        UserSettingsService userSettingsService,
+        ResourceLoader resourceLoader
+    ) {
+        this.emailMessageSource = emailMessageSource;
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.mailProperties = mailProperties;
+        this.userSettingsService = userSettingsService;
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * @param mail to render
+     * @return the rendered mail of every distinct recipient with a mail address
+     */
+    List<RenderedMail> render(Mail mail) {
+
+        final List<Person> recipients = getRecipients(mail);
+        if (recipients.isEmpty()) {
+            LOG.info("not sending e-mail because of empty recipients. subjectMessageKey={}", mail.getSubjectMessageKey());
+            return List.of();
+        }
+
+        final Map<Person, Locale> effectiveLocales = userSettingsService.getEffectiveLocale(recipients);
+
+        final boolean groupByLocale = mailProperties.getRendering().isGroupByLocale();
+        if (groupByLocale && recipients.size() > 1 && usesRecipientOnlyAsPlaceholder(mail.getTemplateName())) {
+            return renderPerLocale(mail, recipients, effectiveLocales);
+        }
+
+        final List<RenderedMail> renderedMails = new ArrayList<>(recipients.size());
+        for (Person recipient : recipients) {
+            final RenderedMail renderedMail = renderForRecipient(mail, recipient, effectiveLocales.get(recipient));
+            if (renderedMail != null) {
+                renderedMails.add(renderedMail);
+            }
+        }
+        return renderedMails;
+    }
+
+    @Nullable
+    private RenderedMail renderForRecipient(Mail mail, Person recipient, Locale effectiveLocale) {
+
+        final String from = getFrom();
+        final String replyTo = getReplyTo(mail);
+
+        final String email = recipient.getEmail();
+        final String subject = getTranslation(effectiveLocale, mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
+        final String body = emailTemplateEngine.process(mail.getTemplateName(), context(mail, effectiveLocale, recipient));
+
+        if (email == null) {
+            LOG.debug("Could not send mail to E-Mail-Address of person with id {}, because email is null.", recipient.getId());
+            return null;
+        }
+
+        final List<MailAttachment> mailAttachments = mail.getMailAttachments().orElse(List.of());
+        return new RenderedMail(from, replyTo, email, subject, body, mailAttachments);
+    }
+
+    /**
+     * Renders subject and body once per locale, the recipients stay in their order.
+     */
+    private List<RenderedMail> renderPerLocale(Mail mail, List<Person> recipients, Map<Person, Locale> effectiveLocales) {
+
+        final String from = getFrom();
+        final String replyTo = getReplyTo(mail);
+        final List<MailAttachment> mailAttachments = mail.getMailAttachments().orElse(List.of());
+
+        final Map<Locale, String> subjects = new HashMap<>();
+        final Map<Locale, SharedMailBody> bodies = new HashMap<>();
+
+        final List<RenderedMail> renderedMails = new ArrayList<>(recipients.size());
+        for (Person recipient : recipients) {
+            final String email = recipient.getEmail();
+            if (email == null) {
+                LOG.debug("Could not send mail to E-Mail-Address of person with id {}, because email is null.", recipient.getId());
+                continue;
+            }
+
+            final Locale effectiveLocale = effectiveLocales.get(recipient);
+            final String subject = subjects.computeIfAbsent(effectiveLocale,
+                locale -> getTranslation(locale, mail.getSubjectMessageKey(), mail.getSubjectMessageArguments()));
+            final SharedMailBody body = bodies.computeIfAbsent(effectiveLocale,
+                locale -> SharedMailBody.of(emailTemplateEngine.process(mail.getTemplateName(), context(mail, locale, MailRecipientPlaceholder.getInstance()))));
+
+            renderedMails.add(new RenderedMail(from, replyTo, email, subject, body.forRecipient(recipient), mailAttachments));
+        }
+
+        LOG.debug("Rendered template {} for {} recipients in {} locales", mail.getTemplateName(), renderedMails.size(), bodies.size());
+        return renderedMails;
+    }
+
+    private Context context(Mail mail, Locale locale, Object recipient) {
+        final Context context = new Context(locale);
+        context.setVariables(mail.getTemplateModel(locale));
+        context.setVariable("baseLinkURL", getApplicationUrl());
+        context.setVariable("rightPadder", RightPadder.getInstance());
+        context.setVariable("recipient", recipient);
+        return context;
+    }
+
+    /**
+     * Checks the source of the template and of all fragments it includes, the recipient may only be used as
+     * {@code ${recipient.id}} or {@code ${recipient.niceName}}.
+     *
+     * @return {@code true} if the body can be rendered once with the {@link MailRecipientPlaceholder}
+     */
+    private boolean usesRecipientOnlyAsPlaceholder(String templateName) {
+
+        final Set<String> checked = new HashSet<>();
+        final Deque<String> toCheck = new ArrayDeque<>();
+        toCheck.push(templateName);
+
+        while (!toCheck.isEmpty()) {
+            final String name = toCheck.pop();
+            if (!checked.add(name)) {
+                continue;
+            }
+
+            final String source = readTemplate(name);
+            if (source == null || RECIPIENT.matcher(RECIPIENT_PLACEHOLDER.matcher(source).replaceAll("")).find()) {
+                LOG.debug("Rendering template {} per recipient, because {} uses the recipient otherwise", templateName, name);
+                return false;
+            }
+
+            final Matcher fragmentReference = FRAGMENT_REFERENCE.matcher(source);
+            while (fragmentReference.find()) {
+                toCheck.push(fragmentReference.group(1));
+            }
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private String readTemplate(String name) {
+        final Resource resource = resourceLoader.getResource(TEMPLATE_PREFIX + name + TEMPLATE_SUFFIX);
+        if (!resource.exists()) {
+            return null;
+        }
+
+        try {
+            return resource.getContentAsString(UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Could not read template {}", name, e);
+            return null;
+        }
+    }
+
+    private String getFrom() {
+        return generateMailAddressAndDisplayName(mailProperties.getFrom(), mailProperties.getFromDisplayName());
+    }
+
+    private String getReplyTo(Mail mail) {
+        final String replyToMailAddress = mail.getReplyTo().map(Person::getEmail).orElse(mailProperties.getReplyTo());
+        final String replyToDisplayName = mail.getReplyTo().map(Person::getNiceName).orElse(mailProperties.getReplyToDisplayName());
+        return generateMailAddressAndDisplayName(replyToMailAddress, replyToDisplayName);
+    }
+
+    private List<Person> getRecipients(Mail mail) {
+
+        final List<Person> recipients = new ArrayList<>();
+        mail.getMailAddressRecipients().ifPresent(recipients::addAll);
+
+        return recipients.stream()
+            .distinct()
+            .toList();
+    }
+
+    private String getTranslation(Locale locale, String key, Object... args) {
+        return emailMessageSource.getMessage(key, args, locale);
+    }
+
+    private String getApplicationUrl() {
+        final String applicationUrl = mailProperties.getApplicationUrl();
+        return applicationUrl.endsWith("/") ? applicationUrl : applicationUrl + "/";
+    }
+
+    /**
+     * Builds an address of the form {@code display name <address>}. The display name is quoted or encoded whenever
+     * it contains characters that are not allowed in a header unencoded - a colon or a comma for instance, which can
+     * appear both in the configured application name and in the name of a person.
+     */
+    private String generateMailAddressAndDisplayName(String address, String displayName) {
+        try {
+            return new InternetAddress(address, displayName, UTF_8.name()).toString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("expected UTF-8 to be supported", e);
+        }
+    }
+}
@@ -6,15 +6,23 @@ import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
 @Service
@@ -23,10 +31,20 @@ class MailSenderService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final JavaMailSender mailSender;
+    private final MailProperties mailProperties;
+    private final Clock clock;
+    private final Sleeper sleeper;
 
     @Autowired
-    MailSenderService(JavaMailSender mailSender) {
+    MailSenderService(JavaMailSender mailSender, MailProperties mailProperties, Clock clock) {
+        this(mailSender, mailProperties, clock, Thread::sleep);
+    }
+
+    MailSenderService(JavaMailSender mailSender, MailProperties mailProperties, Clock clock, Sleeper sleeper) {
         this.mailSender = mailSender;
+        this.mailProperties = mailProperties;
+        this.clock = clock;
+        this.sleeper = sleeper;
     }
 
     /**
@@ -102,4 +120,120 @@ class MailSenderService {
             LOG.error("Sending email to {} failed", recipient, e);
         }
     }
+
+    /**
+     * Sends the given mails in batches of the configured size. All mails of a batch are handed over to the
+     * {@link JavaMailSender} at once, so they are transmitted over one connection to the mail server. Between
+     * the batches it waits as long as needed to not exceed the configured rate limit.
+     *
+     * <p>A mail that fails does not stop the others, the failure is logged per recipient.</p>
+     *
+     * @param mails rendered mails to send
+     */
+    void sendEmails(List<RenderedMail> mails) {
+
+        final MailProperties.Batch batch = mailProperties.getBatch();
+        final int batchSize = batch.getSize();
+        final Duration durationPerMessage = batch.getRateLimit() > 0 ? Duration.ofNanos(SECONDS.toNanos(1) / batch.getRateLimit()) : Duration.ZERO;
+
+        Instant nextBatchAt = clock.instant();
+        for (int fromIndex = 0; fromIndex < mails.size(); fromIndex += batchSize) {
+            final List<RenderedMail> mailsOfBatch = mails.subList(fromIndex, Math.min(fromIndex + batchSize, mails.size()));
+
+            try {
+                waitUntil(nextBatchAt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while waiting for the rate limit, {} emails have not been sent", mails.size() - fromIndex);
+                return;
+            }
+            nextBatchAt = clock.instant().plus(durationPerMessage.multipliedBy(mailsOfBatch.size()));
+
+            sendBatch(mailsOfBatch).forEach((mail, failure) -> LOG.error("Sending email to {} failed", mail.recipient(), failure));
+        }
+    }
+
+    /**
+     * Sends the given mails over one connection to the mail server, neither split into batches nor rate limited.
+     * Mails without a recipient are skipped.
+     *
+     * @param mails rendered mails to send
+     * @return the mails that could not be sent with the cause, keyed by identity
+     */
+    Map<RenderedMail, Exception> sendBatch(List<RenderedMail> mails) {
+
+        final Map<RenderedMail, Exception> failures = new IdentityHashMap<>();
+        final Map<MimeMessage, RenderedMail> mailsByMimeMessage = new IdentityHashMap<>();
+        final List<MimeMessage> mimeMessages = new ArrayList<>(mails.size());
+
+        for (RenderedMail mail : mails) {
+            if (mail.recipient() == null || mail.recipient().isBlank()) {
+                LOG.warn("Could not send email to empty recipients!");
+                continue;
+            }
+
+            try {
+                final MimeMessage mimeMessage = toMimeMessage(mail);
+                mailsByMimeMessage.put(mimeMessage, mail);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(mail, e);
+            }
+        }
+
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+            LOG.debug("Sent batch of {} emails", mimeMessages.size());
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                mailsByMimeMessage.values().forEach(mail -> failures.put(mail, ex));
+            } else {
+                ex.getFailedMessages().forEach((failedMessage, failure) -> {
+                    final RenderedMail mail = mailsByMimeMessage.get(failedMessage);
+                    if (mail != null) {
+                        failures.put(mail, failure);
+                    }
+                });
+            }
+        } catch (MailException ex) {
+            mailsByMimeMessage.values().forEach(mail -> failures.put(mail, ex));
+        }
+
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(RenderedMail mail) throws MessagingException {
+        final MimeMessage mimeMessage = mailSender.createMimeMessage();
+        final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, !mail.attachments().isEmpty());
+        helper.setFrom(mail.from());
+        helper.setReplyTo(mail.replyTo());
+        helper.setTo(mail.recipient());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.text());
+
+        for (MailAttachment mailAttachment : mail.attachments()) {
+            helper.addAttachment(mailAttachment.getName(), mailAttachment.getContent());
+        }
+
+        return mimeMessage;
+    }
+
+    private void waitUntil(Instant instant) throws InterruptedException {
+        final Duration durationToWait = Duration.between(clock.instant(), instant);
+        if (durationToWait.isPositive()) {
+            sleeper.sleep(durationToWait);
+        }
+    }
+
+    /**
+     * Waits between the batches to keep the rate limit, {@link Thread#sleep(Duration)} unless replaced in tests.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
 }
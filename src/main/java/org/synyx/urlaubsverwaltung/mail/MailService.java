@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import java.util.List;
+
 /**
  * This service provides sending notification emails.
  */
@@ -11,4 +13,12 @@ public interface MailService {
      * @param mail that defines the parameters to send the mail
      */
     void send(Mail mail);
+
+    /**
+     * Send all given {@link Mail}s. With batch sending enabled the mails of all recipients are handed over to the
+     * mail server together instead of one after another.
+     *
+     * @param mails that define the parameters to send the mails
+     */
+    void send(List<Mail> mails);
 }
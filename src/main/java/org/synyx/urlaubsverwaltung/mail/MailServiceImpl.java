@@ -1,127 +1,71 @@
 package org.synyx.urlaubsverwaltung.mail;
 
-import jakarta.mail.internet.InternetAddress;
-import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.context.MessageSource;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.user.UserSettingsService;
-import org.thymeleaf.ITemplateEngine;
-import org.thymeleaf.context.Context;
 
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-
-import static java.lang.invoke.MethodHandles.lookup;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Sends mails asynchronously right away, used as long as the {@link MailOutboxService mail outbox} is not enabled.
+ */
 @Service
-@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnMailOutboxDisabled
 class MailServiceImpl implements MailService {
 
-    private static final Logger LOG = getLogger(lookup().lookupClass());
-
-    private final MessageSource emailMessageSource;
-    private final ITemplateEngine emailTemplateEngine;
+    private final MailRenderer mailRenderer;
     private final MailSenderService mailSenderService;
     private final MailProperties mailProperties;
-    private final UserSettingsService userSettingsService;
 
     @Autowired
-    MailServiceImpl(
-        MessageSource emailMessageSource,
-        ITemplateEngine emailTemplateEngine,
-        MailSenderService mailSenderService,
-        MailProperties mailProperties,
-        UserSettingsService userSettingsService
-    ) {
-        this.emailMessageSource = emailMessageSource;
-        this.emailTemplateEngine = emailTemplateEngine;
-        this.mailProperties = mailProperties;
+    MailServiceImpl(MailRenderer mailRenderer, MailSenderService mailSenderService, MailProperties mailProperties) {
+        this.mailRenderer = mailRenderer;
         this.mailSenderService = mailSenderService;
-        this.userSettingsService = userSettingsService;
+        this.mailProperties = mailProperties;
     }
 
     @Async
     @Override
     public void send(final Mail mail) {
-
-        final List<Person> recipients = getRecipients(mail);
-        if (recipients.isEmpty()) {
-            LOG.info("not sending e-mail because of empty recipients. subjectMessageKey={}", mail.getSubjectMessageKey());
-        } else {
-            final Map<Person, Locale> effectiveLocales = userSettingsService.getEffectiveLocale(recipients);
-            for (Person recipient : recipients) {
-                sendToRecipient(mail, recipient, effectiveLocales);
-            }
-        }
-    }
-
-    private void sendToRecipient(Mail mail, Person recipient, Map<Person, Locale> effectiveLocales) {
-        final Locale effectiveLocale = effectiveLocales.get(recipient);
-
-        final Context context = new Context(effectiveLocale);
-        context.setVariables(mail.getTemplateModel(effectiveLocale));
-        context.setVariable("baseLinkURL", getApplicationUrl());
-        context.setVariable("rightPadder", RightPadder.getInstance());
-        context.setVariable("recipient", recipient);
-
-        final String from = generateMailAddressAndDisplayName(mailProperties.getFrom(), mailProperties.getFromDisplayName());
-
-        final String replyToMailAddress = mail.getReplyTo().map(Person::getEmail).orElse(mailProperties.getReplyTo());
-        final String replyToDisplayName = mail.getReplyTo().map(Person::getNiceName).orElse(mailProperties.getReplyToDisplayName());
-        final String replyTo = generateMailAddressAndDisplayName(replyToMailAddress, replyToDisplayName);
-
-        final String email = recipient.getEmail();
-        final String subject = getTranslation(effectiveLocale, mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
-        final String body = emailTemplateEngine.process(mail.getTemplateName(), context);
-
-        if (email != null) {
-            mail.getMailAttachments().ifPresentOrElse(
-                mailAttachments -> mailSenderService.sendEmail(from, replyTo, email, subject, body, mailAttachments),
-                () -> mailSenderService.sendEmail(from, replyTo, email, subject, body)
-            );
-        } else {
-            LOG.debug("Could not send mail to E-Mail-Address of person with id {}, because email is null.", recipient.getId());
-        }
+        sendAll(List.of(mail));
     }
 
-    private List<Person> getRecipients(Mail mail) {
-
-        final List<Person> recipients = new ArrayList<>();
-        mail.getMailAddressRecipients().ifPresent(recipients::addAll);
-
-        return recipients.stream()
-            .distinct()
-            .toList();
+    @Async
+    @Override
+    public void send(final List<Mail> mails) {
+        sendAll(mails);
     }
 
-    private String getTranslation(Locale locale, String key, Object... args) {
-        return emailMessageSource.getMessage(key, args, locale);
-    }
+    /**
+     * Renders the mail of every recipient and sends it right away. In batch mode all mails are rendered first and
+     * then sent together, so that the mail server connection is reused instead of opened once per recipient.
+     */
+    private void sendAll(List<Mail> mails) {
+
+        final boolean batched = mailProperties.getBatch().isEnabled();
+        final List<RenderedMail> renderedMails = new ArrayList<>();
+
+        for (Mail mail : mails) {
+            for (RenderedMail renderedMail : mailRenderer.render(mail)) {
+                if (batched) {
+                    renderedMails.add(renderedMail);
+                } else {
+                    send(renderedMail);
+                }
+            }
+        }
 
-    private String getApplicationUrl() {
-        final String applicationUrl = mailProperties.getApplicationUrl();
-        return applicationUrl.endsWith("/") ? applicationUrl : applicationUrl + "/";
+        if (!renderedMails.isEmpty()) {
+            mailSenderService.sendEmails(renderedMails);
+        }
     }
 
-    /**
-     * Builds an address of the form {@code display name <address>}. The display name is quoted or encoded whenever
-     * it contains characters that are not allowed in a header unencoded - a colon or a comma for instance, which can
-     * appear both in the configured application name and in the name of a person.
-     */
-    private String generateMailAddressAndDisplayName(String address, String displayName) {
-        try {
-            return new InternetAddress(address, displayName, UTF_8.name()).toString();
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException("expected UTF-8 to be supported", e);
+    private void send(RenderedMail renderedMail) {
+        if (renderedMail.attachments().isEmpty()) {
+            mailSenderService.sendEmail(renderedMail.from(), renderedMail.replyTo(), renderedMail.recipient(), renderedMail.subject(), renderedMail.text());
+        } else {
+            mailSenderService.sendEmail(renderedMail.from(), renderedMail.replyTo(), renderedMail.recipient(), renderedMail.subject(), renderedMail.text(), renderedMail.attachments());
         }
     }
 }
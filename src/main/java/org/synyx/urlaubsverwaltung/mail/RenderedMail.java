@@ -0,0 +1,16 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import java.util.List;
+
+/**
+ * A mail to one recipient with the rendered subject and body, ready to be handed over to the mail server.
+ *
+ * @param from        mail address and display name from where the mail is sent
+ * @param replyTo     mail address and display name to reply to
+ * @param recipient   mail address where the mail should be sent to
+ * @param subject     mail subject
+ * @param text        mail body
+ * @param attachments of the mail, empty if there are none
+ */
+record RenderedMail(String from, String replyTo, String recipient, String subject, String text, List<MailAttachment> attachments) {
+}
@@ -0,0 +1,75 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * Body of a mail rendered once with the {@link MailRecipientPlaceholder}, split into the shared text and the
+ * placeholders in between. The body of a recipient is the shared text joined with the values of the recipient, so
+ * only a string concatenation is done per recipient instead of processing the template.
+ */
+final class SharedMailBody {
+
+    private final List<String> texts;
+    private final List<String> placeholders;
+    private final int sharedLength;
+
+    private SharedMailBody(List<String> texts, List<String> placeholders) {
+        this.texts = texts;
+        this.placeholders = placeholders;
+        this.sharedLength = texts.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * @param renderedBody body rendered with the {@link MailRecipientPlaceholder} as recipient
+     * @return the body split at the placeholders
+     */
+    static SharedMailBody of(String renderedBody) {
+
+        final List<String> texts = new ArrayList<>();
+        final List<String> placeholders = new ArrayList<>();
+
+        int fromIndex = 0;
+        while (true) {
+            final int idIndex = renderedBody.indexOf(MailRecipientPlaceholder.ID, fromIndex);
+            final int niceNameIndex = renderedBody.indexOf(MailRecipientPlaceholder.NICE_NAME, fromIndex);
+            if (idIndex == -1 && niceNameIndex == -1) {
+                texts.add(renderedBody.substring(fromIndex));
+                return new SharedMailBody(texts, placeholders);
+            }
+
+            final boolean idFirst = niceNameIndex == -1 || (idIndex != -1 && idIndex < niceNameIndex);
+            final int placeholderIndex = idFirst ? idIndex : niceNameIndex;
+            final String placeholder = idFirst ? MailRecipientPlaceholder.ID : MailRecipientPlaceholder.NICE_NAME;
+
+            texts.add(renderedBody.substring(fromIndex, placeholderIndex));
+            placeholders.add(placeholder);
+            fromIndex = placeholderIndex + placeholder.length();
+        }
+    }
+
+    /**
+     * @param recipient of the mail
+     * @return the body with the values of the given recipient
+     */
+    String forRecipient(Person recipient) {
+        final StringBuilder body = new StringBuilder(sharedLength + placeholders.size() * 32);
+        for (int index = 0; index < placeholders.size(); index++) {
+            body.append(texts.get(index));
+            body.append(valueOf(placeholders.get(index), recipient));
+        }
+        body.append(texts.getLast());
+        return body.toString();
+    }
+
+    private static String valueOf(String placeholder, Person recipient) {
+        if (MailRecipientPlaceholder.ID.equals(placeholder)) {
+            return recipient.getId() == null ? "" : recipient.getId().toString();
+        }
+        return requireNonNullElse(recipient.getNiceName(), "");
+    }
+}
@@ -2,6 +2,9 @@ package org.synyx.urlaubsverwaltung.overtime;
 
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class OvertimeImportService {
 
@@ -18,13 +21,18 @@ public class OvertimeImportService {
         overtimeRepository.deleteAll();
     }
 
-    public OvertimeEntity importOvertime(OvertimeEntity overtime) {
-        return overtimeRepository.save(overtime);
+    /**
+     * @param overtimes to import
+     * @return the imported overtimes in the same order as the given ones
+     */
+    public List<OvertimeEntity> importOvertimes(List<OvertimeEntity> overtimes) {
+        final List<OvertimeEntity> importedOvertimes = new ArrayList<>(overtimes.size());
+        overtimeRepository.saveAll(overtimes).forEach(importedOvertimes::add);
+        return importedOvertimes;
     }
 
-
-    public void importOvertimeComment(OvertimeCommentEntity overtimeComment) {
-        overtimeCommentRepository.save(overtimeComment);
+    public void importOvertimeComments(List<OvertimeCommentEntity> overtimeComments) {
+        overtimeCommentRepository.saveAll(overtimeComments);
     }
 
 }
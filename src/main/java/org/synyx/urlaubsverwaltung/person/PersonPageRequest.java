@@ -123,6 +123,17 @@ public class PersonPageRequest extends AbstractPageRequest implements PersonPage
         return new PersonPageRequest(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
+    /**
+     * Checks whether the api exposed {@link Pageable} is sorted by person, see {@link #ofApiPageable(Pageable)}.
+     * Only then persons can be loaded page by page in the requested order.
+     *
+     * @param pageable a generic {@link Pageable}
+     * @return {@code true} when the pageable contains a person sort criteria, {@code false} otherwise
+     */
+    public static boolean isSortedByPerson(Pageable pageable) {
+        return ofApiPageable(pageable).isPaged();
+    }
+
     @Override
     public Sort getSort() {
         return personSort;
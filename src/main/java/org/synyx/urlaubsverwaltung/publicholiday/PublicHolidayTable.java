@@ -0,0 +1,117 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.focus_shift.jollyday.core.Holiday;
+import de.focus_shift.jollyday.core.HolidayManager;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+
+/**
+ * Immutable table of all public holidays of one federal state in one year.
+ *
+ * <p>The holidays are stored in an array indexed by the day of the year, so checking a single date is a constant
+ * time lookup instead of a call into jollyday. Christmas Eve and New Year's Eve are always part of the table,
+ * their working duration is configurable and therefore resolved by the caller.</p>
+ */
+final class PublicHolidayTable {
+
+    private static final Holiday[] NO_HOLIDAYS = new Holiday[0];
+
+    private final Year year;
+    private final Holiday[][] holidaysByDayOfYear;
+
+    private PublicHolidayTable(Year year, Holiday[][] holidaysByDayOfYear) {
+        this.year = year;
+        this.holidaysByDayOfYear = holidaysByDayOfYear;
+    }
+
+    /**
+     * Creates the table for the given year by asking the holiday manager once for the whole year.
+     *
+     * @param year           to create the table for
+     * @param holidayManager of the country of the federal state, {@code null} if there is no holiday manager for the country
+     * @param codes          of the federal state
+     * @return the public holiday table of the given year
+     */
+    static PublicHolidayTable of(Year year, @Nullable HolidayManager holidayManager, String... codes) {
+
+        final LocalDate firstDayOfYear = year.atDay(1);
+        final LocalDate lastDayOfYear = year.atDay(year.length());
+
+        final Set<Holiday> holidays = new HashSet<>();
+        if (holidayManager != null) {
+            holidays.addAll(holidayManager.getHolidays(firstDayOfYear, lastDayOfYear, PUBLIC_HOLIDAY, codes));
+        }
+
+        holidays.add(new Holiday(LocalDate.of(year.getValue(), Month.DECEMBER, 24), "CHRISTMAS_EVE", PUBLIC_HOLIDAY));
+        holidays.add(new Holiday(LocalDate.of(year.getValue(), Month.DECEMBER, 31), "NEW_YEARS_EVE", PUBLIC_HOLIDAY));
+
+        return of(year, holidays);
+    }
+
+    static PublicHolidayTable of(Year year, Collection<Holiday> holidays) {
+
+        final Holiday[][] holidaysByDayOfYear = new Holiday[year.length()][];
+        for (Holiday holiday : holidays) {
+            final int index = holiday.getDate().getDayOfYear() - 1;
+            final Holiday[] existing = holidaysByDayOfYear[index];
+            if (existing == null) {
+                holidaysByDayOfYear[index] = new Holiday[]{holiday};
+            } else {
+                final Holiday[] extended = new Holiday[existing.length + 1];
+                System.arraycopy(existing, 0, extended, 0, existing.length);
+                extended[existing.length] = holiday;
+                holidaysByDayOfYear[index] = extended;
+            }
+        }
+
+        return new PublicHolidayTable(year, holidaysByDayOfYear);
+    }
+
+    Year getYear() {
+        return year;
+    }
+
+    /**
+     * Returns the holidays at the given date. Usually there is none or exactly one, but a fixed and a movable
+     * holiday can fall on the same day.
+     *
+     * @param date to get the holidays for, must be in the year of this table
+     * @return the holidays at the given date, never {@code null}
+     */
+    Holiday[] getHolidays(LocalDate date) {
+        if (date.getYear() != year.getValue()) {
+            throw new IllegalArgumentException("date " + date + " is not in year " + year);
+        }
+
+        final Holiday[] holidays = holidaysByDayOfYear[date.getDayOfYear() - 1];
+        return holidays == null ? NO_HOLIDAYS : holidays;
+    }
+
+    /**
+     * Returns all holidays between from and to (inclusive), ordered by date.
+     *
+     * @param from first date, must be in the year of this table
+     * @param to   last date, must be in the year of this table
+     * @return the holidays of the given period
+     */
+    List<Holiday> getHolidays(LocalDate from, LocalDate to) {
+        final List<Holiday> holidays = new ArrayList<>();
+        for (int index = from.getDayOfYear() - 1; index < to.getDayOfYear(); index++) {
+            final Holiday[] holidaysOfDay = holidaysByDayOfYear[index];
+            if (holidaysOfDay != null) {
+                holidays.addAll(List.of(holidaysOfDay));
+            }
+        }
+        return holidays;
+    }
+}
@@ -1,10 +1,14 @@
 package org.synyx.urlaubsverwaltung.publicholiday;
 
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public interface PublicHolidaysService {
@@ -49,4 +53,17 @@ public interface PublicHolidaysService {
      * @return a list of public holiday if there are any for the given date range, otherwise empty list
      */
     List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState);
+
+    /**
+     * Returns the public holidays of many federal states and date ranges at once.
+     *
+     * <p>Every federal state is computed once, no matter how many persons share it. Overlapping date ranges of the
+     * same federal state are merged before the public holidays are looked up. Two public holidays at the same day
+     * are combined to one with both descriptions separated by a slash.</p>
+     *
+     * @param dateRangesByFederalState date ranges (inclusive start and end) to get the public holidays for, per federal state
+     * @return the public holidays ordered by date for every given federal state, empty map for a federal state without
+     * public holidays in its date ranges
+     */
+    Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> getPublicHolidays(Map<FederalState, Set<DateRange>> dateRangesByFederalState);
 }
@@ -5,24 +5,29 @@ import de.focus_shift.jollyday.core.HolidayManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.CachedSupplier;
+import org.synyx.urlaubsverwaltung.ConcurrentCachedSupplier;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 
 import java.time.LocalDate;
-import java.time.Month;
-import java.util.HashSet;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
-import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
-import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static java.util.Collections.unmodifiableNavigableMap;
+import static java.util.Comparator.comparing;
 import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
 import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
 import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
@@ -32,6 +37,7 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
     private final Map<String, HolidayManager> holidayManagers;
     private final SettingsService settingsService;
+    private final Map<PublicHolidayTableKey, PublicHolidayTable> publicHolidayTables = new ConcurrentHashMap<>();
 
     @Autowired
     public PublicHolidaysServiceImpl(SettingsService settingsService, Map<String, HolidayManager> holidayManagers) {
@@ -41,83 +47,114 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
     @Override
     public Optional<PublicHoliday> getPublicHoliday(LocalDate date, FederalState federalState, Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
-        return getPublicHolidays(date, date, federalState, publicHolidaysSettingsSupplier).stream().findFirst();
+        return getPublicHolidayFromTable(date, federalState, publicHolidaysSettingsSupplier);
     }
 
     @Override
     public Optional<PublicHoliday> getPublicHoliday(LocalDate date, FederalState federalState) {
-        final Supplier<PublicHolidaysSettings> holidaysSettingsSupplier = new CachedSupplier<>(this::getPublicHolidaysSettings);
-        return getPublicHolidays(date, date, federalState, holidaysSettingsSupplier).stream().findFirst();
+        final Supplier<PublicHolidaysSettings> holidaysSettingsSupplier = new ConcurrentCachedSupplier<>(this::getPublicHolidaysSettings);
+        return getPublicHolidayFromTable(date, federalState, holidaysSettingsSupplier);
     }
 
     @Override
     public List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState) {
-        final Supplier<PublicHolidaysSettings> holidaysSettingsSupplier = new CachedSupplier<>(this::getPublicHolidaysSettings);
+        final Supplier<PublicHolidaysSettings> holidaysSettingsSupplier = new ConcurrentCachedSupplier<>(this::getPublicHolidaysSettings);
         return getPublicHolidays(from, to, federalState, holidaysSettingsSupplier);
     }
 
     public List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState, Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
         final Locale locale = LocaleContextHolder.getLocale();
 
-        return getHolidays(from, to, federalState).stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), getHolidayDayLength(publicHolidaysSettingsSupplier, holiday.getDate(), federalState), holiday.getDescription(locale)))
-            .toList();
-    }
-
-    private DayLength getHolidayDayLength(Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier, LocalDate date, FederalState federalState) {
-        DayLength workingTime = FULL;
-        if (isPublicHoliday(date, federalState)) {
-            if (isChristmasEve(date)) {
-                workingTime = publicHolidaysSettingsSupplier.get().getWorkingDurationForChristmasEve();
-            } else if (isNewYearsEve(date)) {
-                workingTime = publicHolidaysSettingsSupplier.get().getWorkingDurationForNewYearsEve();
-            } else {
-                workingTime = ZERO;
+        final List<PublicHoliday> publicHolidays = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            final PublicHolidayTable table = getPublicHolidayTable(federalState, Year.of(year));
+            final LocalDate start = year == from.getYear() ? from : table.getYear().atDay(1);
+            final LocalDate end = year == to.getYear() ? to : table.getYear().atDay(table.getYear().length());
+            for (Holiday holiday : table.getHolidays(start, end)) {
+                publicHolidays.add(toPublicHoliday(holiday, locale, publicHolidaysSettingsSupplier));
             }
         }
 
-        return workingTime.getInverse();
+        return publicHolidays;
     }
 
-    private Set<Holiday> getHolidays(final LocalDate from, final LocalDate to, FederalState federalState) {
-
-        final Set<Holiday> holidays = getHolidayManager(federalState)
-            .map(holidayManager -> holidayManager.getHolidays(from, to, PUBLIC_HOLIDAY, federalState.getCodes()))
-            .orElseGet(HashSet::new);
+    @Override
+    public Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> getPublicHolidays(Map<FederalState, Set<DateRange>> dateRangesByFederalState) {
+        final Supplier<PublicHolidaysSettings> holidaysSettingsSupplier = new ConcurrentCachedSupplier<>(this::getPublicHolidaysSettings);
+
+        final Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> publicHolidaysByFederalState = new EnumMap<>(FederalState.class);
+        dateRangesByFederalState.forEach((federalState, dateRanges) -> {
+            final NavigableMap<LocalDate, PublicHoliday> publicHolidays = new TreeMap<>();
+            for (DateRange dateRange : mergeOverlapping(dateRanges)) {
+                for (PublicHoliday publicHoliday : getPublicHolidays(dateRange.startDate(), dateRange.endDate(), federalState, holidaysSettingsSupplier)) {
+                    publicHolidays.merge(publicHoliday.date(), publicHoliday, (first, second) ->
+                        new PublicHoliday(first.date(), first.dayLength(), first.description().concat("/").concat(second.description())));
+                }
+            }
+            publicHolidaysByFederalState.put(federalState, unmodifiableNavigableMap(publicHolidays));
+        });
 
-        final DateRange requestRange = new DateRange(from, to);
+        return publicHolidaysByFederalState;
+    }
 
-        int year = from.getYear();
-        while (year <= to.getYear()) {
-            final LocalDate christmas = LocalDate.of(year, Month.DECEMBER, 24);
-            if (requestRange.isOverlapping(new DateRange(christmas, christmas))) {
-                holidays.add(new Holiday(christmas, "CHRISTMAS_EVE", PUBLIC_HOLIDAY));
-            }
-            final LocalDate newYear = LocalDate.of(year, Month.DECEMBER, 31);
-            if (requestRange.isOverlapping(new DateRange(newYear, newYear))) {
-                holidays.add(new Holiday(newYear, "NEW_YEARS_EVE", PUBLIC_HOLIDAY));
+    /**
+     * Merges overlapping and adjacent date ranges, so that no date is looked up twice.
+     */
+    private static List<DateRange> mergeOverlapping(Collection<DateRange> dateRanges) {
+        final List<DateRange> sortedDateRanges = dateRanges.stream().sorted(comparing(DateRange::startDate)).toList();
+
+        final List<DateRange> merged = new ArrayList<>();
+        for (DateRange dateRange : sortedDateRanges) {
+            final DateRange last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && !dateRange.startDate().isAfter(last.endDate().plusDays(1))) {
+                if (dateRange.endDate().isAfter(last.endDate())) {
+                    merged.set(merged.size() - 1, new DateRange(last.startDate(), dateRange.endDate()));
+                }
+            } else {
+                merged.add(dateRange);
             }
-            year++;
         }
-
-        return holidays;
+        return merged;
     }
 
-    private boolean isPublicHoliday(LocalDate date, FederalState federalState) {
-        if (isChristmasEve(date) || isNewYearsEve(date)) {
-            return true;
+    private Optional<PublicHoliday> getPublicHolidayFromTable(LocalDate date, FederalState federalState, Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
+        final Holiday[] holidays = getPublicHolidayTable(federalState, Year.from(date)).getHolidays(date);
+        if (holidays.length == 0) {
+            return Optional.empty();
         }
+        return Optional.of(toPublicHoliday(holidays[0], LocaleContextHolder.getLocale(), publicHolidaysSettingsSupplier));
+    }
 
-        return getHolidayManager(federalState)
-            .map(holidayManager -> holidayManager.isHoliday(date, federalState.getCodes()))
-            .orElse(false);
+    private PublicHolidayTable getPublicHolidayTable(FederalState federalState, Year year) {
+        return publicHolidayTables.computeIfAbsent(new PublicHolidayTableKey(federalState, year),
+            key -> PublicHolidayTable.of(key.year(), holidayManagers.get(federalState.getCountry()), federalState.getCodes()));
     }
 
-    private Optional<HolidayManager> getHolidayManager(FederalState federalState) {
-        return Optional.ofNullable(holidayManagers.get(federalState.getCountry()));
+    private static PublicHoliday toPublicHoliday(Holiday holiday, Locale locale, Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
+        return new PublicHoliday(holiday.getDate(), getHolidayDayLength(publicHolidaysSettingsSupplier, holiday.getDate()), holiday.getDescription(locale));
+    }
+
+    private static DayLength getHolidayDayLength(Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier, LocalDate date) {
+        final DayLength workingTime;
+        if (isChristmasEve(date)) {
+            workingTime = publicHolidaysSettingsSupplier.get().getWorkingDurationForChristmasEve();
+        } else if (isNewYearsEve(date)) {
+            workingTime = publicHolidaysSettingsSupplier.get().getWorkingDurationForNewYearsEve();
+        } else {
+            workingTime = ZERO;
+        }
+
+        return workingTime.getInverse();
     }
 
     private PublicHolidaysSettings getPublicHolidaysSettings() {
         return settingsService.getSettings().getPublicHolidaysSettings();
     }
+
+    /**
+     * Public holidays only depend on the federal state and the year, the configurable working duration of
+     * christmas and new years eve is resolved while reading from the table.
+     */
+    private record PublicHolidayTableKey(FederalState federalState, Year year) {
+    }
 }
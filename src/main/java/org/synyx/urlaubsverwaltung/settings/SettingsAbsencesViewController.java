@@ -93,7 +93,7 @@ public class SettingsAbsencesViewController implements HasLaunchpad, HasPersonSe
     }
 
     private Settings settingsDtoToSettings(SettingsAbsencesDto dto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(dto.getId());
         settings.setApplicationSettings(dto.getApplicationSettings());
         settings.setSickNoteSettings(dto.getSickNoteSettings());
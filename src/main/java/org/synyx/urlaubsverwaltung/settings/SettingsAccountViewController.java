@@ -99,7 +99,7 @@ public class SettingsAccountViewController implements HasLaunchpad, HasPersonSea
     }
 
     private Settings settingsDtoToSettings(SettingsAccountDto settingsDto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(settingsDto.getId());
         settings.setWorkingTimeSettings(settingsDto.getWorkingTimeSettings());
         settings.setAccountSettings(settingsDto.getAccountSettings());
@@ -78,7 +78,7 @@ public class SettingsAvatarViewController implements HasLaunchpad, HasPersonSear
     }
 
     private Settings settingsDtoToSettings(SettingsAvatarDto dto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(dto.getId());
         settings.setAvatarSettings(dto.getAvatarSettings());
         return settings;
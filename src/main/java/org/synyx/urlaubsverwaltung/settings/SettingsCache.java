@@ -0,0 +1,108 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettingsActivatedEvent;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettingsDeactivatedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.apache.commons.lang3.SerializationUtils.deserialize;
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+
+/**
+ * Process wide cache of the {@link Settings} of every tenant.
+ *
+ * <p>The settings are read on nearly every request but change rarely. The cache is keyed by the tenant of the current
+ * {@link TenantContextHolder} context and is bypassed without a tenant context. {@link Settings} is a mutable
+ * entity, therefore the settings are cached serialized and every caller gets its own copy. So a change of one caller
+ * never leaks into the settings of the others, and only the copy is made per call.</p>
+ *
+ * <p>Hits and misses are exposed as {@code cache.*} metrics with the tag {@code cache=settings}.</p>
+ */
+@Component
+@EnableConfigurationProperties(SettingsCacheProperties.class)
+class SettingsCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    static final String CACHE_NAME = "settings";
+
+    private final TenantContextHolder tenantContextHolder;
+    private final Cache<TenantId, byte[]> cache;
+
+    SettingsCache(TenantContextHolder tenantContextHolder, SettingsCacheProperties settingsCacheProperties, MeterRegistry meterRegistry) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(settingsCacheProperties.getTimeToLive())
+            .maximumSize(settingsCacheProperties.getMaximumSize())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a copy of the cached settings of the current tenant. The settings are loaded with the given loader if
+     * they are not cached yet.
+     *
+     * @param loader loads the settings of the current tenant from the database
+     * @return a copy of the settings of the current tenant that can be modified by the caller
+     */
+    Settings get(Supplier<Settings> loader) {
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return loader.get();
+        }
+
+        final byte[] serializedSettings = cache.get(maybeTenantId.get(), tenantId -> serialize(loader.get()));
+        return deserialize(serializedSettings);
+    }
+
+    /**
+     * Removes the cached settings of the current tenant.
+     *
+     * <p>Within a transaction the settings are removed again after completion, so settings that were cached before the
+     * commit or from a rolled back transaction are not served afterwards.</p>
+     */
+    void invalidate() {
+        tenantContextHolder.getCurrentTenantId().ifPresent(tenantId -> {
+            cache.invalidate(tenantId);
+            LOG.debug("Invalidated cached settings of tenant {}", tenantId.tenantId());
+
+            if (isSynchronizationActive()) {
+                registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.invalidate(tenantId);
+                    }
+                });
+            }
+        });
+    }
+
+    @EventListener({
+        InitialDefaultSettingsSavedEvent.class,
+        OvertimeSettingsActivatedEvent.class,
+        OvertimeSettingsDeactivatedEvent.class,
+        WorkingDurationForChristmasEveUpdatedEvent.class,
+        WorkingDurationForNewYearsEveUpdatedEvent.class
+    })
+    void onSettingsUpdated() {
+        invalidate();
+    }
+}
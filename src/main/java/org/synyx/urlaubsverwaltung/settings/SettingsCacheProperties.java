@@ -0,0 +1,45 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties("uv.settings.cache")
+@Validated
+public class SettingsCacheProperties {
+
+    /**
+     * Defines how long the settings of a tenant are cached after they have been loaded from the database.
+     * Changes made through this instance invalidate the cache immediately, the time to live only bounds how long
+     * changes made by other instances of the application stay invisible.
+     * <p>
+     * Default time to live is five minutes (PT5M).
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of tenants whose settings are cached at the same time.
+     */
+    @Positive
+    private long maximumSize = 1000;
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+}
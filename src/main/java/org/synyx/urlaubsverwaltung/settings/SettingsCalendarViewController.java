@@ -99,7 +99,7 @@ public class SettingsCalendarViewController implements HasLaunchpad, HasPersonSe
     }
 
     private Settings settingsDtoToSettings(SettingsCalendarDto settingsDto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(settingsDto.getId());
         settings.setTimeSettings(settingsDto.getTimeSettings());
         return settings;
@@ -101,7 +101,7 @@ public class SettingsOvertimeViewController implements HasLaunchpad, HasPersonSe
     }
 
     private Settings settingsDtoToSettings(SettingsOvertimeDto settingsDto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(settingsDto.getId());
         settings.setOvertimeSettings(settingsDto.getOvertimeSettings());
         return settings;
@@ -105,7 +105,7 @@ public class SettingsPublicHolidayViewController implements HasLaunchpad, HasPer
     }
 
     private Settings settingsDtoToSettings(SettingsPublicHolidayDto settingsDto) {
-        final Settings settings = settingsService.getSettings();
+        final Settings settings = settingsService.getSettingsForUpdate();
         settings.setId(settingsDto.getId());
         settings.setPublicHolidaysSettings(settingsDto.getPublicHolidaysSettings());
         return settings;
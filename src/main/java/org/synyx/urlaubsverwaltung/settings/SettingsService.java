@@ -14,9 +14,19 @@ public interface SettingsService {
     Settings save(Settings settings);
 
     /**
+     * Returns the settings for the application. Every caller gets its own copy of the cached settings, use
+     * {@link #getSettingsForUpdate()} to change settings.
+     *
      * @return settings for the application
      */
     Settings getSettings();
 
+    /**
+     * Loads the settings for the application to change and {@link #save(Settings) save} them.
+     *
+     * @return settings for the application that can be modified by the caller
+     */
+    Settings getSettingsForUpdate();
+
     void insertDefaultSettings();
 }
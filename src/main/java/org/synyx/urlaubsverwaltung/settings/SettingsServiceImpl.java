@@ -24,16 +24,19 @@ public class SettingsServiceImpl implements SettingsService {
     private final SettingsRepository settingsRepository;
     private final OvertimeProperties overtimeProperties;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final SettingsCache settingsCache;
 
     @Autowired
     public SettingsServiceImpl(
         SettingsRepository settingsRepository,
         OvertimeProperties overtimeProperties,
-        ApplicationEventPublisher applicationEventPublisher
+        ApplicationEventPublisher applicationEventPublisher,
+        SettingsCache settingsCache
     ) {
         this.settingsRepository = settingsRepository;
         this.overtimeProperties = overtimeProperties;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.settingsCache = settingsCache;
     }
 
     @Override
@@ -42,6 +45,7 @@ public class SettingsServiceImpl implements SettingsService {
         final boolean previousOvertimeActive = getSettings().getOvertimeSettings().isOvertimeActive();
 
         final Settings savedSettings = settingsRepository.save(settings);
+        settingsCache.invalidate();
         LOG.info("Updated settings: {}", savedSettings);
 
         publishOvertimeSettingsChangeEvent(previousOvertimeActive, savedSettings);
@@ -60,6 +64,15 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     public Settings getSettings() {
+        return settingsCache.get(this::loadSettings);
+    }
+
+    @Override
+    public Settings getSettingsForUpdate() {
+        return loadSettings();
+    }
+
+    private Settings loadSettings() {
         return settingsRepository.findAll().stream().findFirst()
             .orElseThrow(() -> new IllegalStateException("No settings found in database!"));
     }
@@ -75,6 +88,7 @@ public class SettingsServiceImpl implements SettingsService {
             settings.getOvertimeSettings().setOvertimeSyncActive(overtimeProperties.isSyncActive());
 
             final Settings savedSettings = settingsRepository.save(settings);
+            settingsCache.invalidate();
             applicationEventPublisher.publishEvent(new InitialDefaultSettingsSavedEvent());
             LOG.info("Saved initial settings {}", savedSettings);
         }
@@ -2,6 +2,8 @@ package org.synyx.urlaubsverwaltung.sicknote.comment;
 
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class SickNoteCommentImportService {
 
@@ -16,7 +18,7 @@ public class SickNoteCommentImportService {
         sickNoteCommentEntityRepository.deleteAll();
     }
 
-    public void importSickNoteComment(SickNoteCommentEntity entity) {
-        sickNoteCommentEntityRepository.save(entity);
+    public void importSickNoteComments(List<SickNoteCommentEntity> entities) {
+        sickNoteCommentEntityRepository.saveAll(entities);
     }
 }
@@ -16,11 +16,15 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.PagedIterable;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonPageRequest;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
@@ -41,10 +45,13 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping("/web/sickdays/statistics")
 class SickDaysStatisticsViewController {
 
+    private static final int EXPORT_PAGE_SIZE = 100;
+
     private final SickDaysStatisticsService sickDaysStatisticsService;
     private final SickDaysDetailedStatisticsCsvExportService sickDaysDetailedStatisticsCsvExportService;
     private final PersonService personService;
     private final DateFormatAware dateFormatAware;
+    private final TenantContextHolder tenantContextHolder;
     private final Clock clock;
 
     @Autowired
@@ -53,12 +60,14 @@ class SickDaysStatisticsViewController {
         SickDaysDetailedStatisticsCsvExportService sickDaysDetailedStatisticsCsvExportService,
         PersonService personService,
         DateFormatAware dateFormatAware,
+        TenantContextHolder tenantContextHolder,
         Clock clock
     ) {
         this.sickDaysStatisticsService = sickDaysStatisticsService;
         this.sickDaysDetailedStatisticsCsvExportService = sickDaysDetailedStatisticsCsvExportService;
         this.personService = personService;
         this.dateFormatAware = dateFormatAware;
+        this.tenantContextHolder = tenantContextHolder;
         this.clock = clock;
     }
 
@@ -67,7 +76,6 @@ class SickDaysStatisticsViewController {
     public ResponseEntity<ByteArrayResource> downloadCSV(
         @RequestParam(value = "from", defaultValue = "") String from,
         @RequestParam(value = "to", defaultValue = "") String to,
-        @RequestParam(value = "allElements", defaultValue = "false") boolean allElements,
         @RequestParam(value = "query", required = false, defaultValue = "") String query,
         @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
         Locale locale
@@ -80,21 +88,55 @@ class SickDaysStatisticsViewController {
         }
 
         final Person signedInUser = personService.getSignedInUser();
-
-        final Pageable adaptedPageable = allElements ? PageRequest.of(0, MAX_VALUE, pageable.getSort()) : pageable;
-        final String adaptedQuery = allElements ? "" : query;
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(adaptedPageable, adaptedQuery);
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageable, query);
 
         final Page<SickDaysDetailedStatistics> sickDaysStatisticsPage =
             sickDaysStatisticsService.getAll(signedInUser, period.startDate(), period.endDate(), pageableSearchQuery);
 
         final CSVFile csvFile = sickDaysDetailedStatisticsCsvExportService.generateCSV(period, locale, sickDaysStatisticsPage.getContent());
 
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.resource());
+    }
+
+    /**
+     * Exports the sick days of all persons. The csv is written directly into the response while the persons are
+     * loaded page by page, so the export of a whole company does not have to be held in memory.
+     */
+    @PreAuthorize("hasAnyAuthority('OFFICE', 'SICK_NOTE_VIEW', 'DEPARTMENT_HEAD', 'SECOND_STAGE_AUTHORITY')")
+    @GetMapping(value = "/download", params = "allElements=true")
+    public ResponseEntity<StreamingResponseBody> streamCSVOfAllElements(
+        @RequestParam(value = "from", defaultValue = "") String from,
+        @RequestParam(value = "to", defaultValue = "") String to,
+        @SortDefault(sort = PersonPageRequest.DEFAULT_PERSON_SORT_KEY, direction = Sort.Direction.ASC) Pageable pageable,
+        Locale locale
+    ) {
+
+        final FilterPeriod period = toFilterPeriod(from, to, locale);
+
+        if (period.endDate().isBefore(period.startDate())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Person signedInUser = personService.getSignedInUser();
+
+        // persons can only be loaded page by page when sorted by person, otherwise everything is loaded at once
+        final int pageSize = PersonPageRequest.isSortedByPerson(pageable) ? EXPORT_PAGE_SIZE : MAX_VALUE;
+        final Iterable<SickDaysDetailedStatistics> sickDaysStatistics = new PagedIterable<>(pageNumber -> {
+            final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(pageNumber, pageSize, pageable.getSort()), "");
+            return sickDaysStatisticsService.getAll(signedInUser, period.startDate(), period.endDate(), pageableSearchQuery);
+        });
+
+        final StreamingCSVFile csvFile = sickDaysDetailedStatisticsCsvExportService.generateStreamingCSV(period, locale, sickDaysStatistics)
+            .inTenantContextOf(tenantContextHolder);
+
+        return ResponseEntity.status(OK).headers(csvHeaders(csvFile.fileName())).body(csvFile.body());
+    }
+
+    private static HttpHeaders csvHeaders(String fileName) {
         final HttpHeaders headers = new HttpHeaders();
         headers.setContentType(new MediaType("text", "csv", UTF_8));
-        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(csvFile.fileName(), UTF_8).build());
-
-        return ResponseEntity.status(OK).headers(headers).body(csvFile.resource());
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(fileName, UTF_8).build());
+        return headers;
     }
 
     private FilterPeriod toFilterPeriod(String startDateString, String endDateString, Locale locale) {
@@ -50,6 +50,10 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
      */
     public Optional<LocalDate> nextWorkingFollowingTo(LocalDate localDate) {
 
+        if (workingDays instanceof WorkingTimeCalendarDays days) {
+            return Optional.ofNullable(days.nextWorkingDayAfter(localDate));
+        }
+
         final LocalDate nextDay = localDate.plusDays(1);
         final Optional<DayLength> dayLength = workingTimeDayLength(nextDay);
 
@@ -80,24 +84,42 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
         final Optional<DateRange> overlap = dateRange.overlap(applicationDateRange);
         if (overlap.isEmpty()) {
             return ZERO;
-        } else {
-            BigDecimal workingTimeSum = ZERO;
-            for (LocalDate localDate : overlap.get()) {
-                final BigDecimal workingTime = workingTime(localDate).orElse(ZERO);
-                final WorkingDayInformation workingDayInformation = this.workingDays().get(application.getStartDate());
-
-                if (application.getDayLength().isHalfDay() && (workingDayInformation != null && !workingDayInformation.hasHalfDayPublicHoliday())) {
-                    if (workingDayInformation.dayLength.isHalfDay() && (application.getDayLength() == MORNING && workingDayInformation.morning() == WORKDAY || application.getDayLength() == NOON && workingDayInformation.noon() == WORKDAY)) {
-                        workingTimeSum = workingTimeSum.add(workingTime);
-                    } else if (workingDayInformation.dayLength == FULL) {
-                        workingTimeSum = workingTimeSum.add(workingTime.divide(BigDecimal.valueOf(2), 1, HALF_UP));
-                    }
-                } else {
-                    workingTimeSum = workingTimeSum.add(workingTime);
-                }
+        }
+
+        final LocalDate from = overlap.get().startDate();
+        final LocalDate to = overlap.get().endDate();
+        final WorkingDayInformation workingDayInformation = this.workingDays().get(application.getStartDate());
+
+        if (application.getDayLength().isHalfDay() && (workingDayInformation != null && !workingDayInformation.hasHalfDayPublicHoliday())) {
+            if (workingDayInformation.dayLength.isHalfDay() && (application.getDayLength() == MORNING && workingDayInformation.morning() == WORKDAY || application.getDayLength() == NOON && workingDayInformation.noon() == WORKDAY)) {
+                return workingTime(from, to);
+            } else if (workingDayInformation.dayLength == FULL) {
+                return halfOfWorkingTime(from, to);
             }
-            return workingTimeSum;
+            return ZERO;
+        }
+
+        return workingTime(from, to);
+    }
+
+    /**
+     * Sums up the halved working time of every date, each one rounded to one decimal place.
+     */
+    private BigDecimal halfOfWorkingTime(LocalDate from, LocalDate to) {
+
+        if (workingDays instanceof WorkingTimeCalendarDays days) {
+            // a full day counts 0.5 and a half day 0.25, rounded to 0.3
+            final int halfWorkingDays = days.halfWorkingDays(from, to);
+            final int fullWorkingDays = (days.halfDayUnits(from, to) - halfWorkingDays) / 2;
+            return BigDecimal.valueOf(5L * fullWorkingDays + 3L * halfWorkingDays, 1);
         }
+
+        BigDecimal workingTimeSum = ZERO;
+        for (LocalDate localDate : new DateRange(from, to)) {
+            final BigDecimal workingTime = workingTime(localDate).orElse(ZERO);
+            workingTimeSum = workingTimeSum.add(workingTime.divide(BigDecimal.valueOf(2), 1, HALF_UP));
+        }
+        return workingTimeSum;
     }
 
     /**
@@ -139,6 +161,14 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
             return ZERO;
         }
 
+        if (workingDays instanceof WorkingTimeCalendarDays days) {
+            final int halfDayUnits = days.halfDayUnits(from, to);
+            // same scale as the sum of the day length durations: one decimal place as soon as a half day is involved
+            return days.halfWorkingDays(from, to) == 0
+                ? BigDecimal.valueOf(halfDayUnits / 2)
+                : BigDecimal.valueOf(halfDayUnits * 5L, 1);
+        }
+
         BigDecimal sum = ZERO;
 
         for (Map.Entry<LocalDate, WorkingDayInformation> entry : workingDays.entrySet()) {
@@ -0,0 +1,159 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation;
+
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read only view of the working days of a {@link WorkingTimeCalendar}.
+ *
+ * <p>The view does not copy any day. It consists of segments, one per working time of a person, each pointing into a
+ * shared {@link WorkingTimeCalendarTemplate}. A segment starts at the {@code validFrom} of its working time (or the
+ * start of the requested date range) and ends the day before the next working time becomes valid.</p>
+ *
+ * <p>Range queries are answered by the prefix sums of the templates, so they cost one step per segment instead of one
+ * per day and do not allocate.</p>
+ */
+final class WorkingTimeCalendarDays extends AbstractMap<LocalDate, WorkingDayInformation> {
+
+    private final List<Segment> segments;
+    private final int size;
+
+    /**
+     * @param segments ordered and not overlapping segments
+     */
+    WorkingTimeCalendarDays(List<Segment> segments) {
+        this.segments = List.copyOf(segments);
+        this.size = this.segments.stream().mapToInt(Segment::days).sum();
+    }
+
+    @Override
+    public WorkingDayInformation get(Object key) {
+        if (key instanceof LocalDate date) {
+            for (Segment segment : segments) {
+                if (segment.contains(date)) {
+                    return segment.template().get(date);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<LocalDate, WorkingDayInformation>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<LocalDate, WorkingDayInformation>> iterator() {
+                return segments.stream()
+                    .flatMap(segment -> segment.dateRange().stream().map(date -> Map.entry(date, segment.template().get(date))))
+                    .iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @param from inclusive
+     * @param to   inclusive
+     * @return the working time of the given dates in half day units, a full working day counts two
+     */
+    int halfDayUnits(LocalDate from, LocalDate to) {
+        int halfDayUnits = 0;
+        for (Segment segment : segments) {
+            final LocalDate overlapStart = latest(from, segment.dateRange().startDate());
+            final LocalDate overlapEnd = earliest(to, segment.dateRange().endDate());
+            if (!overlapStart.isAfter(overlapEnd)) {
+                halfDayUnits += segment.template().halfDayUnits(overlapStart, overlapEnd);
+            }
+        }
+        return halfDayUnits;
+    }
+
+    /**
+     * @param from inclusive
+     * @param to   inclusive
+     * @return the number of days with a working time of a morning or a noon
+     */
+    int halfWorkingDays(LocalDate from, LocalDate to) {
+        int halfWorkingDays = 0;
+        for (Segment segment : segments) {
+            final LocalDate overlapStart = latest(from, segment.dateRange().startDate());
+            final LocalDate overlapEnd = earliest(to, segment.dateRange().endDate());
+            if (!overlapStart.isAfter(overlapEnd)) {
+                halfWorkingDays += segment.template().halfWorkingDays(overlapStart, overlapEnd);
+            }
+        }
+        return halfWorkingDays;
+    }
+
+    /**
+     * @param date any date
+     * @return the first date after the given one with a working time, as long as there is no gap in between.
+     * {@code null} if the calendar ends before.
+     */
+    @Nullable
+    LocalDate nextWorkingDayAfter(LocalDate date) {
+        LocalDate from = date.plusDays(1);
+        for (Segment segment : segments) {
+            final DateRange segmentDateRange = segment.dateRange();
+            if (segmentDateRange.endDate().isBefore(from)) {
+                continue;
+            }
+            if (segmentDateRange.startDate().isAfter(from)) {
+                return null;
+            }
+
+            final LocalDate workingDay = segment.template().firstWorkingDay(from, segmentDateRange.endDate());
+            if (workingDay != null) {
+                return workingDay;
+            }
+            from = segmentDateRange.endDate().plusDays(1);
+        }
+        return null;
+    }
+
+    private static LocalDate latest(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDate earliest(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    /**
+     * @param dateRange of the segment, must be within the date range of the template
+     * @param template  providing the working day information
+     */
+    record Segment(DateRange dateRange, WorkingTimeCalendarTemplate template) {
+
+        boolean contains(LocalDate date) {
+            return !date.isBefore(dateRange.startDate()) && !date.isAfter(dateRange.endDate());
+        }
+
+        int days() {
+            return (int) (dateRange.endDate().toEpochDay() - dateRange.startDate().toEpochDay() + 1);
+        }
+    }
+}
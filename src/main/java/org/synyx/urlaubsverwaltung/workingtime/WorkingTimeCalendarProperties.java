@@ -0,0 +1,42 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("uv.workingtime.calendar")
+@Validated
+public class WorkingTimeCalendarProperties {
+
+    /**
+     * Maximum number of threads used to build the working time calendars of multiple persons within one request.
+     * The calendars are built on virtual threads, each thread builds the calendars of an equal share of the persons.
+     * <p>
+     * Default is 1, that builds all calendars sequentially in the calling thread.
+     */
+    @Min(1)
+    private int parallelism = 1;
+
+    /**
+     * Minimum number of persons to build the working time calendars for in parallel. Fewer persons are always
+     * processed sequentially, since starting threads costs more than it saves.
+     */
+    @Min(1)
+    private int parallelismThreshold = 100;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelismThreshold() {
+        return parallelismThreshold;
+    }
+
+    public void setParallelismThreshold(int parallelismThreshold) {
+        this.parallelismThreshold = parallelismThreshold;
+    }
+}
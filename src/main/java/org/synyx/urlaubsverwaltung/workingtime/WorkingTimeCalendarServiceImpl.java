@@ -1,8 +1,11 @@
 package org.synyx.urlaubsverwaltung.workingtime;
 
 import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.CachedSupplier;
+import org.synyx.urlaubsverwaltung.ConcurrentCachedSupplier;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -10,22 +13,33 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysSettings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarDays.Segment;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -36,6 +50,7 @@ import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.Workin
 import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.WORKDAY;
 
 @Service
+@EnableConfigurationProperties(WorkingTimeCalendarProperties.class)
 class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
@@ -43,11 +58,21 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
     private final WorkingTimeRepository workingTimeRepository;
     private final PublicHolidaysService publicHolidaysService;
     private final SettingsService settingsService;
-
-    WorkingTimeCalendarServiceImpl(WorkingTimeRepository workingTimeRepository, PublicHolidaysService publicHolidaysService, SettingsService settingsService) {
+    private final TenantContextHolder tenantContextHolder;
+    private final WorkingTimeCalendarProperties workingTimeCalendarProperties;
+
+    WorkingTimeCalendarServiceImpl(
+        WorkingTimeRepository workingTimeRepository,
+        PublicHolidaysService publicHolidaysService,
+        SettingsService settingsService,
+        TenantContextHolder tenantContextHolder,
+        WorkingTimeCalendarProperties workingTimeCalendarProperties
+    ) {
         this.workingTimeRepository = workingTimeRepository;
         this.publicHolidaysService = publicHolidaysService;
         this.settingsService = settingsService;
+        this.tenantContextHolder = tenantContextHolder;
+        this.workingTimeCalendarProperties = workingTimeCalendarProperties;
     }
 
     @Override
@@ -55,7 +80,7 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
 
         LOG.info("calculate next working day following to date={} of person={}", date, person.getId());
 
-        final CachedSupplier<FederalState> federalStateCachedSupplier = new CachedSupplier<>(this::getSystemDefaultFederalState);
+        final ConcurrentCachedSupplier<FederalState> federalStateCachedSupplier = new ConcurrentCachedSupplier<>(this::getSystemDefaultFederalState);
 
         final List<WorkingTime> workingTimes = workingTimeRepository.findByPersonIsInOrderByValidFromDesc(List.of(person))
             .stream()
@@ -113,50 +138,115 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
 
     @Override
     public Map<Person, WorkingTimeCalendar> getWorkingTimesByPersons(Collection<Person> persons, DateRange dateRange) {
-        final CachedSupplier<FederalState> federalStateCachedSupplier = new CachedSupplier<>(this::getSystemDefaultFederalState);
-        final CachedSupplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier = new CachedSupplier<>(this::getPublicHolidaysSettings);
+        final ConcurrentCachedSupplier<FederalState> federalStateCachedSupplier = new ConcurrentCachedSupplier<>(this::getSystemDefaultFederalState);
+        final ConcurrentCachedSupplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier = new ConcurrentCachedSupplier<>(this::getPublicHolidaysSettings);
 
         final Map<Person, List<WorkingTime>> workingTimesByPerson = workingTimeRepository.findByPersonIsInOrderByValidFromDesc(persons)
             .stream()
             .map(entity -> toWorkingTime(entity, federalStateCachedSupplier))
             .collect(groupingBy(WorkingTime::getPerson));
 
+        // persons sharing the same weekday pattern and federal state share the same calendar days
+        final Map<WorkingTimeCalendarTemplate.Key, WorkingTimeCalendarTemplate> templates = new ConcurrentHashMap<>();
+
+        final Function<Collection<Person>, Map<Person, WorkingTimeCalendar>> calendarsBuilder = personsToBuild -> personsToBuild.stream()
+            .collect(toMap(identity(), person -> getWorkingTimeCalendar(workingTimesByPerson.getOrDefault(person, List.of()), dateRange, templates, publicHolidaysSettingsSupplier)));
+
+        final int parallelism = workingTimeCalendarProperties.getParallelism();
+        if (parallelism <= 1 || persons.size() < workingTimeCalendarProperties.getParallelismThreshold()) {
+            return calendarsBuilder.apply(persons);
+        }
+
+        // resolve the settings in the calling thread and transaction, the workers must not access the database
+        publicHolidaysSettingsSupplier.get();
+
+        return getWorkingTimeCalendarsInParallel(List.copyOf(persons), parallelism, calendarsBuilder);
+    }
+
+    /**
+     * Builds the calendars of equal shares of the given persons on at most {@code parallelism} virtual threads. The
+     * tenant and locale of the calling thread are propagated to the worker threads.
+     */
+    private Map<Person, WorkingTimeCalendar> getWorkingTimeCalendarsInParallel(List<Person> persons, int parallelism,
+                                                                               Function<Collection<Person>, Map<Person, WorkingTimeCalendar>> calendarsBuilder) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+
+        final int shareSize = (persons.size() + parallelism - 1) / parallelism;
+
+        final List<Future<Map<Person, WorkingTimeCalendar>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int fromIndex = 0; fromIndex < persons.size(); fromIndex += shareSize) {
+                final List<Person> share = persons.subList(fromIndex, Math.min(fromIndex + shareSize, persons.size()));
+                futures.add(executor.submit(() -> runInContext(tenantId, localeContext, () -> calendarsBuilder.apply(share))));
+            }
+
+            final Map<Person, WorkingTimeCalendar> calendars = new HashMap<>(persons.size());
+            for (Future<Map<Person, WorkingTimeCalendar>> future : futures) {
+                calendars.putAll(future.get());
+            }
+            return calendars;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while building working time calendars", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("could not build working time calendars", e.getCause());
+        }
+    }
+
+    private <T> T runInContext(Optional<TenantId> tenantId, LocaleContext localeContext, Supplier<T> task) {
+        LocaleContextHolder.setLocaleContext(localeContext);
+        try {
+            return tenantId
+                .map(id -> tenantContextHolder.runInTenantIdContext(id, task))
+                .orElseGet(task);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    private WorkingTimeCalendar getWorkingTimeCalendar(List<WorkingTime> workingTimes, DateRange dateRange,
+                                                       Map<WorkingTimeCalendarTemplate.Key, WorkingTimeCalendarTemplate> templates,
+                                                       Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
+
         final LocalDate start = dateRange.startDate();
         final LocalDate end = dateRange.endDate();
 
-        return persons.stream().map(person -> {
-
-            final List<WorkingTime> workingTimesInDateRange = workingTimesByPerson.getOrDefault(person, List.of())
-                .stream()
-                .filter(workingTime -> !workingTime.getValidFrom().isAfter(end))
-                .toList();
+        final List<WorkingTime> workingTimesInDateRange = workingTimes.stream()
+            .filter(workingTime -> !workingTime.getValidFrom().isAfter(end))
+            .toList();
 
-            final Map<LocalDate, WorkingDayInformation> dayLengthByDate = new HashMap<>();
+        final LinkedList<Segment> segments = new LinkedList<>();
 
-            LocalDate nextEnd = end;
+        LocalDate nextEnd = end;
 
-            for (WorkingTime workingTime : workingTimesInDateRange) {
+        for (WorkingTime workingTime : workingTimesInDateRange) {
 
-                final DateRange workingTimeDateRange;
-                if (workingTime.getValidFrom().isBefore(start)) {
-                    workingTimeDateRange = new DateRange(start, nextEnd);
-                } else {
-                    workingTimeDateRange = new DateRange(workingTime.getValidFrom(), nextEnd);
-                }
+            final DateRange workingTimeDateRange;
+            if (workingTime.getValidFrom().isBefore(start)) {
+                workingTimeDateRange = new DateRange(start, nextEnd);
+            } else {
+                workingTimeDateRange = new DateRange(workingTime.getValidFrom(), nextEnd);
+            }
 
-                for (LocalDate date : workingTimeDateRange) {
-                    dayLengthByDate.put(date, getWorkDayLengthForWeekDay(date, workingTime, publicHolidaysSettingsSupplier));
-                }
+            final WorkingTimeCalendarTemplate template = templates.computeIfAbsent(WorkingTimeCalendarTemplate.Key.of(workingTime),
+                key -> WorkingTimeCalendarTemplate.of(dateRange, date -> getWorkDayLengthForWeekDay(date, workingTime, publicHolidaysSettingsSupplier)));
 
-                if (workingTimeDateRange.startDate().equals(start)) {
-                    break;
-                }
+            // working times are ordered by validFrom descending
+            segments.addFirst(new Segment(workingTimeDateRange, template));
 
-                nextEnd = workingTime.getValidFrom().minusDays(1);
+            if (workingTimeDateRange.startDate().equals(start)) {
+                break;
             }
 
-            return Map.entry(person, new WorkingTimeCalendar(dayLengthByDate));
-        }).collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+            nextEnd = workingTime.getValidFrom().minusDays(1);
+        }
+
+        return new WorkingTimeCalendar(new WorkingTimeCalendarDays(segments));
     }
 
     private WorkingDayInformation getWorkDayLengthForWeekDay(LocalDate date, WorkingTime workingTime, Supplier<PublicHolidaysSettings> publicHolidaysSettingsSupplier) {
@@ -0,0 +1,145 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.jspecify.annotations.Nullable;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Immutable day table of a {@link WorkingTimeCalendar} for one weekday pattern and federal state.
+ *
+ * <p>Most persons share the same weekday pattern and federal state. Instead of creating the same
+ * {@link WorkingDayInformation} for every person and every day, a template is computed once per distinct
+ * {@link Key} and shared by all calendars via {@link WorkingTimeCalendarDays}.</p>
+ *
+ * <p>Next to the days the template holds prefix sums of the working time in half day units (a full working day
+ * counts two, a morning or noon one) and of the half working days. So the working time of any date range within the
+ * template is a difference of two array entries instead of a loop over the days.</p>
+ */
+final class WorkingTimeCalendarTemplate {
+
+    private final DateRange dateRange;
+    private final long firstEpochDay;
+    private final WorkingDayInformation[] workingDays;
+    private final int[] halfDayUnitsPrefixSums;
+    private final int[] halfWorkingDaysPrefixSums;
+    private final int[] nextWorkingDayIndexes;
+
+    private WorkingTimeCalendarTemplate(DateRange dateRange, WorkingDayInformation[] workingDays) {
+        this.dateRange = dateRange;
+        this.firstEpochDay = dateRange.startDate().toEpochDay();
+        this.workingDays = workingDays;
+
+        final int days = workingDays.length;
+        this.halfDayUnitsPrefixSums = new int[days + 1];
+        this.halfWorkingDaysPrefixSums = new int[days + 1];
+        for (int index = 0; index < days; index++) {
+            final DayLength dayLength = workingDays[index].dayLength();
+            halfDayUnitsPrefixSums[index + 1] = halfDayUnitsPrefixSums[index] + halfDayUnits(dayLength);
+            halfWorkingDaysPrefixSums[index + 1] = halfWorkingDaysPrefixSums[index] + (dayLength.isHalfDay() ? 1 : 0);
+        }
+
+        // index of the next working day at or after an index, the number of days if there is none
+        this.nextWorkingDayIndexes = new int[days + 1];
+        nextWorkingDayIndexes[days] = days;
+        for (int index = days - 1; index >= 0; index--) {
+            nextWorkingDayIndexes[index] = workingDays[index].dayLength().isZero() ? nextWorkingDayIndexes[index + 1] : index;
+        }
+    }
+
+    /**
+     * Computes the template for every day of the given date range.
+     *
+     * @param dateRange          of the template
+     * @param workingDayResolver computes the working day information of a date
+     * @return the computed template
+     */
+    static WorkingTimeCalendarTemplate of(DateRange dateRange, Function<LocalDate, WorkingDayInformation> workingDayResolver) {
+
+        final int days = (int) (dateRange.endDate().toEpochDay() - dateRange.startDate().toEpochDay() + 1);
+        final WorkingDayInformation[] workingDays = new WorkingDayInformation[days];
+
+        int index = 0;
+        for (LocalDate date : dateRange) {
+            workingDays[index++] = workingDayResolver.apply(date);
+        }
+
+        return new WorkingTimeCalendarTemplate(dateRange, workingDays);
+    }
+
+    DateRange getDateRange() {
+        return dateRange;
+    }
+
+    /**
+     * @param date to get the working day information for, must be within the date range of this template
+     * @return the working day information of the given date
+     */
+    WorkingDayInformation get(LocalDate date) {
+        return workingDays[index(date)];
+    }
+
+    /**
+     * @param from inclusive, must be within the date range of this template
+     * @param to   inclusive, must be within the date range of this template and not before from
+     * @return the working time of the given dates in half day units, a full working day counts two
+     */
+    int halfDayUnits(LocalDate from, LocalDate to) {
+        return halfDayUnitsPrefixSums[index(to) + 1] - halfDayUnitsPrefixSums[index(from)];
+    }
+
+    /**
+     * @param from inclusive, must be within the date range of this template
+     * @param to   inclusive, must be within the date range of this template and not before from
+     * @return the number of days with a working time of a morning or a noon
+     */
+    int halfWorkingDays(LocalDate from, LocalDate to) {
+        return halfWorkingDaysPrefixSums[index(to) + 1] - halfWorkingDaysPrefixSums[index(from)];
+    }
+
+    /**
+     * @param from inclusive, must be within the date range of this template
+     * @param to   inclusive, must be within the date range of this template and not before from
+     * @return the first date with a working time in the given dates, or {@code null} if there is none
+     */
+    @Nullable
+    LocalDate firstWorkingDay(LocalDate from, LocalDate to) {
+        final int index = nextWorkingDayIndexes[index(from)];
+        return index <= index(to) ? LocalDate.ofEpochDay(firstEpochDay + index) : null;
+    }
+
+    private int index(LocalDate date) {
+        return (int) (date.toEpochDay() - firstEpochDay);
+    }
+
+    private static int halfDayUnits(DayLength dayLength) {
+        return switch (dayLength) {
+            case FULL -> 2;
+            case MORNING, NOON -> 1;
+            case ZERO -> 0;
+        };
+    }
+
+    /**
+     * Identifies a template, working times with equal keys result in identical calendar days.
+     *
+     * @param dayLengths   configured day lengths from monday to sunday
+     * @param federalState used to determine public holidays
+     */
+    record Key(List<DayLength> dayLengths, FederalState federalState) {
+
+        static Key of(WorkingTime workingTime) {
+            final List<DayLength> dayLengths = stream(DayOfWeek.values())
+                .map(workingTime::getDayLengthForWeekDay)
+                .toList();
+            return new Key(dayLengths, workingTime.getFederalState());
+        }
+    }
+}
@@ -69,6 +69,18 @@ public interface WorkingTimeService {
      */
     Map<DateRange, FederalState> getFederalStatesByPersonAndDateRange(Person person, DateRange dateRange);
 
+    /**
+     * Returns the map of date ranges and the associated federal state of every given person, like
+     * {@link #getFederalStatesByPersonAndDateRange(Person, DateRange)} but for the working times of all persons that
+     * have already been loaded with {@link #getByPersons(List)}, so the working times are not queried again. A person
+     * without working times in the date range is mapped to an empty map.
+     *
+     * @param workingTimesByPerson all working times of every person to get the federal states
+     * @param dateRange            the date range the federal states are resolved for
+     * @return map of date ranges and the associated federal state by person
+     */
+    Map<Person, Map<DateRange, FederalState>> getFederalStatesByPersonsAndDateRange(Map<Person, List<WorkingTime>> workingTimesByPerson, DateRange dateRange);
+
     /**
      * Returns the federal state of a person.
      * <p>
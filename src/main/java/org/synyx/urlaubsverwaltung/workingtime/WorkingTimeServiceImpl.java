@@ -150,7 +150,19 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
 
     @Override
     public Map<DateRange, FederalState> getFederalStatesByPersonAndDateRange(Person person, DateRange dateRange) {
-        return getWorkingTimesByPersonAndDateRange(person, dateRange).entrySet().stream()
+        return federalStatesByDateRange(getWorkingTimesByPersonAndDateRange(person, dateRange));
+    }
+
+    @Override
+    public Map<Person, Map<DateRange, FederalState>> getFederalStatesByPersonsAndDateRange(Map<Person, List<WorkingTime>> workingTimesByPerson, DateRange dateRange) {
+        final Map<Person, Map<DateRange, FederalState>> federalStatesByPerson = new HashMap<>();
+        workingTimesByPerson.forEach((person, workingTimesOfPerson) ->
+            federalStatesByPerson.put(person, federalStatesByDateRange(workingTimesByDateRange(workingTimesOfPerson, dateRange))));
+        return federalStatesByPerson;
+    }
+
+    private static Map<DateRange, FederalState> federalStatesByDateRange(Map<DateRange, WorkingTime> workingTimesByDateRange) {
+        return workingTimesByDateRange.entrySet().stream()
             .collect(toMap(Map.Entry::getKey, dateRangeWorkingTimeEntry -> dateRangeWorkingTimeEntry.getValue().getFederalState()));
     }
 
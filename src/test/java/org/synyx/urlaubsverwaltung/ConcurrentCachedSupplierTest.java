@@ -0,0 +1,79 @@
+package org.synyx.urlaubsverwaltung;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentCachedSupplierTest {
+
+    @Test
+    void ensureDelegateIsInvokedOnce() {
+        final AtomicInteger invocations = new AtomicInteger();
+        final Supplier<String> sut = new ConcurrentCachedSupplier<>(() -> "value-" + invocations.incrementAndGet());
+
+        assertThat(sut.get()).isEqualTo("value-1");
+        assertThat(sut.get()).isEqualTo("value-1");
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void ensureNullIsCached() {
+        final AtomicInteger invocations = new AtomicInteger();
+        final Supplier<String> sut = new ConcurrentCachedSupplier<>(() -> {
+            invocations.incrementAndGet();
+            return null;
+        });
+
+        assertThat(sut.get()).isNull();
+        assertThat(sut.get()).isNull();
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void ensureExceptionIsNotCached() {
+        final AtomicInteger invocations = new AtomicInteger();
+        final Supplier<String> sut = new ConcurrentCachedSupplier<>(() -> {
+            if (invocations.incrementAndGet() == 1) {
+                throw new IllegalStateException("first");
+            }
+            return "value";
+        });
+
+        assertThatThrownBy(sut::get).isInstanceOf(IllegalStateException.class);
+        assertThat(sut.get()).isEqualTo("value");
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void ensureDelegateIsInvokedOnceByConcurrentCallers() throws Exception {
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Supplier<Integer> sut = new ConcurrentCachedSupplier<>(invocations::incrementAndGet);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var futures = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    return sut.get();
+                }))
+                .toList();
+
+            start.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(1);
+            }
+        }
+
+        assertThat(invocations).hasValue(1);
+    }
+}
@@ -0,0 +1,43 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbsenceOverviewMonthsTest {
+
+    private final DateRange january = new DateRange(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 31));
+    private final DateRange february = new DateRange(LocalDate.of(2024, FEBRUARY, 1), LocalDate.of(2024, FEBRUARY, 29));
+
+    @Test
+    void ensureMonthsAreAssembledOnAccess() {
+
+        final List<DateRange> assembled = new ArrayList<>();
+        final AbsenceOverviewMonths sut = new AbsenceOverviewMonths(List.of(january, february), dateRange -> {
+            assembled.add(dateRange);
+            return new AbsenceOverviewMonthDto(dateRange.startDate().getMonth().name(), List.of(), List.of());
+        });
+
+        assertThat(sut).hasSize(2);
+        assertThat(assembled).isEmpty();
+
+        assertThat(sut).extracting(AbsenceOverviewMonthDto::getNameOfMonth).containsExactly("JANUARY", "FEBRUARY");
+        assertThat(assembled).containsExactly(january, february);
+    }
+
+    @Test
+    void ensureMonthsAreNotRetained() {
+
+        final AbsenceOverviewMonths sut = new AbsenceOverviewMonths(List.of(january),
+            dateRange -> new AbsenceOverviewMonthDto("JANUARY", List.of(), List.of()));
+
+        assertThat(sut.get(0)).isNotSameAs(sut.get(0));
+    }
+}
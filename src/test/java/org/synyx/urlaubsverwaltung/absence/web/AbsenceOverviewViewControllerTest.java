@@ -14,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.StaticMessageSource;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.ui.ExtendedModelMap;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
 import org.synyx.urlaubsverwaltung.absence.AbsenceService;
@@ -31,6 +32,7 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.search.PersonSearchUiFragmentSupplier;
 import org.synyx.urlaubsverwaltung.search.PersonSuggestionUrlStrategy;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
 
 import java.time.Clock;
@@ -39,14 +41,27 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Stream;
 
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
+import static java.time.Month.JULY;
+import static java.time.Month.MARCH;
+import static java.time.Month.MAY;
 import static java.util.Collections.emptyList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.hasItem;
@@ -58,6 +73,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -3968,11 +3984,11 @@ class AbsenceOverviewViewControllerTest {
 
         when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of());
 
-        when(workingTimeService.getFederalStatesByPersonAndDateRange(person, dateRange))
-            .thenReturn(Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG));
+        when(workingTimeService.getFederalStatesByPersonsAndDateRange(Map.of(), dateRange))
+            .thenReturn(Map.of(person, Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG)));
 
-        when(publicHolidaysService.getPublicHolidays(firstOfMonth, lastOfMonth, GERMANY_BADEN_WUERTTEMBERG))
-            .thenReturn(List.of(new PublicHoliday(december24, MORNING, "Heiligabend")));
+        when(publicHolidaysService.getPublicHolidays(Map.of(GERMANY_BADEN_WUERTTEMBERG, Set.of(dateRange))))
+            .thenReturn(Map.of(GERMANY_BADEN_WUERTTEMBERG, new TreeMap<>(Map.of(december24, new PublicHoliday(december24, MORNING, "Heiligabend")))));
 
         final AbsencePeriod.RecordMorningPublicHoliday christmasEveMorning = new AbsencePeriod.RecordMorningPublicHoliday(person);
         final AbsencePeriod.Record christmasEveRecord = new AbsencePeriod.Record(december24, person, christmasEveMorning, null);
@@ -4031,11 +4047,11 @@ class AbsenceOverviewViewControllerTest {
 
         when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of());
 
-        when(workingTimeService.getFederalStatesByPersonAndDateRange(person, dateRange))
-            .thenReturn(Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG));
+        when(workingTimeService.getFederalStatesByPersonsAndDateRange(Map.of(), dateRange))
+            .thenReturn(Map.of(person, Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG)));
 
-        when(publicHolidaysService.getPublicHolidays(firstOfMonth, lastOfMonth, GERMANY_BADEN_WUERTTEMBERG))
-            .thenReturn(List.of(new PublicHoliday(december24, NOON, "Heiligabend")));
+        when(publicHolidaysService.getPublicHolidays(Map.of(GERMANY_BADEN_WUERTTEMBERG, Set.of(dateRange))))
+            .thenReturn(Map.of(GERMANY_BADEN_WUERTTEMBERG, new TreeMap<>(Map.of(december24, new PublicHoliday(december24, NOON, "Heiligabend")))));
 
         final AbsencePeriod.RecordNoonPublicHoliday christmasEveNoon = new AbsencePeriod.RecordNoonPublicHoliday(person);
         final AbsencePeriod.Record christmasEveRecord = new AbsencePeriod.Record(december24, person, null, christmasEveNoon);
@@ -5123,11 +5139,15 @@ class AbsenceOverviewViewControllerTest {
         final LocalDate start = LocalDate.of(2022, JANUARY, 1);
         final LocalDate end = LocalDate.of(2022, JANUARY, 31);
         final DateRange dateRange = new DateRange(start, end);
-        when(workingTimeService.getFederalStatesByPersonAndDateRange(personWithCustomPublicHolidays, dateRange)).thenReturn(Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG));
-        when(workingTimeService.getFederalStatesByPersonAndDateRange(personDefaultPublicHolidays, dateRange)).thenReturn(Map.of(dateRange, GERMANY_RHEINLAND_PFALZ));
+        when(workingTimeService.getFederalStatesByPersonsAndDateRange(Map.of(), dateRange)).thenReturn(Map.of(
+            personWithCustomPublicHolidays, Map.of(dateRange, GERMANY_BADEN_WUERTTEMBERG),
+            personDefaultPublicHolidays, Map.of(dateRange, GERMANY_RHEINLAND_PFALZ)
+        ));
 
-        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_BADEN_WUERTTEMBERG)).thenReturn(List.of(new PublicHoliday(LocalDate.of(2022, JANUARY, 6), FULL, "")));
-        when(publicHolidaysService.getPublicHolidays(start, end, GERMANY_RHEINLAND_PFALZ)).thenReturn(emptyList());
+        when(publicHolidaysService.getPublicHolidays(Map.of(GERMANY_BADEN_WUERTTEMBERG, Set.of(dateRange), GERMANY_RHEINLAND_PFALZ, Set.of(dateRange)))).thenReturn(Map.of(
+            GERMANY_BADEN_WUERTTEMBERG, new TreeMap<>(Map.of(LocalDate.of(2022, JANUARY, 6), new PublicHoliday(LocalDate.of(2022, JANUARY, 6), FULL, ""))),
+            GERMANY_RHEINLAND_PFALZ, new TreeMap<>()
+        ));
 
         perform(get("/web/absences")
             .param("year", "2022")
@@ -5170,6 +5190,126 @@ class AbsenceOverviewViewControllerTest {
             ));
     }
 
+    @Test
+    void ensureAbsenceOverviewOfWholeYearForManyPersons() {
+
+        final Person signedInUser = new Person();
+        signedInUser.setId(0L);
+        signedInUser.setPermissions(List.of(USER, OFFICE));
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+        when(departmentService.getNumberOfDepartments()).thenReturn(0L);
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).id(42L).color(ORANGE).category(VacationCategory.HOLIDAY).build();
+        when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of(vacationType));
+
+        final DateRange year = new DateRange(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, DECEMBER, 31));
+        final List<LocalDate> publicHolidayDates = List.of(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, MAY, 1), LocalDate.of(2024, DECEMBER, 25));
+        when(publicHolidaysService.getPublicHolidays(Map.of(GERMANY_BADEN_WUERTTEMBERG, Set.of(year))))
+            .thenReturn(Map.of(GERMANY_BADEN_WUERTTEMBERG, publicHolidayDates.stream().collect(toMap(identity(), date -> new PublicHoliday(date, FULL, ""), (first, second) -> first, TreeMap::new))));
+
+        final LocalDate march12 = LocalDate.of(2024, MARCH, 12);
+        final LocalDate july4 = LocalDate.of(2024, JULY, 4);
+        final LocalDate december25 = LocalDate.of(2024, DECEMBER, 25);
+
+        final List<Person> persons = new ArrayList<>();
+        final List<WorkingTime> workingTimes = new ArrayList<>();
+        final List<AbsencePeriod> absences = new ArrayList<>();
+
+        for (int index = 1; index <= 1000; index++) {
+            final Person person = new Person();
+            person.setId((long) index);
+            person.setFirstName("firstName" + index);
+            person.setLastName("lastName" + index);
+            person.setEmail("person" + index + "@example.org");
+            persons.add(person);
+
+            // every third person works part time from monday to wednesday since july
+            final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2020, JANUARY, 1), GERMANY_BADEN_WUERTTEMBERG, false);
+            workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+            workingTimes.add(workingTime);
+            if (index % 3 == 0) {
+                final WorkingTime partTime = new WorkingTime(person, LocalDate.of(2024, JULY, 1), GERMANY_BADEN_WUERTTEMBERG, false);
+                partTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY), FULL);
+                workingTimes.add(partTime);
+            }
+
+            // odd persons are on vacation and even persons are sick on march 12, everyone waits for a vacation on the morning of july 4
+            final List<AbsencePeriod.Record> records = new ArrayList<>();
+            if (index % 2 == 1) {
+                records.add(new AbsencePeriod.Record(march12, person,
+                    new AbsencePeriod.RecordMorningVacation(person, 1L, AbsencePeriod.AbsenceStatus.ALLOWED, "HOLIDAY", 42L, false),
+                    new AbsencePeriod.RecordNoonVacation(person, 1L, AbsencePeriod.AbsenceStatus.ALLOWED, "HOLIDAY", 42L, false)));
+            } else {
+                records.add(new AbsencePeriod.Record(march12, person,
+                    new AbsencePeriod.RecordMorningSick(person, 3L, AbsencePeriod.AbsenceStatus.ACTIVE, "SICK_NOTE", 1L),
+                    new AbsencePeriod.RecordNoonSick(person, 3L, AbsencePeriod.AbsenceStatus.ACTIVE, "SICK_NOTE", 1L)));
+            }
+            records.add(new AbsencePeriod.Record(july4, person,
+                new AbsencePeriod.RecordMorningVacation(person, 2L, AbsencePeriod.AbsenceStatus.WAITING, "HOLIDAY", 42L, false)));
+            if (index == 1) {
+                records.add(new AbsencePeriod.Record(december25, person,
+                    new AbsencePeriod.RecordMorningSick(person, 4L, AbsencePeriod.AbsenceStatus.ACTIVE, "SICK_NOTE", 1L),
+                    new AbsencePeriod.RecordNoonSick(person, 4L, AbsencePeriod.AbsenceStatus.ACTIVE, "SICK_NOTE", 1L)));
+            }
+            absences.add(new AbsencePeriod(records));
+        }
+
+        when(personService.getActivePersons()).thenReturn(persons);
+        when(workingTimeService.getByPersons(persons)).thenReturn(workingTimes);
+        when(workingTimeService.getFederalStatesByPersonsAndDateRange(any(), eq(year)))
+            .thenReturn(persons.stream().collect(toMap(identity(), person -> Map.of(year, GERMANY_BADEN_WUERTTEMBERG))));
+        when(absenceService.getOpenAbsences(persons, year.startDate(), year.endDate())).thenReturn(absences);
+
+        final ExtendedModelMap model = new ExtendedModelMap();
+        sut.absenceOverview(2024, "", List.of(), model, Locale.GERMANY);
+
+        final AbsenceOverviewDto actual = (AbsenceOverviewDto) model.getAttribute("absenceOverview");
+        assertThat(actual.getMonths()).extracting(monthDto -> monthDto.getDays().size())
+            .containsExactly(31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31);
+        assertThat(actual.getMonths()).allSatisfy(monthDto -> assertThat(monthDto.getPersons()).hasSize(1000));
+
+        final AbsenceOverviewMonthDto january = actual.getMonths().get(0);
+        assertThat(january.getPersons().get(0).getDays().get(0))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().publicHolidayFull().build(), true));
+        assertThat(january.getPersons().get(999).getDays().get(0))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().publicHolidayFull().build(), true));
+
+        final AbsenceOverviewMonthDto march = actual.getMonths().get(2);
+        assertThat(march.getPersons().get(0).getId()).isEqualTo(1L);
+        assertThat(march.getPersons().get(0).getDays().get(11))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().colorFull(ORANGE).absenceFull().build(), true));
+        assertThat(march.getPersons().get(0).getDays().get(12))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().build(), true));
+        assertThat(march.getPersons().get(1).getId()).isEqualTo(2L);
+        assertThat(march.getPersons().get(1).getDays().get(11))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().activeSickNoteFull().build(), true));
+        assertThat(march.getPersons().get(998).getId()).isEqualTo(999L);
+        assertThat(march.getPersons().get(998).getDays().get(11))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().colorFull(ORANGE).absenceFull().build(), true));
+        assertThat(march.getPersons().get(999).getId()).isEqualTo(1000L);
+        assertThat(march.getPersons().get(999).getDays().get(11))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().activeSickNoteFull().build(), true));
+
+        final AbsenceOverviewMonthDto june = actual.getMonths().get(5);
+        assertThat(june.getPersons().get(2).getDays()).filteredOn(AbsenceOverviewPersonDayDto::isWorkday).hasSize(20);
+
+        final AbsenceOverviewMonthDto july = actual.getMonths().get(6);
+        assertThat(july.getPersons().get(0).getDays()).filteredOn(AbsenceOverviewPersonDayDto::isWorkday).hasSize(23);
+        assertThat(july.getPersons().get(2).getDays()).filteredOn(AbsenceOverviewPersonDayDto::isWorkday).hasSize(15);
+        assertThat(july.getPersons().get(0).getDays().get(3))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().colorMorning(ORANGE).waitingAbsenceMorning().build(), true));
+        assertThat(july.getPersons().get(2).getDays().get(3))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().colorMorning(ORANGE).waitingAbsenceMorning().build(), false));
+
+        final AbsenceOverviewMonthDto december = actual.getMonths().get(11);
+        assertThat(december.getPersons().get(0).getDays().get(24))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().activeSickNoteFull().publicHolidayFull().build(), true));
+        assertThat(december.getPersons().get(1).getDays().get(24))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().publicHolidayFull().build(), true));
+        assertThat(december.getPersons().get(2).getDays().get(24))
+            .usingRecursiveComparison().isEqualTo(new AbsenceOverviewPersonDayDto(AbsenceOverviewDayType.builder().publicHolidayFull().build(), true));
+    }
+
     private static Department department() {
         return department("superheroes");
     }
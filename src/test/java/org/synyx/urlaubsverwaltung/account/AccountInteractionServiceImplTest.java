@@ -17,7 +17,10 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -36,8 +39,8 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -275,10 +278,12 @@ class AccountInteractionServiceImplTest {
         assertThat(createdHolidaysAccount.getExpiryDateLocally()).isNull();
         assertThat(createdHolidaysAccount.isDoRemainingVacationDaysExpireLocally()).isNull();
         assertThat(createdHolidaysAccount.doRemainingVacationDaysExpire()).isFalse();
+        assertThat(createdHolidaysAccount.getActualVacationDays()).isEqualTo(referenceHolidaysAccount.getAnnualVacationDays());
+        assertThat(createdHolidaysAccount.getComment()).isEqualTo("comment");
 
         verify(accountService).save(createdHolidaysAccount);
         verify(vacationDaysService).getTotalLeftVacationDays(referenceHolidaysAccount);
-        verify(accountService, times(2)).getHolidaysAccount(nextYear, person);
+        verify(accountService).getHolidaysAccount(nextYear, person);
     }
 
     @Test
@@ -320,6 +325,72 @@ class AccountInteractionServiceImplTest {
         verify(accountService).getHolidaysAccount(nextYear, person);
     }
 
+    @Test
+    void ensureCreatesOrUpdatesNextYearsHolidaysAccountsOfSeveralReferenceAccounts() {
+
+        final Clock fixedClock = Clock.fixed(Instant.parse("2015-01-01T05:00:00.00Z"), ZoneId.of("UTC"));
+        doReturn(fixedClock.instant()).when(clock).instant();
+        doReturn(fixedClock.getZone()).when(clock).getZone();
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        final Person otherPerson = new Person("niceguy", "Nice", "Guy", "niceguy@example.org");
+        otherPerson.setId(2L);
+
+        final Account referenceAccount = new Account(person, of(2014, JANUARY, 1), of(2014, DECEMBER, 31), false,
+            null, BigDecimal.valueOf(30), ZERO, ZERO, "comment");
+        referenceAccount.setId(10L);
+        final Account otherReferenceAccount = new Account(otherPerson, of(2014, JANUARY, 1), of(2014, DECEMBER, 31), false,
+            of(2014, APRIL, 1), BigDecimal.valueOf(25), ZERO, ZERO, "other comment");
+        otherReferenceAccount.setId(20L);
+
+        final Account nextYearAccount = new Account(person, of(2015, JANUARY, 1), of(2015, DECEMBER, 31), true,
+            null, BigDecimal.valueOf(28), ZERO, BigDecimal.valueOf(5), "next year");
+        nextYearAccount.setId(11L);
+
+        when(accountService.getHolidaysAccount(2015, List.of(person, otherPerson))).thenReturn(List.of(nextYearAccount));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(BigDecimal.valueOf(3)).build();
+        final VacationDaysLeft otherVacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(referenceAccount, otherReferenceAccount), Year.of(2014))).thenReturn(Map.of(
+            referenceAccount, new HolidayAccountVacationDays(referenceAccount, vacationDaysLeft, vacationDaysLeft),
+            otherReferenceAccount, new HolidayAccountVacationDays(otherReferenceAccount, otherVacationDaysLeft, otherVacationDaysLeft)
+        ));
+        when(accountService.saveAll(any())).then(returnsFirstArg());
+
+        final List<Account> accounts = sut.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(referenceAccount, otherReferenceAccount));
+        assertThat(accounts).hasSize(2);
+
+        final Account updatedAccount = accounts.getFirst();
+        assertThat(updatedAccount).isSameAs(nextYearAccount);
+        assertThat(updatedAccount.getAnnualVacationDays()).isEqualTo(BigDecimal.valueOf(28));
+        assertThat(updatedAccount.getRemainingVacationDays()).isEqualTo(BigDecimal.valueOf(3));
+        assertThat(updatedAccount.getRemainingVacationDaysNotExpiring()).isEqualTo(BigDecimal.valueOf(3));
+
+        final Account createdAccount = accounts.get(1);
+        assertThat(createdAccount.getId()).isNull();
+        assertThat(createdAccount.getPerson()).isEqualTo(otherPerson);
+        assertThat(createdAccount.getValidFrom()).isEqualTo(of(2015, JANUARY, 1));
+        assertThat(createdAccount.getValidTo()).isEqualTo(of(2015, DECEMBER, 31));
+        assertThat(createdAccount.isDoRemainingVacationDaysExpireLocally()).isFalse();
+        assertThat(createdAccount.getExpiryDateLocally()).isEqualTo(of(2015, APRIL, 1));
+        assertThat(createdAccount.getAnnualVacationDays()).isEqualTo(BigDecimal.valueOf(25));
+        assertThat(createdAccount.getActualVacationDays()).isEqualTo(BigDecimal.valueOf(25));
+        assertThat(createdAccount.getRemainingVacationDays()).isEqualTo(TEN);
+        assertThat(createdAccount.getRemainingVacationDaysNotExpiring()).isEqualTo(ZERO);
+        assertThat(createdAccount.getComment()).isEqualTo("other comment");
+
+        verify(accountService).saveAll(List.of(nextYearAccount, createdAccount));
+        verify(accountService, never()).save(any());
+        verify(vacationDaysService, never()).getTotalLeftVacationDays(any());
+    }
+
+    @Test
+    void ensureCreatesOrUpdatesNoNextYearsHolidaysAccountsWithoutReferenceAccounts() {
+        assertThat(sut.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of())).isEmpty();
+        verifyNoInteractions(accountService, vacationDaysService);
+    }
+
     @Test
     void createHolidaysAccount() {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
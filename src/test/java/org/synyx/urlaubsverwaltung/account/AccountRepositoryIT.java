@@ -78,4 +78,31 @@ class AccountRepositoryIT extends SingleTenantTestContainersBase {
         assertThat(sut.findAccountByYearAndPersons(2014, List.of(savedPerson, savedOtherPerson)))
             .containsExactly(savedAccountToFind, savedOtherAccountToFind);
     }
+
+    @Test
+    void ensureFindAccountByYearsAndPersons() {
+
+        final Person savedPerson = personService.create("muster", "Marlene", "Muster", "muster@example.org");
+
+        final AccountEntity account2014 = new AccountEntity(savedPerson, LocalDate.of(2014, JANUARY, 1), LocalDate.of(2014, DECEMBER, 31),
+            null, LocalDate.of(2014, APRIL, 1), TEN, TEN, TEN, "comment");
+        final AccountEntity savedAccount2014 = sut.save(account2014);
+
+        final AccountEntity account2015 = new AccountEntity(savedPerson, LocalDate.of(2015, JANUARY, 1), LocalDate.of(2015, DECEMBER, 31),
+            null, LocalDate.of(2015, APRIL, 1), TEN, TEN, TEN, "comment");
+        final AccountEntity savedAccount2015 = sut.save(account2015);
+
+        /* Do not find these accounts */
+        final AccountEntity account2016 = new AccountEntity(savedPerson, LocalDate.of(2016, JANUARY, 1), LocalDate.of(2016, DECEMBER, 31),
+            null, LocalDate.of(2016, APRIL, 1), TEN, TEN, TEN, "comment");
+        sut.save(account2016);
+
+        final Person savedPersonNotInSearch = personService.create("personNotInSearch", "person", "notInSearch", "notInSearch@example.org");
+        final AccountEntity accountWrongPerson = new AccountEntity(savedPersonNotInSearch, LocalDate.of(2014, JANUARY, 1), LocalDate.of(2014, DECEMBER, 31),
+            null, LocalDate.of(2014, APRIL, 1), TEN, TEN, TEN, "comment");
+        sut.save(accountWrongPerson);
+
+        assertThat(sut.findAccountByYearsAndPersons(List.of(2014, 2015), List.of(savedPerson)))
+            .containsExactlyInAnyOrder(savedAccount2014, savedAccount2015);
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
@@ -23,8 +24,10 @@ import static java.time.Month.JANUARY;
 import static java.time.Month.JUNE;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,10 +40,12 @@ class AccountServiceImplTest {
     private AccountRepository accountRepository;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        sut = new AccountServiceImpl(accountRepository, settingsService);
+        sut = new AccountServiceImpl(accountRepository, settingsService, applicationEventPublisher);
     }
 
     @Test
@@ -333,6 +338,10 @@ class AccountServiceImplTest {
         assertThat(actual.getRemainingVacationDays()).isEqualTo(BigDecimal.valueOf(10));
         assertThat(actual.getRemainingVacationDaysNotExpiring()).isEqualTo(BigDecimal.valueOf(5));
         assertThat(actual.getComment()).isEqualTo("awesome comment");
+
+        final ArgumentCaptor<AccountSavedEvent> eventCaptor = ArgumentCaptor.forClass(AccountSavedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().account()).isSameAs(actual);
     }
 
     @Test
@@ -362,4 +371,104 @@ class AccountServiceImplTest {
         verify(accountRepository).save(captor.capture());
         assertThat(captor.getValue()).satisfies(entity -> assertThat(entity.getExpiryDate()).isNull());
     }
+
+    @Test
+    void ensureReturnsHolidaysAccountsOfSeveralYearsWithOneQuery() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        final AccountEntity accountEntity2022 = new AccountEntity(person, LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31),
+            null, null, BigDecimal.valueOf(30), BigDecimal.valueOf(3), ZERO, "comment");
+        final AccountEntity accountEntity2023 = new AccountEntity(person, LocalDate.of(2023, JANUARY, 1), LocalDate.of(2023, DECEMBER, 31),
+            null, null, BigDecimal.valueOf(30), BigDecimal.valueOf(3), ZERO, "comment");
+        when(accountRepository.findAccountByYearsAndPersons(List.of(2022, 2023), List.of(person))).thenReturn(List.of(accountEntity2022, accountEntity2023));
+
+        final List<Account> actual = sut.getHolidaysAccount(List.of(2022, 2023), List.of(person));
+
+        assertThat(actual)
+            .extracting(Account::getYear, Account::getExpiryDate)
+            .containsExactly(
+                tuple(2022, LocalDate.of(2022, APRIL, 1)),
+                tuple(2023, LocalDate.of(2023, APRIL, 1))
+            );
+    }
+
+    @Test
+    void ensureReturnsHolidaysAccountsOfSeveralPersonsWithOneQuery() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        final Person otherPerson = new Person("other", "Other", "Otto", "other@example.org");
+        otherPerson.setId(2L);
+
+        final AccountEntity accountEntity2022 = new AccountEntity(person, LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31),
+            null, null, BigDecimal.valueOf(30), BigDecimal.valueOf(3), ZERO, "comment");
+        final AccountEntity otherAccountEntity2023 = new AccountEntity(otherPerson, LocalDate.of(2023, JANUARY, 1), LocalDate.of(2023, DECEMBER, 31),
+            null, null, BigDecimal.valueOf(30), BigDecimal.valueOf(3), ZERO, "comment");
+        when(accountRepository.findAllByPersons(List.of(person, otherPerson))).thenReturn(List.of(accountEntity2022, otherAccountEntity2023));
+
+        final List<Account> actual = sut.getHolidaysAccountsByPersons(List.of(person, otherPerson));
+
+        assertThat(actual)
+            .extracting(Account::getPerson, Account::getYear, Account::getExpiryDate)
+            .containsExactly(
+                tuple(person, 2022, LocalDate.of(2022, APRIL, 1)),
+                tuple(otherPerson, 2023, LocalDate.of(2023, APRIL, 1))
+            );
+    }
+
+    @Test
+    void ensureSaveAll() {
+
+        final Account account = new Account();
+        account.setId(1L);
+        account.setValidFrom(LocalDate.of(2022, JANUARY, 1));
+        account.setValidTo(LocalDate.of(2022, DECEMBER, 31));
+        account.setAnnualVacationDays(BigDecimal.valueOf(30));
+        account.setActualVacationDays(BigDecimal.valueOf(20));
+        account.setRemainingVacationDays(BigDecimal.valueOf(10));
+        account.setRemainingVacationDaysNotExpiring(BigDecimal.valueOf(5));
+        account.setExpiryNotificationSentDate(LocalDate.of(2022, JUNE, 1));
+
+        final Account newAccount = new Account();
+        newAccount.setValidFrom(LocalDate.of(2023, JANUARY, 1));
+        newAccount.setValidTo(LocalDate.of(2023, DECEMBER, 31));
+        newAccount.setAnnualVacationDays(BigDecimal.valueOf(30));
+        newAccount.setActualVacationDays(BigDecimal.valueOf(30));
+        newAccount.setRemainingVacationDays(ZERO);
+        newAccount.setRemainingVacationDaysNotExpiring(ZERO);
+
+        when(accountRepository.saveAll(anyList())).thenAnswer(returnsFirstArg());
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final List<Account> actual = sut.saveAll(List.of(account, newAccount));
+
+        verify(accountRepository).findAllById(List.of(1L));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<AccountEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(AccountEntity::getId, AccountEntity::getYear, AccountEntity::getExpiryNotificationSentDate)
+            .containsExactly(
+                tuple(1L, 2022, LocalDate.of(2022, JUNE, 1)),
+                tuple(null, 2023, null)
+            );
+
+        assertThat(actual)
+            .extracting(Account::getYear, Account::getExpiryDate)
+            .containsExactly(
+                tuple(2022, LocalDate.of(2022, APRIL, 1)),
+                tuple(2023, LocalDate.of(2023, APRIL, 1))
+            );
+
+        final ArgumentCaptor<AccountsSavedEvent> eventCaptor = ArgumentCaptor.forClass(AccountsSavedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().accounts()).containsExactlyElementsOf(actual);
+    }
 }
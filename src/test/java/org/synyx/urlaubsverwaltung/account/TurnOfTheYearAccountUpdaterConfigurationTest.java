@@ -10,6 +10,7 @@ import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.synyx.urlaubsverwaltung.companyvacation.CompanyVacationService;
 import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,7 +33,7 @@ class TurnOfTheYearAccountUpdaterConfigurationTest {
     @Test
     void updatesAccountsWithGivenCronJobInterval() {
 
-        when(scheduleLocking.withLock(eq("UpdateAccountsForNextPeriod"), any(Runnable.class))).thenAnswer(returnsSecondArg());
+        when(scheduleLocking.withLock(eq("UpdateAccountsForNextPeriod"), any(Runnable.class), eq(Duration.ofMinutes(15)), any(Duration.class))).thenAnswer(returnsSecondArg());
 
         final AccountProperties properties = new AccountProperties();
         final TurnOfTheYearAccountUpdaterService service = mock(TurnOfTheYearAccountUpdaterService.class);
@@ -43,7 +44,7 @@ class TurnOfTheYearAccountUpdaterConfigurationTest {
         sut.configureTasks(taskRegistrar);
 
         final List<CronTask> cronTaskList = taskRegistrar.getCronTaskList();
-        assertThat(cronTaskList).hasSize(1);
+        assertThat(cronTaskList).hasSize(2);
 
         final CronTask cronTask = cronTaskList.getFirst();
         assertThat(cronTask.getExpression()).isEqualTo("0 0 5 1 1 *");
@@ -53,5 +54,11 @@ class TurnOfTheYearAccountUpdaterConfigurationTest {
         cronTask.getRunnable().run();
         verify(service).updateAccountsForNextPeriod();
         verify(companyVacationService).publishCompanyEvents();
+
+        final CronTask resumeCronTask = cronTaskList.get(1);
+        assertThat(resumeCronTask.getExpression()).isEqualTo("0 */15 * * * *");
+
+        resumeCronTask.getRunnable().run();
+        verify(service).resumeUpdateAccountsForNextPeriod();
     }
 }
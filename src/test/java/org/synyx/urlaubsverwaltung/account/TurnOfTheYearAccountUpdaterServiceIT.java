@@ -24,7 +24,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
-import java.util.Optional;
 
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.TWO;
@@ -43,6 +42,8 @@ class TurnOfTheYearAccountUpdaterServiceIT extends SingleTenantTestContainersBas
 
     @Autowired
     private TurnOfTheYearAccountUpdaterService sut;
+    @Autowired
+    private TurnOfTheYearAccountUpdateRepository turnOfTheYearAccountUpdateRepository;
 
     @MockitoBean
     private PersonService personService;
@@ -63,22 +64,20 @@ class TurnOfTheYearAccountUpdaterServiceIT extends SingleTenantTestContainersBas
     void ensureToSendSuccessfullyUpdatedAccountsNotification() throws MessagingException, IOException {
 
         final Person person = new Person("franka", "Potente", "Franka", "franka.potente@example.org");
+        person.setId(1L);
         final Person person2 = new Person("michel", "Schneider", "Michel", "michel.schneider@example.org");
+        person2.setId(2L);
         when(personService.getActivePersons()).thenReturn(List.of(person, person2));
 
         final Account account1 = createHolidaysAccount(person, 2021);
-        when(accountService.getHolidaysAccount(2021, person)).thenReturn(Optional.of(account1));
-
         final Account account2 = createHolidaysAccount(person2, 2021);
-        when(accountService.getHolidaysAccount(2021, person2)).thenReturn(Optional.of(account2));
+        when(accountService.getHolidaysAccount(2021, List.of(person, person2))).thenReturn(List.of(account1, account2));
 
         final Account newAccount1 = createHolidaysAccount(person, 2022);
         newAccount1.setRemainingVacationDays(TEN);
-        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account1)).thenReturn(newAccount1);
-
         final Account newAccount2 = createHolidaysAccount(person2, 2022);
         newAccount2.setRemainingVacationDays(TWO);
-        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(account2)).thenReturn(newAccount2);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1, account2))).thenReturn(List.of(newAccount1, newAccount2));
 
         final Person office = new Person("office", "Office", "Senorita", "office@example.org");
         when(personService.getActivePersonsByRole(OFFICE)).thenReturn(List.of(office));
@@ -103,6 +102,12 @@ class TurnOfTheYearAccountUpdaterServiceIT extends SingleTenantTestContainersBas
             Michel Schneider: 2
 
             Gesamtzahl an Resturlaubstagen aus dem Vorjahr: 12""");
+
+        assertThat(turnOfTheYearAccountUpdateRepository.findByAccountYear(2022))
+            .hasValueSatisfying(checkpoint -> {
+                assertThat(checkpoint.getLastPersonId()).isEqualTo(2L);
+                assertThat(checkpoint.getCompletedAt()).isEqualTo(Instant.parse("2022-01-01T00:00:00.00Z"));
+            });
     }
 
     private String readPlainContent(Message message) throws MessagingException, IOException {
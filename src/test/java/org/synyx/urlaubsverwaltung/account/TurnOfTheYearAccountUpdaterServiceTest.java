@@ -13,18 +13,22 @@ import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
-import java.time.Year;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
@@ -32,8 +36,8 @@ import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 @ExtendWith(MockitoExtension.class)
 class TurnOfTheYearAccountUpdaterServiceTest {
 
-    private static final Clock clock = Clock.systemUTC();
-    private static final int CURRENT_YEAR = Year.now(clock.getZone()).getValue();
+    private static final Clock clock = Clock.fixed(Instant.parse("2022-01-01T05:00:00.00Z"), ZoneId.of("UTC"));
+    private static final int CURRENT_YEAR = 2022;
     private static final int LAST_YEAR = CURRENT_YEAR - 1;
 
     private TurnOfTheYearAccountUpdaterService sut;
@@ -48,55 +52,53 @@ class TurnOfTheYearAccountUpdaterServiceTest {
     private MailService mailService;
     @Mock
     private VacationDaysReminderService vacationDaysReminderService;
+    @Mock
+    private TurnOfTheYearAccountUpdateRepository turnOfTheYearAccountUpdateRepository;
+
+    private AccountProperties accountProperties;
+    private List<Long> savedLastPersonIds;
 
     @BeforeEach
     void setUp() {
-        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService, vacationDaysReminderService, mailService, clock);
+        accountProperties = new AccountProperties();
+        accountProperties.getUpdate().setChunkSize(2);
+        accountProperties.getUpdate().setWorkers(2);
+        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService,
+            vacationDaysReminderService, mailService, turnOfTheYearAccountUpdateRepository, accountProperties, clock);
+        savedLastPersonIds = new ArrayList<>();
     }
 
     @Test
-    void ensureUpdatesHolidaysAccountsOfAllActivePersons() {
+    void ensureUpdatesHolidaysAccountsOfAllActivePersonsInChunks() {
 
-        final Person user1 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person user2 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person user3 = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person user1 = person(1);
+        final Person user2 = person(2);
+        final Person user3 = person(3);
+        final Person user4 = person(4);
 
         final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
-        account1.setId(1L);
         final Account account2 = createHolidaysAccount(user2, LAST_YEAR);
-        account2.setId(2L);
         final Account account3 = createHolidaysAccount(user3, LAST_YEAR);
-        account3.setId(3L);
+        final Account account4 = createHolidaysAccount(user4, LAST_YEAR);
+        account4.setAnnualVacationDays(null);
 
-        when(personService.getActivePersons()).thenReturn(asList(user1, user2, user3));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user1)).thenReturn(Optional.of(account1));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user2)).thenReturn(Optional.of(account2));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user3)).thenReturn(Optional.of(account3));
+        final List<Person> activePersons = List.of(user3, user1, user4, user2);
+        when(personService.getActivePersons()).thenReturn(activePersons);
+        when(accountService.getHolidaysAccount(LAST_YEAR, activePersons)).thenReturn(List.of(account3, account1, account4, account2));
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        recordSavedCheckpoints();
 
-        final Account newAccount = mock(Account.class);
-        when(newAccount.getRemainingVacationDays()).thenReturn(BigDecimal.TEN);
-        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class)))
-            .thenReturn(newAccount);
+        final Account newAccount1 = nextYearsAccount(user1, 10);
+        final Account newAccount2 = nextYearsAccount(user2, 5);
+        final Account newAccount3 = nextYearsAccount(user3, 1);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1, account2))).thenReturn(List.of(newAccount1, newAccount2));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account3))).thenReturn(List.of(newAccount3));
 
-        final Person office = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person office = new Person("office", "Office", "Marlene", "office@example.org");
         when(personService.getActivePersonsByRole(OFFICE)).thenReturn(List.of(office));
 
         sut.updateAccountsForNextPeriod();
 
-        verify(personService).getActivePersons();
-
-        verify(accountService, times(3))
-            .getHolidaysAccount(anyInt(), any(Person.class));
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user1);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user2);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user3);
-
-        verify(accountInteractionService, times(3))
-            .autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class));
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account1);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account2);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account3);
-
         verify(vacationDaysReminderService).remindForRemainingVacationDays();
 
         final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
@@ -105,6 +107,186 @@ class TurnOfTheYearAccountUpdaterServiceTest {
         assertThat(mail.getMailAddressRecipients()).hasValue(List.of(office));
         assertThat(mail.getSubjectMessageKey()).isEqualTo("subject.account.updatedRemainingDays");
         assertThat(mail.getTemplateName()).isEqualTo("account_cron_updated_accounts_turn_of_the_year");
-        assertThat(mail.getTemplateModel(GERMAN)).containsEntry("totalRemainingVacationDays", BigDecimal.valueOf(30));
+        assertThat(mail.getTemplateModel(GERMAN))
+            .containsEntry("accounts", List.of(newAccount3, newAccount1, newAccount2))
+            .containsEntry("totalRemainingVacationDays", BigDecimal.valueOf(16));
+
+        final ArgumentCaptor<TurnOfTheYearAccountUpdateEntity> checkpoint = ArgumentCaptor.forClass(TurnOfTheYearAccountUpdateEntity.class);
+        verify(turnOfTheYearAccountUpdateRepository, times(2)).save(checkpoint.capture());
+        assertThat(savedLastPersonIds).containsExactly(3L, 3L);
+        assertThat(checkpoint.getValue().getAccountYear()).isEqualTo(CURRENT_YEAR);
+        assertThat(checkpoint.getValue().getCompletedAt()).isEqualTo(Instant.now(clock));
+    }
+
+    @Test
+    void ensureResumesUpdateAfterLastProcessedPerson() {
+
+        final Person user1 = person(1);
+        final Person user2 = person(2);
+        final Person user3 = person(3);
+
+        final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
+        final Account account2 = createHolidaysAccount(user2, LAST_YEAR);
+        final Account account3 = createHolidaysAccount(user3, LAST_YEAR);
+
+        final List<Person> activePersons = List.of(user1, user2, user3);
+        when(personService.getActivePersons()).thenReturn(activePersons);
+        when(accountService.getHolidaysAccount(LAST_YEAR, activePersons)).thenReturn(List.of(account1, account2, account3));
+
+        final TurnOfTheYearAccountUpdateEntity checkpoint = checkpoint(2L);
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.of(checkpoint));
+        recordSavedCheckpoints();
+
+        final Account newAccount1 = nextYearsAccount(user1, 10);
+        final Account newAccount2 = nextYearsAccount(user2, 5);
+        final Account newAccount3 = nextYearsAccount(user3, 1);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account3))).thenReturn(List.of(newAccount3));
+        when(accountService.getHolidaysAccount(CURRENT_YEAR, List.of(user1, user2))).thenReturn(List.of(newAccount1, newAccount2));
+
+        sut.resumeUpdateAccountsForNextPeriod();
+
+        verify(accountInteractionService, never()).autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1, account2));
+        verify(vacationDaysReminderService).remindForRemainingVacationDays();
+
+        final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
+        verify(mailService).send(argument.capture());
+        assertThat(argument.getValue().getTemplateModel(GERMAN))
+            .containsEntry("accounts", List.of(newAccount1, newAccount2, newAccount3))
+            .containsEntry("totalRemainingVacationDays", BigDecimal.valueOf(16));
+
+        assertThat(savedLastPersonIds).containsExactly(3L, 3L);
+        assertThat(checkpoint.getCompletedAt()).isEqualTo(Instant.now(clock));
+    }
+
+    @Test
+    void ensureStopsAfterHalfOfTheLockDurationAndKeepsCheckpoint() {
+
+        accountProperties.getUpdate().setChunkSize(1);
+        accountProperties.getUpdate().setWorkers(1);
+        accountProperties.getUpdate().setLockAtMostFor(Duration.ZERO);
+
+        final Person user1 = person(1);
+        final Person user2 = person(2);
+
+        final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
+        final Account account2 = createHolidaysAccount(user2, LAST_YEAR);
+
+        final List<Person> activePersons = List.of(user1, user2);
+        when(personService.getActivePersons()).thenReturn(activePersons);
+        when(accountService.getHolidaysAccount(LAST_YEAR, activePersons)).thenReturn(List.of(account1, account2));
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        recordSavedCheckpoints();
+
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1))).thenReturn(List.of(nextYearsAccount(user1, 10)));
+
+        sut.updateAccountsForNextPeriod();
+
+        verify(accountInteractionService, never()).autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account2));
+        verifyNoInteractions(mailService, vacationDaysReminderService);
+
+        final ArgumentCaptor<TurnOfTheYearAccountUpdateEntity> checkpoint = ArgumentCaptor.forClass(TurnOfTheYearAccountUpdateEntity.class);
+        verify(turnOfTheYearAccountUpdateRepository).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getLastPersonId()).isEqualTo(1L);
+        assertThat(checkpoint.getValue().getCompletedAt()).isNull();
+    }
+
+    @Test
+    void ensureKeepsCheckpointIfAChunkFails() {
+
+        final Person user1 = person(1);
+        final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
+
+        final List<Person> activePersons = List.of(user1);
+        when(personService.getActivePersons()).thenReturn(activePersons);
+        when(accountService.getHolidaysAccount(LAST_YEAR, activePersons)).thenReturn(List.of(account1));
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+
+        final IllegalArgumentException failure = new IllegalArgumentException("failure");
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1))).thenThrow(failure);
+
+        assertThatThrownBy(() -> sut.updateAccountsForNextPeriod())
+            .isInstanceOf(IllegalStateException.class)
+            .hasCause(failure);
+
+        verify(turnOfTheYearAccountUpdateRepository, never()).save(any());
+        verifyNoInteractions(mailService, vacationDaysReminderService);
+    }
+
+    @Test
+    void ensureCompletesUpdateBeforeNotifying() {
+
+        final Person user1 = person(1);
+        final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
+
+        final List<Person> activePersons = List.of(user1);
+        when(personService.getActivePersons()).thenReturn(activePersons);
+        when(accountService.getHolidaysAccount(LAST_YEAR, activePersons)).thenReturn(List.of(account1));
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1))).thenReturn(List.of(nextYearsAccount(user1, 1)));
+
+        final List<Instant> savedCompletedAts = new ArrayList<>();
+        when(turnOfTheYearAccountUpdateRepository.save(any())).thenAnswer(invocation -> {
+            final TurnOfTheYearAccountUpdateEntity checkpoint = invocation.getArgument(0);
+            savedCompletedAts.add(checkpoint.getCompletedAt());
+            return checkpoint;
+        });
+
+        final IllegalStateException failure = new IllegalStateException("mail server down");
+        doThrow(failure).when(mailService).send(any());
+
+        assertThatThrownBy(() -> sut.updateAccountsForNextPeriod()).isSameAs(failure);
+
+        assertThat(savedCompletedAts).containsExactly(null, Instant.now(clock));
+    }
+
+    @Test
+    void ensureDoesNothingIfUpdateOfTheYearHasBeenCompleted() {
+
+        final TurnOfTheYearAccountUpdateEntity checkpoint = checkpoint(3L);
+        checkpoint.setCompletedAt(Instant.now(clock));
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.of(checkpoint));
+
+        sut.updateAccountsForNextPeriod();
+        sut.resumeUpdateAccountsForNextPeriod();
+
+        verifyNoInteractions(personService, accountService, accountInteractionService, mailService, vacationDaysReminderService);
+        verify(turnOfTheYearAccountUpdateRepository, never()).save(any());
+    }
+
+    @Test
+    void ensureResumesNothingIfUpdateOfTheYearHasNotBeenStarted() {
+
+        when(turnOfTheYearAccountUpdateRepository.findByAccountYear(CURRENT_YEAR)).thenReturn(Optional.empty());
+
+        sut.resumeUpdateAccountsForNextPeriod();
+
+        verifyNoInteractions(personService, accountService, accountInteractionService, mailService, vacationDaysReminderService);
+    }
+
+    private void recordSavedCheckpoints() {
+        when(turnOfTheYearAccountUpdateRepository.save(any())).thenAnswer(invocation -> {
+            final TurnOfTheYearAccountUpdateEntity checkpoint = invocation.getArgument(0);
+            savedLastPersonIds.add(checkpoint.getLastPersonId());
+            return checkpoint;
+        });
+    }
+
+    private static TurnOfTheYearAccountUpdateEntity checkpoint(Long lastPersonId) {
+        final TurnOfTheYearAccountUpdateEntity checkpoint = new TurnOfTheYearAccountUpdateEntity();
+        checkpoint.setAccountYear(CURRENT_YEAR);
+        checkpoint.setLastPersonId(lastPersonId);
+        return checkpoint;
+    }
+
+    private static Account nextYearsAccount(Person person, int remainingVacationDays) {
+        final Account account = createHolidaysAccount(person, CURRENT_YEAR);
+        account.setRemainingVacationDays(BigDecimal.valueOf(remainingVacationDays));
+        return account;
+    }
+
+    private static Person person(long id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster" + id + "@example.org");
+        person.setId(id);
+        return person;
     }
 }
@@ -0,0 +1,69 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationType;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
+import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.SPECIALLEAVE;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BERLIN;
+
+@ExtendWith(MockitoExtension.class)
+class VacationBalanceFingerprintTest {
+
+    private VacationBalanceFingerprint sut;
+
+    @Mock
+    private VacationTypeService vacationTypeService;
+    @Mock
+    private SettingsService settingsService;
+    @Mock
+    private MessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        sut = new VacationBalanceFingerprint(vacationTypeService, settingsService);
+    }
+
+    @Test
+    void ensureFingerprintContainsHolidayVacationTypesAndPublicHolidaySettings() {
+        when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of(
+            createVacationType(5L, HOLIDAY, messageSource),
+            createVacationType(2L, SPECIALLEAVE, messageSource),
+            createVacationType(1L, HOLIDAY, messageSource)
+        ));
+
+        final Settings settings = new Settings();
+        settings.getPublicHolidaysSettings().setFederalState(GERMANY_BERLIN);
+        settings.getPublicHolidaysSettings().setWorkingDurationForChristmasEve(FULL);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        assertThat(sut.current()).isEqualTo("holiday=1,5;federalState=GERMANY_BERLIN;christmasEve=FULL;newYearsEve=MORNING");
+    }
+
+    @Test
+    void ensureFingerprintChangesWithCategoryOfVacationType() {
+        final Settings settings = new Settings();
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of(createVacationType(1L, HOLIDAY, messageSource)));
+        final String before = sut.current();
+
+        when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of(createVacationType(1L, SPECIALLEAVE, messageSource)));
+        final String after = sut.current();
+
+        assertThat(after).isNotEqualTo(before);
+    }
+}
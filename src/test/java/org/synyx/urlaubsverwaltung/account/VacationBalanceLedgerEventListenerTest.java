@@ -0,0 +1,133 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeConfiguredEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VacationBalanceLedgerEventListenerTest {
+
+    private VacationBalanceLedgerEventListener sut;
+
+    @Mock
+    private VacationBalanceLedgerService vacationBalanceLedgerService;
+    @Mock
+    private PersonService personService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new VacationBalanceLedgerEventListener(vacationBalanceLedgerService, personService);
+    }
+
+    @Test
+    void ensureUpdatesEveryYearOfTheApplication() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStartDate(LocalDate.of(2022, DECEMBER, 28));
+        application.setEndDate(LocalDate.of(2023, JANUARY, 3));
+
+        sut.on(ApplicationAllowedEvent.of(application));
+
+        verify(vacationBalanceLedgerService).update(person, List.of(2022, 2023));
+    }
+
+    @Test
+    void ensureUpdatesAllYearsOfThePersonOnApplicationUpdate() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStartDate(LocalDate.of(2022, JUNE, 1));
+        application.setEndDate(LocalDate.of(2022, JUNE, 1));
+
+        sut.on(ApplicationUpdatedEvent.of(application));
+
+        verify(vacationBalanceLedgerService).updateAll(person);
+    }
+
+    @Test
+    void ensureUpdatesYearsFromValidFromOfConfiguredWorkingTime() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(personService.getPersonByUsername("muster")).thenReturn(Optional.of(person));
+
+        sut.on(WorkingTimeConfiguredEvent.of("muster", LocalDate.of(2022, JUNE, 1), List.of(1, 2, 3, 4, 5), "GERMANY_BADEN_WUERTTEMBERG"));
+
+        verify(vacationBalanceLedgerService).updateFrom(person, 2022);
+    }
+
+    @Test
+    void ensureUpdatesYearOfSavedAccount() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(LocalDate.of(2022, JANUARY, 1));
+
+        sut.on(AccountSavedEvent.of(account));
+
+        verify(vacationBalanceLedgerService).update(person, List.of(2022));
+    }
+
+    @Test
+    void ensureUpdatesSavedAccountsInOneBatch() {
+        final Account account = new Account();
+        account.setPerson(new Person("muster", "Muster", "Marlene", "muster@example.org"));
+        account.setValidFrom(LocalDate.of(2023, JANUARY, 1));
+
+        final Account otherAccount = new Account();
+        otherAccount.setPerson(new Person("other", "Other", "Oskar", "other@example.org"));
+        otherAccount.setValidFrom(LocalDate.of(2023, JANUARY, 1));
+
+        sut.on(AccountsSavedEvent.of(List.of(account, otherAccount)));
+
+        verify(vacationBalanceLedgerService).update(List.of(account, otherAccount));
+    }
+
+    @Test
+    void ensureFailingBatchUpdateDoesNotFailThePublisher() {
+        final Account account = new Account();
+        account.setPerson(new Person("muster", "Muster", "Marlene", "muster@example.org"));
+        account.setValidFrom(LocalDate.of(2023, JANUARY, 1));
+
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(vacationBalanceLedgerService).update(List.of(account));
+
+        assertThatNoException().isThrownBy(() -> sut.on(AccountsSavedEvent.of(List.of(account))));
+    }
+
+    @Test
+    void ensureFailingUpdateDoesNotFailThePublisher() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStartDate(LocalDate.of(2022, JUNE, 1));
+        application.setEndDate(LocalDate.of(2022, JUNE, 1));
+
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(vacationBalanceLedgerService).update(person, List.of(2022));
+
+        assertThatNoException().isThrownBy(() -> sut.on(ApplicationAllowedEvent.of(application)));
+    }
+}
@@ -0,0 +1,158 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.account.VacationBalanceLedgerService.VacationBalanceMismatch;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.math.BigDecimal.ZERO;
+import static java.time.Month.APRIL;
+import static java.time.Month.JANUARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VacationBalanceLedgerServiceTest {
+
+    private VacationBalanceLedgerService sut;
+
+    @Mock
+    private VacationBalanceLedger vacationBalanceLedger;
+    @Mock
+    private VacationDaysService vacationDaysService;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private PersonService personService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new VacationBalanceLedgerService(vacationBalanceLedger, vacationDaysService, accountService, personService);
+    }
+
+    @Test
+    void ensureUpdatePutsBalancesOfGivenYearsAndRemovesYearsWithoutAccount() {
+        final Person person = anyPerson();
+
+        final Account account2022 = anyAccount(person, 2022);
+        final Account account2023 = anyAccount(person, 2023);
+        when(accountService.getHolidaysAccountsByPerson(person)).thenReturn(List.of(account2022, account2023));
+
+        final VacationBalance balance = new VacationBalance(LocalDate.of(2023, APRIL, 1), ONE, TEN, "fingerprint");
+        when(vacationDaysService.calculateVacationBalances(List.of(account2023))).thenReturn(Map.of(account2023, balance));
+        when(vacationBalanceLedger.getBalances(1L)).thenReturn(Map.of(
+            2021, new VacationBalance(LocalDate.of(2021, APRIL, 1), ZERO, ZERO, "fingerprint"),
+            2024, new VacationBalance(LocalDate.of(2024, APRIL, 1), ZERO, ZERO, "fingerprint")
+        ));
+
+        sut.update(person, List.of(2023, 2024));
+
+        verify(vacationBalanceLedger).put(1L, 2023, balance);
+        verify(vacationBalanceLedger).remove(1L, 2024);
+        verify(vacationBalanceLedger, never()).remove(1L, 2021);
+    }
+
+    @Test
+    void ensureUpdateOfAccountsCalculatesTheBalancesOfAllAccountsAtOnce() {
+        final Person person = anyPerson();
+        final Person otherPerson = new Person("other", "Other", "Oskar", "other@example.org");
+        otherPerson.setId(2L);
+
+        final Account account = anyAccount(person, 2023);
+        final Account otherAccount = anyAccount(otherPerson, 2023);
+
+        final VacationBalance balance = new VacationBalance(LocalDate.of(2023, APRIL, 1), ONE, TEN, "fingerprint");
+        final VacationBalance otherBalance = new VacationBalance(LocalDate.of(2023, APRIL, 1), ZERO, TEN, "fingerprint");
+        when(vacationDaysService.calculateVacationBalances(List.of(account, otherAccount)))
+            .thenReturn(Map.of(account, balance, otherAccount, otherBalance));
+
+        sut.update(List.of(account, otherAccount));
+
+        verify(vacationBalanceLedger).put(1L, 2023, balance);
+        verify(vacationBalanceLedger).put(2L, 2023, otherBalance);
+        verify(accountService, never()).getHolidaysAccountsByPerson(any());
+    }
+
+    @Test
+    void ensureCheckConsistencyReportsMissingOutdatedAndOrphanedEntries() {
+        final Person person = anyPerson();
+        when(personService.getAllPersons()).thenReturn(List.of(person));
+
+        final Account account2022 = anyAccount(person, 2022);
+        final Account account2023 = anyAccount(person, 2023);
+        final Account account2024 = anyAccount(person, 2024);
+        final List<Account> accounts = List.of(account2022, account2023, account2024);
+        when(accountService.getHolidaysAccountsByPersons(List.of(person))).thenReturn(accounts);
+
+        final VacationBalance balance2022 = new VacationBalance(LocalDate.of(2022, APRIL, 1), ONE, ZERO, "fingerprint");
+        final VacationBalance balance2023 = new VacationBalance(LocalDate.of(2023, APRIL, 1), ONE, ZERO, "fingerprint");
+        final VacationBalance balance2024 = new VacationBalance(LocalDate.of(2024, APRIL, 1), ONE, ZERO, "fingerprint");
+        when(vacationDaysService.calculateVacationBalances(accounts))
+            .thenReturn(Map.of(account2022, balance2022, account2023, balance2023, account2024, balance2024));
+
+        final VacationBalance outdated2023 = new VacationBalance(LocalDate.of(2023, APRIL, 1), TEN, ZERO, "fingerprint");
+        final VacationBalance orphaned2021 = new VacationBalance(LocalDate.of(2021, APRIL, 1), ONE, ZERO, "fingerprint");
+        when(vacationBalanceLedger.getAllBalances()).thenReturn(Map.of(1L, Map.of(
+            2021, orphaned2021,
+            2022, new VacationBalance(LocalDate.of(2022, APRIL, 1), new BigDecimal("1.00"), new BigDecimal("0.00"), "fingerprint"),
+            2023, outdated2023
+        )));
+
+        final List<VacationBalanceMismatch> mismatches = sut.checkConsistency();
+        assertThat(mismatches).containsExactlyInAnyOrder(
+            new VacationBalanceMismatch(1L, 2023, balance2023, outdated2023),
+            new VacationBalanceMismatch(1L, 2024, balance2024, null),
+            new VacationBalanceMismatch(1L, 2021, null, orphaned2021)
+        );
+    }
+
+    @Test
+    void ensureRebuildCorrectsMismatches() {
+        final Person person = anyPerson();
+        when(personService.getAllPersons()).thenReturn(List.of(person));
+
+        final Account account2022 = anyAccount(person, 2022);
+        when(accountService.getHolidaysAccountsByPersons(List.of(person))).thenReturn(List.of(account2022));
+
+        final VacationBalance balance2022 = new VacationBalance(LocalDate.of(2022, APRIL, 1), ONE, ZERO, "fingerprint");
+        when(vacationDaysService.calculateVacationBalances(List.of(account2022))).thenReturn(Map.of(account2022, balance2022));
+        when(vacationBalanceLedger.getAllBalances()).thenReturn(Map.of(1L, Map.of(
+            2021, new VacationBalance(LocalDate.of(2021, APRIL, 1), ONE, ZERO, "fingerprint")
+        )));
+
+        final List<VacationBalanceMismatch> corrected = sut.rebuild();
+        assertThat(corrected).hasSize(2);
+
+        verify(vacationBalanceLedger).put(1L, 2022, balance2022);
+        verify(vacationBalanceLedger).remove(1L, 2021);
+    }
+
+    private static Person anyPerson() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        return person;
+    }
+
+    private static Account anyAccount(Person person, int year) {
+        final Account account = new Account();
+        account.setId((long) year);
+        account.setPerson(person);
+        account.setValidFrom(LocalDate.of(year, JANUARY, 1));
+        account.setExpiryDateLocally(LocalDate.of(year, APRIL, 1));
+        return account;
+    }
+}
@@ -215,4 +215,25 @@ class VacationDaysLeftTest {
         final LocalDate expiryDate = LocalDate.now().withMonth(Month.APRIL.getValue()).with(firstDayOfMonth());
         assertThat(vacationDaysLeft.getRemainingVacationDaysLeft(someDayBeforeExpiryDate, true, expiryDate)).isEqualByComparingTo("3");
     }
+
+    @Test
+    void ensureLeftVacationDaysIgnoringUsedNextYearEqualLeftVacationDaysWithoutUsedNextYear() {
+
+        final LocalDate expiryDate = LocalDate.of(2022, Month.APRIL, 1);
+        final LocalDate afterExpiryDate = LocalDate.of(2022, Month.OCTOBER, 1);
+
+        final VacationDaysLeft withUsedNextYear = builder
+            .forUsedVacationDaysBeforeExpiry(new BigDecimal("3"))
+            .forUsedVacationDaysAfterExpiry(new BigDecimal("4"))
+            .withVacationDaysUsedNextYear(new BigDecimal("2"))
+            .build();
+        final VacationDaysLeft withoutUsedNextYear = builder
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+
+        assertThat(withUsedNextYear.getLeftVacationDays(afterExpiryDate, true, expiryDate)).isEqualByComparingTo("24");
+        assertThat(withUsedNextYear.getLeftVacationDaysIgnoringUsedNextYear(afterExpiryDate, true, expiryDate))
+            .isEqualByComparingTo(withoutUsedNextYear.getLeftVacationDays(afterExpiryDate, true, expiryDate))
+            .isEqualByComparingTo("26");
+    }
 }
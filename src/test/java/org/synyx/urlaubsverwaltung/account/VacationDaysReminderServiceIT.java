@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.account;
 
 import com.icegreen.greenmail.junit5.GreenMailExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
@@ -25,12 +26,12 @@ import java.time.Year;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.ZERO;
 import static java.time.Month.APRIL;
+import static java.time.Month.JANUARY;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.when;
@@ -56,7 +57,7 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
     void ensureReminderForLeftVacationDaysWithNextYearHolidayAccountAvailable() throws MessagingException, IOException {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock, new SimpleMeterRegistry());
 
         final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
         person.setId(42L);
@@ -64,16 +65,20 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
 
         final Account account = new Account();
         account.setPerson(person);
+        account.setValidFrom(LocalDate.of(2022, JANUARY, 1));
         account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
         account.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(TEN);
 
         final Account accountNextYear = new Account();
         accountNextYear.setPerson(person);
+        accountNextYear.setValidFrom(LocalDate.of(2023, JANUARY, 1));
         accountNextYear.setExpiryDateLocally(LocalDate.of(2023, APRIL, 10));
         accountNextYear.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(accountNextYear));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account, accountNextYear));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of(accountNextYear)))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -101,7 +106,7 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
     void ensureReminderForLeftVacationDaysWithoutHolidayAccountForNextYearAvailableSoTakeTheExpireDayFromThisYearAccountWithNextYear() throws MessagingException, IOException {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock, new SimpleMeterRegistry());
 
         final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
         person.setId(42L);
@@ -109,12 +114,14 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
 
         final Account account = new Account();
         account.setPerson(person);
+        account.setValidFrom(LocalDate.of(2022, JANUARY, 1));
         account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
         account.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(TEN);
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account));
 
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.empty());
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of()))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -142,7 +149,7 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
     void ensureReminderForRemainingVacationDays() throws MessagingException, IOException {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock, new SimpleMeterRegistry());
 
         final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
         person.setId(42L);
@@ -150,15 +157,16 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
 
         final Account account2022 = new Account();
         account2022.setPerson(person);
+        account2022.setValidFrom(LocalDate.of(2022, JANUARY, 1));
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
         account2022.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
         final Account account2023 = new Account();
         account2023.setPerson(person);
+        account2023.setValidFrom(LocalDate.of(2023, JANUARY, 1));
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
         account2023.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022, account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(ZERO)
@@ -196,7 +204,7 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
     void ensureReminderForExpiredRemainingVacationDays() throws MessagingException, IOException {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock, new SimpleMeterRegistry());
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         person.setId(1L);
@@ -204,18 +212,19 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
 
         final Account account = new Account();
         account.setPerson(person);
+        account.setValidFrom(LocalDate.of(2022, JANUARY, 1));
         account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
         account.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
 
         final Account account2023 = new Account();
         account2023.setPerson(person);
+        account2023.setValidFrom(LocalDate.of(2023, JANUARY, 1));
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
         account2023.setDoRemainingVacationDaysExpireLocally(true);
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account, account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
-            .withAnnualVacation(ZERO)
+            .withAnnualVacation(TEN)
             .withRemainingVacation(TEN)
             .notExpiring(ZERO)
             .forUsedVacationDaysBeforeExpiry(ZERO)
@@ -223,7 +232,6 @@ class VacationDaysReminderServiceIT extends SingleTenantTestContainersBase {
             .build();
         when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of(account2023)))
             .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(TEN);
 
         sut.notifyForExpiredRemainingVacationDays();
 
@@ -1,8 +1,10 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.mail.Mail;
@@ -18,16 +20,18 @@ import java.time.Year;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.ZERO;
 import static java.time.Month.APRIL;
+import static java.time.Month.JANUARY;
 import static java.time.Month.MARCH;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -44,21 +48,26 @@ class VacationDaysReminderServiceTest {
     @Mock
     private MailService mailService;
 
-    final ArgumentCaptor<Mail> mailArgumentCaptor = ArgumentCaptor.forClass(Mail.class);
+    @Captor
+    private ArgumentCaptor<List<Mail>> mailsArgumentCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Test
     void ensureNoReminderForZeroLeftVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-10-31T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
+        final Account account = account(person, 2022);
         account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(ZERO);
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(ZERO).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of()))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -68,21 +77,19 @@ class VacationDaysReminderServiceTest {
     @Test
     void ensureNoReminderIfRemainingVacationDaysDoNotExpire() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-10-31T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
-        account.setPerson(person);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(TEN);
-
-        final Account accountNextYear = new Account();
-        accountNextYear.setPerson(person);
+        final Account account = account(person, 2022);
+        final Account accountNextYear = account(person, 2023);
         accountNextYear.setDoRemainingVacationDaysExpireGlobally(false);
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(accountNextYear));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account, accountNextYear));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of(accountNextYear)))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -92,40 +99,42 @@ class VacationDaysReminderServiceTest {
     @Test
     void ensureNoReminderIfAccountIsEmpty() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-10-31T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of());
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of());
 
         sut.remindForCurrentlyLeftVacationDays();
 
+        verifyNoInteractions(vacationDaysService);
         verifyNoInteractions(mailService);
     }
 
     @Test
     void ensureReminderForLeftVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-10-31T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
-        account.setPerson(person);
+        final Account account = account(person, 2022);
         account.setDoRemainingVacationDaysExpireGlobally(true);
         account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
-        when(vacationDaysService.getTotalLeftVacationDays(account)).thenReturn(TEN);
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), Year.of(2022), List.of()))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
 
         sut.remindForCurrentlyLeftVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(mailService).send(mailsArgumentCaptor.capture());
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.remindForCurrentlyLeftVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_currently_left_vacation_days");
@@ -135,26 +144,63 @@ class VacationDaysReminderServiceTest {
             entry("vacationDaysLeft", TEN),
             entry("expiryDateNextYear", LocalDate.of(2023, APRIL, 1))
         );
+
+        assertThat(meterRegistry.get("uv.account.reminder").tag("job", "currently-left-vacation-days").timer().count()).isOne();
+    }
+
+    @Test
+    void ensureReminderForLeftVacationDaysIncludesVacationDaysAlreadyUsedNextYear() {
+
+        final VacationDaysReminderService sut = sut("2022-10-31T06:00:00Z");
+
+        final Person person = person();
+        final Person otherPerson = new Person();
+        otherPerson.setId(43L);
+        when(personService.getActivePersons()).thenReturn(List.of(person, otherPerson));
+
+        final Account account = account(person, 2022);
+        account.setDoRemainingVacationDaysExpireGlobally(true);
+        account.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
+        final Account accountNextYear = account(person, 2023);
+        accountNextYear.setDoRemainingVacationDaysExpireGlobally(true);
+        accountNextYear.setExpiryDateLocally(LocalDate.of(2023, MARCH, 1));
+        final Account otherAccount = account(otherPerson, 2022);
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person, otherPerson))).thenReturn(List.of(account, accountNextYear, otherAccount));
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder().withAnnualVacation(TEN).withVacationDaysUsedNextYear(ONE).build();
+        final VacationDaysLeft noVacationDaysLeft = VacationDaysLeft.builder().build();
+        when(vacationDaysService.getVacationDaysLeft(List.of(account, otherAccount), Year.of(2022), List.of(accountNextYear)))
+            .thenReturn(Map.of(
+                account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft),
+                otherAccount, new HolidayAccountVacationDays(otherAccount, noVacationDaysLeft, noVacationDaysLeft)
+            ));
+
+        sut.remindForCurrentlyLeftVacationDays();
+
+        verify(mailService).send(mailsArgumentCaptor.capture());
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
+        assertThat(mailsArgumentCaptor.getValue().getFirst().getTemplateModel(GERMAN)).contains(
+            entry("vacationDaysLeft", TEN),
+            entry("expiryDateNextYear", LocalDate.of(2023, MARCH, 1))
+        );
     }
 
     @Test
     void ensureNoReminderWithoutRemainingVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-01-01T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person, 2022);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
-        final Account account2023 = new Account();
+        final Account account2023 = account(person, 2023);
         account2023.setDoRemainingVacationDaysExpireLocally(true);
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022, account2023));
 
         final Year year = Year.of(2022);
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
@@ -174,23 +220,19 @@ class VacationDaysReminderServiceTest {
     @Test
     void ensureReminderForRemainingVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-01-01T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person, 2022);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
-        final Account account2023 = new Account();
-        account2023.setPerson(person);
+        final Account account2023 = account(person, 2023);
         account2023.setDoRemainingVacationDaysExpireLocally(true);
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022, account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(ZERO)
@@ -204,9 +246,10 @@ class VacationDaysReminderServiceTest {
 
         sut.remindForRemainingVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(mailService).send(mailsArgumentCaptor.capture());
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.remindForRemainingVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_remind_remaining_vacation_days");
@@ -218,64 +261,65 @@ class VacationDaysReminderServiceTest {
                 entry("dayBeforeExpiryDate", LocalDate.of(2022, MARCH, 31)),
                 entry("expiryDate", LocalDate.of(2022, APRIL, 1))
             );
+
+        assertThat(meterRegistry.get("uv.account.reminder").tag("job", "remaining-vacation-days").timer().count()).isOne();
     }
 
     @Test
     void ensureNoNotificationWhenExpireDateNotEqualOfAfter() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-03-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-03-31T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person, 2022);
+        account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
+
         verifyNoInteractions(mailService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWhenNotificationWasAlreadySent() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-04-02T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-04-02T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person, 2022);
+        account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 2));
         account2022.setExpiryNotificationSentDate(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
 
         verifyNoInteractions(mailService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWithoutExpiredRemainingVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-04-01T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person, 2022);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
-        final Account account2023 = new Account();
+        final Account account2023 = account(person, 2023);
         account2023.setDoRemainingVacationDaysExpireLocally(true);
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022, account2023));
 
         final Year year = Year.of(2022);
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
@@ -291,20 +335,20 @@ class VacationDaysReminderServiceTest {
         sut.notifyForExpiredRemainingVacationDays();
 
         verifyNoInteractions(mailService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWhenExpireIsDisabled() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-04-01T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person, 2022);
         account2022.setDoRemainingVacationDaysExpireLocally(false);
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
 
@@ -314,23 +358,19 @@ class VacationDaysReminderServiceTest {
     @Test
     void ensureNotificationForExpiredRemainingVacationDays() {
 
-        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut("2022-04-01T06:00:00Z");
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person, 2022);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, APRIL, 1));
-        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
-        final Account account2023 = new Account();
-        account2023.setPerson(person);
+        final Account account2023 = account(person, 2023);
         account2023.setDoRemainingVacationDaysExpireLocally(true);
         account2023.setExpiryDateLocally(LocalDate.of(2023, APRIL, 1));
-        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of(account2023));
+        when(accountService.getHolidaysAccount(List.of(2022, 2023), List.of(person))).thenReturn(List.of(account2022, account2023));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(TEN)
@@ -341,13 +381,16 @@ class VacationDaysReminderServiceTest {
             .build();
         when(vacationDaysService.getVacationDaysLeft(List.of(account2022), Year.of(2022), List.of(account2023)))
             .thenReturn(Map.of(account2022, new HolidayAccountVacationDays(account2022, vacationDaysLeft, vacationDaysLeft)));
-        when(vacationDaysService.getTotalLeftVacationDays(account2022)).thenReturn(BigDecimal.valueOf(11L));
 
         sut.notifyForExpiredRemainingVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(accountService).saveAll(List.of(account2022));
+        assertThat(account2022.getExpiryNotificationSentDate()).isEqualTo(LocalDate.of(2022, APRIL, 1));
+
+        verify(mailService).send(mailsArgumentCaptor.capture());
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.notifyForExpiredRemainingVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_expired_remaining_vacation_days");
@@ -359,6 +402,20 @@ class VacationDaysReminderServiceTest {
             entry("remainingVacationDaysNotExpiring", ONE),
             entry("expiryDate", LocalDate.of(2022, APRIL, 1))
         );
+
+        assertThat(meterRegistry.get("uv.account.reminder").tag("job", "expired-remaining-vacation-days").timer().count()).isOne();
+    }
+
+    private VacationDaysReminderService sut(String now) {
+        final Clock clock = Clock.fixed(Instant.parse(now), ZoneId.of("UTC"));
+        return new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock, meterRegistry);
+    }
+
+    private static Account account(Person person, int year) {
+        final Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(LocalDate.of(year, JANUARY, 1));
+        return account;
     }
 
     private Person person() {
@@ -37,6 +37,8 @@ import static java.time.Month.MARCH;
 import static java.time.Month.MAY;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationType;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
@@ -58,10 +60,14 @@ class VacationDaysServiceTest {
     private ApplicationService applicationService;
     @Mock
     private WorkingTimeCalendarService workingTimeCalendarService;
+    @Mock
+    private VacationBalanceLedger vacationBalanceLedger;
+    @Mock
+    private VacationBalanceFingerprint vacationBalanceFingerprint;
 
     @BeforeEach
     void setUp() {
-        sut = new VacationDaysService(workingTimeCalendarService, applicationService, Clock.systemUTC());
+        sut = new VacationDaysService(workingTimeCalendarService, applicationService, vacationBalanceLedger, vacationBalanceFingerprint, Clock.systemUTC());
     }
 
     @Test
@@ -701,6 +707,146 @@ class VacationDaysServiceTest {
         });
     }
 
+    @Test
+    void ensureGetVacationDaysLeftCalculatesUsedRemainingVacationDaysOfNextYearInBulk() {
+        final Person person = anyPerson();
+        final Person otherPerson = new Person("other", "Other", "Olaf", "other@example.org");
+        otherPerson.setId(2L);
+
+        final Year year = Year.of(2022);
+        final Year nextYear = year.plusYears(1);
+
+        final Application application20DaysBeforeExpiryDate = anyApplication(person);
+        application20DaysBeforeExpiryDate.setStartDate(LocalDate.of(2023, JANUARY, 3));
+        application20DaysBeforeExpiryDate.setEndDate(LocalDate.of(2023, JANUARY, 22));
+        application20DaysBeforeExpiryDate.setStatus(ALLOWED);
+        final Application application20DaysAfterApril = anyApplication(person);
+        application20DaysAfterApril.setStartDate(LocalDate.of(2023, APRIL, 2));
+        application20DaysAfterApril.setEndDate(LocalDate.of(2023, APRIL, 21));
+        application20DaysAfterApril.setStatus(ALLOWED);
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person, otherPerson), LocalDate.of(2023, JANUARY, 1), LocalDate.of(2023, DECEMBER, 31)))
+            .thenReturn(List.of(application20DaysBeforeExpiryDate, application20DaysAfterApril));
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(nextYear.atDay(1), nextYear.atDay(1).with(lastDayOfYear()));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person, otherPerson), nextYear))
+            .thenReturn(Map.of(person, workingTimeCalendar, otherPerson, workingTimeCalendar));
+
+        final Account account = anyAccount(person, year);
+        final Account otherAccount = anyAccount(otherPerson, year);
+
+        final Account accountNextYear = anyAccount(person, nextYear);
+        accountNextYear.setRemainingVacationDays(TEN);
+        accountNextYear.setDoRemainingVacationDaysExpireLocally(true);
+        final Account otherAccountNextYear = anyAccount(otherPerson, nextYear);
+        otherAccountNextYear.setRemainingVacationDays(TEN);
+        otherAccountNextYear.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Map<Account, HolidayAccountVacationDays> actual = sut.getVacationDaysLeft(List.of(account, otherAccount), year, List.of(accountNextYear, otherAccountNextYear));
+        assertThat(actual.get(account).vacationDaysYear().getVacationDaysUsedNextYear()).isEqualByComparingTo(TEN);
+        assertThat(actual.get(otherAccount).vacationDaysYear().getVacationDaysUsedNextYear()).isEqualByComparingTo(ZERO);
+
+        // one fetch and one calendar build for all accounts of the next year
+        verify(applicationService).getForStatesAndPerson(activeStatuses(), List.of(person, otherPerson), LocalDate.of(2023, JANUARY, 1), LocalDate.of(2023, DECEMBER, 31));
+        verify(workingTimeCalendarService).getWorkingTimesByPersons(List.of(person, otherPerson), nextYear);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftOfWholeYearReadsUsedVacationDaysFromLedger() {
+        final Person person = anyPerson();
+        final Year year = Year.of(2022);
+
+        final Account account = anyAccount(person, year);
+        account.setRemainingVacationDays(new BigDecimal("5"));
+        account.setRemainingVacationDaysNotExpiring(ZERO);
+        account.setDoRemainingVacationDaysExpireLocally(true);
+
+        when(vacationBalanceLedger.getBalances(List.of(person), 2022))
+            .thenReturn(Map.of(person, new VacationBalance(LocalDate.of(2022, APRIL, 1), new BigDecimal("3"), new BigDecimal("4"), "fingerprint")));
+        when(vacationBalanceFingerprint.current()).thenReturn("fingerprint");
+
+        final Map<Account, HolidayAccountVacationDays> actual = sut.getVacationDaysLeft(List.of(account), year);
+        assertThat(actual.get(account).vacationDaysYear().getVacationDays()).isEqualByComparingTo(new BigDecimal("26"));
+        assertThat(actual.get(account).vacationDaysYear().getRemainingVacationDays()).isEqualByComparingTo(new BigDecimal("2"));
+        assertThat(actual.get(account).vacationDaysDateRange()).isEqualTo(actual.get(account).vacationDaysYear());
+
+        verifyNoInteractions(applicationService, workingTimeCalendarService);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftCalculatesUsedVacationDaysWhenLedgerEntryHasAnotherExpiryDate() {
+        final Person person = anyPerson();
+        final Year year = Year.of(2022);
+
+        final Account account = anyAccount(person, year);
+
+        when(vacationBalanceLedger.getBalances(List.of(person), 2022))
+            .thenReturn(Map.of(person, new VacationBalance(LocalDate.of(2022, MAY, 1), TEN, TEN, "fingerprint")));
+        when(vacationBalanceFingerprint.current()).thenReturn("fingerprint");
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, JUNE, 1));
+        application.setEndDate(LocalDate.of(2022, JUNE, 2));
+        application.setStatus(ALLOWED);
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person), LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31)))
+            .thenReturn(List.of(application));
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(year.atDay(1), year.atDay(1).with(lastDayOfYear()));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person), year)).thenReturn(Map.of(person, workingTimeCalendar));
+
+        final Map<Account, HolidayAccountVacationDays> actual = sut.getVacationDaysLeft(List.of(account), year);
+        assertThat(actual.get(accou    @Test
+    void ensureGetVacationDaysLeftCalculatesUsedVacationDaysWhenLedgerEntryHasAnotherFingerprint() {
+        final Person person = anyPerson();
+        final Year year = Year.of(2022);
+
+        final Account account = anyAccount(person, year);
+
+        when(vacationBalanceLedger.getBalances(List.of(person), 2022))
+            .thenReturn(Map.of(person, new VacationBalance(LocalDate.of(2022, APRIL, 1), TEN, TEN, "outdated fingerprint")));
+        when(vacationBalanceFingerprint.current()).thenReturn("fingerprint");
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, JUNE, 1));
+        application.setEndDate(LocalDate.of(2022, JUNE, 2));
+        application.setStatus(ALLOWED);
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person), LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31)))
+            .thenReturn(List.of(application));
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(year.atDay(1), year.atDay(1).with(lastDayOfYear()));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person), year)).thenReturn(Map.of(person, workingTimeCalendar));
+
+        final Map<Account, HolidayAccountVacationDays> actual = sut.getVacationDaysLeft(List.of(account), year);
+        assertThat(actual.get(account).vacationDaysYear().getVacationDays()).isEqualByComparingTo(new BigDecimal("28"));
+    }
+
+nt).vacationDaysYear().getVacationDays()).isEqualByComparingTo(new BigDecimal("28"));
+    }
+
+    @Test
+    void ensureCalculateVacationBalancesIgnoresLedger() {
+        final Person person = anyPerson();
+        final Year year = Year.of(2022);
+
+        final Account account = anyAccount(person, year);
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, MARCH, 30));
+        application.setEndDate(LocalDate.of(2022, APRIL, 2));
+        application.setStatus(ALLOWED);
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person), LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31)))
+            .thenReturn(List.of(application));
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(year.atDay(1), year.atDay(1).with(lastDayOfYear()));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person), year)).thenReturn(Map.of(person, workingTimeCalendar));
+
+        when(vacationBalanceFingerprint.current()).thenReturn("fingerprint");
+
+        final Map<Account, VacationBalance> actual = sut.calculateVacationBalances(List.of(account));
+        assertThat(actual.get(account).isSameAs(new VacationBalance(LocalDate.of(2022, APRIL, 1), BigDecimal.valueOf(2), BigDecimal.valueOf(2), "fingerprint"))).isTrue();
+
+        verifyNoInteractions(vacationBalanceLedger);
+    }
+
     @Test
     void ensureUsesRemainingVacationDaysWithNegativeRemainingUsedReturnsZero() {
         final Person person = anyPerson();
@@ -735,12 +881,12 @@ class VacationDaysServiceTest {
 
         // before expiry (APRIL 1 from anyAccount) -> include full remaining vacation days
         final Clock beforeExpiryClock = Clock.fixed(Instant.parse(year + "-03-01T00:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysService sutBefore = new VacationDaysService(workingTimeCalendarService, applicationService, beforeExpiryClock);
+        final VacationDaysService sutBefore = new VacationDaysService(workingTimeCalendarService, applicationService, vacationBalanceLedger, vacationBalanceFingerprint, beforeExpiryClock);
         assertThat(sutBefore.getTotalLeftVacationDays(account)).isEqualByComparingTo(BigDecimal.valueOf(35));
 
         // after expiry -> only not expiring remaining vacation days
         final Clock afterExpiryClock = Clock.fixed(Instant.parse(year + "-05-01T00:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysService sutAfter = new VacationDaysService(workingTimeCalendarService, applicationService, afterExpiryClock);
+        final VacationDaysService sutAfter = new VacationDaysService(workingTimeCalendarService, applicationService, vacationBalanceLedger, vacationBalanceFingerprint, afterExpiryClock);
         assertThat(sutAfter.getTotalLeftVacationDays(account)).isEqualByComparingTo(BigDecimal.valueOf(32));
     }
 
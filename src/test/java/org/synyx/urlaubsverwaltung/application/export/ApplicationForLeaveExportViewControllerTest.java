@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.application.export;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.support.StaticMessageSource;
@@ -11,6 +13,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.application.application.Application;
@@ -18,10 +21,12 @@ import org.synyx.urlaubsverwaltung.application.application.ApplicationForLeave;
 import org.synyx.urlaubsverwaltung.application.vacationtype.ProvidedVacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
@@ -38,9 +43,15 @@ import static java.math.BigDecimal.TEN;
 import static java.time.Month.AUGUST;
 import static java.time.Month.JANUARY;
 import static java.util.Locale.JAPANESE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
@@ -59,13 +70,15 @@ class ApplicationForLeaveExportViewControllerTest {
     private ApplicationForLeaveCsvExportService applicationForLeaveCsvExportService;
     @Mock
     private DateFormatAware dateFormatAware;
+    @Captor
+    private ArgumentCaptor<Iterable<ApplicationForLeaveExport>> exportsCaptor;
 
     private static final Clock clock = Clock.systemUTC();
 
     @BeforeEach
     void setUp() {
         sut = new ApplicationForLeaveExportViewController(personService, applicationForLeaveExportService,
-            applicationForLeaveCsvExportService, dateFormatAware, clock);
+            applicationForLeaveCsvExportService, dateFormatAware, new TenantContextHolder() {}, clock);
     }
 
     @Test
@@ -220,19 +233,26 @@ class ApplicationForLeaveExportViewControllerTest {
         final ApplicationForLeave applicationForLeave = new ApplicationForLeave(application, workDaysByYear(startDate.getYear(), TEN));
 
         final ApplicationForLeaveExport applicationForLeaveExport = new ApplicationForLeaveExport("1", signedInUser.getFirstName(), signedInUser.getLastName(), List.of(applicationForLeave), List.of("departmentA"));
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(applicationForLeaveExportService.getAll(signedInUser, startDate, endDate, pageableSearchQuery)).thenReturn(new PageImpl<>(List.of(applicationForLeaveExport)));
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
+        when(applicationForLeaveExportService.getAll(signedInUser, startDate, endDate, pageableSearchQuery)).thenReturn(new PageImpl<>(List.of(applicationForLeaveExport), pageableSearchQuery.getPageable(), 1));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveCsvExportService.generateCSV(filterPeriod, locale, List.of(applicationForLeaveExport))).thenReturn(csvFile);
+        final StreamingCSVFile csvFile = new StreamingCSVFile("csv-file-name", outputStream -> outputStream.write("csv-resource".getBytes()));
+        when(applicationForLeaveCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any())).thenReturn(csvFile);
 
-        perform(get("/web/application/export")
+        final MvcResult result = perform(get("/web/application/export")
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019")
             .param("allElements", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().string("csv-resource"));
+
+        verify(applicationForLeaveCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), exportsCaptor.capture());
+        assertThat(exportsCaptor.getValue()).containsExactly(applicationForLeaveExport);
     }
 
     @Test
@@ -267,16 +287,16 @@ class ApplicationForLeaveExportViewControllerTest {
         final ApplicationForLeave applicationForLeave = new ApplicationForLeave(application, workDaysByYear(startDate.getYear(), TEN));
 
         final ApplicationForLeaveExport applicationForLeaveExport = new ApplicationForLeaveExport("1", signedInUser.getFirstName(), signedInUser.getLastName(), List.of(applicationForLeave), List.of("departmentA"));
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(applicationForLeaveExportService.getAll(signedInUser, startDate, endDate, pageableSearchQuery)).thenReturn(new PageImpl<>(List.of(applicationForLeaveExport)));
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
+        when(applicationForLeaveExportService.getAll(signedInUser, startDate, endDate, pageableSearchQuery)).thenReturn(new PageImpl<>(List.of(applicationForLeaveExport), pageableSearchQuery.getPageable(), 1));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveCsvExportService.generateCSV(filterPeriod, locale, List.of(applicationForLeaveExport))).thenReturn(csvFile);
+        final StreamingCSVFile csvFile = new StreamingCSVFile("csv-file-name", outputStream -> outputStream.write("csv-resource".getBytes()));
+        when(applicationForLeaveCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any())).thenReturn(csvFile);
 
         when(dateFormatAware.parse("01.01.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, JANUARY, 1)));
         when(dateFormatAware.parse("01.08.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, AUGUST, 1)));
 
-        perform(get("/web/application/export")
+        final MvcResult result = perform(get("/web/application/export")
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019")
@@ -284,8 +304,15 @@ class ApplicationForLeaveExportViewControllerTest {
             .param("page", "2")
             .param("size", "50")
             .param("query", "hans"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().string("csv-resource"));
+
+        verify(applicationForLeaveCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), exportsCaptor.capture());
+        assertThat(exportsCaptor.getValue()).containsExactly(applicationForLeaveExport);
     }
 
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
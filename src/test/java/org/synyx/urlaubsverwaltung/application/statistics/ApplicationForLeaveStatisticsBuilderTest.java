@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.support.StaticMessageSource;
+import org.springframework.data.domain.Sort;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.account.Account;
 import org.synyx.urlaubsverwaltung.account.AccountService;
@@ -780,4 +781,86 @@ class ApplicationForLeaveStatisticsBuilderTest {
             .containsEntry(personWithoutAccount, Optional.empty());
         assertThat(actual.get(personWithAccount)).isPresent();
     }
+
+    @Test
+    void ensureBuildSortableOnlyComputesTheValuesToSortBy() {
+
+        final LocalDate from = of(2014, JANUARY, 1);
+        final LocalDate to = of(2014, DECEMBER, 31);
+        final DateRange dateRange = new DateRange(from, to);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        final List<Person> persons = List.of(person);
+
+        final Account account = new Account(person, from, to, false, of(2014, APRIL, 1), TEN, TEN, TEN, null);
+        final List<Account> accounts = List.of(account);
+        when(accountService.getHolidaysAccount(2014, persons)).thenReturn(accounts);
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(from, to);
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendars = Map.of(person, workingTimeCalendar);
+        when(workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(2014))).thenReturn(workingTimeCalendars);
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource())
+            .id(1L).active(true).category(HOLIDAY).messageKey("active").build();
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setDayLength(FULL);
+        application.setVacationType(vacationType);
+        application.setStartDate(of(2014, OCTOBER, 13));
+        application.setEndDate(of(2014, OCTOBER, 13));
+        application.setStatus(ALLOWED);
+
+        final HolidayAccountVacationDays vacationDays = new HolidayAccountVacationDays(account,
+            VacationDaysLeft.builder().withAnnualVacation(BigDecimal.valueOf(10)).build(), VacationDaysLeft.builder().build());
+        when(vacationDaysService.getVacationDaysLeft(accounts, dateRange, List.of(), workingTimeCalendars))
+            .thenReturn(Map.of(account, vacationDays));
+
+        final Map<Person, Optional<ApplicationForLeaveStatistics>> actual =
+            sut.buildSortable(persons, from, to, List.of(vacationType), List.of(application), Sort.by("leftVacationDaysForYear"));
+
+        assertThat(actual.get(person)).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getLeftVacationDaysForYear()).isEqualTo(BigDecimal.valueOf(10));
+            assertThat(statistics.getTotalAllowedVacationDays()).isEqualTo(BigDecimal.ZERO);
+        });
+
+        verifyNoInteractions(overtimeService, applicationService);
+    }
+
+    @Test
+    void ensureBuildSortableTalliesApplicationsWithoutVacationDaysLeftWhenSortedByTotals() {
+
+        final LocalDate from = of(2014, JANUARY, 1);
+        final LocalDate to = of(2014, DECEMBER, 31);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        final List<Person> persons = List.of(person);
+
+        final Account account = new Account(person, from, to, false, of(2014, APRIL, 1), TEN, TEN, TEN, null);
+        when(accountService.getHolidaysAccount(2014, persons)).thenReturn(List.of(account));
+
+        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarMondayToSunday(from, to);
+        when(workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(2014))).thenReturn(Map.of(person, workingTimeCalendar));
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource())
+            .id(1L).active(true).category(HOLIDAY).messageKey("active").build();
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setDayLength(FULL);
+        application.setVacationType(vacationType);
+        application.setStartDate(of(2014, OCTOBER, 13));
+        application.setEndDate(of(2014, OCTOBER, 13));
+        application.setStatus(ALLOWED);
+
+        final Map<Person, Optional<ApplicationForLeaveStatistics>> actual =
+            sut.buildSortable(persons, from, to, List.of(vacationType), List.of(application), Sort.by("totalAllowedVacationDays"));
+
+        assertThat(actual.get(person)).hasValueSatisfying(statistics ->
+            assertThat(statistics.getTotalAllowedVacationDays()).isEqualTo(BigDecimal.ONE));
+
+        verifyNoInteractions(overtimeService, applicationService, vacationDaysService);
+    }
 }
@@ -325,7 +325,9 @@ class ApplicationForLeaveStatisticsServiceTest {
                 .thenReturn(applications);
 
             // the second person is missing from the map entirely
-            when(applicationForLeaveStatisticsBuilder.build(persons, startDate, endDate, vacationTypes, applications))
+            when(applicationForLeaveStatisticsBuilder.buildSortable(persons, startDate, endDate, vacationTypes, applications, Sort.by("leftVacationDaysForYear")))
+                .thenReturn(Map.of(office, Optional.of(new ApplicationForLeaveStatistics(office, vacationTypes))));
+            when(applicationForLeaveStatisticsBuilder.build(List.of(office), startDate, endDate, vacationTypes, applications))
                 .thenReturn(Map.of(office, Optional.of(new ApplicationForLeaveStatistics(office, vacationTypes))));
 
             final ApplicationForLeaveStatisticsPageRequest pageRequest = ApplicationForLeaveStatisticsPageRequest.of(0, 10, Sort.by("leftVacationDaysForYear"));
@@ -361,6 +363,8 @@ class ApplicationForLeaveStatisticsServiceTest {
                 LocalDate.parse("2018-01-01"), LocalDate.parse("2018-12-31"), ApplicationStatus.activeStatuses(), ""))
                 .thenReturn(applications);
 
+            when(applicationForLeaveStatisticsBuilder.buildSortable(List.of(office), startDate, endDate, vacationTypes, applications, Sort.by("leftVacationDaysForYear")))
+                .thenReturn(Map.of(office, Optional.of(new ApplicationForLeaveStatistics(office, vacationTypes))));
             when(applicationForLeaveStatisticsBuilder.build(List.of(office), startDate, endDate, vacationTypes, applications))
                 .thenReturn(Map.of(office, Optional.of(new ApplicationForLeaveStatistics(office, vacationTypes))));
 
@@ -400,6 +404,8 @@ class ApplicationForLeaveStatisticsServiceTest {
             when(applicationService.getApplicationsForACertainPeriodAndStatus(startDate, endDate, ApplicationStatus.activeStatuses(), ""))
                 .thenReturn(applications);
 
+            when(applicationForLeaveStatisticsBuilder.buildSortable(List.of(anyPerson), startDate, endDate, vacationTypes, applications, Sort.by("leftVacationDaysForYear")))
+                .thenReturn(Map.of(anyPerson, Optional.of(new ApplicationForLeaveStatistics(anyPerson, vacationTypes))));
             when(applicationForLeaveStatisticsBuilder.build(List.of(anyPerson), startDate, endDate, vacationTypes, applications))
                 .thenReturn(Map.of(anyPerson, Optional.of(new ApplicationForLeaveStatistics(anyPerson, vacationTypes))));
 
@@ -453,7 +459,13 @@ class ApplicationForLeaveStatisticsServiceTest {
             when(applicationService.getApplicationsForACertainPeriodAndStatus(startDate, endDate, ApplicationStatus.activeStatuses(), ""))
                 .thenReturn(applications);
 
-            when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember, departmentMemberTwo), startDate, endDate, vacationTypes, applications))
+            when(applicationForLeaveStatisticsBuilder.buildSortable(List.of(departmentMember, departmentMemberTwo), startDate, endDate, vacationTypes, applications, Sort.by("leftVacationDaysForYear")))
+                .thenReturn(Map.of(
+                    departmentMember, Optional.of(statistics1),
+                    departmentMemberTwo, Optional.of(statistics2)
+                ));
+            // complete statistics are built for the persons of the page only, in the order of the page
+            when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMemberTwo, departmentMember), startDate, endDate, vacationTypes, applications))
                 .thenReturn(Map.of(
                     departmentMember, Optional.of(statistics1),
                     departmentMemberTwo, Optional.of(statistics2)
@@ -468,5 +480,58 @@ class ApplicationForLeaveStatisticsServiceTest {
             assertThat(statisticsPage.getContent().get(1).getPerson()).isEqualTo(departmentMember);
             assertThat(statisticsPage.getContent().get(1).getLeftVacationDaysForYear()).isEqualTo(BigDecimal.TEN);
         }
+
+        @Test
+        void ensureCompleteStatisticsAreBuiltForThePersonsOfTheRequestedPageOnly() {
+
+            final LocalDate startDate = LocalDate.parse("2018-01-01");
+            final LocalDate endDate = LocalDate.parse("2018-12-31");
+            final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+            final Person office = new Person();
+            office.setId(1L);
+            office.setPermissions(List.of(USER, OFFICE));
+
+            final Person first = new Person();
+            first.setId(2L);
+            final Person second = new Person();
+            second.setId(3L);
+            final Person third = new Person();
+            third.setId(4L);
+
+            final List<Person> persons = List.of(first, second, third);
+            when(personService.getActivePersons(any(PersonPageRequest.PersonPageRequestUnpaged.class), eq("")))
+                .thenReturn(new PageImpl<>(persons));
+
+            final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+            when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+
+            final List<Application> applications = List.of();
+            when(applicationService.getApplicationsForACertainPeriodAndStatus(startDate, endDate, ApplicationStatus.activeStatuses(), ""))
+                .thenReturn(applications);
+
+            final ApplicationForLeaveStatistics sortableFirst = new ApplicationForLeaveStatistics(first, vacationTypes);
+            sortableFirst.setLeftVacationDaysForYear(BigDecimal.ONE);
+            final ApplicationForLeaveStatistics sortableSecond = new ApplicationForLeaveStatistics(second, vacationTypes);
+            sortableSecond.setLeftVacationDaysForYear(BigDecimal.TWO);
+            final ApplicationForLeaveStatistics sortableThird = new ApplicationForLeaveStatistics(third, vacationTypes);
+            sortableThird.setLeftVacationDaysForYear(BigDecimal.TEN);
+
+            final Sort sort = Sort.by(Sort.Direction.DESC, "leftVacationDaysForYear");
+            when(applicationForLeaveStatisticsBuilder.buildSortable(persons, startDate, endDate, vacationTypes, applications, sort))
+                .thenReturn(Map.of(first, Optional.of(sortableFirst), second, Optional.of(sortableSecond), third, Optional.of(sortableThird)));
+
+            final ApplicationForLeaveStatistics statisticsOfSecond = new ApplicationForLeaveStatistics(second, vacationTypes);
+            when(applicationForLeaveStatisticsBuilder.build(List.of(second), startDate, endDate, vacationTypes, applications))
+                .thenReturn(Map.of(second, Optional.of(statisticsOfSecond)));
+
+            when(personBasedataService.getBasedataByPersonId(List.of(3L))).thenReturn(Map.of());
+
+            final ApplicationForLeaveStatisticsPageRequest pageRequest = ApplicationForLeaveStatisticsPageRequest.of(1, 1, sort);
+            final Page<ApplicationForLeaveStatistics> statisticsPage = sut.getStatisticsSortedByStatistics(office, filterPeriod, pageRequest, "");
+
+            assertThat(statisticsPage.getContent()).containsExactly(statisticsOfSecond);
+            assertThat(statisticsPage.getTotalElements()).isEqualTo(3);
+        }
     }
 }
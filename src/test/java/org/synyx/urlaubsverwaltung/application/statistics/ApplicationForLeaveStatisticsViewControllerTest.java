@@ -7,6 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.data.autoconfigure.web.DataWebProperties;
@@ -17,12 +19,14 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.application.vacationtype.ProvidedVacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonPageRequest;
@@ -31,6 +35,7 @@ import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
 import org.synyx.urlaubsverwaltung.search.PersonSearchUiFragmentSupplier;
 import org.synyx.urlaubsverwaltung.search.PersonSuggestionUrlStrategy;
 import org.synyx.urlaubsverwaltung.search.SearchContext;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.html.HtmlOptgroupDto;
@@ -54,11 +59,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
@@ -87,6 +95,8 @@ class ApplicationForLeaveStatisticsViewControllerTest {
     private DataWebProperties dataWebProperties;
     @Mock
     private MessageSource messageSource;
+    @Captor
+    private ArgumentCaptor<Iterable<ApplicationForLeaveStatistics>> statisticsCaptor;
 
     final DataWebProperties.Pageable pageableProperties = new DataWebProperties.Pageable();
 
@@ -100,7 +110,7 @@ class ApplicationForLeaveStatisticsViewControllerTest {
 
         sut = new ApplicationForLeaveStatisticsViewController(personService, applicationForLeaveStatisticsService,
             applicationForLeaveStatisticsCsvExportService, vacationTypeService, dateFormatAware, personSearchUiFragmentSupplier,
-            dataWebProperties,  messageSource, clock);
+            dataWebProperties,  messageSource, new TenantContextHolder() {}, clock);
     }
 
     @Nested
@@ -598,23 +608,30 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
-        final PersonPageRequest pageRequest = PersonPageRequest.of(0, Integer.MAX_VALUE, Sort.by("firstName"));
+        final PersonPageRequest pageRequest = PersonPageRequest.of(0, 100, Sort.by("firstName"));
         when(applicationForLeaveStatisticsService.getStatisticsSortedByPerson(signedInUser, filterPeriod, pageRequest, ""))
             .thenReturn(new PageImpl<>(List.of(statistics)));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        final StreamingCSVFile csvFile = new StreamingCSVFile("csv-file-name", outputStream -> outputStream.write("csv-resource".getBytes()));
+        when(applicationForLeaveStatisticsCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any())).thenReturn(csvFile);
 
         when(dateFormatAware.parse("01.01.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, JANUARY, 1)));
         when(dateFormatAware.parse("01.08.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, AUGUST, 1)));
 
-        perform(get(givenRequestUrl)
+        final MvcResult result = perform(get(givenRequestUrl)
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019")
             .param("allElements", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().string("csv-resource"));
+
+        verify(applicationForLeaveStatisticsCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue()).containsExactly(statistics);
     }
 
     @ParameterizedTest
@@ -634,17 +651,17 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
-        final PersonPageRequest pageRequest = PersonPageRequest.of(0, Integer.MAX_VALUE, Sort.by("firstName"));
+        final PersonPageRequest pageRequest = PersonPageRequest.of(0, 100, Sort.by("firstName"));
         when(applicationForLeaveStatisticsService.getStatisticsSortedByPerson(signedInUser, filterPeriod, pageRequest, ""))
             .thenReturn(new PageImpl<>(List.of(statistics)));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        final StreamingCSVFile csvFile = new StreamingCSVFile("csv-file-name", outputStream -> outputStream.write("csv-resource".getBytes()));
+        when(applicationForLeaveStatisticsCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any())).thenReturn(csvFile);
 
         when(dateFormatAware.parse("01.01.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, JANUARY, 1)));
         when(dateFormatAware.parse("01.08.2019", locale)).thenReturn(Optional.of(LocalDate.of(2019, AUGUST, 1)));
 
-        perform(get(givenRequestUrl)
+        final MvcResult result = perform(get(givenRequestUrl)
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019")
@@ -652,8 +669,15 @@ class ApplicationForLeaveStatisticsViewControllerTest {
             .param("page", "2")
             .param("size", "50")
             .param("query", "hans"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().string("csv-resource"));
+
+        verify(applicationForLeaveStatisticsCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue()).containsExactly(statistics);
     }
 
     @ParameterizedTest
@@ -17,6 +17,7 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static java.time.Month.DECEMBER;
 import static java.time.Month.NOVEMBER;
@@ -25,9 +26,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createSickNote;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.REJECTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.activeStatuses;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.CANCELLED;
 import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.SUBMITTED;
 
 @ExtendWith(MockitoExtension.class)
@@ -112,4 +115,64 @@ class CalendarAbsenceServiceImplTest {
         assertThat(openAbsences.get(1).getStartDate()).isEqualTo(ZonedDateTime.parse("2019-10-10T00:00Z[Etc/UTC]"));
         assertThat(openAbsences.get(1).getEndDate()).isEqualTo(ZonedDateTime.parse("2019-10-24T00:00Z[Etc/UTC]"));
     }
+
+    @Test
+    void getOpenAbsenceOfApplication() {
+
+        final Settings settings = new Settings();
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        settings.setTimeSettings(timeSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Application application = createApplication(person, LocalDate.of(2019, NOVEMBER, 10), LocalDate.of(2019, NOVEMBER, 23), FULL, new StaticMessageSource());
+        application.setId(1L);
+
+        final Optional<CalendarAbsence> openAbsence = sut.getOpenAbsence(application);
+        assertThat(openAbsence).hasValueSatisfying(absence -> {
+            assertThat(absence.getPerson()).isEqualTo(person);
+            assertThat(absence.getStartDate()).isEqualTo(ZonedDateTime.parse("2019-11-10T00:00Z[Etc/UTC]"));
+            assertThat(absence.getEndDate()).isEqualTo(ZonedDateTime.parse("2019-11-24T00:00Z[Etc/UTC]"));
+            assertThat(absence.getSource()).hasValue(new CalendarAbsence.Source(CalendarAbsence.Source.Type.APPLICATION, 1L));
+        });
+    }
+
+    @Test
+    void getOpenAbsenceOfApplicationThatIsNotOpen() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Application application = createApplication(person, LocalDate.of(2019, NOVEMBER, 10), LocalDate.of(2019, NOVEMBER, 23), FULL, new StaticMessageSource());
+        application.setStatus(REJECTED);
+
+        assertThat(sut.getOpenAbsence(application)).isEmpty();
+    }
+
+    @Test
+    void getOpenAbsenceOfSickNote() {
+
+        final Settings settings = new Settings();
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        settings.setTimeSettings(timeSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final SickNote sickNote = SickNote.builder(createSickNote(person, LocalDate.of(2019, OCTOBER, 10), LocalDate.of(2019, OCTOBER, 23), FULL)).id(2L).build();
+
+        final Optional<CalendarAbsence> openAbsence = sut.getOpenAbsence(sickNote);
+        assertThat(openAbsence).hasValueSatisfying(absence -> {
+            assertThat(absence.getPerson()).isEqualTo(person);
+            assertThat(absence.getStartDate()).isEqualTo(ZonedDateTime.parse("2019-10-10T00:00Z[Etc/UTC]"));
+            assertThat(absence.getEndDate()).isEqualTo(ZonedDateTime.parse("2019-10-24T00:00Z[Etc/UTC]"));
+            assertThat(absence.getSource()).hasValue(new CalendarAbsence.Source(CalendarAbsence.Source.Type.SICK_NOTE, 2L));
+        });
+    }
+
+    @Test
+    void getOpenAbsenceOfSickNoteThatIsNotOpen() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final SickNote sickNote = SickNote.builder(createSickNote(person, LocalDate.of(2019, OCTOBER, 10), LocalDate.of(2019, OCTOBER, 23), FULL)).status(CANCELLED).build();
+
+        assertThat(sut.getOpenAbsence(sickNote)).isEmpty();
+    }
 }
@@ -1,23 +1,28 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,14 +56,18 @@ class CompanyCalendarServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    private ICalCache iCalCache;
+
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
     }
 
     @BeforeEach
     void setUp() {
+        iCalCache = new ICalCache(new TenantContextHolder() {
+        }, calendarAbsenceService, new ICalCacheProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
 
-        sut = new CompanyCalendarService(calendarAbsenceService, companyCalendarRepository, iCalService, personService, messageSource, Clock.systemUTC());
+        sut = new CompanyCalendarService(calendarAbsenceService, companyCalendarRepository, iCalService, personService, messageSource, iCalCache, Clock.systemUTC());
     }
 
     @Test
@@ -76,11 +86,52 @@ class CompanyCalendarServiceTest {
         when(companyCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(companyCalendar));
 
         when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender der Firma", absences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender der Firma"), eq(absences), eq(person), any(), any());
+
+        final ICalFeed calendar = sut.getCalendarForAll(10L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
+    }
+
+    @Test
+    void getCalendarForAllLoadsAbsencesOnceForAllSubscribers() {
+
+        final ICalCache tenantICalCache = new ICalCache(new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(new TenantId("tenant"));
+            }
+        }, calendarAbsenceService, new ICalCacheProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
+        sut = new CompanyCalendarService(calendarAbsenceService, companyCalendarRepository, iCalService, personService, messageSource, tenantICalCache, Clock.systemUTC());
+
+        final List<CalendarAbsence> absences = List.of(absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL));
+        when(calendarAbsenceService.getOpenAbsencesSince(any(LocalDate.class))).thenReturn(absences);
+        when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
 
-        final ByteArrayResource calendar = sut.getCalendarForAll(10L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final Person subscriber = new Person();
+        subscriber.setId(10L);
+        when(personService.getPersonByID(10L)).thenReturn(Optional.of(subscriber));
+        final CompanyCalendar companyCalendar = new CompanyCalendar(subscriber);
+        companyCalendar.setId(1L);
+        companyCalendar.setCalendarPeriod(java.time.Period.parse("P1Y"));
+        when(companyCalendarRepository.findBySecretAndPerson("secret", subscriber)).thenReturn(Optional.of(companyCalendar));
+
+        final Person otherSubscriber = new Person();
+        otherSubscriber.setId(20L);
+        when(personService.getPersonByID(20L)).thenReturn(Optional.of(otherSubscriber));
+        final CompanyCalendar otherCompanyCalendar = new CompanyCalendar(otherSubscriber);
+        otherCompanyCalendar.setId(2L);
+        otherCompanyCalendar.setCalendarPeriod(java.time.Period.parse("P1Y"));
+        when(companyCalendarRepository.findBySecretAndPerson("other-secret", otherSubscriber)).thenReturn(Optional.of(otherCompanyCalendar));
+
+        sut.getCalendarForAll(10L, "secret", GERMAN);
+        sut.getCalendarForAll(20L, "other-secret", GERMAN);
+
+        verify(calendarAbsenceService).getOpenAbsencesSince(any(LocalDate.class));
+        verify(iCalService).writeCalendar(eq("Abwesenheitskalender der Firma"), eq(absences), eq(subscriber), any(), any());
+        verify(iCalService).writeCalendar(eq("Abwesenheitskalender der Firma"), eq(absences), eq(otherSubscriber), any(), any());
     }
 
     @Test
@@ -238,4 +289,10 @@ class CompanyCalendarServiceTest {
 
         return new CalendarAbsence(person, period, timeConfig);
     }
+
+    private static String content(ICalFeed feed) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        feed.writeTo(outputStream);
+        return outputStream.toString(UTF_8);
+    }
 }
@@ -1,12 +1,12 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
@@ -14,7 +14,10 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -22,6 +25,7 @@ import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.LocalDate.parse;
 import static java.time.Month.JANUARY;
 import static java.time.Month.JUNE;
@@ -34,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createDepartment;
@@ -58,11 +63,15 @@ class DepartmentCalendarServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    private ICalCache iCalCache;
+
     @BeforeEach
     void setUp() {
+        iCalCache = new ICalCache(new TenantContextHolder() {
+        }, calendarAbsenceService, new ICalCacheProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
 
         sut = new DepartmentCalendarService(calendarAbsenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+            departmentCalendarRepository, iCalService, messageSource, iCalCache, Clock.systemUTC());
     }
 
     @Test
@@ -115,11 +124,13 @@ class DepartmentCalendarServiceTest {
         when(calendarAbsenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.department.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Abteilung DepartmentName");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar");
-        when(iCalService.getCalendar("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender der Abteilung DepartmentName"), eq(fullDayAbsences), eq(person), any(), any());
 
-        final ByteArrayResource calendar = sut.getCalendarForDepartment(1L, 10L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForDepartment(1L, 10L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
     }
 
     @Test
@@ -271,7 +282,7 @@ class DepartmentCalendarServiceTest {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-04-15T10:00:00.00Z"), ZoneId.of("UTC"));
         final DepartmentCalendarService departmentCalendarService = new DepartmentCalendarService(calendarAbsenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+            departmentCalendarRepository, iCalService, messageSource, iCalCache, clock);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1L);
@@ -303,7 +314,7 @@ class DepartmentCalendarServiceTest {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-06-15T10:00:00.00Z"), ZoneId.of("UTC"));
         final DepartmentCalendarService departmentCalendarService = new DepartmentCalendarService(calendarAbsenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+            departmentCalendarRepository, iCalService, messageSource, iCalCache, clock);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1L);
@@ -349,4 +360,10 @@ class DepartmentCalendarServiceTest {
 
         return new CalendarAbsence(person, period, timeConfig);
     }
+
+    private static String content(ICalFeed feed) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        feed.writeTo(outputStream);
+        return outputStream.toString(UTF_8);
+    }
 }
@@ -0,0 +1,532 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source;
+import org.synyx.urlaubsverwaltung.department.PersonLeftDepartmentEvent;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.APPLICATION;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.SICK_NOTE;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.DEFAULT;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.CONVERTED_TO_VACATION;
+
+@ExtendWith(MockitoExtension.class)
+class ICalCacheTest {
+
+    private static final LocalDate SINCE_DATE = LocalDate.of(2024, 1, 1);
+
+    private ICalCache sut;
+
+    @Mock
+    private CalendarAbsenceService calendarAbsenceService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestTenantContextHolder tenantContextHolder = new TestTenantContextHolder();
+    private final Clock clock = Clock.fixed(Instant.parse("2024-06-01T10:00:00Z"), ZoneOffset.UTC);
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger rendered = new AtomicInteger();
+    private final AtomicReference<List<CalendarAbsence>> lastRenderedAbsences = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        sut = new ICalCache(tenantContextHolder, calendarAbsenceService, new ICalCacheProperties(), meterRegistry, clock);
+    }
+
+    @Test
+    void ensureLoadsAbsencesOncePerScopeAndSinceDate() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        final ICalFeed cachedFeed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, ENGLISH), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE.plusDays(1), subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("company"));
+
+        assertThat(cachedFeed).isSameAs(feed);
+        assertThat(loaded).hasValue(3);
+        assertThat(rendered).hasValue(4);
+    }
+
+    @Test
+    void ensureSharesAbsencesBetweenSubscribersAndRendersFeedPerSubscriber() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final ICalFeed feedOfOne = sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("company of one"));
+        final ICalFeed feedOfTwo = sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(2L, GERMAN), loader(), renderer("company of two"));
+        final ICalFeed cachedFeedOfOne = sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("company of one"));
+
+        assertThat(loaded).hasValue(1);
+        assertThat(rendered).hasValue(2);
+        assertThat(cachedFeedOfOne).isSameAs(feedOfOne);
+        assertThat(content(feedOfOne)).isEqualTo("company of one");
+        assertThat(content(feedOfTwo)).isEqualTo("company of two");
+    }
+
+    @Test
+    void ensureRendersFeedOfEverySubscriberAgainAfterChange() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("company"));
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(2L, GERMAN), loader(), renderer("company"));
+
+        final Application application = application(7L, person(1L));
+        final CalendarAbsence absence = absence(person(1L), new Source(APPLICATION, 7L), FULL);
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(absence));
+        sut.update(application);
+
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("company"));
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(2L, GERMAN), loader(), renderer("company"));
+
+        assertThat(loaded).hasValue(1);
+        assertThat(rendered).hasValue(2 + 2);
+        assertThat(lastRenderedAbsences.get()).containsExactly(absence);
+    }
+
+    @Test
+    void ensureFeedHasContentHashAsETagAndRenderingTimeAsLastModified() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        final ICalFeed sameContent = sut.get(personScope(2L), SINCE_DATE, subscriber(2L, GERMAN), loader(), renderer("person"));
+        final ICalFeed otherContent = sut.get(personScope(3L), SINCE_DATE, subscriber(3L, GERMAN), loader(), renderer("other"));
+
+        assertThat(content(feed)).isEqualTo("person");
+        assertThat(feed.eTag()).isEqualTo("\"38a81e87e79631e602bf5fbd307ce2fcd382b1670c585ea09032aac778a80531\"");
+        assertThat(feed.contentLength()).isEqualTo(6);
+        assertThat(sameContent.eTag()).isEqualTo(feed.eTag());
+        assertThat(otherContent.eTag()).isNotEqualTo(feed.eTag());
+        assertThat(feed.lastModified()).isEqualTo(Instant.parse("2024-06-01T10:00:00Z"));
+    }
+
+    @Test
+    void ensureWritesFeedWithRenderingTimeAsDtStampForEveryResponse() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(),
+            (absences, dtStamp, outputStream) -> write(outputStream, "DTSTAMP:" + dtStamp));
+
+        assertThat(content(feed)).isEqualTo("DTSTAMP:2024-06-01T10:00:00Z");
+        assertThat(content(feed)).isEqualTo("DTSTAMP:2024-06-01T10:00:00Z");
+        assertThat(feed.contentLength()).isEqualTo(28);
+    }
+
+    @Test
+    void ensureSeparatesFeedsOfTenants() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("one"));
+
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("two"));
+
+        assertThat(loaded).hasValue(2);
+        assertThat(content(feed)).isEqualTo("two");
+    }
+
+    @Test
+    void ensureBypassesCacheWithoutTenant() {
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(loaded).hasValue(2);
+        assertThat(rendered).hasValue(2);
+    }
+
+    @Test
+    void ensureAppliesChangedApplicationToFeedsShowingThePersonWithoutLoadingThemAgain() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        final Application application = application(7L, person(1L));
+        final CalendarAbsence absence = absence(person(1L), new Source(APPLICATION, 7L), FULL);
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(absence));
+
+        sut.on(ApplicationAllowedEvent.of(application));
+        getAllFeeds();
+
+        // the feed of the person, the department feed with the person as member and the company feed
+        assertThat(loaded).hasValue(5);
+        assertThat(rendered).hasValue(5 + 3);
+    }
+
+    @Test
+    void ensureReplacesChangedAbsenceInFeed() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        final CalendarAbsence other = absence(person(1L), new Source(SICK_NOTE, 7L), FULL);
+        final CalendarAbsence absence = absence(person(1L), new Source(APPLICATION, 7L), FULL);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(absence, other), renderer("person"));
+
+        final Application application = application(7L, person(1L));
+        final CalendarAbsence changedAbsence = absence(person(1L), new Source(APPLICATION, 7L), MORNING);
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(changedAbsence));
+
+        sut.update(application);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).containsExactly(changedAbsence, other);
+    }
+
+    @Test
+    void ensureAddsNewAbsenceToFeed() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        final CalendarAbsence absence = absence(person(1L), new Source(APPLICATION, 7L), FULL);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(absence), renderer("person"));
+
+        final Application application = application(8L, person(1L));
+        final CalendarAbsence newAbsence = absence(person(1L), new Source(APPLICATION, 8L), FULL);
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(newAbsence));
+
+        sut.update(application);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).containsExactly(absence, newAbsence);
+    }
+
+    @Test
+    void ensureDoesNotAddAbsenceEndingBeforeSinceDateOfFeed() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE.plusDays(1), subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        final Application application = application(8L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(absence(person(1L), new Source(APPLICATION, 8L), FULL)));
+
+        sut.update(application);
+        sut.get(personScope(1L), SINCE_DATE.plusDays(1), subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).isEmpty();
+    }
+
+    @Test
+    void ensureRemovesAbsenceOfApplicationThatIsNotOpenAnymore() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        final CalendarAbsence other = absence(person(1L), new Source(SICK_NOTE, 7L), FULL);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(absence(person(1L), new Source(APPLICATION, 7L), FULL), other), renderer("person"));
+
+        final Application application = application(7L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.empty());
+
+        sut.update(application);
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).containsExactly(other);
+    }
+
+    @Test
+    void ensureRemovesAbsenceOfDeletedApplication() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(absence(person(1L), new Source(APPLICATION, 7L), FULL)), renderer("person"));
+
+        sut.on(ApplicationDeletedEvent.of(application(7L, person(1L))));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).isEmpty();
+    }
+
+    @Test
+    void ensureReplacesConvertedSickNoteWithApplication() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(absence(person(1L), new Source(SICK_NOTE, 7L), FULL)), renderer("person"));
+
+        final SickNote sickNote = SickNote.builder().id(7L).person(person(1L)).endDate(SINCE_DATE).status(CONVERTED_TO_VACATION).build();
+        final Application application = application(8L, person(1L));
+        final CalendarAbsence applicationAbsence = absence(person(1L), new Source(APPLICATION, 8L), FULL);
+        when(calendarAbsenceService.getOpenAbsence(sickNote)).thenReturn(Optional.empty());
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(applicationAbsence));
+
+        sut.on(SickNoteToApplicationConvertedEvent.of(sickNote, application));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(lastRenderedAbsences.get()).containsExactly(applicationAbsence);
+    }
+
+    @Test
+    void ensureAppliesChangedApplicationOfCurrentTenantOnly() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("one"));
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("two"));
+
+        final Application application = application(7L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.empty());
+        sut.update(application);
+
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("two"));
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("one"));
+
+        assertThat(rendered).hasValue(3);
+    }
+
+    @Test
+    void ensureRendersChangedFeedOnlyOnce() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        final Application application = application(7L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.empty());
+        sut.update(application);
+
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        final ICalFeed cachedFeed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(cachedFeed).isSameAs(feed);
+        assertThat(loaded).hasValue(1);
+        assertThat(rendered).hasValue(2);
+    }
+
+    @Test
+    void ensureDoesNotCacheFeedLoadedWhileAbsencesChanged() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final Application application = application(7L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.empty());
+
+        final ICalFeed feed = sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), () -> {
+            loaded.incrementAndGet();
+            // a change committed by another request while the absences are loaded
+            sut.update(application);
+            return List.of(absence(person(1L), new Source(APPLICATION, 7L), FULL));
+        }, renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(loaded).hasValue(2);
+        assertThat(lastRenderedAbsences.get()).isEmpty();
+        assertThat(content(feed)).isEqualTo("person");
+    }
+
+    @Test
+    void ensureAppliesChangedApplicationAfterCommitOnly() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        final Application application = application(7L, person(1L));
+        final CalendarAbsence absence = absence(person(1L), new Source(APPLICATION, 7L), FULL);
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.of(absence));
+
+        final List<TransactionSynchronization> synchronizations = inTransaction(() -> sut.update(application));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        assertThat(rendered).hasValue(1);
+
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(loaded).hasValue(1);
+        assertThat(rendered).hasValue(2);
+        assertThat(lastRenderedAbsences.get()).containsExactly(absence);
+    }
+
+    @Test
+    void ensureDropsFeedsOfPersonAfterRollback() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        final Application application = application(7L, person(1L));
+        when(calendarAbsenceService.getOpenAbsence(application)).thenReturn(Optional.empty());
+
+        final List<TransactionSynchronization> synchronizations = inTransaction(() -> sut.update(application));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        getAllFeeds();
+
+        assertThat(loaded).hasValue(5 + 3);
+    }
+
+    @Test
+    void ensureInvalidatesFeedsOfDepartmentOnly() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        sut.invalidateDepartment(10L);
+        getAllFeeds();
+
+        assertThat(loaded).hasValue(5 + 1);
+    }
+
+    @Test
+    void ensureInvalidatesFeedsOfDepartmentOnPersonLeftDepartment() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        sut.on(new PersonLeftDepartmentEvent(this, 1L, 20L));
+        getAllFeeds();
+
+        assertThat(loaded).hasValue(5 + 1);
+    }
+
+    @Test
+    void ensureInvalidatesFeedsShowingPersonOnPersonUpdated() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        sut.on(new PersonUpdatedEvent(this, 1L, "Marlene Muster", "muster", "muster@example.org", true));
+        getAllFeeds();
+
+        // the feed of the person, the department feed with the person as member and the company feed
+        assertThat(loaded).hasValue(5 + 3);
+    }
+
+    @Test
+    void ensureInvalidatesFeedsShowingPersonOnPersonDisabled() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        sut.on(new PersonDisabledEvent(this, 2L, "Marlene Muster", "muster", "muster@example.org"));
+        getAllFeeds();
+
+        assertThat(loaded).hasValue(5 + 3);
+    }
+
+    @Test
+    void ensureInvalidatesFeedsShowingPersonOnPersonDeleted() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        getAllFeeds();
+
+        sut.on(new PersonDeletedEvent(person(1L)));
+        getAllFeeds();
+
+        assertThat(loaded).hasValue(5 + 3);
+    }
+
+    @Test
+    void ensureRecordsHitsAndMisses() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person"));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ical").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ical").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private void getAllFeeds() {
+        sut.get(personScope(1L), SINCE_DATE, subscriber(1L, GERMAN), loader(), renderer("person one"));
+        sut.get(personScope(2L), SINCE_DATE, subscriber(2L, GERMAN), loader(), renderer("person two"));
+        sut.get(ICalCache.Scope.department(10L, List.of(person(1L))), SINCE_DATE, subscriber(3L, GERMAN), loader(), renderer("department ten"));
+        sut.get(ICalCache.Scope.department(20L, List.of(person(2L))), SINCE_DATE, subscriber(4L, GERMAN), loader(), renderer("department twenty"));
+        sut.get(ICalCache.Scope.company(), SINCE_DATE, subscriber(5L, GERMAN), loader(), renderer("company"));
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable runnable) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            runnable.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ICalCache.Subscriber subscriber(long personId, Locale locale) {
+        return new ICalCache.Subscriber(personId, locale);
+    }
+
+    private static ICalCache.Scope personScope(long personId) {
+        return ICalCache.Scope.person(person(personId));
+    }
+
+    private static Person person(long personId) {
+        final Person person = new Person();
+        person.setId(personId);
+        return person;
+    }
+
+    private static Application application(long applicationId, Person person) {
+        final Application application = new Application();
+        application.setId(applicationId);
+        application.setPerson(person);
+        application.setStartDate(SINCE_DATE);
+        application.setEndDate(SINCE_DATE);
+        return application;
+    }
+
+    private static CalendarAbsence absence(Person person, Source source, DayLength dayLength) {
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        timeSettings.setWorkDayBeginHour(8);
+        timeSettings.setWorkDayEndHour(16);
+        return new CalendarAbsence(person, new Period(SINCE_DATE, SINCE_DATE, dayLength), new CalendarAbsenceConfiguration(timeSettings), DEFAULT, source);
+    }
+
+    private Supplier<List<CalendarAbsence>> loader(CalendarAbsence... absences) {
+        return () -> {
+            loaded.incrementAndGet();
+            return List.of(absences);
+        };
+    }
+
+    private ICalCache.Renderer renderer(String content) {
+        return (absences, dtStamp, outputStream) -> {
+            rendered.incrementAndGet();
+            lastRenderedAbsences.set(absences);
+            write(outputStream, content);
+        };
+    }
+
+    private static void write(OutputStream outputStream, String content) {
+        try {
+            outputStream.write(content.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String content(ICalFeed feed) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        feed.writeTo(outputStream);
+        return outputStream.toString(UTF_8);
+    }
+
+    private static class TestTenantContextHolder implements TenantContextHolder {
+
+        private TenantId tenantId;
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId);
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCancelledEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.APPLICATION;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsence.Source.Type.SICK_NOTE;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.DEFAULT;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+
+class ICalEventCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 10);
+
+    private ICalEventCache sut;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestTenantContextHolder tenantContextHolder = new TestTenantContextHolder();
+    private final AtomicInteger rendered = new AtomicInteger();
+    private final Person person = person();
+
+    @BeforeEach
+    void setUp() {
+        sut = new ICalEventCache(tenantContextHolder, new ICalCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void ensureRendersEventOncePerSourceOwnershipAndLocale() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        final CalendarAbsence absence = absence(new Source(APPLICATION, 1L), FULL);
+
+        final String event = sut.get(absence, true, GERMAN, renderer("event"));
+        final String cachedEvent = sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("other"));
+        sut.get(absence, false, GERMAN, renderer("event"));
+        sut.get(absence, true, ENGLISH, renderer("event"));
+        sut.get(absence(new Source(SICK_NOTE, 1L), FULL), true, GERMAN, renderer("event"));
+
+        assertThat(event).isEqualTo("event");
+        assertThat(cachedEvent).isEqualTo("event");
+        assertThat(rendered).hasValue(4);
+    }
+
+    @Test
+    void ensureRendersEventAgainIfAbsenceChanged() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("full day"));
+
+        final String event = sut.get(absence(new Source(APPLICATION, 1L), MORNING), true, GERMAN, renderer("morning"));
+        assertThat(event).isEqualTo("morning");
+
+        person.setFirstName("Marion");
+        final String eventOfRenamedPerson = sut.get(absence(new Source(APPLICATION, 1L), MORNING), true, GERMAN, renderer("renamed"));
+        assertThat(eventOfRenamedPerson).isEqualTo("renamed");
+
+        assertThat(rendered).hasValue(3);
+    }
+
+    @Test
+    void ensureBypassesCacheWithoutTenantOrSource() {
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(null, FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(null, FULL), true, GERMAN, renderer("event"));
+
+        assertThat(rendered).hasValue(4);
+    }
+
+    @Test
+    void ensureSeparatesEventsOfTenants() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("one"));
+
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        final String event = sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("two"));
+
+        assertThat(event).isEqualTo("two");
+    }
+
+    @Test
+    void ensureInvalidatesEventsOfApplicationOnApplicationEvent() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), false, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 2L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(SICK_NOTE, 1L), FULL), true, GERMAN, renderer("event"));
+
+        final Application application = new Application();
+        application.setId(1L);
+        sut.on(ApplicationAllowedEvent.of(application));
+
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), false, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 2L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(SICK_NOTE, 1L), FULL), true, GERMAN, renderer("event"));
+
+        assertThat(rendered).hasValue(6);
+    }
+
+    @Test
+    void ensureInvalidatesEventsOfSickNoteOnSickNoteEvent() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(new Source(SICK_NOTE, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+
+        sut.on(SickNoteCancelledEvent.of(SickNote.builder().id(1L).build()));
+
+        sut.get(absence(new Source(SICK_NOTE, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+
+        assertThat(rendered).hasValue(3);
+    }
+
+    @Test
+    void ensureRecordsHitsAndMisses() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+        sut.get(absence(new Source(APPLICATION, 1L), FULL), true, GERMAN, renderer("event"));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ical-events").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "ical-events").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private CalendarAbsence absence(Source source, DayLength dayLength) {
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        timeSettings.setWorkDayBeginHour(8);
+        timeSettings.setWorkDayEndHour(16);
+        return new CalendarAbsence(person, new Period(DATE, DATE, dayLength), new CalendarAbsenceConfiguration(timeSettings), DEFAULT, source);
+    }
+
+    private Supplier<String> renderer(String event) {
+        return () -> {
+            rendered.incrementAndGet();
+            return event;
+        };
+    }
+
+    private static Person person() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        return person;
+    }
+
+    private static class TestTenantContextHolder implements TenantContextHolder {
+
+        private TenantId tenantId;
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId);
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.fortuna.ical4j.data.CalendarOutputter;
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.ParameterList;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.property.DtStamp;
+import net.fortuna.ical4j.model.property.ProdId;
+import net.fortuna.ical4j.model.property.RefreshInterval;
+import net.fortuna.ical4j.model.property.XProperty;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,18 +21,29 @@ import org.synyx.urlaubsverwaltung.branding.BrandingProperties;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 import org.synyx.urlaubsverwaltung.user.UserSettingsService;
 
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Locale.GERMAN;
+import static net.fortuna.ical4j.model.property.immutable.ImmutableCalScale.GREGORIAN;
+import static net.fortuna.ical4j.model.property.immutable.ImmutableVersion.VERSION_2_0;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.calendar.CalendarAbsenceType.DEFAULT;
 import static org.synyx.urlaubsverwaltung.calendar.ICalType.CANCELLED;
@@ -41,6 +62,9 @@ class ICalServiceTest {
     @Mock
     private UserSettingsService userSettingsService;
 
+    private final ICalEventCache iCalEventCache = new ICalEventCache(new TenantContextHolder() {
+    }, new ICalCacheProperties(), new SimpleMeterRegistry());
+
 
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
@@ -50,7 +74,7 @@ class ICalServiceTest {
     void setUp() {
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        sut = new ICalService(calendarProperties, new BrandingProperties("Urlaubsverwaltung"), messageSource, userSettingsService);
+        sut = new ICalService(calendarProperties, new BrandingProperties("Urlaubsverwaltung"), messageSource, userSettingsService, iCalEventCache);
     }
 
     @Test
@@ -58,11 +82,11 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sutWithBranding = new ICalService(calendarProperties, new BrandingProperties("Abwesenheiten"), messageSource, userSettingsService);
+        final ICalService sutWithBranding = new ICalService(calendarProperties, new BrandingProperties("Abwesenheiten"), messageSource, userSettingsService, iCalEventCache);
 
         final Person recipient = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
-        final ByteArrayResource calendar = sutWithBranding.getCalendar("Abwesenheitskalender", List.of(), recipient);
+        final String calendar = writeCalendar(sutWithBranding, "Abwesenheitskalender", List.of(), recipient, Instant.now());
         assertThat(convertCalendar(calendar)).contains("PRODID:-//Abwesenheiten//iCal4j 1.0//DE");
     }
 
@@ -71,14 +95,14 @@ class ICalServiceTest {
 
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
-        final ICalService sutWithBranding = new ICalService(calendarProperties, new BrandingProperties("Ürlaub; a,b\\c"), messageSource, userSettingsService);
+        final ICalService sutWithBranding = new ICalService(calendarProperties, new BrandingProperties("Ürlaub; a,b\\c"), messageSource, userSettingsService, iCalEventCache);
 
         final Person recipient = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
-        final ByteArrayResource calendar = sutWithBranding.getCalendar("Abwesenheitskalender", List.of(), recipient);
+        final String calendar = writeCalendar(sutWithBranding, "Abwesenheitskalender", List.of(), recipient, Instant.now());
 
         // ";", "," and "\" are delimiters in an iCalendar TEXT value and have to be escaped
-        assertThat(new String(calendar.getByteArray(), UTF_8))
+        assertThat(calendar)
             .contains("PRODID:-//Ürlaub\\; a\\,b\\\\c//iCal4j 1.0//DE");
     }
 
@@ -87,7 +111,7 @@ class ICalServiceTest {
 
         final Person recipient = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(), recipient, Instant.now());
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -110,7 +134,7 @@ class ICalServiceTest {
         final CalendarAbsence fullDayAbsence = absence(recipient, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
         when(messageSource.getMessage(eq(fullDayAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(fullDayAbsence), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(fullDayAbsence), recipient, Instant.now());
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -133,6 +157,40 @@ class ICalServiceTest {
                 """);
     }
 
+    @Test
+    void ensureCachedEventIsWrittenWithDtStampOfEveryCalendar() {
+
+        final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(new TenantId("one"));
+            }
+        };
+        final ICalEventCache cachingICalEventCache = new ICalEventCache(tenantContextHolder, new ICalCacheProperties(), new SimpleMeterRegistry());
+
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setOrganizer("no-reply@example.org");
+        final ICalService cachingSut = new ICalService(calendarProperties, new BrandingProperties("Urlaubsverwaltung"), messageSource, userSettingsService,
+            cachingICalEventCache);
+
+        final Person recipient = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(userSettingsService.getEffectiveLocale(List.of(recipient))).thenReturn(Map.of(recipient, GERMAN));
+
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        final CalendarAbsence fullDayAbsence = new CalendarAbsence(recipient, new Period(toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL),
+            new CalendarAbsenceConfiguration(timeSettings), DEFAULT, new CalendarAbsence.Source(CalendarAbsence.Source.Type.APPLICATION, 1L));
+        when(messageSource.getMessage(eq(fullDayAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
+
+        final String firstCalendar = writeCalendar(cachingSut, "Abwesenheitskalender", List.of(fullDayAbsence), recipient, Instant.parse("2024-06-01T10:00:00Z"));
+        final String secondCalendar = writeCalendar(cachingSut, "Abwesenheitskalender", List.of(fullDayAbsence), recipient, Instant.parse("2024-06-02T10:00:00Z"));
+
+        assertThat(firstCalendar).contains("BEGIN:VEVENT\r\nDTSTAMP:20240601T100000Z\r\nDTSTART;VALUE=DATE:20190326\r\n");
+        assertThat(secondCalendar).contains("BEGIN:VEVENT\r\nDTSTAMP:20240602T100000Z\r\nDTSTART;VALUE=DATE:20190326\r\n");
+        assertThat(secondCalendar).containsOnlyOnce("DTSTAMP");
+        verify(messageSource, times(1)).getMessage(eq(fullDayAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN));
+    }
+
     @Test
     void getCalendarForPersonForHalfDayMorning() {
 
@@ -142,7 +200,7 @@ class ICalServiceTest {
         final CalendarAbsence morningAbsence = absence(recipient, toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING);
         when(messageSource.getMessage(eq(morningAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(morningAbsence), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(morningAbsence), recipient, Instant.now());
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -174,7 +232,7 @@ class ICalServiceTest {
         final CalendarAbsence manyFullDayAbsence = absence(recipient, toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL);
         when(messageSource.getMessage(eq(manyFullDayAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(manyFullDayAbsence), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(manyFullDayAbsence), recipient, Instant.now());
 
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
@@ -208,7 +266,7 @@ class ICalServiceTest {
         final CalendarAbsence noonAbsence = absence(recipient, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON);
         when(messageSource.getMessage(eq(noonAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(noonAbsence), recipient, Instant.now());
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -240,7 +298,7 @@ class ICalServiceTest {
         final CalendarAbsence noonAbsence = absence(recipient, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON, DEFAULT, "Europe/Berlin");
         when(messageSource.getMessage(eq(noonAbsence.getCalendarAbsenceTypeMessageKey()), any(), eq(GERMAN))).thenReturn(recipient.getNiceName() + " abwesend");
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence), recipient);
+        final String calendar = writeCalendar(sut, "Abwesenheitskalender", List.of(noonAbsence), recipient, Instant.now());
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -423,6 +481,104 @@ class ICalServiceTest {
                 """);
     }
 
+    @Test
+    void ensureWritesCalendarByteForByteLikeCalendarOutputter() throws Exception {
+
+        final Person recipient = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person colleague = new Person("jmueller", "Müller-Lüdenscheidt, von und zu", "Jörg \"Jojo\"", "joerg.mueller-luedenscheidt@example.org");
+        final Person colleagueWithoutEmail = new Person("schmidt", "Schmidt", "Sören", null);
+        when(userSettingsService.getEffectiveLocale(List.of(recipient))).thenReturn(Map.of(recipient, GERMAN));
+        when(messageSource.getMessage(any(), any(), eq(GERMAN)))
+            .thenAnswer(invocation -> invocation.getArgument(1, Object[].class)[0] + " ist abwesend; ganztägig, siehe \\Urlaubsverwaltung für eine sehr lange Beschreibung");
+
+        final List<CalendarAbsence> absences = List.of(
+            absence(recipient, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL),
+            absence(recipient, toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL),
+            absence(recipient, toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING),
+            absence(colleague, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON, DEFAULT, "Europe/Berlin"),
+            absence(colleagueWithoutEmail, toDateTime("2019-05-27"), toDateTime("2019-05-31"), FULL),
+            holidayReplacement(recipient, toDateTime("2019-06-03"), toDateTime("2019-06-03"), FULL)
+        );
+        final String title = "Abwesenheitskalender der Abteilung Forschung, Entwicklung; Qualitätssicherung und Betrieb";
+        final Instant dtStamp = Instant.parse("2024-06-01T10:00:00Z");
+
+        final Calendar calendar = new Calendar();
+        calendar.add(VERSION_2_0);
+        calendar.add(new ProdId("-//Urlaubsverwaltung//iCal4j 1.0//DE"));
+        calendar.add(GREGORIAN);
+        calendar.add(new XProperty("X-MICROSOFT-CALSCALE", GREGORIAN.getValue()));
+        absences.stream()
+            .map(absence -> sut.toVEvent(absence, PUBLISHED, absence.getPerson().equals(recipient), GERMAN))
+            .flatMap(Optional::stream)
+            .map(event -> {
+                // ical4j stamps every created event with the current time
+                event.<DtStamp>getProperty(Property.DTSTAMP).orElseThrow().setDate(dtStamp);
+                return event;
+            })
+            .forEach(calendar::add);
+        calendar.add(new XProperty("X-WR-CALNAME", title));
+        calendar.add(new RefreshInterval(new ParameterList(), Duration.ofDays(1)));
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new CalendarOutputter(true).output(calendar, expected);
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        sut.writeCalendar(title, absences, recipient, dtStamp, written);
+
+        assertThat(written.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void ensureWritesCachedEventWithFoldedLongLocalizedSummaryByteForByteLikeCalendarOutputter() throws Exception {
+
+        final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(new TenantId("one"));
+            }
+        };
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setOrganizer("no-reply@example.org");
+        final ICalService cachingSut = new ICalService(calendarProperties, new BrandingProperties("Urlaubsverwaltung"), messageSource, userSettingsService,
+            new ICalEventCache(tenantContextHolder, new ICalCacheProperties(), new SimpleMeterRegistry()));
+
+        final Locale greek = Locale.forLanguageTag("el");
+        final Person recipient = new Person("muster", "Μούστερ", "Μαρλένε", "muster@example.org");
+        when(userSettingsService.getEffectiveLocale(List.of(recipient))).thenReturn(Map.of(recipient, greek));
+        when(messageSource.getMessage(any(), any(), eq(greek)))
+            .thenAnswer(invocation -> invocation.getArgument(1, Object[].class)[0] + " απουσιάζει ολοήμερα λόγω άδειας μετ' αποδοχών και δεν είναι διαθέσιμη");
+
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        final CalendarAbsence absence = new CalendarAbsence(recipient, new Period(toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL),
+            new CalendarAbsenceConfiguration(timeSettings), DEFAULT, new CalendarAbsence.Source(CalendarAbsence.Source.Type.APPLICATION, 1L));
+        final String title = "Ημερολόγιο απουσιών";
+        final Instant dtStamp = Instant.parse("2024-06-01T10:00:00Z");
+
+        final VEvent event = cachingSut.toVEvent(absence, PUBLISHED, true, greek).orElseThrow();
+        // ical4j stamps every created event with the current time
+        event.<DtStamp>getProperty(Property.DTSTAMP).orElseThrow().setDate(dtStamp);
+        final Calendar calendar = new Calendar();
+        calendar.add(VERSION_2_0);
+        calendar.add(new ProdId("-//Urlaubsverwaltung//iCal4j 1.0//DE"));
+        calendar.add(GREGORIAN);
+        calendar.add(new XProperty("X-MICROSOFT-CALSCALE", GREGORIAN.getValue()));
+        calendar.add(event);
+        calendar.add(new XProperty("X-WR-CALNAME", title));
+        calendar.add(new RefreshInterval(new ParameterList(), Duration.ofDays(1)));
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new CalendarOutputter(true).output(calendar, expected);
+
+        final ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        cachingSut.writeCalendar(title, List.of(absence), recipient, dtStamp, rendered);
+        final ByteArrayOutputStream writtenFromCache = new ByteArrayOutputStream();
+        cachingSut.writeCalendar(title, List.of(absence), recipient, dtStamp, writtenFromCache);
+
+        // the summary is folded into several lines
+        assertThat(expected.toString(UTF_8)).containsPattern("SUMMARY:Μαρλένε Μούστερ[^\r]*\r\n ");
+        assertThat(rendered.toByteArray()).isEqualTo(expected.toByteArray());
+        assertThat(writtenFromCache.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
     private CalendarAbsence absence(Person person, LocalDate start, LocalDate end, DayLength length) {
         return absence(person, start, end, length, DEFAULT);
     }
@@ -454,7 +610,16 @@ class ICalServiceTest {
      * @return calendar as string
      */
     private String convertCalendar(ByteArrayResource calendar) {
-        return new String(calendar.getByteArray(), UTF_8)
-            .replaceAll("(?m)^DTSTAMP.*", "DTSTAMP:<removedByConversionMethod>");
+        return convertCalendar(new String(calendar.getByteArray(), UTF_8));
+    }
+
+    private String convertCalendar(String calendar) {
+        return calendar.replaceAll("(?m)^DTSTAMP.*", "DTSTAMP:<removedByConversionMethod>");
+    }
+
+    private static String writeCalendar(ICalService sut, String title, List<CalendarAbsence> absences, Person recipient, Instant dtStamp) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.writeCalendar(title, absences, recipient, dtStamp, outputStream);
+        return outputStream.toString(UTF_8);
     }
 }
@@ -10,6 +10,8 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.web.context.WebApplicationContext;
 import org.synyx.urlaubsverwaltung.SingleTenantTestContainersBase;
 
+import java.time.Instant;
+
 import static java.util.Locale.GERMAN;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -34,7 +36,7 @@ class ICalViewControllerSecurityIT extends SingleTenantTestContainersBase {
     void getPersonCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(personCalendarService.getCalendarForPerson(1L, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(personCalendarService.getCalendarForPerson(1L, secret, GERMAN)).thenReturn(iCalFeed("calendar"));
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -45,7 +47,7 @@ class ICalViewControllerSecurityIT extends SingleTenantTestContainersBase {
     void getDepartmentCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, secret, GERMAN)).thenReturn(iCalFeed("calendar"));
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -56,7 +58,7 @@ class ICalViewControllerSecurityIT extends SingleTenantTestContainersBase {
     void getCompanyCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(companyCalendarService.getCalendarForAll(1L, secret, GERMAN)).thenReturn(new ByteArrayResource("calendar".getBytes()));
+        when(companyCalendarService.getCalendarForAll(1L, secret, GERMAN)).thenReturn(iCalFeed("calendar"));
 
         perform(get("/web/company/persons/1/calendar")
             .locale(GERMAN).param("secret", secret))
@@ -66,4 +68,8 @@ class ICalViewControllerSecurityIT extends SingleTenantTestContainersBase {
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return webAppContextSetup(context).apply(springSecurity()).build().perform(builder);
     }
+
+    private static ICalFeed iCalFeed(String content) {
+        return ICalFeed.of(new ByteArrayResource(content.getBytes()), Instant.parse("2024-01-01T10:00:00Z"));
+    }
 }
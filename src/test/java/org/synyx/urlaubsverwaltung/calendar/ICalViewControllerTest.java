@@ -6,10 +6,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
 import static java.util.Locale.GERMAN;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
@@ -40,7 +43,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForPerson() throws Exception {
 
-        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(new ByteArrayResource("iCal string".getBytes()));
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(iCalFeed("iCal string"));
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN)
@@ -48,6 +51,48 @@ class ICalViewControllerTest {
             .andExpect(status().isOk())
             .andExpect(header().string("Content-Type", "text/calendar;charset=UTF-8"))
             .andExpect(header().string("Content-Disposition", "attachment; filename=calendar.ics"))
+            .andExpect(header().longValue("Content-Length", 11))
+            .andExpect(content().string(containsString("iCal string")));
+    }
+
+    @Test
+    void getCalendarForPersonSendsETagAndLastModified() throws Exception {
+
+        final ICalFeed iCalFeed = iCalFeed("iCal string");
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(iCalFeed);
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", iCalFeed.eTag()))
+            .andExpect(header().string("Last-Modified", "Mon, 01 Jan 2024 10:00:00 GMT"));
+    }
+
+    @Test
+    void getCalendarForPersonNotModified() throws Exception {
+
+        final ICalFeed iCalFeed = iCalFeed("iCal string");
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(iCalFeed);
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCalFeed.eTag()))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCalendarForPersonModified() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(iCalFeed("iCal string"));
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCalFeed("outdated iCal string").eTag()))
+            .andExpect(status().isOk())
             .andExpect(content().string(containsString("iCal string")));
     }
 
@@ -76,7 +121,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForDepartment() throws Exception {
 
-        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar department".getBytes()));
+        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, "secret", GERMAN)).thenReturn(iCalFeed("calendar department"));
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN)
@@ -87,6 +132,19 @@ class ICalViewControllerTest {
             .andExpect(content().string(containsString("calendar department")));
     }
 
+    @Test
+    void getCalendarForDepartmentNotModified() throws Exception {
+
+        final ICalFeed iCalFeed = iCalFeed("calendar department");
+        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, "secret", GERMAN)).thenReturn(iCalFeed);
+
+        perform(get("/web/departments/1/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCalFeed.eTag()))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     void getCalendarForDepartmentWithBadRequest() throws Exception {
 
@@ -112,7 +170,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForAll() throws Exception {
 
-        when(companyCalendarService.getCalendarForAll(2L, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar all".getBytes()));
+        when(companyCalendarService.getCalendarForAll(2L, "secret", GERMAN)).thenReturn(iCalFeed("calendar all"));
 
         perform(get("/web/company/persons/2/calendar")
             .locale(GERMAN)
@@ -123,6 +181,19 @@ class ICalViewControllerTest {
             .andExpect(content().string(containsString("calendar all")));
     }
 
+    @Test
+    void getCalendarForAllNotModified() throws Exception {
+
+        final ICalFeed iCalFeed = iCalFeed("calendar all");
+        when(companyCalendarService.getCalendarForAll(2L, "secret", GERMAN)).thenReturn(iCalFeed);
+
+        perform(get("/web/company/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCalFeed.eTag()))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     void getCalendarForAllWithNoContent() throws Exception {
 
@@ -148,4 +219,14 @@ class ICalViewControllerTest {
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).build().perform(builder);
     }
+
+    private static ICalFeed iCalFeed(String content) {
+        return ICalFeed.of(outputStream -> {
+            try {
+                outputStream.write(content.getBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Instant.parse("2024-01-01T10:00:00Z"));
+    }
 }
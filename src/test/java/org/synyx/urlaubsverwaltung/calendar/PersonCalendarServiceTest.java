@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,18 +8,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
@@ -51,14 +56,18 @@ class PersonCalendarServiceTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    private ICalCache iCalCache;
+
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
     }
 
     @BeforeEach
     void setUp() {
+        iCalCache = new ICalCache(new TenantContextHolder() {
+        }, calendarAbsenceService, new ICalCacheProperties(), new SimpleMeterRegistry(), Clock.systemUTC());
 
-        sut = new PersonCalendarService(calendarAbsenceService, personService, personCalendarRepository, iCalService, messageSource, applicationEventPublisher, Clock.systemUTC());
+        sut = new PersonCalendarService(calendarAbsenceService, personService, personCalendarRepository, iCalService, messageSource, applicationEventPublisher, iCalCache, Clock.systemUTC());
     }
 
     @Test
@@ -77,11 +86,13 @@ class PersonCalendarServiceTest {
         when(calendarAbsenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", fullDayAbsences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender von Marlene Muster"), eq(fullDayAbsences), eq(person), any(), any());
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
     }
 
     @Test
@@ -100,11 +111,13 @@ class PersonCalendarServiceTest {
         when(calendarAbsenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(morningAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", morningAbsences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender von Marlene Muster"), eq(morningAbsences), eq(person), any(), any());
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
     }
 
     @Test
@@ -123,11 +136,13 @@ class PersonCalendarServiceTest {
         when(calendarAbsenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(manyFullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender von Marlene Muster"), eq(manyFullDayAbsences), eq(person), any(), any());
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
     }
 
     @Test
@@ -146,11 +161,13 @@ class PersonCalendarServiceTest {
         when(calendarAbsenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(noonAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", noonAbsences, person)).thenReturn(iCal);
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("iCal".getBytes(UTF_8));
+            return null;
+        }).when(iCalService).writeCalendar(eq("Abwesenheitskalender von Marlene Muster"), eq(noonAbsences), eq(person), any(), any());
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(content(calendar)).isEqualTo("iCal");
     }
 
     @Test
@@ -344,4 +361,10 @@ class PersonCalendarServiceTest {
 
         return new CalendarAbsence(person, period, timeConfig);
     }
+
+    private static String content(ICalFeed feed) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        feed.writeTo(outputStream);
+        return outputStream.toString(UTF_8);
+    }
 }
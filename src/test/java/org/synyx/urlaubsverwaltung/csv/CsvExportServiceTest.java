@@ -8,14 +8,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Month.OCTOBER;
 import static java.util.Locale.JAPANESE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(MockitoExtension.class)
 class CsvExportServiceTest {
@@ -47,11 +53,9 @@ class CsvExportServiceTest {
 
         final CsvExportService<String> sut = new CsvExportService<>() {
             @Override
-            public void write(FilterPeriod period, Locale locale, List<String> data, CSVWriter csvWriter) {
-                final String[] row = new String[data.size()];
-                row[0] = data.getFirst();
-                row[1] = data.get(1);
-                csvWriter.writeNext(row);
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                final Iterator<String> iterator = data.iterator();
+                csvWriter.writeNext(new String[]{iterator.next(), iterator.next()});
             }
 
             @Override
@@ -70,8 +74,8 @@ class CsvExportServiceTest {
 
         final CsvExportService<String> sut = new CsvExportService<>() {
             @Override
-            public void write(FilterPeriod period, Locale locale, List<String> data, CSVWriter csvWriter) {
-                csvWriter.writeNext(new String[]{data.getFirst()});
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                csvWriter.writeNext(new String[]{data.iterator().next()});
 
             }
 
@@ -85,4 +89,154 @@ class CsvExportServiceTest {
         final ByteArrayResource aLotOfData = sut.resource(period, JAPANESE, List.of("A lot of data"));
         assertThat(new String(aLotOfData.getByteArray(), UTF_8)).contains("A lot of data");
     }
+
+    @Test
+    void ensureStreamingCsvIsWrittenIntoOutputStream() throws IOException {
+
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                data.forEach(element -> csvWriter.writeNext(new String[]{element}));
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+        };
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, OCTOBER, 2), LocalDate.of(2022, OCTOBER, 3));
+        final StreamingCSVFile csvFile = sut.generateStreamingCSV(period, JAPANESE, List.of("A lot of data", "Next data"));
+        assertThat(csvFile.fileName()).isEqualTo("someFileName.csv");
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        csvFile.body().writeTo(outputStream);
+
+        assertThat(outputStream.toByteArray()).startsWith((byte) 239, (byte) 187, (byte) 191);
+        assertThat(outputStream.toString(UTF_8)).contains("A lot of data\nNext data");
+        assertThat(outputStream.toByteArray()).isEqualTo(sut.resource(period, JAPANESE, List.of("A lot of data", "Next data")).getByteArray());
+    }
+
+    @Test
+    void ensureStreamingCsvIsFlushedEveryFlushInterval() {
+
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                data.forEach(element -> csvWriter.writeNext(new String[]{element}));
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+
+            @Override
+            public int flushInterval() {
+                return 2;
+            }
+        };
+
+        final List<String> writtenWhenNextElementIsRequested = new ArrayList<>();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final Iterable<String> data = () -> new Iterator<>() {
+
+            private final Iterator<String> iterator = List.of("a", "b", "c", "d", "e").iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                writtenWhenNextElementIsRequested.add(outputStream.toString(UTF_8).substring(1));
+                return iterator.next();
+            }
+        };
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, OCTOBER, 2), LocalDate.of(2022, OCTOBER, 3));
+        sut.writeTo(outputStream, period, JAPANESE, data);
+
+        assertThat(writtenWhenNextElementIsRequested).containsExactly("", "", "a\nb\n", "a\nb\n", "a\nb\nc\nd\n");
+        assertThat(outputStream.toString(UTF_8)).endsWith("a\nb\nc\nd\ne\n");
+    }
+
+    @Test
+    void ensureOutputStreamIsNotClosedWhenLoadingTheDataFails() {
+
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                data.forEach(element -> csvWriter.writeNext(new String[]{element}));
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+        };
+
+        final Iterable<String> data = () -> new Iterator<>() {
+
+            private final Iterator<String> iterator = List.of("a", "b").iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (!iterator.hasNext()) {
+                    throw new IllegalStateException("next page could not be loaded");
+                }
+                return iterator.next();
+            }
+        };
+
+        final AtomicBoolean closed = new AtomicBoolean();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, OCTOBER, 2), LocalDate.of(2022, OCTOBER, 3));
+        assertThatThrownBy(() -> sut.writeTo(outputStream, period, JAPANESE, data))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    void ensureOutputStreamIsClosedAfterWriting() {
+
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, Iterable<String> data, CSVWriter csvWriter) {
+                data.forEach(element -> csvWriter.writeNext(new String[]{element}));
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+        };
+
+        final AtomicBoolean closed = new AtomicBoolean();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, OCTOBER, 2), LocalDate.of(2022, OCTOBER, 3));
+        sut.writeTo(outputStream, period, JAPANESE, List.of("a", "b"));
+
+        assertThat(closed).isTrue();
+        assertThat(outputStream.toString(UTF_8)).endsWith("a\nb\n");
+    }
 }
@@ -0,0 +1,59 @@
+package org.synyx.urlaubsverwaltung.csv;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PagedIterableTest {
+
+    private static final List<String> ELEMENTS = List.of("a", "b", "c", "d", "e");
+
+    @Test
+    void ensureIteratesOverAllPages() {
+        final PagedIterable<String> sut = new PagedIterable<>(pageNumber -> page(pageNumber, 2));
+        assertThat(sut).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void ensureLoadsNextPageNotUntilCurrentPageIsConsumed() {
+
+        final List<Integer> loadedPages = new ArrayList<>();
+        final PagedIterable<String> sut = new PagedIterable<>(pageNumber -> {
+            loadedPages.add(pageNumber);
+            return page(pageNumber, 2);
+        });
+
+        final Iterator<String> iterator = sut.iterator();
+        assertThat(loadedPages).containsExactly(0);
+
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThat(iterator.next()).isEqualTo("b");
+        assertThat(loadedPages).containsExactly(0);
+
+        assertThat(iterator.next()).isEqualTo("c");
+        assertThat(loadedPages).containsExactly(0, 1);
+    }
+
+    @Test
+    void ensureEmptySourceHasNoElements() {
+        final PagedIterable<String> sut = new PagedIterable<>(pageNumber -> new PageImpl<>(List.of(), PageRequest.of(pageNumber, 2), 0));
+
+        final Iterator<String> iterator = sut.iterator();
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static PageImpl<String> page(int pageNumber, int pageSize) {
+        final int from = pageNumber * pageSize;
+        final int to = Math.min(from + pageSize, ELEMENTS.size());
+        return new PageImpl<>(ELEMENTS.subList(from, to), PageRequest.of(pageNumber, pageSize), ELEMENTS.size());
+    }
+}
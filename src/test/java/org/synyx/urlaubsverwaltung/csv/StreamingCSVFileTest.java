@@ -0,0 +1,94 @@
+package org.synyx.urlaubsverwaltung.csv;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingCSVFileTest {
+
+    private final ThreadLocalTenantContextHolder tenantContextHolder = new ThreadLocalTenantContextHolder();
+
+    @Test
+    void ensureBodyIsWrittenInTenantContextOfTheCallingThread() throws Exception {
+
+        final List<Optional<TenantId>> tenantIdsWhileWriting = new ArrayList<>();
+        final StreamingCSVFile csvFile = new StreamingCSVFile("filename.csv", outputStream -> {
+            tenantIdsWhileWriting.add(tenantContextHolder.getCurrentTenantId());
+            outputStream.write(42);
+        });
+
+        tenantContextHolder.setTenantId(new TenantId("tenant"));
+        final StreamingCSVFile sut;
+        try {
+            sut = csvFile.inTenantContextOf(tenantContextHolder);
+        } finally {
+            tenantContextHolder.clear();
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> {
+                sut.body().writeTo(outputStream);
+                return null;
+            }).get();
+        }
+
+        assertThat(sut.fileName()).isEqualTo("filename.csv");
+        assertThat(tenantIdsWhileWriting).containsExactly(Optional.of(new TenantId("tenant")));
+        assertThat(outputStream.toByteArray()).containsExactly(42);
+    }
+
+    @Test
+    void ensureTenantContextIsClearedWhenWritingFails() {
+
+        final StreamingCSVFile csvFile = new StreamingCSVFile("filename.csv", outputStream -> {
+            throw new IOException("client aborted");
+        });
+
+        tenantContextHolder.setTenantId(new TenantId("tenant"));
+        final StreamingCSVFile sut = csvFile.inTenantContextOf(tenantContextHolder);
+        tenantContextHolder.clear();
+
+        assertThatThrownBy(() -> sut.body().writeTo(new ByteArrayOutputStream()))
+            .hasMessage("client aborted");
+
+        assertThat(tenantContextHolder.getCurrentTenantId()).isEmpty();
+    }
+
+    @Test
+    void ensureSameFileWithoutTenantContext() {
+        final StreamingCSVFile csvFile = new StreamingCSVFile("filename.csv", outputStream -> outputStream.write(42));
+        assertThat(csvFile.inTenantContextOf(tenantContextHolder)).isSameAs(csvFile);
+    }
+
+    private static class ThreadLocalTenantContextHolder implements TenantContextHolder {
+
+        private final ThreadLocal<TenantId> tenantId = new ThreadLocal<>();
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId.get());
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId.set(tenantId);
+        }
+
+        @Override
+        public void clear() {
+            tenantId.remove();
+        }
+    }
+}
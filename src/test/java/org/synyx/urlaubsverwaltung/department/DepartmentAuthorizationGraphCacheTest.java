@@ -0,0 +1,108 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentAuthorizationGraphCacheTest {
+
+    private DepartmentAuthorizationGraphCache sut;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestTenantContextHolder tenantContextHolder = new TestTenantContextHolder();
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        sut = new DepartmentAuthorizationGraphCache(tenantContextHolder, new DepartmentAuthorizationGraphCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void ensureLoadsGraphOncePerTenant() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        final DepartmentAuthorizationGraph graph = sut.get(graphLoader());
+        assertThat(sut.get(graphLoader())).isSameAs(graph);
+
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        assertThat(sut.get(graphLoader())).isNotSameAs(graph);
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureBypassesCacheWithoutTenant() {
+        sut.get(graphLoader());
+        sut.get(graphLoader());
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureInvalidatesGraphOfCurrentTenantOnly() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(graphLoader());
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        sut.get(graphLoader());
+
+        sut.invalidate();
+
+        sut.get(graphLoader());
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(graphLoader());
+
+        assertThat(loaded).hasValue(3);
+    }
+
+    @Test
+    void ensureInvalidatesOnMembershipsChanged() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(graphLoader());
+
+        sut.onMembershipsChanged();
+        sut.get(graphLoader());
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureRecordsHitsAndMisses() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(graphLoader());
+        sut.get(graphLoader());
+        sut.get(graphLoader());
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "department-authorization-graph").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "department-authorization-graph").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private Supplier<DepartmentAuthorizationGraph> graphLoader() {
+        return () -> {
+            loaded.incrementAndGet();
+            return DepartmentAuthorizationGraph.of(List.of());
+        };
+    }
+
+    private static class TestTenantContextHolder implements TenantContextHolder {
+
+        private TenantId tenantId;
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId);
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
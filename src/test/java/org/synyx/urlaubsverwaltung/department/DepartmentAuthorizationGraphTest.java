@@ -0,0 +1,78 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.person.PersonId;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.department.DepartmentMembershipKind.DEPARTMENT_HEAD;
+import static org.synyx.urlaubsverwaltung.department.DepartmentMembershipKind.MEMBER;
+import static org.synyx.urlaubsverwaltung.department.DepartmentMembershipKind.SECOND_STAGE_AUTHORITY;
+
+class DepartmentAuthorizationGraphTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private final DepartmentAuthorizationGraph sut = DepartmentAuthorizationGraph.of(List.of(
+        membership(1L, 10L, DEPARTMENT_HEAD),
+        membership(1L, 30L, MEMBER),
+        membership(2L, 10L, MEMBER),
+        membership(2L, 20L, MEMBER),
+        membership(3L, 20L, SECOND_STAGE_AUTHORITY),
+        membership(3L, 30L, DEPARTMENT_HEAD),
+        membership(4L, 40L, MEMBER)
+    ));
+
+    @Test
+    void ensureSharesDepartmentWithGivenKinds() {
+        assertThat(sut.sharesDepartment(1L, DEPARTMENT_HEAD, 2L, MEMBER)).isTrue();
+        assertThat(sut.sharesDepartment(3L, SECOND_STAGE_AUTHORITY, 2L, MEMBER)).isTrue();
+        assertThat(sut.sharesDepartment(3L, DEPARTMENT_HEAD, 1L, MEMBER)).isTrue();
+    }
+
+    @Test
+    void ensureSharesNoDepartmentWithOtherKinds() {
+        assertThat(sut.sharesDepartment(2L, DEPARTMENT_HEAD, 1L, MEMBER)).isFalse();
+        assertThat(sut.sharesDepartment(3L, DEPARTMENT_HEAD, 2L, MEMBER)).isFalse();
+        assertThat(sut.sharesDepartment(1L, DEPARTMENT_HEAD, 4L, MEMBER)).isFalse();
+    }
+
+    @Test
+    void ensureSharesNoDepartmentWithUnknownPerson() {
+        assertThat(sut.sharesDepartment(1L, DEPARTMENT_HEAD, 42L, MEMBER)).isFalse();
+        assertThat(sut.sharesDepartment(null, DEPARTMENT_HEAD, 2L, MEMBER)).isFalse();
+        assertThat(sut.sharesAnyDepartment(42L, 1L)).isFalse();
+        assertThat(sut.sharesAnyDepartment(1L, null)).isFalse();
+    }
+
+    @Test
+    void ensureSharesAnyDepartmentRegardlessOfKind() {
+        assertThat(sut.sharesAnyDepartment(1L, 2L)).isTrue();
+        assertThat(sut.sharesAnyDepartment(1L, 3L)).isTrue();
+        assertThat(sut.sharesAnyDepartment(2L, 3L)).isTrue();
+        assertThat(sut.sharesAnyDepartment(1L, 4L)).isFalse();
+    }
+
+    @Test
+    void ensureGetDepartmentIdsOfGivenKinds() {
+        assertThat(sut.getDepartmentIds(3L, List.of(SECOND_STAGE_AUTHORITY))).containsExactly(20L);
+        assertThat(sut.getDepartmentIds(3L, List.of(SECOND_STAGE_AUTHORITY, DEPARTMENT_HEAD, MEMBER))).containsExactlyInAnyOrder(20L, 30L);
+        assertThat(sut.getDepartmentIds(1L, List.of(MEMBER))).containsExactly(30L);
+        assertThat(sut.getDepartmentIds(42L, List.of(MEMBER))).isEmpty();
+    }
+
+    @Test
+    void ensureEmptyGraphSharesNothing() {
+        final DepartmentAuthorizationGraph empty = DepartmentAuthorizationGraph.of(List.of());
+
+        assertThat(empty.sharesDepartment(1L, DEPARTMENT_HEAD, 2L, MEMBER)).isFalse();
+        assertThat(empty.sharesAnyDepartment(1L, 2L)).isFalse();
+        assertThat(empty.getDepartmentIds(1L, List.of(MEMBER))).isEmpty();
+    }
+
+    private static DepartmentMembership membership(long personId, long departmentId, DepartmentMembershipKind kind) {
+        return new DepartmentMembership(new PersonId(personId), departmentId, kind, NOW);
+    }
+}
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.department;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import org.synyx.urlaubsverwaltung.person.PersonPageRequest;
 import org.synyx.urlaubsverwaltung.person.PersonPageable;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.Role;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -67,12 +69,16 @@ class DepartmentServiceImplTest {
     private ApplicationService applicationService;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
 
     private final Clock clock = Clock.fixed(Instant.now(), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new DepartmentServiceImpl(departmentRepository, departmentMembershipService, personService, applicationService, applicationEventPublisher, clock);
+        final DepartmentAuthorizationGraphCache departmentAuthorizationGraphCache =
+            new DepartmentAuthorizationGraphCache(tenantContextHolder, new DepartmentAuthorizationGraphCacheProperties(), new SimpleMeterRegistry());
+        sut = new DepartmentServiceImpl(departmentRepository, departmentMembershipService, departmentAuthorizationGraphCache, personService, applicationService, applicationEventPublisher, clock);
     }
 
     @Nested
@@ -2284,8 +2290,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership headMembership = new DepartmentMembership(departmentHeadId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
         final DepartmentMembership membership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(departmentHeadId, personId)))
-            .thenReturn(Map.of(departmentHeadId, List.of(headMembership), personId, List.of(membership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(headMembership, membership));
 
         boolean actual = sut.isDepartmentHeadAllowedToManagePerson(departmentHead, person);
         assertThat(actual).isTrue();
@@ -2307,8 +2312,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership headMembership = new DepartmentMembership(departmentHeadId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherPersonId, 2L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(departmentHeadId, otherPersonId)))
-            .thenReturn(Map.of(departmentHeadId, List.of(headMembership), otherPersonId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(headMembership, otherMembership));
 
         boolean actual = sut.isDepartmentHeadAllowedToManagePerson(departmentHead, otherPerson);
         assertThat(actual).isFalse();
@@ -2330,6 +2334,66 @@ class DepartmentServiceImplTest {
         verifyNoInteractions(departmentMembershipService);
     }
 
+    @Test
+    void ensureReturnsTrueIfIsSecondStageAuthorityOfTheGivenPerson() {
+
+        final PersonId secondStageAuthorityId = new PersonId(1L);
+        final Person secondStageAuthority = new Person();
+        secondStageAuthority.setId(secondStageAuthorityId.value());
+        secondStageAuthority.setPermissions(List.of(USER, SECOND_STAGE_AUTHORITY));
+
+        final PersonId personId = new PersonId(2L);
+        final Person person = new Person();
+        person.setId(personId.value());
+        person.setPermissions(List.of(USER));
+
+        final DepartmentMembership secondStageMembership = new DepartmentMembership(secondStageAuthorityId, 1L, DepartmentMembershipKind.SECOND_STAGE_AUTHORITY, Instant.now(clock));
+        final DepartmentMembership membership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
+
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(secondStageMembership, membership));
+
+        boolean actual = sut.isSecondStageAuthorityAllowedToManagePerson(secondStageAuthority, person);
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void ensureReturnsFalseIfIsSecondStageAuthorityOfTheGivenPersonButNotAsSecondStageAuthority() {
+
+        final PersonId secondStageAuthorityId = new PersonId(1L);
+        final Person secondStageAuthority = new Person();
+        secondStageAuthority.setId(secondStageAuthorityId.value());
+        secondStageAuthority.setPermissions(List.of(USER, SECOND_STAGE_AUTHORITY));
+
+        final PersonId personId = new PersonId(2L);
+        final Person person = new Person();
+        person.setId(personId.value());
+        person.setPermissions(List.of(USER));
+
+        final DepartmentMembership headMembership = new DepartmentMembership(secondStageAuthorityId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
+        final DepartmentMembership secondStageMembership = new DepartmentMembership(secondStageAuthorityId, 2L, DepartmentMembershipKind.SECOND_STAGE_AUTHORITY, Instant.now(clock));
+        final DepartmentMembership membership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
+
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(headMembership, secondStageMembership, membership));
+
+        boolean actual = sut.isSecondStageAuthorityAllowedToManagePerson(secondStageAuthority, person);
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void ensureReturnsFalseIfIsInTheSameDepartmentButHasNotSecondStageAuthorityRole() {
+
+        final Person person = new Person();
+        person.setId(1L);
+        person.setPermissions(List.of(USER));
+
+        final Person otherPerson = new Person();
+
+        boolean actual = sut.isSecondStageAuthorityAllowedToManagePerson(person, otherPerson);
+        assertThat(actual).isFalse();
+
+        verifyNoInteractions(departmentMembershipService);
+    }
+
     @Test
     void ensureGetDepartmentHeadsAllowedToManagePersonReturnsOnlyManagingHeadsWithASingleQuery() {
 
@@ -2864,8 +2928,8 @@ class DepartmentServiceImplTest {
         final DepartmentStaff staff1 = new DepartmentStaff(1L, List.of(membership1), List.of(), List.of(secondStageMembership1));
         final DepartmentStaff staff2 = new DepartmentStaff(2L, List.of(), List.of(), List.of(secondStageMembership2));
 
-        when(departmentMembershipService.getActiveMemberships(personId))
-            .thenReturn(List.of(secondStageMembership1, secondStageMembership2));
+        when(departmentMembershipService.getAllActiveMemberships())
+            .thenReturn(List.of(secondStageMembership1, membership1, secondStageMembership2));
 
         when(departmentMembershipService.getDepartmentStaff(Set.of(1L, 2L)))
             .thenReturn(Map.of(1L, staff1, 2L, staff2));
@@ -2919,8 +2983,8 @@ class DepartmentServiceImplTest {
         final DepartmentStaff staff1 = new DepartmentStaff(1L, List.of(membership1), List.of(headMembership1), List.of());
         final DepartmentStaff staff2 = new DepartmentStaff(2L, List.of(), List.of(headMembership2), List.of());
 
-        when(departmentMembershipService.getActiveMemberships(personId))
-            .thenReturn(List.of(headMembership1, headMembership2));
+        when(departmentMembershipService.getAllActiveMemberships())
+            .thenReturn(List.of(headMembership1, membership1, headMembership2));
 
         when(departmentMembershipService.getDepartmentStaff(Set.of(1L, 2L)))
             .thenReturn(Map.of(1L, staff1, 2L, staff2));
@@ -2965,8 +3029,7 @@ class DepartmentServiceImplTest {
         departmentEntity2.setId(2L);
         departmentEntity2.setName("Department A");
 
-        when(departmentRepository.findAllById(Set.of(2L))).thenReturn(List.of(departmentEntity2));
-        when(departmentRepository.findAllById(Set.of(1L))).thenReturn(List.of(departmentEntity1));
+        when(departmentRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(departmentEntity1, departmentEntity2));
 
         final DepartmentMembership headMembership1 = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
         final DepartmentMembership membership1 = new DepartmentMembership(memberId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
@@ -2975,15 +3038,12 @@ class DepartmentServiceImplTest {
         final DepartmentStaff staff1 = new DepartmentStaff(1L, List.of(membership1), List.of(headMembership1), List.of());
         final DepartmentStaff staff2 = new DepartmentStaff(2L, List.of(), List.of(), List.of(secondMembership2));
 
-        when(departmentMembershipService.getActiveMemberships(personId))
-            .thenReturn(List.of(headMembership1, secondMembership2));
+        when(departmentMembershipService.getAllActiveMemberships())
+            .thenReturn(List.of(headMembership1, membership1, secondMembership2));
 
-        when(departmentMembershipService.getDepartmentStaff(Set.of(1L)))
-            .thenReturn(Map.of(1L, staff1));
-        when(departmentMembershipService.getDepartmentStaff(Set.of(2L)))
-            .thenReturn(Map.of(2L, staff2));
+        when(departmentMembershipService.getDepartmentStaff(Set.of(1L, 2L)))
+            .thenReturn(Map.of(1L, staff1, 2L, staff2));
 
-        when(personService.getAllPersonsByIds(Set.of(personId))).thenReturn(List.of(person));
         when(personService.getAllPersonsByIds(Set.of(personId, memberId))).thenReturn(List.of(person, member));
 
         final List<Department> actual = sut.getDepartmentsPersonHasAccessTo(person);
@@ -3120,8 +3180,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 2L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isFalse();
@@ -3143,8 +3202,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isTrue();
@@ -3166,8 +3224,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isTrue();
@@ -3189,8 +3246,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.SECOND_STAGE_AUTHORITY, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isTrue();
@@ -3212,8 +3268,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 1L, DepartmentMembershipKind.DEPARTMENT_HEAD, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isTrue();
@@ -3235,8 +3290,7 @@ class DepartmentServiceImplTest {
         final DepartmentMembership personMembership = new DepartmentMembership(personId, 1L, DepartmentMembershipKind.MEMBER, Instant.now(clock));
         final DepartmentMembership otherMembership = new DepartmentMembership(otherId, 1L, DepartmentMembershipKind.SECOND_STAGE_AUTHORITY, Instant.now(clock));
 
-        when(departmentMembershipService.getActiveMembershipsOfPersons(List.of(personId, otherId)))
-            .thenReturn(Map.of(personId, List.of(personMembership), otherId, List.of(otherMembership)));
+        when(departmentMembershipService.getAllActiveMemberships()).thenReturn(List.of(personMembership, otherMembership));
 
         final boolean actual = sut.hasDepartmentMatch(person, other);
         assertThat(actual).isTrue();
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.extension.backup.backup;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,17 +11,21 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.synyx.urlaubsverwaltung.SingleTenantTestPostgreSQLContainer;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
 import org.synyx.urlaubsverwaltung.extension.backup.restore.BackupRestoreService;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,9 +57,13 @@ class BackupCreateServiceIT {
     @Autowired
     private BackupCreateService backupCreateService;
     @Autowired
+    private StreamingBackupCreateService streamingBackupCreateService;
+    @Autowired
     private BackupDataCollectionService backupDataCollectionService;
     @Autowired
     private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
@@ -84,6 +93,41 @@ class BackupCreateServiceIT {
         assertThatJson(actualBackup).isEqualTo(expectedBackup);
     }
 
+    @Test
+    void verifyStreamedBackupWithExistingBackup() throws IOException {
+        resetAllSequences();
+        backupRestoreService.restoreBackup();
+
+        // create a fresh backup section by section
+        streamingBackupCreateService.backupData(backupDataCollectionService::writeData);
+
+        final Optional<Path> backupFile = getCreatedBackupFile("urlaubsverwaltung-\\d+\\.json\\.gz");
+
+        assertThat(backupFile).isPresent();
+
+        final String actualBackup;
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(backupFile.get()))) {
+            actualBackup = new String(inputStream.readAllBytes(), UTF_8);
+        }
+        final String expectedBackup = Files.readString(Path.of(EXISTING_UV_BACKUP_FILE));
+
+        assertThatJson(actualBackup).isEqualTo(expectedBackup);
+    }
+
+    @Test
+    void verifyParallelCollectionEqualsSequentialCollection() {
+        resetAllSequences();
+        backupRestoreService.restoreBackup();
+
+        final UrlaubsverwaltungBackupDTO sequential = backupDataCollectionService.collectData(false);
+        final UrlaubsverwaltungBackupDTO parallel = backupDataCollectionService.collectData(true);
+
+        assertThat(parallel).usingRecursiveComparison().isEqualTo(sequential);
+        assertThat(meterRegistry.find("uv.backup.collection").tag("section", "applications").timer())
+            .isNotNull()
+            .satisfies(timer -> assertThat(timer.count()).isGreaterThanOrEqualTo(2));
+    }
+
     private void resetAllSequences() {
         final String getSequencesSql = "SELECT schemaname, sequencename FROM pg_sequences WHERE schemaname = 'public'";
         final List<Map<String, Object>> sequences = jdbcTemplate.queryForList(getSequencesSql);
@@ -99,8 +143,12 @@ class BackupCreateServiceIT {
     }
 
     private static Optional<Path> getCreatedBackupFile() {
+        return getCreatedBackupFile("urlaubsverwaltung-\\d+\\.json");
+    }
+
+    private static Optional<Path> getCreatedBackupFile(String fileNamePattern) {
         try (var paths = Files.list(tempDir)) {
-            return paths.filter(path -> path.getFileName().toString().matches("urlaubsverwaltung-\\d+\\.json")).findFirst();
+            return paths.filter(path -> path.getFileName().toString().matches(fileNamePattern)).findFirst();
         } catch (IOException _) {
             return Optional.empty();
         }
@@ -0,0 +1,121 @@
+package org.synyx.urlaubsverwaltung.extension.backup.backup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.TransactionDefinition.ISOLATION_REPEATABLE_READ;
+
+@ExtendWith(MockitoExtension.class)
+class BackupSnapshotTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void ensureRunsAtMostMaximumPoolSizeMinusTwoSnapshotTransactionsAtOnce() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        final BackupSnapshot sut;
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(4);
+            sut = new BackupSnapshot(transactionManager, jdbcTemplate, entityManager, dataSource);
+        }
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch twoRunning = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> sut.inSnapshot("00000003-00000002-1", () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    twoRunning.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return running.getAndDecrement();
+                })));
+            }
+
+            assertThat(twoRunning.await(5, SECONDS)).isTrue();
+            Thread.sleep(100);
+            assertThat(running).hasValue(2);
+
+            release.countDown();
+            for (Future<Integer> future : futures) {
+                future.get(5, SECONDS);
+            }
+        }
+
+        assertThat(maxRunning).hasValue(2);
+    }
+
+    @Test
+    void ensureThrowsOnInvalidSnapshotId() {
+        final BackupSnapshot sut;
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            sut = new BackupSnapshot(transactionManager, jdbcTemplate, entityManager, dataSource);
+        }
+
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.inSnapshot("'; DROP TABLE person; --", () -> null));
+    }
+
+    @Test
+    void ensureReadsSnapshotInOneReadOnlyRepeatableReadTransaction() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        final BackupSnapshot sut;
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            sut = new BackupSnapshot(transactionManager, jdbcTemplate, entityManager, dataSource);
+        }
+
+        final AtomicInteger pages = new AtomicInteger();
+        sut.readSnapshot(() -> {
+            pages.incrementAndGet();
+            sut.detachLoadedEntities();
+            pages.incrementAndGet();
+            sut.detachLoadedEntities();
+        });
+
+        assertThat(pages).hasValue(2);
+
+        final ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(captor.capture());
+        assertThat(captor.getValue().isReadOnly()).isTrue();
+        assertThat(captor.getValue().getIsolationLevel()).isEqualTo(ISOLATION_REPEATABLE_READ);
+
+        verify(entityManager, times(2)).clear();
+    }
+}
@@ -0,0 +1,103 @@
+package org.synyx.urlaubsverwaltung.extension.backup.filesystem.backup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.synyx.urlaubsverwaltung.extension.backup.model.PersonActivePeriodDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class FilesystemBackupCreateServiceTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void ensureStreamedBackupIsReadableAsBackup() throws IOException {
+        final PersonActivePeriodDTO first = new PersonActivePeriodDTO("alice", Instant.parse("2024-01-01T00:00:00Z"), null);
+        final PersonActivePeriodDTO second = new PersonActivePeriodDTO("bob", Instant.parse("2024-02-01T00:00:00Z"), Instant.parse("2024-12-31T00:00:00Z"));
+        final PersonActivePeriodDTO third = new PersonActivePeriodDTO("carol", Instant.parse("2025-01-01T00:00:00Z"), null);
+
+        sut().backupData(writer -> {
+            writer.writeValue("tenantId", "tenant");
+            writer.writeValue("urlaubsverwaltungVersion", "5.0.0");
+            writer.writeStartArray("persons");
+            writer.writeEndArray();
+            writer.writeStartObject("sickNotes");
+            writer.writeValue("sickNoteTypes", List.of());
+            writer.writeStartArray("sickNotes");
+            writer.writeElements(List.of());
+            writer.writeEndArray();
+            writer.writeEndObject();
+            writer.writeValue("departments", List.of());
+            writer.writeStartArray("personActivePeriods");
+            writer.writeElements(List.of(first, second));
+            writer.writeElements(List.of(third));
+            writer.writeEndArray();
+        });
+
+        final Path backupFile = createdBackupFile();
+        assertThat(backupFile.getFileName().toString()).matches("urlaubsverwaltung-\\d+\\.json\\.gz");
+
+        final UrlaubsverwaltungBackupDTO backup;
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(backupFile))) {
+            backup = jsonMapper.readValue(inputStream, UrlaubsverwaltungBackupDTO.class);
+        }
+
+        assertThat(backup.tenantId()).isEqualTo("tenant");
+        assertThat(backup.urlaubsverwaltungVersion()).isEqualTo("5.0.0");
+        assertThat(backup.persons()).isEmpty();
+        assertThat(backup.sickNotes().sickNoteTypes()).isEmpty();
+        assertThat(backup.sickNotes().sickNotes()).isEmpty();
+        assertThat(backup.departments()).isEmpty();
+        assertThat(backup.personActivePeriods()).containsExactly(first, second, third);
+    }
+
+    @Test
+    void ensureDeletesIncompleteStreamedBackup() throws IOException {
+        sut().backupData(writer -> {
+            writer.writeValue("tenantId", "tenant");
+            writer.writeValue("settings", new Object());
+        });
+
+        try (var paths = Files.list(tempDir)) {
+            assertThat(paths).isEmpty();
+        }
+    }
+
+    @Test
+    void ensureDeletesIncompleteStreamedBackupIfCollectingFails() throws IOException {
+        final FilesystemBackupCreateService sut = sut();
+
+        assertThatIllegalStateException().isThrownBy(() -> sut.backupData(writer -> {
+            writer.writeValue("tenantId", "tenant");
+            throw new IllegalStateException("database is gone");
+        }));
+
+        try (var paths = Files.list(tempDir)) {
+            assertThat(paths).isEmpty();
+        }
+    }
+
+    private FilesystemBackupCreateService sut() {
+        return new FilesystemBackupCreateService(jsonMapper, new FilesystemBackupConfigurationProperties(tempDir.toString()));
+    }
+
+    private Path createdBackupFile() throws IOException {
+        try (var paths = Files.list(tempDir)) {
+            return paths.findFirst().orElseThrow();
+        }
+    }
+}
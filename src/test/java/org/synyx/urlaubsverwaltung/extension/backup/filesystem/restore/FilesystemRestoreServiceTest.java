@@ -0,0 +1,82 @@
+package org.synyx.urlaubsverwaltung.extension.backup.filesystem.restore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.restore.BackupReader;
+import org.synyx.urlaubsverwaltung.extension.backup.restore.RestoreOrchestrationService;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class FilesystemRestoreServiceTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    private Path tempDir;
+
+    @Mock
+    private RestoreOrchestrationService restoreOrchestrationService;
+
+    @Test
+    void ensureRestoresBackupFile() {
+        final UrlaubsverwaltungBackupDTO backup = backup();
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json");
+        jsonMapper.writeValue(backupFile.toFile(), backup);
+
+        sut(backupFile).restoreBackup();
+
+        final ArgumentCaptor<BackupReader> captor = ArgumentCaptor.forClass(BackupReader.class);
+        verify(restoreOrchestrationService).restoreData(captor.capture());
+        assertThat(captor.getValue().readBackup()).isEqualTo(backup);
+    }
+
+    @Test
+    void ensureRestoresGzipCompressedBackupFile() throws IOException {
+        final UrlaubsverwaltungBackupDTO backup = backup();
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(backupFile))) {
+            jsonMapper.writeValue(outputStream, backup);
+        }
+
+        sut(backupFile).restoreBackup();
+
+        final ArgumentCaptor<BackupReader> captor = ArgumentCaptor.forClass(BackupReader.class);
+        verify(restoreOrchestrationService).restoreData(captor.capture());
+        assertThat(captor.getValue().readBackup()).isEqualTo(backup);
+    }
+
+    @Test
+    void ensureDoesNotRestoreMissingBackup() {
+        sut(tempDir.resolve("urlaubsverwaltung-1735854942.json.gz")).restoreBackup();
+
+        verifyNoInteractions(restoreOrchestrationService);
+    }
+
+    private FilesystemRestoreService sut(Path backupFile) {
+        return new FilesystemRestoreService(jsonMapper, restoreOrchestrationService, new FilesystemRestoreConfigurationProperties(backupFile.toString()));
+    }
+
+    private static UrlaubsverwaltungBackupDTO backup() {
+        return new UrlaubsverwaltungBackupDTO("tenant", "5.0.0", List.of(), List.of(),
+            new SickNoteBackupDTO(List.of(), List.of()), new ApplicationBackupDTO(List.of(), List.of()),
+            List.of(), List.of(), null, null, null, List.of());
+    }
+}
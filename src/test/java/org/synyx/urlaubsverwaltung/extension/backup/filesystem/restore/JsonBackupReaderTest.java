@@ -0,0 +1,144 @@
+package org.synyx.urlaubsverwaltung.extension.backup.filesystem.restore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.ApplicationDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.DepartmentDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.OvertimeDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteBackupDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteTypeDTO;
+import org.synyx.urlaubsverwaltung.extension.backup.model.UrlaubsverwaltungBackupDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.synyx.urlaubsverwaltung.extension.backup.model.SickNoteTypeCategoryDTO.SICK_NOTE;
+
+class JsonBackupReaderTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void ensureReadsBackupWithoutOvertimesSickNotesAndApplications() {
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json");
+        jsonMapper.writeValue(backupFile.toFile(), backup());
+
+        final UrlaubsverwaltungBackupDTO actual = new JsonBackupReader(jsonMapper, backupFile).readBackup();
+
+        assertThat(actual.tenantId()).isEqualTo("tenant");
+        assertThat(actual.urlaubsverwaltungVersion()).isEqualTo("5.0.0");
+        assertThat(actual.overtimes()).isEmpty();
+        assertThat(actual.sickNotes().sickNoteTypes()).containsExactly(new SickNoteTypeDTO(1L, SICK_NOTE, "sicknote"));
+        assertThat(actual.sickNotes().sickNotes()).isEmpty();
+        assertThat(actual.applications().vacationTypes()).isEmpty();
+        assertThat(actual.applications().applications()).isEmpty();
+        assertThat(actual.departments()).containsExactly(new DepartmentDTO(1L, "Admins", null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), false));
+    }
+
+    @Test
+    void ensureReadsOvertimesSickNotesAndApplicationsOneByOne() {
+        final UrlaubsverwaltungBackupDTO backup = backup();
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json");
+        jsonMapper.writeValue(backupFile.toFile(), backup);
+
+        final JsonBackupReader sut = new JsonBackupReader(jsonMapper, backupFile);
+
+        final List<OvertimeDTO> overtimes = new ArrayList<>();
+        sut.readOvertimes(overtimes::add);
+        assertThat(overtimes).isEqualTo(backup.overtimes());
+
+        final List<SickNoteDTO> sickNotes = new ArrayList<>();
+        sut.readSickNotes(sickNotes::add);
+        assertThat(sickNotes).isEqualTo(backup.sickNotes().sickNotes());
+
+        final List<ApplicationDTO> applications = new ArrayList<>();
+        sut.readApplications(applications::add);
+        assertThat(applications).isEqualTo(backup.applications().applications());
+    }
+
+    @Test
+    void ensureReadsGzipCompressedBackup() throws IOException {
+        final UrlaubsverwaltungBackupDTO backup = backup();
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(backupFile))) {
+            jsonMapper.writeValue(outputStream, backup);
+        }
+
+        final JsonBackupReader sut = new JsonBackupReader(jsonMapper, backupFile);
+
+        assertThat(sut.readBackup().tenantId()).isEqualTo("tenant");
+
+        final List<ApplicationDTO> applications = new ArrayList<>();
+        sut.readApplications(applications::add);
+        assertThat(applications).isEqualTo(backup.applications().applications());
+    }
+
+    @Test
+    void ensureThrowsIfCompressedBackupIsNotGzip() {
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json.gz");
+        jsonMapper.writeValue(backupFile.toFile(), backup());
+
+        final JsonBackupReader sut = new JsonBackupReader(jsonMapper, backupFile);
+
+        assertThatThrownBy(sut::readBackup).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void ensureThrowsIfArrayContainsNoObject() throws IOException {
+        final Path backupFile = tempDir.resolve("urlaubsverwaltung-1735854942.json");
+        Files.writeString(backupFile, """
+            {"tenantId": "tenant", "overtimes": [{"id": 1, "external": false}, null, {"id": 2, "external": false}]}
+            """);
+
+        final JsonBackupReader sut = new JsonBackupReader(jsonMapper, backupFile);
+
+        final List<OvertimeDTO> overtimes = new ArrayList<>();
+        assertThatIllegalStateException()
+            .isThrownBy(() -> sut.readOvertimes(overtimes::add))
+            .withMessageContaining("overtimes");
+        assertThat(overtimes).hasSize(1);
+    }
+
+    private static UrlaubsverwaltungBackupDTO backup() {
+        final List<OvertimeDTO> overtimes = List.of(
+            new OvertimeDTO(1L, "alice", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), null, LocalDate.of(2024, 1, 1), false, List.of()),
+            new OvertimeDTO(2L, "bob", LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 2), null, LocalDate.of(2024, 1, 2), true, List.of())
+        );
+        final List<SickNoteDTO> sickNotes = List.of(
+            new SickNoteDTO(3L, "alice", null, 1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 2), null, null, null, null, null, null, List.of(), List.of())
+        );
+        final List<ApplicationDTO> applications = List.of(
+            application(4L, "alice"),
+            application(5L, "bob"),
+            application(6L, "alice")
+        );
+
+        return new UrlaubsverwaltungBackupDTO("tenant", "5.0.0", List.of(), overtimes,
+            new SickNoteBackupDTO(List.of(new SickNoteTypeDTO(1L, SICK_NOTE, "sicknote")), sickNotes),
+            new ApplicationBackupDTO(List.of(), applications),
+            List.of(new DepartmentDTO(1L, "Admins", null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), false)),
+            List.of(), null, null, null, List.of());
+    }
+
+    private static ApplicationDTO application(Long id, String personExternalId) {
+        return new ApplicationDTO(id, personExternalId, null, null, null, false, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1),
+            null, null, 1L, null, null, List.of(), null, LocalDate.of(2024, 2, 1), null, null, null, null, false, null,
+            null, null, List.of());
+    }
+}
@@ -0,0 +1,35 @@
+package org.synyx.urlaubsverwaltung.extension.backup.restore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.extension.backup.restore.RestoreBatches.BATCH_SIZE;
+
+class RestoreBatchesTest {
+
+    @Test
+    void ensureSplitsElementsIntoBatches() {
+        final List<Integer> elements = IntStream.range(0, 2 * BATCH_SIZE + 1).boxed().toList();
+
+        final List<List<Integer>> batches = new ArrayList<>();
+        RestoreBatches.forEachBatch(elements::forEach, batches::add);
+
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).isEqualTo(elements.subList(0, BATCH_SIZE));
+        assertThat(batches.get(1)).isEqualTo(elements.subList(BATCH_SIZE, 2 * BATCH_SIZE));
+        assertThat(batches.get(2)).containsExactly(2 * BATCH_SIZE);
+    }
+
+    @Test
+    void ensureDoesNotCallBatchConsumerWithoutElements() {
+        final List<List<Object>> batches = new ArrayList<>();
+        RestoreBatches.forEachBatch(consumer -> {
+        }, batches::add);
+
+        assertThat(batches).isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsSecondArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxConfigurationTest {
+
+    @Mock
+    private MailOutboxWorker mailOutboxWorker;
+    @Mock
+    private ScheduleLocking scheduleLocking;
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void drainsOutboxWithGivenPollInterval() {
+
+        when(scheduleLocking.withLock(eq("MailOutbox"), any(Runnable.class), eq(Duration.ofMinutes(5)), eq(Duration.ZERO))).thenAnswer(returnsSecondArg());
+
+        final MailProperties properties = new MailProperties();
+        final MailOutboxConfiguration sut = new MailOutboxConfiguration(properties, mailOutboxWorker, scheduleLocking, taskScheduler);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<FixedDelayTask> fixedDelayTasks = taskRegistrar.getFixedDelayTaskList();
+        assertThat(fixedDelayTasks).hasSize(1);
+
+        final FixedDelayTask fixedDelayTask = fixedDelayTasks.getFirst();
+        assertThat(fixedDelayTask.getIntervalDuration()).isEqualTo(Duration.ofSeconds(10));
+
+        verifyNoInteractions(mailOutboxWorker);
+
+        fixedDelayTask.getRunnable().run();
+        verify(mailOutboxWorker).drain();
+    }
+}
@@ -0,0 +1,112 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.converter.EmailConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.synyx.urlaubsverwaltung.SingleTenantTestContainersBase;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
+import static java.time.Month.APRIL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.mail.port=3025",
+    "spring.mail.host=localhost",
+    "uv.mail.outbox.enabled=true",
+    "uv.mail.outbox.poll-interval=PT1H"
+})
+class MailOutboxIT extends SingleTenantTestContainersBase {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(SMTP_IMAP);
+
+    @Autowired
+    private MailService mailService;
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void ensureMailIsStoredInOutboxAndSentByWorker() throws Exception {
+
+        assertThat(mailService).isInstanceOf(MailOutboxService.class);
+
+        final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
+        person.setId(42L);
+
+        transactionTemplate.executeWithoutResult(_ -> mailService.send(reminderMail(person)));
+
+        assertThat(mailOutboxRepository.findAll()).singleElement().satisfies(outboxMail -> {
+            assertThat(outboxMail.getRecipient()).isEqualTo("lieschen@example.org");
+            assertThat(outboxMail.getSubject()).isEqualTo("Erinnerung an offenen Urlaubsanspruch");
+            assertThat(outboxMail.getAttachments()).hasSize(1);
+        });
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        mailOutboxWorker.drain();
+
+        assertThat(mailOutboxRepository.count()).isZero();
+
+        final MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
+        assertThat(inbox).hasSize(1);
+        assertThat(inbox[0].getSubject()).isEqualTo("Erinnerung an offenen Urlaubsanspruch");
+        assertThat(EmailConverter.mimeMessageToEmail(inbox[0]).getAttachments())
+            .extracting(AttachmentResource::getName)
+            .containsExactly("calendar.ics");
+    }
+
+    @Test
+    void ensureMailIsNotStoredIfTransactionOfSenderIsRolledBack() {
+
+        final Person person = new Person("user", "Müller", "Lieschen", "lieschen@example.org");
+        person.setId(42L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            mailService.send(reminderMail(person));
+            status.setRollbackOnly();
+        });
+
+        assertThat(mailOutboxRepository.count()).isZero();
+
+        mailOutboxWorker.drain();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    private static Mail reminderMail(Person person) {
+        final Map<String, Object> model = new HashMap<>();
+        model.put("vacationDaysLeft", BigDecimal.TEN);
+        model.put("expiryDateNextYear", LocalDate.of(2023, APRIL, 1));
+        model.put("recipientNiceName", person.getNiceName());
+        model.put("personId", person.getId());
+
+        return Mail.builder()
+            .withRecipient(person)
+            .withSubject("subject.account.remindForCurrentlyLeftVacationDays")
+            .withTemplate("account_cron_currently_left_vacation_days", _ -> model)
+            .withAttachment("calendar.ics", new ByteArrayResource("BEGIN:VCALENDAR".getBytes()))
+            .build();
+    }
+}
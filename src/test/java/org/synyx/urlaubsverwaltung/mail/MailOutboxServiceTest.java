@@ -0,0 +1,115 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxServiceTest {
+
+    private MailOutboxService sut;
+
+    @Mock
+    private MailRenderer mailRenderer;
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    private final Instant now = Instant.parse("2024-10-01T06:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        sut = new MailOutboxService(mailRenderer, mailOutboxRepository, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void ensureStoresRenderedMailsOfAllRecipientsInOutbox() {
+
+        final Mail mail = mail();
+        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{1, 2, 3}, "calendar.ics");
+        when(mailRenderer.render(mail)).thenReturn(List.of(
+            new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "body", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "body", List.of(new MailAttachment("calendar.ics", iCal)))
+        ));
+
+        sut.send(mail);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<MailOutboxEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mailOutboxRepository).saveAll(captor.capture());
+
+        final List<MailOutboxEntity> outboxMails = captor.getValue();
+        assertThat(outboxMails).hasSize(2);
+        assertThat(outboxMails).extracting(MailOutboxEntity::getRecipient).containsExactly("hans@example.org", "franz@example.org");
+        assertThat(outboxMails).allSatisfy(outboxMail -> {
+            assertThat(outboxMail.getFromAddress()).isEqualTo("from@example.org");
+            assertThat(outboxMail.getReplyToAddress()).isEqualTo("replyTo@example.org");
+            assertThat(outboxMail.getSubject()).isEqualTo("subject");
+            assertThat(outboxMail.getBody()).isEqualTo("body");
+            assertThat(outboxMail.getStatus()).isEqualTo(PENDING);
+            assertThat(outboxMail.getAttempts()).isZero();
+            assertThat(outboxMail.getCreatedAt()).isEqualTo(now);
+            assertThat(outboxMail.getNextAttemptAt()).isEqualTo(now);
+        });
+        assertThat(outboxMails.get(0).getAttachments()).isEmpty();
+        assertThat(outboxMails.get(1).getAttachments()).singleElement().satisfies(attachment -> {
+            assertThat(attachment.getName()).isEqualTo("calendar.ics");
+            assertThat(attachment.getContent()).containsExactly(1, 2, 3);
+        });
+    }
+
+    @Test
+    void ensureStoresNothingWithoutRenderedMails() {
+
+        final Mail mail = mail();
+        when(mailRenderer.render(mail)).thenReturn(List.of());
+
+        sut.send(List.of(mail));
+
+        verifyNoInteractions(mailOutboxRepository);
+    }
+
+    @Test
+    void ensureSkipsMailThatCannotBeRendered() {
+
+        final Mail brokenMail = mail();
+        final Mail mail = mail();
+        when(mailRenderer.render(brokenMail)).thenThrow(new MailContentBuilderException("unknown template", null));
+        when(mailRenderer.render(mail)).thenReturn(List.of(
+            new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "body", List.of())
+        ));
+
+        sut.send(List.of(brokenMail, mail));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<MailOutboxEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mailOutboxRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(MailOutboxEntity::getRecipient).containsExactly("hans@example.org");
+    }
+
+    private static Mail mail() {
+        final Person person = new Person();
+        person.setEmail("hans@example.org");
+        return Mail.builder()
+            .withRecipient(person)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", _ -> new HashMap<>())
+            .build();
+    }
+}
@@ -0,0 +1,186 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.DEAD;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxWorkerTest {
+
+    private MailOutboxWorker sut;
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+    @Mock
+    private MailSenderService mailSenderService;
+
+    private final MailProperties mailProperties = new MailProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant now = Instant.parse("2024-10-01T06:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        mailProperties.getBatch().setSize(2);
+        mailProperties.getOutbox().setWorkers(2);
+        sut = new MailOutboxWorker(mailOutboxRepository, mailSenderService, mailProperties, meterRegistry, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void ensureDoesNothingWithoutDueMails() {
+
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4))).thenReturn(List.of());
+
+        sut.drain();
+
+        verifyNoInteractions(mailSenderService);
+        verify(mailOutboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void ensureSendsDueMailsInBatchesAndDeletesSentMails() {
+
+        final List<MailOutboxEntity> dueMails = List.of(outboxMail(1L, 0), outboxMail(2L, 0), outboxMail(3L, 0));
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4))).thenReturn(dueMails);
+        when(mailSenderService.sendBatch(anyList())).thenReturn(Map.of());
+
+        sut.drain();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<RenderedMail>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mailSenderService, times(2)).sendBatch(batchCaptor.capture());
+        assertThat(batchCaptor.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(2, 1);
+        assertThat(batchCaptor.getAllValues()).flatExtracting(batch -> batch.stream().map(RenderedMail::recipient).toList())
+            .containsExactlyInAnyOrder("1@example.org", "2@example.org", "3@example.org");
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Long>> idsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mailOutboxRepository).deleteAllByIdInBatch(idsCaptor.capture());
+        assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        assertThat(meterRegistry.get("uv.mail.outbox.mails").tag("result", "sent").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("uv.mail.outbox.batch").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureSchedulesRetryWithBackoffForFailedMails() {
+
+        final MailOutboxEntity sentMail = outboxMail(1L, 0);
+        final MailOutboxEntity failingMail = outboxMail(2L, 1);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4))).thenReturn(List.of(sentMail, failingMail));
+        when(mailSenderService.sendBatch(anyList())).thenAnswer(invocation -> {
+            final List<RenderedMail> batch = invocation.getArgument(0);
+            final Map<RenderedMail, Exception> failures = new IdentityHashMap<>();
+            batch.stream()
+                .filter(mail -> mail.recipient().equals("2@example.org"))
+                .forEach(mail -> failures.put(mail, new MailSendException("mailbox unavailable")));
+            return failures;
+        });
+
+        sut.drain();
+
+        verify(mailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(mailOutboxRepository).saveAll(containsOnly(failingMail));
+
+        assertThat(failingMail.getStatus()).isEqualTo(PENDING);
+        assertThat(failingMail.getAttempts()).isEqualTo(2);
+        assertThat(failingMail.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(2)));
+        assertThat(failingMail.getLastError()).isEqualTo("mailbox unavailable");
+        assertThat(meterRegistry.get("uv.mail.outbox.mails").tag("result", "retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureMarksMailAsDeadAfterMaxAttempts() {
+
+        mailProperties.getOutbox().setMaxAttempts(3);
+
+        final MailOutboxEntity failingMail = outboxMail(1L, 2);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4))).thenReturn(List.of(failingMail));
+        when(mailSenderService.sendBatch(anyList())).thenAnswer(invocation -> {
+            final List<RenderedMail> batch = invocation.getArgument(0);
+            final Map<RenderedMail, Exception> failures = new IdentityHashMap<>();
+            batch.forEach(mail -> failures.put(mail, new MailSendException("connection refused")));
+            return failures;
+        });
+
+        sut.drain();
+
+        verify(mailOutboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(mailOutboxRepository).saveAll(containsOnly(failingMail));
+
+        assertThat(failingMail.getStatus()).isEqualTo(DEAD);
+        assertThat(failingMail.getAttempts()).isEqualTo(3);
+        assertThat(meterRegistry.get("uv.mail.outbox.mails").tag("result", "dead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureContinuesWithNextRoundIfRoundWasFull() {
+
+        final List<MailOutboxEntity> firstRound = List.of(outboxMail(1L, 0), outboxMail(2L, 0), outboxMail(3L, 0), outboxMail(4L, 0));
+        final List<MailOutboxEntity> secondRound = List.of(outboxMail(5L, 0));
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4)))
+            .thenReturn(firstRound, secondRound);
+        when(mailSenderService.sendBatch(anyList())).thenReturn(Map.of());
+
+        sut.drain();
+
+        verify(mailOutboxRepository, times(2)).findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(PENDING, now, Limit.of(4));
+        verify(mailSenderService, times(3)).sendBatch(anyList());
+    }
+
+    @Test
+    void ensureBackoffDoublesUpToMaxBackoff() {
+        assertThat(MailOutboxWorker.backoff(1, Duration.ofMinutes(1), Duration.ofHours(1))).isEqualTo(Duration.ofMinutes(1));
+        assertThat(MailOutboxWorker.backoff(2, Duration.ofMinutes(1), Duration.ofHours(1))).isEqualTo(Duration.ofMinutes(2));
+        assertThat(MailOutboxWorker.backoff(4, Duration.ofMinutes(1), Duration.ofHours(1))).isEqualTo(Duration.ofMinutes(8));
+        assertThat(MailOutboxWorker.backoff(8, Duration.ofMinutes(1), Duration.ofHours(1))).isEqualTo(Duration.ofHours(1));
+        assertThat(MailOutboxWorker.backoff(100, Duration.ofMinutes(1), Duration.ofHours(1))).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static Iterable<MailOutboxEntity> containsOnly(MailOutboxEntity expected) {
+        return argThat(iterable -> {
+            final List<MailOutboxEntity> outboxMails = new ArrayList<>();
+            iterable.forEach(outboxMails::add);
+            return outboxMails.size() == 1 && outboxMails.getFirst() == expected;
+        });
+    }
+
+    private static MailOutboxEntity outboxMail(Long id, int attempts) {
+        final MailOutboxEntity outboxMail = new MailOutboxEntity();
+        outboxMail.setId(id);
+        outboxMail.setFromAddress("from@example.org");
+        outboxMail.setReplyToAddress("replyTo@example.org");
+        outboxMail.setRecipient(id + "@example.org");
+        outboxMail.setSubject("subject");
+        outboxMail.setBody("body");
+        outboxMail.setStatus(PENDING);
+        outboxMail.setAttempts(attempts);
+        return outboxMail;
+    }
+}
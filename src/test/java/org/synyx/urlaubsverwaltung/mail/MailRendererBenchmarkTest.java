@@ -0,0 +1,95 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.user.UserSettingsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.mail.MailRendererTest.person;
+import static org.synyx.urlaubsverwaltung.mail.MailRendererTest.sickNoteConvertedMail;
+
+/**
+ * Compares the render time of a mail to 1000 recipients in two locales, rendered per recipient and once per locale.
+ *
+ * <p>Only logs the durations, they depend on the machine. Excluded from the default build, run it with
+ * {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+class MailRendererBenchmarkTest {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int RECIPIENTS = 1000;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Test
+    void renderTimePer1000Recipients() {
+
+        final List<Person> recipients = IntStream.rangeClosed(1, RECIPIENTS)
+            .mapToObj(index -> person(index, "Vorname" + index, "Nachname" + index))
+            .toList();
+        final Map<Person, Locale> locales = recipients.stream()
+            .collect(Collectors.toMap(Function.identity(), recipient -> recipient.getId() % 2 == 0 ? GERMAN : ENGLISH));
+
+        final UserSettingsService userSettingsService = mock(UserSettingsService.class);
+        when(userSettingsService.getEffectiveLocale(recipients)).thenReturn(locales);
+
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.setFrom("from@example.org");
+        mailProperties.setReplyTo("no-reply@example.org");
+        mailProperties.setApplicationUrl("https://urlaubsverwaltung.example.org");
+
+        final MailConfiguration mailConfiguration = new MailConfiguration(new GenericApplicationContext());
+        final MailRenderer sut = new MailRenderer(mailConfiguration.emailMessageSource(), mailConfiguration.emailTemplateEngine(),
+            mailProperties, userSettingsService, new DefaultResourceLoader());
+
+        final Mail mail = sickNoteConvertedMail(recipients);
+
+        final Duration perRecipient = measure(sut, mail);
+        final List<RenderedMail> renderedPerRecipient = sut.render(mail);
+
+        mailProperties.getRendering().setGroupByLocale(true);
+        final Duration perLocale = measure(sut, mail);
+        final List<RenderedMail> renderedPerLocale = sut.render(mail);
+
+        LOG.info("Rendered a mail to {} recipients in two locales in {} ms per recipient and in {} ms once per locale",
+            RECIPIENTS, perRecipient.toMillis(), perLocale.toMillis());
+
+        assertThat(renderedPerLocale).isEqualTo(renderedPerRecipient);
+    }
+
+    /**
+     * @return the average duration of the measured rounds after the warm up rounds
+     */
+    private static Duration measure(MailRenderer sut, Mail mail) {
+
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            assertThat(sut.render(mail)).hasSize(RECIPIENTS);
+        }
+
+        final long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            assertThat(sut.render(mail)).hasSize(RECIPIENTS);
+        }
+        return Duration.ofNanos((System.nanoTime() - start) / MEASURED_ROUNDS);
+    }
+}
@@ -0,0 +1,150 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.user.UserSettingsService;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.time.Month.MAY;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MailRendererTest {
+
+    private MailRenderer sut;
+
+    @Mock
+    private UserSettingsService userSettingsService;
+
+    private ITemplateEngine emailTemplateEngine;
+    private MailProperties mailProperties;
+
+    @BeforeEach
+    void setUp() {
+        final MailConfiguration mailConfiguration = new MailConfiguration(new GenericApplicationContext());
+        emailTemplateEngine = spy(mailConfiguration.emailTemplateEngine());
+
+        mailProperties = new MailProperties();
+        mailProperties.setFrom("from@example.org");
+        mailProperties.setFromDisplayName("Urlaubsverwaltung");
+        mailProperties.setReplyTo("no-reply@example.org");
+        mailProperties.setReplyToDisplayName("Urlaubsverwaltung");
+        mailProperties.setApplicationUrl("https://urlaubsverwaltung.example.org");
+
+        sut = new MailRenderer(mailConfiguration.emailMessageSource(), emailTemplateEngine, mailProperties, userSettingsService, new DefaultResourceLoader());
+    }
+
+    @Test
+    void ensureRendersOncePerLocaleAsIfRenderedPerRecipient() {
+
+        final List<Person> recipients = List.of(person(1, "Marlene", "Muster"), person(2, "Jane", "Doe"), person(3, "Max", "Mustermann"));
+        when(userSettingsService.getEffectiveLocale(recipients)).thenReturn(Map.of(recipients.get(0), GERMAN, recipients.get(1), ENGLISH, recipients.get(2), GERMAN));
+
+        final Mail mail = sickNoteConvertedMail(recipients);
+
+        final List<RenderedMail> renderedPerRecipient = sut.render(mail);
+
+        mailProperties.getRendering().setGroupByLocale(true);
+        final List<RenderedMail> renderedPerLocale = sut.render(mail);
+
+        assertThat(renderedPerLocale).isEqualTo(renderedPerRecipient);
+        assertThat(renderedPerLocale)
+            .extracting(RenderedMail::recipient)
+            .containsExactly("marlene@example.org", "jane@example.org", "max@example.org");
+        assertThat(renderedPerLocale.get(0).text())
+            .startsWith("Hallo Marlene Muster,")
+            .contains("https://urlaubsverwaltung.example.org/web/person/1/notifications")
+            .doesNotContain("@@uv.recipient");
+        assertThat(renderedPerLocale.get(1).text())
+            .startsWith("Hello Jane Doe,")
+            .contains("https://urlaubsverwaltung.example.org/web/person/2/notifications");
+
+        // three times per recipient and only twice, once for each locale, afterward
+        verify(emailTemplateEngine, times(5)).process(eq("sicknote_converted_to_management"), any(IContext.class));
+    }
+
+    @Test
+    void ensureRendersPerRecipientIfTemplateUsesOtherPropertiesOfRecipient() {
+
+        mailProperties.getRendering().setGroupByLocale(true);
+
+        final List<Person> recipients = List.of(person(1, "Marlene", "Muster"), person(2, "Max", "Mustermann"));
+        when(userSettingsService.getEffectiveLocale(recipients)).thenReturn(Map.of(recipients.get(0), GERMAN, recipients.get(1), GERMAN));
+
+        final Mail mail = Mail.builder()
+            .withRecipient(recipients)
+            .withSubject("subject.person.created")
+            .withTemplate("test_recipient_email", locale -> Map.of())
+            .build();
+
+        final List<RenderedMail> renderedMails = sut.render(mail);
+
+        assertThat(renderedMails)
+            .extracting(RenderedMail::text)
+            .containsExactly("Hallo Marlene Muster,\n\nmarlene@example.org\n", "Hallo Max Mustermann,\n\nmax@example.org\n");
+        verify(emailTemplateEngine, times(2)).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    void ensureSkipsRecipientsWithoutMailAddressWhenRenderingOncePerLocale() {
+
+        mailProperties.getRendering().setGroupByLocale(true);
+
+        final Person withoutMailAddress = person(2, "Max", "Mustermann");
+        withoutMailAddress.setEmail(null);
+        final List<Person> recipients = List.of(person(1, "Marlene", "Muster"), withoutMailAddress);
+        when(userSettingsService.getEffectiveLocale(recipients)).thenReturn(Map.of(recipients.get(0), GERMAN, recipients.get(1), GERMAN));
+
+        final List<RenderedMail> renderedMails = sut.render(sickNoteConvertedMail(recipients));
+
+        assertThat(renderedMails)
+            .extracting(RenderedMail::recipient)
+            .containsExactly("marlene@example.org");
+    }
+
+    static Mail sickNoteConvertedMail(List<Person> recipients) {
+
+        final Person person = person(42, "Lieschen", "Müller");
+
+        final Application application = new Application();
+        application.setId(7L);
+        application.setPerson(person);
+        application.setApplier(person);
+        application.setStartDate(LocalDate.of(2024, MAY, 6));
+        application.setEndDate(LocalDate.of(2024, MAY, 10));
+
+        return Mail.builder()
+            .withRecipient(recipients)
+            .withSubject("subject.sicknote.converted.management", person.getNiceName())
+            .withTemplate("sicknote_converted_to_management", locale -> Map.<String, Object>of("application", application))
+            .build();
+    }
+
+    static Person person(long id, String firstName, String lastName) {
+        final Person person = new Person(firstName.toLowerCase(Locale.ROOT), lastName, firstName, firstName.toLowerCase(Locale.ROOT) + "@example.org");
+        person.setId(id);
+        return person;
+    }
+}
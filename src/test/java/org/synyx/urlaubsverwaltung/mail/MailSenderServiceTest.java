@@ -12,17 +12,29 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.simplejavamail.api.email.AttachmentResource;
 import org.simplejavamail.converter.EmailConverter;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static jakarta.mail.Session.getInstance;
+import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -35,9 +47,11 @@ class MailSenderServiceTest {
     @Mock
     private JavaMailSender javaMailSender;
 
+    private final MailProperties mailProperties = new MailProperties();
+
     @BeforeEach
     void setUp() {
-        sut = new MailSenderService(javaMailSender);
+        sut = new MailSenderService(javaMailSender, mailProperties, Clock.systemUTC());
     }
 
     @Test
@@ -100,6 +114,130 @@ class MailSenderServiceTest {
         verifyNoInteractions(javaMailSender);
     }
 
+    @Test
+    void ensuresSendEmailsInBatchesOfConfiguredSize() throws Exception {
+        mailProperties.getBatch().setSize(2);
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+
+        final List<RenderedMail> mails = List.of(
+            new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "peter@example.org", "subject", "text", List.of())
+        );
+
+        sut.sendEmails(mails);
+
+        final ArgumentCaptor<MimeMessage[]> batchCaptor = forClass(MimeMessage[].class);
+        verify(javaMailSender, times(2)).send(batchCaptor.capture());
+
+        final List<MimeMessage[]> batches = batchCaptor.getAllValues();
+        assertThat(batches.get(0)).hasSize(2);
+        assertThat(batches.get(0)[0].getAllRecipients()).containsExactly(new InternetAddress("hans@example.org"));
+        assertThat(batches.get(0)[1].getAllRecipients()).containsExactly(new InternetAddress("franz@example.org"));
+        assertThat(batches.get(1)).hasSize(1);
+        assertThat(batches.get(1)[0].getAllRecipients()).containsExactly(new InternetAddress("peter@example.org"));
+        assertThat(batches.get(1)[0].getSubject()).isEqualTo("subject");
+        assertThat(readPlainContent(batches.get(1)[0])).isEqualTo("text");
+    }
+
+    @Test
+    void ensuresSendEmailsWaitsBetweenBatchesForRateLimit() {
+        mailProperties.getBatch().setSize(2);
+        mailProperties.getBatch().setRateLimit(4);
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+
+        final List<Duration> sleeps = new ArrayList<>();
+        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T08:00:00Z"), UTC);
+        final MailSenderService sut = new MailSenderService(javaMailSender, mailProperties, clock, sleeps::add);
+
+        sut.sendEmails(List.of(
+            new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "peter@example.org", "subject", "text", List.of())
+        ));
+
+        // four mails per second, so the second batch may start half a second after the first batch of two mails
+        assertThat(sleeps).containsExactly(Duration.ofMillis(500));
+        verify(javaMailSender, times(2)).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void ensuresSendEmailsWithAttachment() throws Exception {
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+
+        final List<MailAttachment> mailAttachments = List.of(new MailAttachment("calendar.ics", new ByteArrayResource(new byte[]{1})));
+        sut.sendEmails(List.of(new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", mailAttachments)));
+
+        final ArgumentCaptor<MimeMessage[]> batchCaptor = forClass(MimeMessage[].class);
+        verify(javaMailSender).send(batchCaptor.capture());
+
+        final MimeMessage mailMessage = batchCaptor.getValue()[0];
+        assertThat(mailMessage.getFrom()).contains(new InternetAddress("from@example.org"));
+        assertThat(mailMessage.getReplyTo()).contains(new InternetAddress("replyTo@example.org"));
+        assertThat(EmailConverter.mimeMessageToEmail(mailMessage).getAttachments())
+            .extracting(AttachmentResource::getName)
+            .containsExactly("calendar.ics");
+    }
+
+    @Test
+    void ensuresSendEmailsContinuesWithNextBatchIfBatchFails() {
+        mailProperties.getBatch().setSize(1);
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+        doThrow(new MailSendException("connection refused")).doNothing().when(javaMailSender).send(any(MimeMessage[].class));
+
+        sut.sendEmails(List.of(
+            new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", List.of()),
+            new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "text", List.of())
+        ));
+
+        verify(javaMailSender, times(2)).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void ensuresSendBatchReturnsFailedMails() {
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+
+        final RenderedMail hans = new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", List.of());
+        final RenderedMail franz = new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "text", List.of());
+
+        final MailSendException mailboxUnavailable = new MailSendException("mailbox unavailable");
+        doAnswer(invocation -> {
+            final MimeMessage[] mimeMessages = invocation.getArgument(0);
+            throw new MailSendException(Map.<Object, Exception>of(mimeMessages[1], mailboxUnavailable));
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+
+        final Map<RenderedMail, Exception> failures = sut.sendBatch(List.of(hans, franz));
+
+        assertThat(failures).containsOnlyKeys(franz);
+        assertThat(failures.get(franz)).isSameAs(mailboxUnavailable);
+    }
+
+    @Test
+    void ensuresSendBatchReturnsAllMailsAsFailedIfConnectionFails() {
+        when(javaMailSender.createMimeMessage()).thenAnswer(_ -> new MimeMessage(getInstance(new Properties(), null)));
+
+        final RenderedMail hans = new RenderedMail("from@example.org", "replyTo@example.org", "hans@example.org", "subject", "text", List.of());
+        final RenderedMail franz = new RenderedMail("from@example.org", "replyTo@example.org", "franz@example.org", "subject", "text", List.of());
+
+        final MailSendException connectionRefused = new MailSendException("connection refused");
+        doThrow(connectionRefused).when(javaMailSender).send(any(MimeMessage[].class));
+
+        final Map<RenderedMail, Exception> failures = sut.sendBatch(List.of(hans, franz));
+
+        assertThat(failures).containsOnlyKeys(hans, franz);
+        assertThat(failures.values()).containsOnly(connectionRefused);
+    }
+
+    @Test
+    void ensuresSendEmailsDoesNotSendWithoutRecipients() {
+        sut.sendEmails(List.of(new RenderedMail("from@example.org", "replyTo@example.org", " ", "subject", "text", List.of())));
+        verifyNoInteractions(javaMailSender);
+    }
+
     private String readPlainContent(MimeMessage message) {
         return EmailConverter.mimeMessageToEmail(message).getPlainText();
     }
@@ -0,0 +1,150 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.synyx.urlaubsverwaltung.SingleTenantTestContainersBase;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.Month.APRIL;
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@SpringBootTest(properties = {
+    "spring.mail.port=3025",
+    "spring.mail.host=localhost",
+    "uv.mail.batch.enabled=true",
+    "uv.mail.batch.size=25"
+})
+class MailServiceBatchIT extends SingleTenantTestContainersBase {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final int RECIPIENTS = 200;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(SMTP_IMAP);
+
+    @Autowired
+    private MailService mailService;
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Test
+    void ensureSendsMailsOfAllRecipientsInBatches() {
+
+        final List<Person> persons = persons(RECIPIENTS);
+        final List<Mail> mails = persons.stream().map(MailServiceBatchIT::reminderMail).toList();
+
+        final long start = System.nanoTime();
+        mailService.send(mails);
+
+        await()
+            .atMost(Duration.ofSeconds(30))
+            .untilAsserted(() -> assertThat(greenMail.getReceivedMessages()).hasSize(RECIPIENTS));
+
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        LOG.info("Sent {} mails in batches in {} ms, {} mails per second",
+            RECIPIENTS, duration.toMillis(), RECIPIENTS * 1000L / Math.max(1, duration.toMillis()));
+
+        assertThat(greenMail.getReceivedMessages())
+            .extracting(message -> message.getAllRecipients()[0].toString())
+            .containsExactlyInAnyOrderElementsOf(persons.stream().map(Person::getEmail).toList());
+        assertThat(greenMail.getReceivedMessages())
+            .extracting(MimeMessage::getSubject)
+            .containsOnly("Erinnerung an offenen Urlaubsanspruch");
+    }
+
+    @Test
+    void ensureSendsMailsWithRateLimit() {
+
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getBatch().setSize(10);
+        mailProperties.getBatch().setRateLimit(20);
+
+        final List<Duration> sleeps = new ArrayList<>();
+        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T08:00:00Z"), UTC);
+        final MailSenderService sut = new MailSenderService(javaMailSender, mailProperties, clock, sleeps::add);
+
+        final List<RenderedMail> mails = persons(40).stream()
+            .map(person -> new RenderedMail("sender@example.org", "sender@example.org", person.getEmail(), "subject", "text", List.of()))
+            .toList();
+
+        sut.sendEmails(mails);
+
+        // four batches of ten mails, twenty mails per second allow the next batch after half a second
+        assertThat(sleeps).containsExactly(Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(500));
+        assertThat(greenMail.getReceivedMessages()).hasSize(40);
+    }
+
+    @Test
+    void ensureSendsEveryBatchOverOneConnection() {
+
+        final JavaMailSender countingMailSender = spy(javaMailSender);
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getBatch().setSize(25);
+        final MailSenderService sut = new MailSenderService(countingMailSender, mailProperties, Clock.systemUTC());
+
+        final List<RenderedMail> mails = persons(RECIPIENTS).stream()
+            .map(person -> new RenderedMail("sender@example.org", "sender@example.org", person.getEmail(), "subject", "text", List.of()))
+            .toList();
+
+        final long start = System.nanoTime();
+        sut.sendEmails(mails);
+        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        LOG.info("Sent {} mails in batches of 25 in {} ms", RECIPIENTS, duration.toMillis());
+
+        // every call hands all messages of a batch to one transport connection
+        verify(countingMailSender, times(RECIPIENTS / 25)).send(any(MimeMessage[].class));
+        assertThat(greenMail.getReceivedMessages()).hasSize(RECIPIENTS);
+    }
+
+    private static List<Person> persons(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(index -> {
+                final Person person = new Person("user" + index, "Müller", "Lieschen", "user" + index + "@example.org");
+                person.setId((long) index);
+                return person;
+            })
+            .toList();
+    }
+
+    private static Mail reminderMail(Person person) {
+        final Map<String, Object> model = new HashMap<>();
+        model.put("vacationDaysLeft", BigDecimal.TEN);
+        model.put("expiryDateNextYear", LocalDate.of(2023, APRIL, 1));
+        model.put("recipientNiceName", person.getNiceName());
+        model.put("personId", person.getId());
+
+        return Mail.builder()
+            .withRecipient(person)
+            .withSubject("subject.account.remindForCurrentlyLeftVacationDays")
+            .withTemplate("account_cron_currently_left_vacation_days", _ -> model)
+            .build();
+    }
+}
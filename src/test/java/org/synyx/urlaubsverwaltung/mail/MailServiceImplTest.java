@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -45,6 +46,9 @@ class MailServiceImplTest {
     @Mock
     private UserSettingsService userSettingsService;
 
+    private final MailProperties.Batch batch = new MailProperties.Batch();
+    private final MailProperties.Rendering rendering = new MailProperties.Rendering();
+
     @BeforeEach
     void setUp() {
         when(messageSource.getMessage(any(), any(), any())).thenReturn("subject");
@@ -54,7 +58,10 @@ class MailServiceImplTest {
         when(mailProperties.getReplyTo()).thenReturn("no-reply@example.org");
         when(mailProperties.getReplyToDisplayName()).thenReturn("Urlaubsverwaltung");
         when(mailProperties.getApplicationUrl()).thenReturn("http://localhost:8080");
-        sut = new MailServiceImpl(messageSource, emailTemplateEngine, mailSenderService, mailProperties, userSettingsService);
+        when(mailProperties.getBatch()).thenReturn(batch);
+        when(mailProperties.getRendering()).thenReturn(rendering);
+        final MailRenderer mailRenderer = new MailRenderer(messageSource, emailTemplateEngine, mailProperties, userSettingsService, new DefaultResourceLoader());
+        sut = new MailServiceImpl(mailRenderer, mailSenderService, mailProperties);
     }
 
     @Test
@@ -285,6 +292,74 @@ class MailServiceImplTest {
         verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "\"Hans Dampf, Jr.\" <hans@example.org>", "hans@example.org", "subject", "emailBody");
     }
 
+    @Test
+    void ensureSendsRenderedMailsOfAllRecipientsTogetherInBatchMode() {
+        setupMockServletRequest();
+
+        batch.setEnabled(true);
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Person noEmail = new Person();
+
+        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
+
+        final Mail mailToHansAndFranz = Mail.builder()
+            .withRecipient(List.of(hans, franz, noEmail))
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", _ -> new HashMap<>())
+            .build();
+
+        final Mail mailToHans = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", _ -> new HashMap<>())
+            .withAttachment("fileName", iCal)
+            .build();
+
+        sut.send(List.of(mailToHansAndFranz, mailToHans));
+
+        verify(mailSenderService).sendEmails(List.of(
+            new RenderedMail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody", List.of()),
+            new RenderedMail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody", List.of()),
+            new RenderedMail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)))
+        ));
+        verifyNoMoreInteractions(mailSenderService);
+    }
+
+    @Test
+    void ensureSendsEachMailOfListRightAwayWithoutBatchMode() {
+        setupMockServletRequest();
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Mail mailToHans = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", _ -> new HashMap<>())
+            .build();
+
+        final Mail mailToFranz = Mail.builder()
+            .withRecipient(franz)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", _ -> new HashMap<>())
+            .build();
+
+        sut.send(List.of(mailToHans, mailToFranz));
+
+        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody");
+        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody");
+        verifyNoMoreInteractions(mailSenderService);
+    }
+
     private void setupMockServletRequest() {
         final MockHttpServletRequest request = new MockHttpServletRequest();
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
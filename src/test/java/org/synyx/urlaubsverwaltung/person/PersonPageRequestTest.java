@@ -141,4 +141,26 @@ class PersonPageRequestTest {
             assertThat(actualOrders.getFirst().isAscending()).isTrue();
         }
     }
+
+    @Nested
+    class IsSortedByPerson {
+
+        @Test
+        void ensureSortedByPerson() {
+            final Pageable pageable = PageRequest.of(0, 10, Sort.by("person.firstName"));
+            assertThat(PersonPageRequest.isSortedByPerson(pageable)).isTrue();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"person.invalid", "statistics.leftVacationDaysForYear"})
+        void ensureNotSortedByPerson(String property) {
+            final Pageable pageable = PageRequest.of(0, 10, Sort.by(property));
+            assertThat(PersonPageRequest.isSortedByPerson(pageable)).isFalse();
+        }
+
+        @Test
+        void ensureNotSortedByPersonForUnsorted() {
+            assertThat(PersonPageRequest.isSortedByPerson(PageRequest.of(0, 10))).isFalse();
+        }
+    }
 }
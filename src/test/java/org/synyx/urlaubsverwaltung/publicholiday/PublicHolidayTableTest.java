@@ -0,0 +1,56 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.focus_shift.jollyday.core.Holiday;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.List;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+import static java.time.LocalDate.of;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
+import static java.time.Month.MAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicHolidayTableTest {
+
+    @Test
+    void ensureContainsChristmasEveAndNewYearsEveWithoutHolidayManager() {
+        final PublicHolidayTable sut = PublicHolidayTable.of(Year.of(2024), null, "none");
+
+        assertThat(sut.getHolidays(of(2024, DECEMBER, 24))).extracting(Holiday::getPropertiesKey).containsExactly("CHRISTMAS_EVE");
+        assertThat(sut.getHolidays(of(2024, DECEMBER, 31))).extracting(Holiday::getPropertiesKey).containsExactly("NEW_YEARS_EVE");
+        assertThat(sut.getHolidays(of(2024, DECEMBER, 25))).isEmpty();
+    }
+
+    @Test
+    void ensureKeepsAllHolidaysOfTheSameDay() {
+        final Holiday labourDay = new Holiday(of(2008, MAY, 1), "LABOUR_DAY", PUBLIC_HOLIDAY);
+        final Holiday ascensionDay = new Holiday(of(2008, MAY, 1), "ASCENSION_DAY", PUBLIC_HOLIDAY);
+
+        final PublicHolidayTable sut = PublicHolidayTable.of(Year.of(2008), List.of(labourDay, ascensionDay));
+
+        assertThat(sut.getHolidays(of(2008, MAY, 1))).containsExactlyInAnyOrder(labourDay, ascensionDay);
+    }
+
+    @Test
+    void ensureGetHolidaysOfPeriodIsOrderedByDate() {
+        final Holiday newYear = new Holiday(of(2024, JANUARY, 1), "NEW_YEAR", PUBLIC_HOLIDAY);
+        final Holiday labourDay = new Holiday(of(2024, MAY, 1), "LABOUR_DAY", PUBLIC_HOLIDAY);
+        final Holiday christmas = new Holiday(of(2024, DECEMBER, 25), "CHRISTMAS", PUBLIC_HOLIDAY);
+
+        final PublicHolidayTable sut = PublicHolidayTable.of(Year.of(2024), List.of(christmas, newYear, labourDay));
+
+        assertThat(sut.getHolidays(of(2024, JANUARY, 1), of(2024, DECEMBER, 31))).containsExactly(newYear, labourDay, christmas);
+        assertThat(sut.getHolidays(of(2024, JANUARY, 2), of(2024, DECEMBER, 24))).containsExactly(labourDay);
+    }
+
+    @Test
+    void ensureThrowsForDateOfAnotherYear() {
+        final PublicHolidayTable sut = PublicHolidayTable.of(Year.of(2024), List.of());
+
+        assertThatThrownBy(() -> sut.getHolidays(of(2025, JANUARY, 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
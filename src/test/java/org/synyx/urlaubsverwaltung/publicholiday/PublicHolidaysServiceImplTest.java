@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.publicholiday;
 
+import de.focus_shift.jollyday.core.Holiday;
 import de.focus_shift.jollyday.core.HolidayCalendar;
 import de.focus_shift.jollyday.core.HolidayManager;
 import de.focus_shift.jollyday.core.ManagerParameters;
@@ -10,24 +11,34 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
 import static java.math.BigDecimal.ZERO;
 import static java.time.LocalDate.of;
 import static java.time.Month.AUGUST;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
 import static java.time.Month.MAY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.CROATIA;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BADEN_WUERTTEMBERG;
@@ -201,6 +212,31 @@ class PublicHolidaysServiceImplTest {
             .doesNotContainNull();
     }
 
+    @Test
+    void ensureGetPublicHolidaysOfManyFederalStatesMergesOverlappingDateRanges() {
+
+        final Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> publicHolidays = sut.getPublicHolidays(Map.of(
+            GERMANY_BADEN_WUERTTEMBERG, Set.of(new DateRange(of(2024, JANUARY, 1), of(2024, JANUARY, 10)), new DateRange(of(2024, JANUARY, 5), of(2024, JANUARY, 31))),
+            GERMANY_BERLIN, Set.of(new DateRange(of(2024, MARCH, 1), of(2024, MARCH, 10)))
+        ));
+
+        assertThat(publicHolidays).containsOnlyKeys(GERMANY_BADEN_WUERTTEMBERG, GERMANY_BERLIN);
+        assertThat(publicHolidays.get(GERMANY_BADEN_WUERTTEMBERG)).containsOnlyKeys(of(2024, JANUARY, 1), of(2024, JANUARY, 6));
+        assertThat(publicHolidays.get(GERMANY_BADEN_WUERTTEMBERG).get(of(2024, JANUARY, 6)).description()).doesNotContain("/");
+        assertThat(publicHolidays.get(GERMANY_BERLIN)).containsOnlyKeys(of(2024, MARCH, 8));
+    }
+
+    @Test
+    void ensureGetPublicHolidaysOfManyFederalStatesCombinesPublicHolidaysOnTheSameDay() {
+
+        // in croatia there are two public holidays on 2024-05-30 (statehood day and corpus christi)
+        final Map<FederalState, NavigableMap<LocalDate, PublicHoliday>> publicHolidays =
+            sut.getPublicHolidays(Map.of(CROATIA, Set.of(new DateRange(of(2024, MAY, 30), of(2024, MAY, 30)))));
+
+        assertThat(publicHolidays.get(CROATIA)).hasSize(1);
+        assertThat(publicHolidays.get(CROATIA).get(of(2024, MAY, 30)).description()).contains("/");
+    }
+
     @Test
     void ensureGetPublicHolidaysReturnsWhenPersonHasNoPublicHolidaysDefined() {
 
@@ -214,6 +250,29 @@ class PublicHolidaysServiceImplTest {
             new PublicHoliday(LocalDate.of(2023, DECEMBER, 31), null, null));
     }
 
+    @Test
+    void ensureHolidayManagerIsAskedOncePerFederalStateAndYear() {
+
+        final HolidayManager holidayManager = mock(HolidayManager.class);
+        when(holidayManager.getHolidays(of(2020, JANUARY, 1), of(2020, DECEMBER, 31), PUBLIC_HOLIDAY, GERMANY_BERLIN.getCodes()))
+            .thenReturn(Set.of(new Holiday(of(2020, JANUARY, 1), "NEW_YEAR", PUBLIC_HOLIDAY)));
+
+        final PublicHolidaysServiceImpl sut = new PublicHolidaysServiceImpl(settingsService, Map.of("de", holidayManager));
+
+        final Supplier<PublicHolidaysSettings> publicHolidaysSettings = PublicHolidaysSettings::new;
+        for (LocalDate date = of(2020, JANUARY, 1); date.getYear() == 2020; date = date.plusDays(1)) {
+            sut.getPublicHoliday(date, GERMANY_BERLIN, publicHolidaysSettings);
+        }
+
+        assertThat(sut.getPublicHoliday(of(2020, JANUARY, 1), GERMANY_BERLIN, publicHolidaysSettings))
+            .hasValueSatisfying(publicHoliday -> assertThat(publicHoliday.dayLength()).isEqualTo(DayLength.FULL));
+        assertThat(sut.getPublicHolidays(of(2020, JANUARY, 1), of(2020, DECEMBER, 31), GERMANY_BERLIN, publicHolidaysSettings))
+            .extracting(PublicHoliday::date)
+            .containsExactly(of(2020, JANUARY, 1), of(2020, DECEMBER, 24), of(2020, DECEMBER, 31));
+
+        verify(holidayManager, times(1)).getHolidays(of(2020, JANUARY, 1), of(2020, DECEMBER, 31), PUBLIC_HOLIDAY, GERMANY_BERLIN.getCodes());
+    }
+
     private HolidayManager getHolidayManager(HolidayCalendar holidayCalendar) {
         return HolidayManager.getInstance(ManagerParameters.create(holidayCalendar));
     }
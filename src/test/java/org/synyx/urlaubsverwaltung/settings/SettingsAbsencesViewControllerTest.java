@@ -84,7 +84,7 @@ class SettingsAbsencesViewControllerTest {
     @Test
     void ensureSettingsSaved() throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(settingsService.getSettingsForUpdate()).thenReturn(new Settings());
 
         perform(
             post("/web/settings/absences")
@@ -89,7 +89,7 @@ class SettingsAccountViewControllerTest {
     @Test
     void ensureSaveSettings() throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(settingsService.getSettingsForUpdate()).thenReturn(new Settings());
 
         perform(post("/web/settings/account")
             .param("id", "42")
@@ -82,7 +82,7 @@ class SettingsAvatarViewControllerTest {
     @ValueSource(booleans = {true, false})
     void ensureSaveSettings(boolean givenEnabled) throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(settingsService.getSettingsForUpdate()).thenReturn(new Settings());
 
         perform(
             post("/web/settings/avatar")
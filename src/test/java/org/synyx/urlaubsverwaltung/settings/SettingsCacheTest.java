@@ -0,0 +1,123 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettingsCacheTest {
+
+    private SettingsCache sut;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestTenantContextHolder tenantContextHolder = new TestTenantContextHolder();
+    private final AtomicInteger loaded = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        sut = new SettingsCache(tenantContextHolder, new SettingsCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void ensureLoadsSettingsOncePerTenant() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(settingsLoader(1L));
+        sut.get(settingsLoader(1L));
+
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        final Settings settings = sut.get(settingsLoader(2L));
+
+        assertThat(settings.getId()).isEqualTo(2L);
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureReturnsCopyOfCachedSettings() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+
+        final Settings settings = sut.get(settingsLoader(1L));
+        settings.getOvertimeSettings().setOvertimeActive(true);
+
+        final Settings cachedSettings = sut.get(settingsLoader(1L));
+        assertThat(cachedSettings).isNotSameAs(settings).isEqualTo(settings);
+        assertThat(cachedSettings.getOvertimeSettings().isOvertimeActive()).isFalse();
+        assertThat(loaded).hasValue(1);
+    }
+
+    @Test
+    void ensureBypassesCacheWithoutTenant() {
+        sut.get(settingsLoader(1L));
+        sut.get(settingsLoader(1L));
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureInvalidatesSettingsOfCurrentTenantOnly() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(settingsLoader(1L));
+        tenantContextHolder.setTenantId(new TenantId("two"));
+        sut.get(settingsLoader(2L));
+
+        sut.invalidate();
+
+        sut.get(settingsLoader(2L));
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(settingsLoader(1L));
+
+        assertThat(loaded).hasValue(3);
+    }
+
+    @Test
+    void ensureInvalidatesOnSettingsUpdatedEvent() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(settingsLoader(1L));
+
+        sut.onSettingsUpdated();
+        sut.get(settingsLoader(1L));
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    void ensureRecordsHitsAndMisses() {
+        tenantContextHolder.setTenantId(new TenantId("one"));
+        sut.get(settingsLoader(1L));
+        sut.get(settingsLoader(1L));
+        sut.get(settingsLoader(1L));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "settings").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "settings").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private Supplier<Settings> settingsLoader(long id) {
+        return () -> {
+            loaded.incrementAndGet();
+            final Settings settings = new Settings();
+            settings.setId(id);
+            return settings;
+        };
+    }
+
+    private static class TestTenantContextHolder implements TenantContextHolder {
+
+        private TenantId tenantId;
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId);
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -85,7 +85,7 @@ class SettingsCalendarViewControllerTest {
     @Test
     void ensureSaveSettings() throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(settingsService.getSettingsForUpdate()).thenReturn(new Settings());
 
         perform(post("/web/settings/calendar")
             .param("id", "42")
@@ -119,7 +119,7 @@ class SettingsOvertimeViewControllerTest {
     @Test
     void ensureSaveSettings() throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(settingsService.getSettingsForUpdate()).thenReturn(new Settings());
 
         perform(post("/web/settings/overtime")
             .param("id", "42")
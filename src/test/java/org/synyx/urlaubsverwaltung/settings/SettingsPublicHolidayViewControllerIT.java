@@ -168,7 +168,7 @@ class SettingsPublicHolidayViewControllerIT extends SingleTenantTestContainersBa
         settingsDto.setPublicHolidaysSettings(publicHolidaysSettings);
 
         final Settings settingsBeforeSave = new Settings();
-        when(settingsService.getSettings()).thenReturn(settingsBeforeSave);
+        when(settingsService.getSettingsForUpdate()).thenReturn(settingsBeforeSave);
 
         mockMvc.perform(post("/web/settings/public-holidays").with(csrf()).with(oidcLogin)
                 .param("id", "1")
@@ -77,7 +77,7 @@ class SettingsPublicHolidayViewControllerTest {
         final RedirectAttributes redirectAttributes = new RedirectAttributesModelMap();
 
         final Settings existing = new Settings();
-        when(settingsService.getSettings()).thenReturn(existing);
+        when(settingsService.getSettingsForUpdate()).thenReturn(existing);
 
         final String view = sut.settingsSaved(dto, errors, model, redirectAttributes);
 
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,13 +11,17 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeProperties;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeSettingsActivatedEvent;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeSettingsDeactivatedEvent;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,20 +35,87 @@ class SettingsServiceImplTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.of(new TenantId("default"));
+        }
+    };
+    private final SettingsCache settingsCache = new SettingsCache(tenantContextHolder, new SettingsCacheProperties(), new SimpleMeterRegistry());
+
     @BeforeEach
     void setUp() {
-        sut = new SettingsServiceImpl(settingsRepository, new OvertimeProperties(), applicationEventPublisher);
+        sut = new SettingsServiceImpl(settingsRepository, new OvertimeProperties(), applicationEventPublisher, settingsCache);
     }
 
     @Test
     void ensureGetSettingsReturnsFromDB() {
         final Settings settings = new Settings();
+        settings.setId(1L);
         when(settingsRepository.findAll()).thenReturn(List.of(settings));
 
         final Settings actualSettings = sut.getSettings();
         assertThat(actualSettings).isEqualTo(settings);
     }
 
+    @Test
+    void ensureGetSettingsReturnsCachedSettings() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+
+        assertThat(sut.getSettings()).isEqualTo(settings);
+        assertThat(sut.getSettings()).isEqualTo(settings);
+
+        verify(settingsRepository).findAll();
+    }
+
+    @Test
+    void ensureChangedSettingsDoNotLeakIntoNextGetSettings() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+
+        final Settings changedSettings = sut.getSettings();
+        changedSettings.getOvertimeSettings().setOvertimeActive(true);
+        changedSettings.getTimeSettings().setTimeZoneId("Europe/Lisbon");
+
+        final Settings nextSettings = sut.getSettings();
+        assertThat(nextSettings).isNotSameAs(changedSettings);
+        assertThat(nextSettings.getOvertimeSettings().isOvertimeActive()).isFalse();
+        assertThat(nextSettings.getTimeSettings().getTimeZoneId()).isEqualTo(settings.getTimeSettings().getTimeZoneId());
+    }
+
+    @Test
+    void ensureGetSettingsForUpdateBypassesCachedSettings() {
+        final Settings cachedSettings = new Settings();
+        cachedSettings.setId(1L);
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findAll()).thenReturn(List.of(cachedSettings), List.of(settings));
+
+        sut.getSettings();
+        final Settings actualSettings = sut.getSettingsForUpdate();
+        actualSettings.getOvertimeSettings().setOvertimeActive(true);
+
+        assertThat(actualSettings).isSameAs(settings);
+        assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isFalse();
+    }
+
+    @Test
+    void ensureSaveInvalidatesCachedSettings() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findAll()).thenReturn(List.of(settings));
+        when(settingsRepository.save(settings)).thenReturn(settings);
+
+        sut.getSettings();
+        sut.save(settings);
+        sut.getSettings();
+
+        verify(settingsRepository, times(2)).findAll();
+    }
+
     @Test
     void ensureGetSettingsRequiresInitializationFirst() {
         when(settingsRepository.findAll()).thenReturn(List.of());
@@ -81,7 +153,7 @@ class SettingsServiceImplTest {
         final OvertimeProperties overtimeProperties = new OvertimeProperties();
         overtimeProperties.setSyncActive(true);
 
-        final SettingsServiceImpl settingsService = new SettingsServiceImpl(settingsRepository, overtimeProperties, applicationEventPublisher);
+        final SettingsServiceImpl settingsService = new SettingsServiceImpl(settingsRepository, overtimeProperties, applicationEventPublisher, settingsCache);
         settingsService.insertDefaultSettings();
 
         verify(settingsRepository).save(settingsArgumentCaptor.capture());
@@ -95,7 +167,7 @@ class SettingsServiceImplTest {
 
         final ArgumentCaptor<Settings> settingsArgumentCaptor = ArgumentCaptor.forClass(Settings.class);
 
-        final SettingsServiceImpl settingsService = new SettingsServiceImpl(settingsRepository, new OvertimeProperties(), applicationEventPublisher);
+        final SettingsServiceImpl settingsService = new SettingsServiceImpl(settingsRepository, new OvertimeProperties(), applicationEventPublisher, settingsCache);
         settingsService.insertDefaultSettings();
 
         verify(settingsRepository).save(settingsArgumentCaptor.capture());
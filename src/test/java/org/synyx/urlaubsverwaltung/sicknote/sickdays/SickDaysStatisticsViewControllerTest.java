@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.sicknote.sickdays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
@@ -10,12 +12,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.synyx.urlaubsverwaltung.csv.StreamingCSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
@@ -26,9 +31,15 @@ import java.util.Locale;
 import java.util.Optional;
 
 import static java.util.Locale.JAPANESE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 
@@ -47,11 +58,13 @@ class SickDaysStatisticsViewControllerTest {
     private SickDaysDetailedStatisticsCsvExportService sickDaysDetailedStatisticsCsvExportService;
     @Mock
     private DateFormatAware dateFormatAware;
+    @Captor
+    private ArgumentCaptor<Iterable<SickDaysDetailedStatistics>> sickDaysStatisticsCaptor;
 
     @BeforeEach
     void setUp() {
         sut = new SickDaysStatisticsViewController(sickDaysStatisticsService, sickDaysDetailedStatisticsCsvExportService,
-            personService, dateFormatAware, clock);
+            personService, dateFormatAware, new TenantContextHolder() {}, clock);
     }
 
     @Test
@@ -147,20 +160,27 @@ class SickDaysStatisticsViewControllerTest {
         when(dateFormatAware.parse(endString, locale)).thenReturn(Optional.of(endDate));
 
         final PageableSearchQuery pageableSearchQuery =
-            new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
+            new PageableSearchQuery(PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
         when(sickDaysStatisticsService.getAll(signedInUser, startDate, endDate, pageableSearchQuery))
             .thenReturn(new PageImpl<>(List.of()));
 
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any()))
+            .thenReturn(new StreamingCSVFile("filename.csv", outputStream -> outputStream.write(new byte[]{})));
 
-        perform(get("/web/sickdays/statistics/download")
+        final MvcResult result = perform(get("/web/sickdays/statistics/download")
             .locale(locale)
             .param("from", fromString)
             .param("to", endString)
             .param("allElements", "true")
         )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk());
+
+        verify(sickDaysDetailedStatisticsCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), sickDaysStatisticsCaptor.capture());
+        assertThat(sickDaysStatisticsCaptor.getValue()).isEmpty();
     }
 
     @Test
@@ -182,14 +202,14 @@ class SickDaysStatisticsViewControllerTest {
         when(dateFormatAware.parse(endString, locale)).thenReturn(Optional.of(endDate));
 
         final PageableSearchQuery pageableSearchQuery =
-            new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
+            new PageableSearchQuery(PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
         when(sickDaysStatisticsService.getAll(signedInUser, startDate, endDate, pageableSearchQuery))
             .thenReturn(new PageImpl<>(List.of()));
 
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.generateStreamingCSV(eq(filterPeriod), eq(locale), any()))
+            .thenReturn(new StreamingCSVFile("filename.csv", outputStream -> outputStream.write(new byte[]{})));
 
-        perform(get("/web/sickdays/statistics/download")
+        final MvcResult result = perform(get("/web/sickdays/statistics/download")
             .locale(locale)
             .param("from", fromString)
             .param("to", endString)
@@ -198,7 +218,14 @@ class SickDaysStatisticsViewControllerTest {
             .param("size", "50")
             .param("query", "hans")
         )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(result))
             .andExpect(status().isOk());
+
+        verify(sickDaysDetailedStatisticsCsvExportService).generateStreamingCSV(eq(filterPeriod), eq(locale), sickDaysStatisticsCaptor.capture());
+        assertThat(sickDaysStatisticsCaptor.getValue()).isEmpty();
     }
 
     @Test
@@ -0,0 +1,133 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarDays.Segment;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.Month.JANUARY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.NO_WORKDAY;
+import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.WORKDAY;
+
+class WorkingTimeCalendarDaysTest {
+
+    private static final WorkingDayInformation WORKING = new WorkingDayInformation(FULL, WORKDAY, WORKDAY);
+    private static final WorkingDayInformation NOT_WORKING = new WorkingDayInformation(ZERO, NO_WORKDAY, NO_WORKDAY);
+    private static final WorkingDayInformation WORKING_MORNING = new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY);
+
+    private final DateRange january = new DateRange(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 31));
+    private final WorkingTimeCalendarTemplate working = WorkingTimeCalendarTemplate.of(january, date -> WORKING);
+    private final WorkingTimeCalendarTemplate notWorking = WorkingTimeCalendarTemplate.of(january, date -> NOT_WORKING);
+
+    @Test
+    void ensureSplicesTemplatesAtSegmentBoundaries() {
+        final WorkingTimeCalendarDays sut = new WorkingTimeCalendarDays(List.of(
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 10), LocalDate.of(2024, JANUARY, 19)), working),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 20), LocalDate.of(2024, JANUARY, 31)), notWorking)
+        ));
+
+        assertThat(sut).hasSize(22);
+        assertThat(sut.get(LocalDate.of(2024, JANUARY, 9))).isNull();
+        assertThat(sut.containsKey(LocalDate.of(2024, JANUARY, 9))).isFalse();
+        assertThat(sut.get(LocalDate.of(2024, JANUARY, 10))).isEqualTo(WORKING);
+        assertThat(sut.get(LocalDate.of(2024, JANUARY, 19))).isEqualTo(WORKING);
+        assertThat(sut.get(LocalDate.of(2024, JANUARY, 20))).isEqualTo(NOT_WORKING);
+        assertThat(sut.get(LocalDate.of(2024, JANUARY, 31))).isEqualTo(NOT_WORKING);
+        assertThat(sut.get("2024-01-10")).isNull();
+    }
+
+    @Test
+    void ensureEqualsMapWithSameDays() {
+        final WorkingTimeCalendarDays sut = new WorkingTimeCalendarDays(List.of(
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 2)), working),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 3), LocalDate.of(2024, JANUARY, 3)), notWorking)
+        ));
+
+        final Map<LocalDate, WorkingDayInformation> expected = new HashMap<>();
+        expected.put(LocalDate.of(2024, JANUARY, 1), WORKING);
+        expected.put(LocalDate.of(2024, JANUARY, 2), WORKING);
+        expected.put(LocalDate.of(2024, JANUARY, 3), NOT_WORKING);
+
+        assertThat(sut).isEqualTo(expected);
+        assertThat(new WorkingTimeCalendar(sut)).isEqualTo(new WorkingTimeCalendar(expected));
+    }
+
+    @Test
+    void ensureIsReadOnly() {
+        final WorkingTimeCalendarDays sut = new WorkingTimeCalendarDays(List.of(new Segment(january, working)));
+
+        assertThatThrownBy(() -> sut.put(LocalDate.of(2024, JANUARY, 1), NOT_WORKING)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void ensureSumsHalfDayUnitsOverSegments() {
+        final WorkingTimeCalendarTemplate workingMorning = WorkingTimeCalendarTemplate.of(january, date -> WORKING_MORNING);
+        final WorkingTimeCalendarDays sut = new WorkingTimeCalendarDays(List.of(
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 10), LocalDate.of(2024, JANUARY, 14)), working),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 15), LocalDate.of(2024, JANUARY, 19)), notWorking),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 20), LocalDate.of(2024, JANUARY, 31)), workingMorning)
+        ));
+
+        assertThat(sut.halfDayUnits(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 31))).isEqualTo(5 * 2 + 12);
+        assertThat(sut.halfWorkingDays(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 31))).isEqualTo(12);
+        assertThat(sut.halfDayUnits(LocalDate.of(2024, JANUARY, 13), LocalDate.of(2024, JANUARY, 21))).isEqualTo(2 * 2 + 2);
+        assertThat(sut.halfWorkingDays(LocalDate.of(2024, JANUARY, 13), LocalDate.of(2024, JANUARY, 21))).isEqualTo(2);
+        assertThat(sut.halfDayUnits(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, JANUARY, 9))).isZero();
+    }
+
+    @Test
+    void ensureNextWorkingDayAfterSkipsDaysWithoutWorkingTimeAcrossSegments() {
+        final WorkingTimeCalendarDays sut = new WorkingTimeCalendarDays(List.of(
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 10), LocalDate.of(2024, JANUARY, 19)), notWorking),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 20), LocalDate.of(2024, JANUARY, 25)), working)
+        ));
+
+        assertThat(sut.nextWorkingDayAfter(LocalDate.of(2024, JANUARY, 9))).isEqualTo(LocalDate.of(2024, JANUARY, 20));
+        assertThat(sut.nextWorkingDayAfter(LocalDate.of(2024, JANUARY, 20))).isEqualTo(LocalDate.of(2024, JANUARY, 21));
+        assertThat(sut.nextWorkingDayAfter(LocalDate.of(2024, JANUARY, 25))).isNull();
+        assertThat(sut.nextWorkingDayAfter(LocalDate.of(2024, JANUARY, 5))).isNull();
+    }
+
+    @Test
+    void ensureCalendarAnswersLikeACalendarBackedByAMap() {
+        final WorkingTimeCalendarTemplate mixed = WorkingTimeCalendarTemplate.of(january, date -> switch (date.getDayOfWeek()) {
+            case MONDAY, TUESDAY, THURSDAY -> WORKING;
+            case WEDNESDAY, FRIDAY -> WORKING_MORNING;
+            default -> NOT_WORKING;
+        });
+        final WorkingTimeCalendarDays days = new WorkingTimeCalendarDays(List.of(
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 3), LocalDate.of(2024, JANUARY, 16)), mixed),
+            new Segment(new DateRange(LocalDate.of(2024, JANUARY, 17), LocalDate.of(2024, JANUARY, 31)), working)
+        ));
+
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(days);
+        final WorkingTimeCalendar expected = new WorkingTimeCalendar(new HashMap<>(days));
+
+        for (LocalDate from : january) {
+            for (LocalDate to : new DateRange(from, LocalDate.of(2024, JANUARY, 31))) {
+                assertThat(sut.workingTime(from, to)).isEqualTo(expected.workingTime(from, to));
+
+                for (DayLength dayLength : DayLength.values()) {
+                    final Application application = new Application();
+                    application.setStartDate(from);
+                    application.setEndDate(to);
+                    application.setDayLength(dayLength);
+                    assertThat(sut.workingTimeInDateRage(application, january)).isEqualTo(expected.workingTimeInDateRage(application, january));
+                }
+            }
+            assertThat(sut.nextWorkingFollowingTo(from)).isEqualTo(expected.nextWorkingFollowingTo(from));
+        }
+    }
+}
@@ -13,13 +13,18 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysSettings;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantContextHolder;
+import org.synyx.urlaubsverwaltung.tenancy.tenant.TenantId;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -30,6 +35,7 @@ import static java.time.Month.JANUARY;
 import static java.time.Month.JULY;
 import static java.time.Month.JUNE;
 import static java.time.Month.MARCH;
+import static java.time.Month.MAY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -54,9 +60,11 @@ class WorkingTimeCalendarServiceImplTest {
     @Mock
     private SettingsService settingsService;
 
+    private final ThreadLocalTenantContextHolder tenantContextHolder = new ThreadLocalTenantContextHolder();
+
     @BeforeEach
     void setUp() {
-        sut = new WorkingTimeCalendarServiceImpl(workingTimeRepository, publicHolidaysService, settingsService);
+        sut = new WorkingTimeCalendarServiceImpl(workingTimeRepository, publicHolidaysService, settingsService, tenantContextHolder, new WorkingTimeCalendarProperties());
     }
 
     @Test
@@ -267,6 +275,34 @@ class WorkingTimeCalendarServiceImplTest {
         verify(publicHolidaysService, times(365)).getPublicHoliday(any(LocalDate.class), any(FederalState.class), any(Supplier.class));
     }
 
+    @Test
+    void ensureGetWorkingTimesByPersonsComputesCalendarDaysOnceForPersonsWithSameWorkingTimeAndFederalState() {
+        final Person person = new Person();
+        person.setId(1L);
+
+        final Person person2 = new Person();
+        person2.setId(2L);
+
+        final List<Person> persons = List.of(person, person2);
+
+        final WorkingTimeEntity workingTimeEntity = createWorkingTimeEntity(person, LocalDate.of(2022, JANUARY, 1),
+            FULL, FULL, FULL, FULL, FULL, ZERO, ZERO, GERMANY_BERLIN);
+        final WorkingTimeEntity workingTimeEntity2 = createWorkingTimeEntity(person2, LocalDate.of(2022, JUNE, 1),
+            FULL, FULL, FULL, FULL, FULL, ZERO, ZERO, GERMANY_BERLIN);
+
+        when(workingTimeRepository.findByPersonIsInOrderByValidFromDesc(persons)).thenReturn(List.of(workingTimeEntity2, workingTimeEntity));
+
+        final Map<Person, WorkingTimeCalendar> actual = sut.getWorkingTimesByPersons(persons, Year.of(2022));
+
+        // 260 weekdays in 2022, public holidays are only looked up for days with a working duration
+        verify(publicHolidaysService, times(260)).getPublicHoliday(any(LocalDate.class), any(FederalState.class), any(Supplier.class));
+
+        assertThat(actual.get(person).workingDays()).hasSize(365);
+        assertThat(actual.get(person2).workingDays()).hasSize(214);
+        assertThat(actual.get(person2).workingTime(LocalDate.of(2022, MAY, 31))).isEmpty();
+        assertThat(actual.get(person2).workingTime(LocalDate.of(2022, JUNE, 1))).hasValue(BigDecimal.ONE);
+    }
+
     @Test
     void ensureGetWorkingTimesByPersonsAndYearIgnoresPublicHolidays() {
         final Person person = new Person();
@@ -415,6 +451,59 @@ class WorkingTimeCalendarServiceImplTest {
         assertThat(actual.get(person).workingTime(LocalDate.of(2024, DECEMBER, 24))).hasValue(BigDecimal.ONE);
     }
 
+    @Test
+    void ensureGetWorkingTimesByPersonsInParallelWithTenantOfCallingThread() {
+
+        final WorkingTimeCalendarProperties workingTimeCalendarProperties = new WorkingTimeCalendarProperties();
+        workingTimeCalendarProperties.setParallelism(4);
+        workingTimeCalendarProperties.setParallelismThreshold(2);
+        sut = new WorkingTimeCalendarServiceImpl(workingTimeRepository, publicHolidaysService, settingsService, tenantContextHolder, workingTimeCalendarProperties);
+
+        final Settings settings = new Settings();
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final List<Person> persons = new ArrayList<>();
+        final List<WorkingTimeEntity> workingTimeEntities = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            final Person person = new Person();
+            person.setId(id);
+            persons.add(person);
+
+            final DayLength dayLength = id % 2 == 0 ? FULL : MORNING;
+            final FederalState federalState = id % 3 == 0 ? GERMANY_BERLIN : GERMANY_BADEN_WUERTTEMBERG;
+            workingTimeEntities.add(createWorkingTimeEntity(person, LocalDate.of(2022, JANUARY, 1),
+                dayLength, dayLength, dayLength, dayLength, dayLength, ZERO, ZERO, federalState));
+        }
+        when(workingTimeRepository.findByPersonIsInOrderByValidFromDesc(persons)).thenReturn(workingTimeEntities);
+
+        final Set<Optional<TenantId>> tenantIdsOfPublicHolidayLookups = ConcurrentHashMap.newKeySet();
+        when(publicHolidaysService.getPublicHoliday(any(LocalDate.class), any(FederalState.class), any(Supplier.class))).thenAnswer(invocation -> {
+            tenantIdsOfPublicHolidayLookups.add(tenantContextHolder.getCurrentTenantId());
+            final LocalDate date = invocation.getArgument(0);
+            final FederalState federalState = invocation.getArgument(1);
+            if (date.equals(LocalDate.of(2022, AUGUST, 5)) && federalState == GERMANY_BADEN_WUERTTEMBERG) {
+                return Optional.of(new PublicHoliday(date, FULL, ""));
+            }
+            return Optional.empty();
+        });
+
+        tenantContextHolder.setTenantId(new TenantId("tenant"));
+        final Map<Person, WorkingTimeCalendar> actual = sut.getWorkingTimesByPersons(persons, Year.of(2022));
+        tenantContextHolder.clear();
+
+        assertThat(actual).hasSize(10).containsKeys(persons.toArray(Person[]::new));
+        assertThat(tenantIdsOfPublicHolidayLookups).containsExactly(Optional.of(new TenantId("tenant")));
+
+        assertThat(actual.get(persons.get(0)).workingTime(LocalDate.of(2022, AUGUST, 4))).hasValue(BigDecimal.valueOf(0.5));
+        assertThat(actual.get(persons.get(0)).workingTime(LocalDate.of(2022, AUGUST, 5))).hasValue(BigDecimal.ZERO);
+        assertThat(actual.get(persons.get(1)).workingTime(LocalDate.of(2022, AUGUST, 5))).hasValue(BigDecimal.ZERO);
+        assertThat(actual.get(persons.get(2)).workingTime(LocalDate.of(2022, AUGUST, 5))).hasValue(BigDecimal.valueOf(0.5));
+        assertThat(actual.get(persons.get(5)).workingTime(LocalDate.of(2022, AUGUST, 5))).hasValue(BigDecimal.ONE);
+        assertThat(actual.get(persons.get(9)).workingTime(LocalDate.of(2022, AUGUST, 6))).hasValue(BigDecimal.ZERO);
+
+        verify(settingsService).getSettings();
+    }
+
     // Helper method to create WorkingTimeEntity instances with consistent configuration
     private static WorkingTimeEntity createWorkingTimeEntity(Person person, LocalDate validFrom,
                                                              DayLength monday, DayLength tuesday, DayLength wednesday, DayLength thursday,
@@ -433,4 +522,24 @@ class WorkingTimeCalendarServiceImplTest {
         entity.setFederalStateOverride(federalState);
         return entity;
     }
+
+    private static class ThreadLocalTenantContextHolder implements TenantContextHolder {
+
+        private final ThreadLocal<TenantId> tenantId = new ThreadLocal<>();
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(tenantId.get());
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            this.tenantId.set(tenantId);
+        }
+
+        @Override
+        public void clear() {
+            tenantId.remove();
+        }
+    }
 }
@@ -36,6 +36,7 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
@@ -372,6 +373,39 @@ class WorkingTimeServiceImplTest {
             );
     }
 
+    @Test
+    void getFederalStatesByPersonsAndDateRangeOfLoadedWorkingTimes() {
+
+        final Person person = new Person();
+        person.setId(1L);
+        final Person personWithChange = new Person();
+        personWithChange.setId(2L);
+        final Person personWithoutWorkingTime = new Person();
+        personWithoutWorkingTime.setId(3L);
+
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2020, SEPTEMBER, 1), GERMANY_BERLIN, false);
+        final WorkingTime workingTimeOfOther = new WorkingTime(personWithChange, LocalDate.of(2020, SEPTEMBER, 1), GERMANY_BADEN_WUERTTEMBERG, false);
+        final WorkingTime workingTimeOfOtherChanged = new WorkingTime(personWithChange, LocalDate.of(2021, NOVEMBER, 15), GERMANY_RHEINLAND_PFALZ, false);
+
+        final Map<Person, List<WorkingTime>> workingTimesByPerson = Map.of(
+            person, List.of(workingTime),
+            personWithChange, List.of(workingTimeOfOther, workingTimeOfOtherChanged),
+            personWithoutWorkingTime, List.of()
+        );
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 30));
+        final Map<Person, Map<DateRange, FederalState>> federalStatesByPerson = sut.getFederalStatesByPersonsAndDateRange(workingTimesByPerson, dateRange);
+        assertThat(federalStatesByPerson).hasSize(3);
+        assertThat(federalStatesByPerson.get(person)).containsExactly(entry(dateRange, GERMANY_BERLIN));
+        assertThat(federalStatesByPerson.get(personWithChange)).containsOnly(
+            entry(new DateRange(LocalDate.of(2021, NOVEMBER, 1), LocalDate.of(2021, NOVEMBER, 14)), GERMANY_BADEN_WUERTTEMBERG),
+            entry(new DateRange(LocalDate.of(2021, NOVEMBER, 15), LocalDate.of(2021, NOVEMBER, 30)), GERMANY_RHEINLAND_PFALZ)
+        );
+        assertThat(federalStatesByPerson.get(personWithoutWorkingTime)).isEmpty();
+
+        verifyNoInteractions(workingTimeRepository);
+    }
+
     @Test
     void getFederalStatesByPersonAndDateRangeStartsOnWorkingTimeValidFrom() {
 